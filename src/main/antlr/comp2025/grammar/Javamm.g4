@@ -88,23 +88,26 @@ elseStmt
     ;
 
 expr
+    // Primary and postfix forms, these bind tighter than any operator
     : op= '(' expr op= ')' #PriorityExpr
-    | op= '!' expr #UnaryExpr
     | expr '[' expr ']' #ArrayAccess
-    | expr '.' ID #LengthExpr
     | expr '.' name=ID '(' ( expr ( ',' expr )* )? ')' #ClassFunctionExpr
+    | expr '.' ID #LengthExpr
+    | name=ID op=('++' | '--') #IncrementByOne
+    // Prefix operators
+    | op= '!' expr #UnaryExpr
+    // Binary operators, from highest to lowest precedence
     | expr op= ('*' | '/') expr #BinaryExpr
     | expr op= ('+' | '-') expr #BinaryExpr
     | expr op= '<' expr #BinaryExpr
     | expr op=('<=' | '==' | '!=' | '+=' | '-=' | '*=' | '/=') expr #BinaryExpr
     | expr op= '&&' expr #BinaryExpr
+    // Remaining primaries
     | '[' (expr (',' expr)*)? ']' #ArrayLiteral
-    | expr 'new' expr 'int' expr '[' expr ']' #Label
     | 'new' type '[' expr ']' #ArrayCreation
     | 'new' name=ID '(' (expr (',' expr) *)?')' #New
     | value=INTEGER #IntegerLiteral //
     | value= ('true' | 'false') #BooleanLiteral
     | value = 'this' #ObjectReference
     | name=ID #VarRefExpr //
-    | name=ID op=('++' | '--') #IncrementByOne
     ;
@@ -10,6 +10,15 @@ public class CompilerConfig {
     private static final String INPUT_FILE = "inputFile";
     private static final String OPTIMIZE = "optimize";
     private static final String REGISTER = "registerAllocation";
+    private static final String FAIL_FAST = "failFast";
+    private static final String INTERN_SCOPE = "internScope";
+    private static final String COMPACT_AST = "compactAst";
+    private static final String ANNOTATE_TYPES = "annotateTypes";
+    private static final String SOURCE_PATH = "sourcePath";
+    private static final String LIBRARY_PATH = "libraryPath";
+    private static final String PARALLEL_ANALYSIS = "parallelAnalysis";
+    private static final String PROFILE_ANALYSIS = "profileAnalysis";
+    private static final String MAX_ERRORS = "maxErrors";
 
 
     static Map<String, String> shortToLong = new HashMap<>();
@@ -18,6 +27,15 @@ public class CompilerConfig {
         shortToLong.put("i", CompilerConfig.INPUT_FILE);
         shortToLong.put("o", CompilerConfig.OPTIMIZE);
         shortToLong.put("r", CompilerConfig.REGISTER);
+        shortToLong.put("f", CompilerConfig.FAIL_FAST);
+        shortToLong.put("n", CompilerConfig.INTERN_SCOPE);
+        shortToLong.put("c", CompilerConfig.COMPACT_AST);
+        shortToLong.put("t", CompilerConfig.ANNOTATE_TYPES);
+        shortToLong.put("s", CompilerConfig.SOURCE_PATH);
+        shortToLong.put("l", CompilerConfig.LIBRARY_PATH);
+        shortToLong.put("p", CompilerConfig.PARALLEL_ANALYSIS);
+        shortToLong.put("a", CompilerConfig.PROFILE_ANALYSIS);
+        shortToLong.put("e", CompilerConfig.MAX_ERRORS);
     }
 
 
@@ -106,6 +124,7 @@ public class CompilerConfig {
         // Verify if values are valid
         getOptimize(config);
         getRegisterAllocation(config);
+        ConfigOptions.getMaxErrors(config);
 
         return config;
     }
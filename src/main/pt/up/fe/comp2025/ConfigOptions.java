@@ -1,6 +1,7 @@
 package pt.up.fe.comp2025;
 
 import java.io.File;
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.Optional;
 
@@ -11,6 +12,21 @@ public class ConfigOptions {
     private static final String OPTIMIZE = "optimize";
     private static final String REGISTER = "registerAllocation";
     private static final String EXTRA = "extra";
+    private static final String FAIL_FAST = "failFast";
+    private static final String INTERN_SCOPE = "internScope";
+    private static final String COMPACT_AST = "compactAst";
+    private static final String ANNOTATE_TYPES = "annotateTypes";
+    private static final String SOURCE_PATH = "sourcePath";
+    private static final String LIBRARY_PATH = "libraryPath";
+    private static final String LIBRARY_INDEX = "libraryIndex";
+    private static final String PARALLEL_ANALYSIS = "parallelAnalysis";
+    private static final String PROFILE_ANALYSIS = "profileAnalysis";
+    private static final String MAX_ERRORS = "maxErrors";
+
+    /**
+     * Errors collected by the analysis when {@link #getMaxErrors} is set without a number.
+     */
+    public static final int DEFAULT_MAX_ERRORS = 100;
 
     // These methods should be on CompilerConfig, but to avoid rewriting a file
     // that is in the src folder, this new class was added
@@ -31,6 +47,46 @@ public class ConfigOptions {
         return EXTRA;
     }
 
+    public static String getFailFast() {
+        return FAIL_FAST;
+    }
+
+    public static String getInternScope() {
+        return INTERN_SCOPE;
+    }
+
+    public static String getCompactAst() {
+        return COMPACT_AST;
+    }
+
+    public static String getAnnotateTypes() {
+        return ANNOTATE_TYPES;
+    }
+
+    public static String getSourcePath() {
+        return SOURCE_PATH;
+    }
+
+    public static String getLibraryPath() {
+        return LIBRARY_PATH;
+    }
+
+    public static String getLibraryIndex() {
+        return LIBRARY_INDEX;
+    }
+
+    public static String getParallelAnalysis() {
+        return PARALLEL_ANALYSIS;
+    }
+
+    public static String getProfileAnalysis() {
+        return PROFILE_ANALYSIS;
+    }
+
+    public static String getMaxErrors() {
+        return MAX_ERRORS;
+    }
+
     public static Optional<File> getInputFile(Map<String, String> config) {
         var inputFile = config.get(INPUT_FILE);
 
@@ -54,4 +110,84 @@ public class ConfigOptions {
     public static boolean getExtra(Map<String, String> config) {
         return Boolean.parseBoolean(config.getOrDefault(EXTRA, "false"));
     }
+
+    public static boolean getFailFast(Map<String, String> config) {
+        return Boolean.parseBoolean(config.getOrDefault(FAIL_FAST, "false"));
+    }
+
+    public static String getInternScope(Map<String, String> config) {
+        return config.getOrDefault(INTERN_SCOPE, "compilation");
+    }
+
+    public static boolean getCompactAst(Map<String, String> config) {
+        return Boolean.parseBoolean(config.getOrDefault(COMPACT_AST, "false"));
+    }
+
+    /**
+     * @return whether the types of the expressions are stored in the AST before the analysis passes, see
+     * TypeAnnotator. Off by default, since the reports that print a node then also show its type
+     */
+    public static boolean getAnnotateTypes(Map<String, String> config) {
+        return Boolean.parseBoolean(config.getOrDefault(ANNOTATE_TYPES, "false"));
+    }
+
+    /**
+     * @return the files and folders of the project the input file belongs to, separated by the platform path
+     * separator, or null if it is compiled alone
+     */
+    public static String getSourcePath(Map<String, String> config) {
+        return config.get(SOURCE_PATH);
+    }
+
+    /**
+     * @return the folders and jars with the compiled classes that can be imported, separated by the platform path
+     * separator, or null if imported classes are not read
+     */
+    public static String getLibraryPath(Map<String, String> config) {
+        return config.get(LIBRARY_PATH);
+    }
+
+    /**
+     * @return the file that keeps the signatures of the imported classes between compilations
+     */
+    public static Path getLibraryIndex(Map<String, String> config) {
+        var index = config.get(LIBRARY_INDEX);
+        return index != null ? Path.of(index) : Path.of(System.getProperty("java.io.tmpdir"), "jmm-library.idx");
+    }
+
+    /**
+     * @return whether the methods are analysed in parallel
+     */
+    public static boolean getParallelAnalysis(Map<String, String> config) {
+        return Boolean.parseBoolean(config.getOrDefault(PARALLEL_ANALYSIS, "false"));
+    }
+
+    /**
+     * @return whether the time and work of each analysis pass are measured, and printed by the launcher
+     */
+    public static boolean getProfileAnalysis(Map<String, String> config) {
+        return Boolean.parseBoolean(config.getOrDefault(PROFILE_ANALYSIS, "false"));
+    }
+
+    /**
+     * @return the number of errors the analysis collects across all its passes and methods before it stops, or 0 to
+     * stop after the first pass with errors. Set without a number, it is {@link #DEFAULT_MAX_ERRORS}. The methods are
+     * still analysed in parallel with {@link #getParallelAnalysis}, but not taken from the cache of the analysis
+     * @throws IllegalArgumentException if it is set to a number below 1
+     */
+    public static int getMaxErrors(Map<String, String> config) {
+        var maxErrors = config.getOrDefault(MAX_ERRORS, "false");
+        return switch (maxErrors) {
+            case "true" -> DEFAULT_MAX_ERRORS;
+            case "false" -> 0;
+            default -> {
+                var value = Integer.parseInt(maxErrors);
+                if (value < 1) {
+                    throw new IllegalArgumentException("Expected at least 1 error for '" + MAX_ERRORS + "', got "
+                            + value);
+                }
+                yield value;
+            }
+        };
+    }
 }
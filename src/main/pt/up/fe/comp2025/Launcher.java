@@ -5,6 +5,7 @@ import pt.up.fe.comp.jmm.analysis.JmmSemanticsResult;
 import pt.up.fe.comp.jmm.jasmin.JasminResult;
 import pt.up.fe.comp.jmm.ollir.OllirResult;
 import pt.up.fe.comp.jmm.parser.JmmParserResult;
+import pt.up.fe.comp2025.analysis.AnalysisProfile;
 import pt.up.fe.comp2025.analysis.JmmAnalysisImpl;
 import pt.up.fe.comp2025.backend.JasminBackendImpl;
 import pt.up.fe.comp2025.optimization.JmmOptimizationImpl;
@@ -40,6 +41,14 @@ public class Launcher {
         // Semantic Analysis stage
         JmmAnalysisImpl sema = new JmmAnalysisImpl();
         JmmSemanticsResult semanticsResult = sema.semanticAnalysis(parserResult);
+
+        // Print the time and work of each analysis pass, before any error stops the compilation. The passes do not run
+        // when the symbol table has errors
+        var analysisProfile = AnalysisProfile.of(semanticsResult.getSymbolTable());
+        if (ConfigOptions.getProfileAnalysis(config) && analysisProfile != null) {
+            System.out.println("Analysis profile:");
+            System.out.println(analysisProfile.toTable());
+        }
         TestUtils.noErrors(semanticsResult.getReports());
 
 
@@ -0,0 +1,135 @@
+package pt.up.fe.comp2025.analysis;
+
+import pt.up.fe.comp.jmm.report.Report;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Results of the analysis of each method, kept between analyses so that a long-running process (e.g. an editor or a
+ * build server) only analyses again the methods that changed, see {@link JmmAnalysisImpl#JmmAnalysisImpl(AnalysisCache)}.
+ * <p>
+ * A method is found by a hash of its AST, with lines relative to the start of the method, and of the parts of the class
+ * it depends on: the configuration, the class and its super class, the imports, the fields, the names of the methods
+ * and the signatures of the methods it calls. Editing a method, or the signature of a method it calls, analyses it
+ * again, and moving it up or down the file does not. The hash also covers the generation of the project index and
+ * the fingerprint of the resolved imports, so entries are invalidated automatically when the project index or the
+ * resolved imports change.
+ * <p>
+ * The least recently used methods are dropped past the capacity of the cache. A cache can be shared by several
+ * analyses, also at the same time.
+ */
+public class AnalysisCache {
+
+    /**
+     * Number of methods kept by a cache made with the default constructor.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * Hash of a method and of what it depends on in the class.
+     */
+    record Key(long first, long second) {
+    }
+
+    /**
+     * Results of the passes on a method, with lines relative to the start of the method, and the types the analysis
+     * stored in its nodes, by position in preorder.
+     */
+    record Entry(List<FusedAnalysis.Result> results, int[] typedNodes, Object[] types) {
+    }
+
+    private final Map<Key, Entry> entries;
+    private long hits;
+    private long misses;
+
+    public AnalysisCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity the number of methods kept
+     */
+    public AnalysisCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    synchronized Entry get(Key key) {
+        var entry = entries.get(key);
+        if (entry != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return entry;
+    }
+
+    synchronized void put(Key key, Entry entry) {
+        entries.put(key, entry);
+    }
+
+    /**
+     * @return the number of methods in the cache
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of methods found in the cache, since it was made
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the number of methods that were analysed because they were not in the cache, since it was made
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Drops all the methods, e.g. when the classes outside the file change.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * @param reports
+     * @param lines   lines to add to the reports that have a line
+     * @return the reports, moved by the given number of lines
+     */
+    static List<Report> shift(List<Report> reports, int lines) {
+        if (lines == 0 || reports.isEmpty()) {
+            return reports;
+        }
+
+        var shifted = new ArrayList<Report>(reports.size());
+        for (var report : reports) {
+            if (report.getLine() < 0) {
+                shifted.add(report);
+                continue;
+            }
+
+            var moved = new Report(report.getType(), report.getStage(), report.getLine() + lines, report.getColumn(),
+                    report.getMessage());
+            report.getException().ifPresent(moved::setException);
+            shifted.add(moved);
+        }
+
+        return shifted;
+    }
+}
@@ -0,0 +1,38 @@
+package pt.up.fe.comp2025.analysis;
+
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp2025.ast.KindSummary;
+
+import java.util.List;
+
+/**
+ * How the analysis passes run on the AST: on the whole AST, on its methods in parallel, on the methods that are not in
+ * an {@link AnalysisCache}, or going on after errors. The mode is selected once from the configuration, see
+ * {@link JmmAnalysisImpl#semanticAnalysis}.
+ */
+interface AnalysisMode {
+
+    /**
+     * Reports of the analysis, and the result of each pass, in the order of the passes.
+     */
+    record Outcome(List<Report> reports, List<FusedAnalysis.Result> results) {
+    }
+
+    /**
+     * Stores the types of the expressions in the nodes that this mode analyses.
+     *
+     * @param annotator
+     */
+    void annotate(TypeAnnotator annotator);
+
+    /**
+     * @return the Kinds of the nodes the passes may visit, as in {@link KindSummary#get}
+     */
+    long kinds();
+
+    /**
+     * @param stages the stages of the passes, see {@link PassScheduler}
+     * @return the reports and the result of each pass
+     */
+    Outcome analyze(List<PassScheduler.Stage> stages);
+}
@@ -5,6 +5,7 @@ import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp.jmm.report.Report;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Represents an analysis pass.
@@ -20,4 +21,23 @@ public interface AnalysisPass {
      */
     List<Report> analyze(JmmNode root, SymbolTable table);
 
+    /**
+     * Kinds of the nodes this pass visits. The pass is skipped when the AST has none of them.
+     *
+     * @return the kinds, or null if the pass may visit any node
+     */
+    default Set<String> getVisitedKinds() {
+        return null;
+    }
+
+    /**
+     * Passes before this one in the list of passes that must visit the whole AST before this one starts, because it
+     * reads what they store in the nodes when it visits the ancestors of those nodes.
+     *
+     * @return the classes of the passes
+     */
+    default Set<Class<? extends AnalysisPass>> getPredecessors() {
+        return Set.of();
+    }
+
 }
\ No newline at end of file
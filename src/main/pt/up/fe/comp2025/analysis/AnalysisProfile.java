@@ -0,0 +1,106 @@
+package pt.up.fe.comp2025.analysis;
+
+import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
+import pt.up.fe.comp2025.ConfigOptions;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Time and work of each analysis pass of a semantic analysis, measured when {@link ConfigOptions#getProfileAnalysis}
+ * is set, and attached to the symbol table, see {@link #of(SymbolTable)}.
+ * <p>
+ * Passes share their traversals of the AST (see {@link FusedAnalysis}), so the time and memory of a pass are those of
+ * its visits, and the time of walking the AST is only in the total of the analysis.
+ */
+public class AnalysisProfile {
+
+    /**
+     * Attribute of the symbol table with the profile of the analysis.
+     */
+    public static final String ATTRIBUTE = "analysisProfile";
+
+    private static final com.sun.management.ThreadMXBean THREADS = findThreads();
+
+    /**
+     * @param pass           simple name of the class of the pass
+     * @param wallNanos      time spent in the visits of the pass
+     * @param nodesVisited   nodes reached by the traversals the pass ran in
+     * @param visits         calls to the visits of the pass
+     * @param reports        reports of the pass
+     * @param allocatedBytes bytes allocated by the visits of the pass, or -1 if the JVM does not measure them
+     */
+    public record Pass(String pass, long wallNanos, long nodesVisited, long visits, int reports, long allocatedBytes) {
+    }
+
+    private final List<Pass> passes;
+    private final long wallNanos;
+
+    AnalysisProfile(List<Pass> passes, long wallNanos) {
+        this.passes = passes;
+        this.wallNanos = wallNanos;
+    }
+
+    /**
+     * @param table
+     * @return the profile attached to the given symbol table, or null if the analysis was not profiled
+     */
+    public static AnalysisProfile of(SymbolTable table) {
+        return table.hasAttribute(ATTRIBUTE) ? table.getObject(ATTRIBUTE, AnalysisProfile.class) : null;
+    }
+
+    /**
+     * @return the passes, in the order they were built. Passes that did not run have all counts at zero
+     */
+    public List<Pass> getPasses() {
+        return passes;
+    }
+
+    /**
+     * @return the time of the whole analysis, including the traversals and what runs before the passes
+     */
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    /**
+     * @return a table with a line per pass, the slowest first, and the total of the analysis
+     */
+    public String toTable() {
+        var format = "%-24s %10s %10s %10s %8s %14s%n";
+        var table = new StringBuilder();
+        table.append(String.format(format, "Pass", "Time (ms)", "Nodes", "Visits", "Reports", "Allocated (KB)"));
+
+        var sorted = passes.stream()
+                .sorted(Comparator.comparingLong(Pass::wallNanos).reversed())
+                .toList();
+        for (var pass : sorted) {
+            table.append(String.format(format, pass.pass(), millis(pass.wallNanos()), pass.nodesVisited(),
+                    pass.visits(), pass.reports(), pass.allocatedBytes() < 0 ? "-" : pass.allocatedBytes() / 1024));
+        }
+
+        table.append(String.format(format, "Total", millis(wallNanos), "", "", "", ""));
+        return table.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.3f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * @return the bytes allocated by the current thread so far, or -1 if the JVM does not measure them
+     */
+    static long allocatedBytes() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean findThreads() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads;
+        }
+
+        return null;
+    }
+}
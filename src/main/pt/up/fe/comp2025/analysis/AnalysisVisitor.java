@@ -2,17 +2,19 @@ package pt.up.fe.comp2025.analysis;
 
 import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
 import pt.up.fe.comp.jmm.ast.JmmNode;
-import pt.up.fe.comp.jmm.ast.PreorderJmmVisitor;
 import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.ast.PreorderKindVisitor;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
 
 /**
  * Implementation of AnalysisPass that automatically visits nodes using preorder traversal.
  */
-public abstract class AnalysisVisitor extends PreorderJmmVisitor<SymbolTable, Void> implements AnalysisPass {
+public abstract class AnalysisVisitor extends PreorderKindVisitor<SymbolTable, Void> implements AnalysisPass {
 
     private List<Report> reports;
 
@@ -30,6 +32,22 @@ public abstract class AnalysisVisitor extends PreorderJmmVisitor<SymbolTable, Vo
     }
 
 
+    /**
+     * @return the kinds of the visits added by the pass
+     */
+    @Override
+    public Set<String> getVisitedKinds() {
+        return getAddedKinds();
+    }
+
+    /**
+     * @param node
+     * @return the visit of this pass for the node, or null if the pass ignores it
+     */
+    BiFunction<JmmNode, SymbolTable, Void> findVisit(JmmNode node) {
+        return getAddedVisit(node);
+    }
+
     @Override
     public List<Report> analyze(JmmNode root, SymbolTable table) {
         // Visit the node
@@ -0,0 +1,187 @@
+package pt.up.fe.comp2025.analysis;
+
+import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp.jmm.report.ReportType;
+import pt.up.fe.comp2025.ast.AstWalker;
+import pt.up.fe.comp2025.ast.Children;
+import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.symboltable.JmmSymbolTable;
+import pt.up.fe.comp2025.symboltable.ScopedSymbol;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Drops the errors of a method that follow from an error reported before them, for analyses that go on after errors,
+ * see {@link CollectingAnalysis}.
+ * <p>
+ * An error about an undeclared variable, a call to an undeclared method of the class, or a declaration poisons what
+ * it is about. Later errors about an expression that uses something poisoned are cascades of the first one (e.g. the
+ * type of an assignment to an undeclared variable, or a second use of it), and are dropped, as are repeated errors.
+ * Variables are poisoned by the symbol their name resolves to in the method, so an error about a parameter does not
+ * drop the errors about a local of the same name, nor the reverse. Reports only have a position, so the nodes of an
+ * error are the nodes of the method that start at that position: the outermost expression among them, or else the
+ * expressions of the outermost statement, without the statements inside it.
+ */
+class CascadeFilter {
+
+    /**
+     * A variable of the method, by its scope, or with a null scope if it is not declared.
+     */
+    private record Variable(ScopedSymbol.Scope scope, String name) {
+    }
+
+    private final JmmNode method;
+    private final SymbolTable table;
+
+    private final Set<Variable> variables;
+    private final Set<String> methods;
+    private final Set<String> reported;
+    // Nodes by position, in preorder, built on the first error
+    private Map<Long, List<JmmNode>> byPosition;
+
+    /**
+     * @param method the method the reports are in, or null for the rest of the AST, where only repeated errors are
+     *               dropped
+     * @param table
+     */
+    CascadeFilter(JmmNode method, SymbolTable table) {
+        this.method = method;
+        this.table = table;
+        this.variables = new HashSet<>();
+        this.methods = new HashSet<>();
+        this.reported = new HashSet<>();
+    }
+
+    /**
+     * @param report
+     * @return false if the report is an error that follows from an error passed before
+     */
+    boolean accept(Report report) {
+        if (report.getType() != ReportType.ERROR) {
+            return true;
+        }
+
+        if (!reported.add(report.getLine() + ":" + report.getColumn() + " " + report.getMessage())) {
+            return false;
+        }
+
+        if (method == null || report.getLine() < 0) {
+            return true;
+        }
+
+        var nodes = nodesAt(report.getLine(), report.getColumn());
+        if (nodes.isEmpty()) {
+            return true;
+        }
+
+        if (usesPoisoned(nodes)) {
+            return false;
+        }
+
+        poison(nodes);
+        return true;
+    }
+
+    /**
+     * @return whether an error poisoned a variable or a method, after which the passes may also throw on what they
+     * find unresolved
+     */
+    boolean hasPoisoned() {
+        return !variables.isEmpty() || !methods.isEmpty();
+    }
+
+    private boolean usesPoisoned(List<JmmNode> nodes) {
+        var root = nodes.stream().filter(Kind.EXPR::check).findFirst().orElse(nodes.get(0));
+
+        var stack = new ArrayDeque<JmmNode>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            var node = stack.pop();
+            if (Kind.VAR_REF_EXPR.check(node) && variables.contains(resolve(node.get("name")))
+                    || Kind.CLASS_FUNCTION_EXPR.check(node) && methods.contains(node.get("name"))) {
+                return true;
+            }
+
+            for (var child : Children.view(node)) {
+                if (!Kind.STMT.check(child)) {
+                    stack.push(child);
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private void poison(List<JmmNode> nodes) {
+        var methodName = method.get("name");
+
+        // The innermost node the error can be about
+        for (int i = nodes.size() - 1; i >= 0; i--) {
+            var node = nodes.get(i);
+            var kind = Kind.find(node);
+            if (kind == null) {
+                continue;
+            }
+
+            switch (kind) {
+                case VAR_REF_EXPR -> {
+                    var name = node.get("name");
+                    if (JmmSymbolTable.resolve(table, methodName, name) == null
+                            && !table.getImports().contains(name)) {
+                        variables.add(new Variable(null, name));
+                        return;
+                    }
+                }
+                case CLASS_FUNCTION_EXPR -> {
+                    var name = node.get("name");
+                    if (!table.getMethods().contains(name)
+                            && (table.getSuper() == null || table.getSuper().isEmpty())) {
+                        methods.add(name);
+                        return;
+                    }
+                }
+                case VAR_DECL -> {
+                    variables.add(new Variable(ScopedSymbol.Scope.LOCAL, node.get("name")));
+                    return;
+                }
+                case PARAM -> {
+                    variables.add(new Variable(ScopedSymbol.Scope.PARAMETER, node.get("name")));
+                    return;
+                }
+                default -> {
+                }
+            }
+        }
+    }
+
+    private Variable resolve(String name) {
+        var symbol = JmmSymbolTable.resolve(table, method.get("name"), name);
+        return new Variable(symbol != null ? symbol.getScope() : null, name);
+    }
+
+    private List<JmmNode> nodesAt(int line, int column) {
+        if (byPosition == null) {
+            byPosition = new HashMap<>();
+            new AstWalker().preorder(method, node -> {
+                if (node.getLine() >= 0) {
+                    byPosition.computeIfAbsent(position(node.getLine(), node.getColumn()), key -> new ArrayList<>())
+                            .add(node);
+                }
+            });
+        }
+
+        return byPosition.getOrDefault(position(line, column), List.of());
+    }
+
+    private static long position(int line, int column) {
+        return ((long) line << 32) | (column & 0xFFFFFFFFL);
+    }
+}
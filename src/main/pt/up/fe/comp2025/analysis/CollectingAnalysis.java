@@ -0,0 +1,178 @@
+package pt.up.fe.comp2025.analysis;
+
+import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp.jmm.report.ReportType;
+import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.ConfigOptions;
+import pt.up.fe.comp2025.ast.KindSummary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Runs analysis passes on each method on its own, and goes on after errors until a number of errors, see
+ * {@link ConfigOptions#getMaxErrors}.
+ * <p>
+ * Each part of the AST, see {@link ParallelAnalysis#analyzePart}, has its own instances of the passes, and with
+ * {@link ConfigOptions#getParallelAnalysis} the parts of a stage are analysed in parallel. A pass that throws only
+ * loses its reports in the part it threw in, with an error for that part, unless an error before it in the method
+ * poisoned a symbol. The stages run on every part before the next stage, as without errors, since the passes of a
+ * stage read the types that the passes of the stages before stored in the nodes. The analysis stops after the stage
+ * where the errors reach the cap, and the reports are cut at the cap.
+ * <p>
+ * The reports are in the order of the parts, and in the order of the passes within a part. The errors that follow from
+ * another error of the same method are dropped, see {@link CascadeFilter}, and do not count for the cap.
+ */
+class CollectingAnalysis implements AnalysisMode {
+
+    private final JmmNode root;
+    private final SymbolTable table;
+    private final Supplier<List<AnalysisVisitor>> passes;
+    private final KindSummary kindSummary;
+    private final boolean parallel;
+    private final boolean profile;
+    private final int maxErrors;
+
+    /**
+     * @param root
+     * @param table
+     * @param passes    new instances of the passes, each time it is called
+     * @param parallel  whether to analyse the parts of a stage in parallel
+     * @param profile   whether to measure the visits of each pass
+     * @param maxErrors the number of errors after which the analysis stops
+     */
+    CollectingAnalysis(JmmNode root, SymbolTable table, Supplier<List<AnalysisVisitor>> passes, boolean parallel,
+                       boolean profile, int maxErrors) {
+        this.root = root;
+        this.table = table;
+        this.passes = passes;
+        // The passes do not add nodes, so the summary stays valid for all of them
+        this.kindSummary = KindSummary.of(root);
+        this.parallel = parallel;
+        this.profile = profile;
+        this.maxErrors = maxErrors;
+    }
+
+    @Override
+    public void annotate(TypeAnnotator annotator) {
+        annotator.annotate(root);
+    }
+
+    @Override
+    public long kinds() {
+        return kindSummary.get(root);
+    }
+
+    /**
+     * @param stages
+     * @return the reports of all the passes, without the cascading errors, up to the cap, and the result of each pass,
+     * with the reports before dropping the cascading errors
+     */
+    @Override
+    public Outcome analyze(List<PassScheduler.Stage> stages) {
+        var methods = ParallelAnalysis.methodsOf(root);
+        var names = passes.get().stream().map(pass -> pass.getClass().toString()).toList();
+
+        // The results of each part, in the order of the parts
+        var parts = new ArrayList<FusedAnalysis.Result[]>(methods.size() + 1);
+        for (int part = 0; part <= methods.size(); part++) {
+            var partResults = new FusedAnalysis.Result[names.size()];
+            Arrays.fill(partResults, new FusedAnalysis.Result(List.of(), null));
+            parts.add(partResults);
+        }
+
+        List<Report> reports = List.of();
+        int stage = 0;
+        for (; stage < stages.size(); stage++) {
+            var stagePasses = stages.get(stage).passes();
+            // Each part only writes its own results
+            var partIndexes = IntStream.range(0, parts.size());
+            (parallel ? partIndexes.parallel() : partIndexes).forEach(part -> {
+                var fused = new FusedAnalysis(JmmAnalysisImpl.select(passes.get(), stagePasses), kindSummary, profile);
+                var stageResults = ParallelAnalysis.analyzePart(fused, root, methods, part, table);
+
+                for (int i = 0; i < stagePasses.size(); i++) {
+                    parts.get(part)[stagePasses.get(i)] = stageResults.get(i);
+                }
+            });
+
+            reports = collect(parts, methods, names, table);
+            if (countErrors(reports) >= maxErrors) {
+                stage++;
+                break;
+            }
+        }
+
+        var results = ParallelAnalysis.merge(parts.stream().map(Arrays::asList).toList());
+
+        return new Outcome(cut(reports, stage < stages.size()), results);
+    }
+
+    private static List<Report> collect(List<FusedAnalysis.Result[]> parts, List<JmmNode> methods,
+                                        List<String> names, SymbolTable table) {
+        var reports = new ArrayList<Report>();
+
+        for (int part = 0; part < parts.size(); part++) {
+            var method = part == 0 ? null : methods.get(part - 1);
+            var filter = new CascadeFilter(method, table);
+
+            var partResults = parts.get(part);
+            for (int pass = 0; pass < partResults.length; pass++) {
+                var result = partResults[pass];
+
+                if (result.exception() != null) {
+                    // Passes do not expect what is left unresolved by an error
+                    if (filter.hasPoisoned()) {
+                        continue;
+                    }
+                    reports.add(Report.newError(Stage.SEMANTIC,
+                            method != null ? method.getLine() : -1,
+                            method != null ? method.getColumn() : -1,
+                            "Problem while executing analysis pass '" + names.get(pass) + "'"
+                                    + (method != null ? " on method '" + method.get("name") + "'" : ""),
+                            result.exception())
+                    );
+                    continue;
+                }
+
+                for (var report : result.reports()) {
+                    if (filter.accept(report)) {
+                        reports.add(report);
+                    }
+                }
+            }
+        }
+
+        return reports;
+    }
+
+    private List<Report> cut(List<Report> reports, boolean stagesLeft) {
+        var kept = new ArrayList<Report>();
+        int errors = 0;
+        for (var report : reports) {
+            if (errors == maxErrors) {
+                break;
+            }
+            kept.add(report);
+            if (report.getType() == ReportType.ERROR) {
+                errors++;
+            }
+        }
+
+        if (kept.size() < reports.size() || stagesLeft) {
+            kept.add(new Report(ReportType.LOG, Stage.SEMANTIC, -1, -1,
+                    "Analysis stopped after " + maxErrors + " errors"));
+        }
+
+        return kept;
+    }
+
+    private static int countErrors(List<Report> reports) {
+        return (int) reports.stream().filter(report -> report.getType() == ReportType.ERROR).count();
+    }
+}
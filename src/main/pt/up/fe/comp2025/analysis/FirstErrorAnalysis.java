@@ -0,0 +1,193 @@
+package pt.up.fe.comp2025.analysis;
+
+import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp.jmm.report.ReportType;
+import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.ast.KindSummary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Runs the stages of the passes until a pass reports an error. The reports are those of the passes up to the first
+ * one with errors, in the order of the passes, and the stages after it do not run. A pass that throws gets an error
+ * instead of its reports, and the passes after it go on.
+ * <p>
+ * The subclasses run a stage on the whole AST, on its methods in parallel, or on the methods that are not in the
+ * cache.
+ */
+abstract class FirstErrorAnalysis implements AnalysisMode {
+
+    protected final JmmNode root;
+    protected final SymbolTable table;
+    private final List<String> names;
+
+    /**
+     * @param root
+     * @param table
+     * @param passes the passes, for the names in the reports of the passes that throw
+     */
+    FirstErrorAnalysis(JmmNode root, SymbolTable table, List<AnalysisVisitor> passes) {
+        this.root = root;
+        this.table = table;
+        this.names = passes.stream().map(pass -> pass.getClass().toString()).toList();
+    }
+
+    /**
+     * @param stagePasses indexes of the passes of a stage
+     * @return the result of each of the passes, in the order of the indexes
+     */
+    abstract List<FusedAnalysis.Result> analyzeStage(List<Integer> stagePasses);
+
+    @Override
+    public void annotate(TypeAnnotator annotator) {
+        annotator.annotate(root);
+    }
+
+    @Override
+    public long kinds() {
+        return KindSummary.ALL;
+    }
+
+    @Override
+    public Outcome analyze(List<PassScheduler.Stage> stages) {
+        // Passes that are not scheduled visit no node, and have no reports
+        var results = new FusedAnalysis.Result[names.size()];
+        Arrays.fill(results, new FusedAnalysis.Result(List.of(), null));
+        var done = new boolean[names.size()];
+        Arrays.fill(done, true);
+        for (var stage : stages) {
+            stage.passes().forEach(i -> done[i] = false);
+        }
+
+        var reports = new ArrayList<Report>();
+        int next = 0;
+        for (var stage : stages) {
+            var stagePasses = stage.passes();
+            var stageResults = analyzeStage(stagePasses);
+            for (int i = 0; i < stagePasses.size(); i++) {
+                results[stagePasses.get(i)] = stageResults.get(i);
+                done[stagePasses.get(i)] = true;
+            }
+
+            // Reports are added in the order of the passes, as soon as the passes before them are done
+            for (; next < names.size() && done[next]; next++) {
+                var result = results[next];
+
+                if (result.exception() != null) {
+                    reports.add(Report.newError(Stage.SEMANTIC,
+                            -1,
+                            -1,
+                            "Problem while executing analysis pass '" + names.get(next) + "'",
+                            result.exception())
+                    );
+                    continue;
+                }
+
+                reports.addAll(result.reports());
+
+                // Stop at the first pass with errors
+                if (result.reports().stream().anyMatch(report -> report.getType() == ReportType.ERROR)) {
+                    return new Outcome(reports, Arrays.asList(results));
+                }
+            }
+        }
+
+        return new Outcome(reports, Arrays.asList(results));
+    }
+
+    /**
+     * Runs each stage in one traversal of the whole AST.
+     */
+    static final class Sequential extends FirstErrorAnalysis {
+
+        private final List<AnalysisVisitor> passes;
+        private final KindSummary kindSummary;
+        private final boolean profile;
+
+        Sequential(JmmNode root, SymbolTable table, List<AnalysisVisitor> passes, boolean profile) {
+            super(root, table, passes);
+            this.passes = passes;
+            // The passes do not add nodes, so the summary stays valid for all of them
+            this.kindSummary = KindSummary.of(root);
+            this.profile = profile;
+        }
+
+        @Override
+        public long kinds() {
+            return kindSummary.get(root);
+        }
+
+        @Override
+        List<FusedAnalysis.Result> analyzeStage(List<Integer> stagePasses) {
+            return new FusedAnalysis(JmmAnalysisImpl.select(passes, stagePasses), kindSummary, profile)
+                    .analyze(root, table);
+        }
+    }
+
+    /**
+     * Runs each stage on the methods in parallel, see {@link ParallelAnalysis}.
+     */
+    static final class Parallel extends FirstErrorAnalysis {
+
+        private final Supplier<List<AnalysisVisitor>> passes;
+        private final KindSummary kindSummary;
+        private final boolean profile;
+
+        /**
+         * @param passes new instances of the passes, each time it is called
+         */
+        Parallel(JmmNode root, SymbolTable table, Supplier<List<AnalysisVisitor>> passes, boolean profile) {
+            super(root, table, passes.get());
+            this.passes = passes;
+            this.kindSummary = KindSummary.of(root);
+            this.profile = profile;
+        }
+
+        @Override
+        public long kinds() {
+            return kindSummary.get(root);
+        }
+
+        @Override
+        List<FusedAnalysis.Result> analyzeStage(List<Integer> stagePasses) {
+            // Each method has its own instances of the passes
+            return new ParallelAnalysis(() -> JmmAnalysisImpl.select(passes.get(), stagePasses), kindSummary, profile)
+                    .analyze(root, table);
+        }
+    }
+
+    /**
+     * Runs every stage on the methods that are not in the cache, see {@link IncrementalAnalysis}, before the reports
+     * are read. Only the methods analysed are summarised, so every pass is scheduled.
+     */
+    static final class Incremental extends FirstErrorAnalysis {
+
+        private final IncrementalAnalysis incremental;
+
+        Incremental(JmmNode root, SymbolTable table, List<AnalysisVisitor> passes, IncrementalAnalysis incremental) {
+            super(root, table, passes);
+            this.incremental = incremental;
+        }
+
+        @Override
+        public void annotate(TypeAnnotator annotator) {
+            incremental.annotate(annotator);
+        }
+
+        @Override
+        public Outcome analyze(List<PassScheduler.Stage> stages) {
+            incremental.run(stages);
+            return super.analyze(stages);
+        }
+
+        @Override
+        List<FusedAnalysis.Result> analyzeStage(List<Integer> stagePasses) {
+            return incremental.results(stagePasses);
+        }
+    }
+}
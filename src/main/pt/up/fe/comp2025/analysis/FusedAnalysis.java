@@ -0,0 +1,179 @@
+package pt.up.fe.comp2025.analysis;
+
+import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp2025.ast.AstWalker;
+import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.ast.KindSummary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+
+/**
+ * Runs several analysis passes in a single preorder traversal of the AST.
+ * <p>
+ * The visits added by the passes are gathered in one table, indexed by {@link Kind} ordinal, where the visits for each
+ * kind are in the order of the passes. Each node is visited once, by every pass that has a visit for it, so each pass
+ * sees the nodes in the same order as in its own traversal. A pass that throws an exception is not called again, as
+ * its own traversal would have stopped there, and the other passes go on.
+ * <p>
+ * When a pass visits a node, the passes before it have not visited the descendants of the node yet. Passes that read
+ * what another pass stores in the nodes at the ancestors of those nodes must run in a later traversal, see
+ * {@link AnalysisPass#getPredecessors()}.
+ * <p>
+ * With a {@link KindSummary} of the AST, the subtrees without any kind visited by the passes are left out. When
+ * profiled, the time and the memory allocated by each visit are added to its pass, see {@link AnalysisProfile}.
+ */
+class FusedAnalysis {
+
+    /**
+     * Reports of a pass, or the exception that stopped it, and what it took when profiled.
+     */
+    record Result(List<Report> reports, Exception exception, Usage usage) {
+        Result(List<Report> reports, Exception exception) {
+            this(reports, exception, Usage.NONE);
+        }
+    }
+
+    /**
+     * What a pass took in one or more traversals, see {@link AnalysisProfile.Pass}.
+     */
+    record Usage(long nanos, long nodes, long visits, long allocatedBytes) {
+        static final Usage NONE = new Usage(0, 0, 0, 0);
+
+        Usage plus(Usage other) {
+            // Allocations are either measured in all the threads or in none
+            return new Usage(nanos + other.nanos, nodes + other.nodes, visits + other.visits,
+                    allocatedBytes < 0 || other.allocatedBytes < 0 ? -1 : allocatedBytes + other.allocatedBytes);
+        }
+    }
+
+    private record Visit(int pass, BiFunction<JmmNode, SymbolTable, Void> method) {
+    }
+
+    private final List<AnalysisVisitor> passes;
+    private final KindSummary kindSummary;
+    private final long visitedKinds;
+    private final boolean profile;
+
+    // Visits per Kind ordinal, with the hierarchy they were resolved for
+    private final Visit[][] byKind;
+    private final List<?>[] byKindHierarchy;
+
+    FusedAnalysis(List<AnalysisVisitor> passes) {
+        this(passes, null, false);
+    }
+
+    /**
+     * @param passes
+     * @param kindSummary the summary of the AST, or null to visit all the nodes
+     * @param profile     whether to measure the visits of each pass
+     */
+    FusedAnalysis(List<AnalysisVisitor> passes, KindSummary kindSummary, boolean profile) {
+        int numKinds = Kind.values().length;
+
+        this.passes = passes;
+        this.kindSummary = kindSummary;
+        this.profile = profile;
+        this.visitedKinds = passes.stream()
+                .mapToLong(pass -> KindSummary.maskOf(pass.getVisitedKinds()))
+                .reduce(0, (a, b) -> a | b);
+        this.byKind = new Visit[numKinds][];
+        this.byKindHierarchy = new List<?>[numKinds];
+    }
+
+    /**
+     * @param root
+     * @param table
+     * @return the result of each pass, in the order of the passes
+     */
+    List<Result> analyze(JmmNode root, SymbolTable table) {
+        return analyze(root, table, node -> true);
+    }
+
+    /**
+     * @param root
+     * @param table
+     * @param filter whether to visit a node and its descendants
+     * @return the result of each pass, in the order of the passes
+     */
+    List<Result> analyze(JmmNode root, SymbolTable table, Predicate<JmmNode> filter) {
+        var exceptions = new Exception[passes.size()];
+        var nanos = new long[passes.size()];
+        var visits = new long[passes.size()];
+        var allocatedBytes = new long[passes.size()];
+        var nodes = new long[1];
+
+        Predicate<JmmNode> visited = kindSummary == null ? filter
+                : node -> filter.test(node) && kindSummary.containsAny(node, visitedKinds);
+
+        new AstWalker().preorder(root, visited, node -> {
+            nodes[0]++;
+
+            for (var visit : getVisits(node)) {
+                int pass = visit.pass();
+                if (exceptions[pass] != null) {
+                    continue;
+                }
+
+                try {
+                    if (profile) {
+                        long bytes = AnalysisProfile.allocatedBytes();
+                        long start = System.nanoTime();
+                        visit.method().apply(node, table);
+                        nanos[pass] += System.nanoTime() - start;
+                        allocatedBytes[pass] += AnalysisProfile.allocatedBytes() - bytes;
+                        visits[pass]++;
+                    } else {
+                        visit.method().apply(node, table);
+                    }
+                } catch (Exception e) {
+                    exceptions[pass] = e;
+                }
+            }
+        });
+
+        boolean allocationsMeasured = AnalysisProfile.allocatedBytes() >= 0;
+        var results = new ArrayList<Result>(passes.size());
+        for (int i = 0; i < passes.size(); i++) {
+            var usage = !profile ? Usage.NONE
+                    : new Usage(nanos[i], nodes[0], visits[i], allocationsMeasured ? allocatedBytes[i] : -1);
+
+            results.add(exceptions[i] != null ? new Result(List.of(), exceptions[i], usage)
+                    : new Result(passes.get(i).getReports(), null, usage));
+        }
+
+        return results;
+    }
+
+    private Visit[] getVisits(JmmNode node) {
+        var kind = Kind.find(node);
+        if (kind == null) {
+            return resolve(node);
+        }
+
+        int ordinal = kind.ordinal();
+        var hierarchy = node.getHierarchy();
+        if (!hierarchy.equals(byKindHierarchy[ordinal])) {
+            byKind[ordinal] = resolve(node);
+            byKindHierarchy[ordinal] = hierarchy;
+        }
+
+        return byKind[ordinal];
+    }
+
+    private Visit[] resolve(JmmNode node) {
+        var visits = new ArrayList<Visit>();
+        for (int i = 0; i < passes.size(); i++) {
+            var method = passes.get(i).findVisit(node);
+            if (method != null) {
+                visits.add(new Visit(i, method));
+            }
+        }
+
+        return visits.toArray(new Visit[0]);
+    }
+}
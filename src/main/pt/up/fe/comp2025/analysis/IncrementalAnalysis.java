@@ -0,0 +1,371 @@
+package pt.up.fe.comp2025.analysis;
+
+import pt.up.fe.comp.jmm.analysis.table.Symbol;
+import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
+import pt.up.fe.comp.jmm.analysis.table.Type;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp2025.ConfigOptions;
+import pt.up.fe.comp2025.ast.AstWalker;
+import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.ast.KindSummary;
+import pt.up.fe.comp2025.ast.TypeUtils;
+import pt.up.fe.comp2025.symboltable.ClassPath;
+import pt.up.fe.comp2025.symboltable.ProjectIndex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+/**
+ * Runs analysis passes only on the methods that are not in an {@link AnalysisCache}, and takes the results of the
+ * others from the cache.
+ * <p>
+ * The part of the AST without the methods is always analysed, and each method is either analysed on its own or found
+ * in the cache by its hash, see {@link ParallelAnalysis#analyzePart}. The methods that are analysed are stored in the
+ * cache, with copies of the reports of every pass and of the types stored in their nodes, which are copied again into
+ * the nodes of the methods found later.
+ * <p>
+ * All the stages run before the reports are read, also when a pass reports an error, so that the methods analysed
+ * have the results of every pass in the cache. The reports are the same as without the cache, but after an error the
+ * nodes may have types that the later passes would not have stored.
+ */
+class IncrementalAnalysis {
+
+    private final AnalysisCache cache;
+    private final JmmNode root;
+    private final SymbolTable table;
+    private final Supplier<List<AnalysisVisitor>> passes;
+    private final boolean parallel;
+    private final boolean profile;
+    private final int numPasses;
+
+    // Part i is method i - 1, see ParallelAnalysis#analyzePart
+    private final List<JmmNode> methods;
+    private final AnalysisCache.Key[] keys;
+    private final FusedAnalysis.Result[][] results;
+    // Parts that are not in the cache, part 0 first
+    private final List<Integer> analysed;
+
+    /**
+     * @param cache
+     * @param root
+     * @param table
+     * @param config
+     * @param passes   new instances of the passes, each time it is called
+     * @param numPasses number of passes the supplier returns
+     * @param parallel whether to analyse the methods in parallel
+     * @param profile  whether to measure the visits of each pass
+     */
+    IncrementalAnalysis(AnalysisCache cache, JmmNode root, SymbolTable table, Map<String, String> config,
+                        Supplier<List<AnalysisVisitor>> passes, int numPasses, boolean parallel, boolean profile) {
+        this.cache = cache;
+        this.root = root;
+        this.table = table;
+        this.passes = passes;
+        this.parallel = parallel;
+        this.profile = profile;
+        this.numPasses = numPasses;
+
+        this.methods = ParallelAnalysis.methodsOf(root);
+
+        this.keys = new AnalysisCache.Key[methods.size() + 1];
+        this.results = new FusedAnalysis.Result[methods.size() + 1][];
+        this.analysed = new ArrayList<>();
+        analysed.add(0);
+
+        var classKey = classKey(config);
+        for (int part = 1; part <= methods.size(); part++) {
+            var method = methods.get(part - 1);
+            keys[part] = methodKey(classKey, method);
+
+            var entry = cache.get(keys[part]);
+            if (entry == null) {
+                analysed.add(part);
+                continue;
+            }
+
+            int line = method.getLine();
+            var partResults = new FusedAnalysis.Result[numPasses];
+            for (int pass = 0; pass < numPasses; pass++) {
+                var result = entry.results().get(pass);
+                partResults[pass] = new FusedAnalysis.Result(AnalysisCache.shift(result.reports(), line),
+                        result.exception());
+            }
+            results[part] = partResults;
+
+            restoreTypes(method, entry);
+        }
+    }
+
+    /**
+     * Annotates the methods that are not in the cache, the others have their types from the cache.
+     *
+     * @param annotator
+     */
+    void annotate(TypeAnnotator annotator) {
+        for (var part : analysed) {
+            if (part > 0) {
+                annotator.annotate(methods.get(part - 1));
+            }
+        }
+    }
+
+    /**
+     * Runs the stages on the parts that are not in the cache, and stores the methods among them in the cache.
+     *
+     * @param stages
+     */
+    void run(List<PassScheduler.Stage> stages) {
+        var summaries = new KindSummary[results.length];
+        for (var part : analysed) {
+            if (part > 0) {
+                summaries[part] = KindSummary.of(methods.get(part - 1));
+            }
+            results[part] = new FusedAnalysis.Result[numPasses];
+            Arrays.fill(results[part], new FusedAnalysis.Result(List.of(), null));
+        }
+
+        // Stage by stage, so the passes of a stage see what the stages before stored
+        for (var stage : stages) {
+            var stagePasses = stage.passes();
+            var parts = parallel ? analysed.parallelStream() : analysed.stream();
+            parts.forEach(part -> {
+                var fused = new FusedAnalysis(JmmAnalysisImpl.select(passes.get(), stagePasses), summaries[part],
+                        profile);
+                var stageResults = ParallelAnalysis.analyzePart(fused, root, methods, part, table);
+
+                for (int i = 0; i < stagePasses.size(); i++) {
+                    results[part][stagePasses.get(i)] = stageResults.get(i);
+                }
+            });
+        }
+
+        for (var part : analysed) {
+            if (part > 0) {
+                cache.put(keys[part], entryOf(methods.get(part - 1), results[part]));
+            }
+        }
+    }
+
+    /**
+     * @param stagePasses indexes of passes
+     * @return the result of each of the passes, in the order of the indexes
+     */
+    List<FusedAnalysis.Result> results(List<Integer> stagePasses) {
+        var parts = new ArrayList<List<FusedAnalysis.Result>>(results.length);
+        for (var partResults : results) {
+            var selected = new ArrayList<FusedAnalysis.Result>(stagePasses.size());
+            for (var pass : stagePasses) {
+                selected.add(partResults[pass]);
+            }
+            parts.add(selected);
+        }
+
+        return ParallelAnalysis.merge(parts);
+    }
+
+    private static AnalysisCache.Entry entryOf(JmmNode method, FusedAnalysis.Result[] partResults) {
+        int line = method.getLine();
+        var cached = new ArrayList<FusedAnalysis.Result>(partResults.length);
+        for (var result : partResults) {
+            // What the passes took is not taken again by a method found in the cache
+            cached.add(new FusedAnalysis.Result(AnalysisCache.shift(result.reports(), -line), result.exception()));
+        }
+
+        var typedNodes = new ArrayList<Integer>();
+        var types = new ArrayList<>();
+        var position = new int[1];
+        new AstWalker().preorder(method, node -> {
+            if (node.hasAttribute("type")) {
+                typedNodes.add(position[0]);
+                types.add(copyOf(node.getObject("type")));
+            }
+            position[0]++;
+        });
+
+        return new AnalysisCache.Entry(cached, typedNodes.stream().mapToInt(Integer::intValue).toArray(),
+                types.toArray());
+    }
+
+    private static void restoreTypes(JmmNode method, AnalysisCache.Entry entry) {
+        var typedNodes = entry.typedNodes();
+        var types = entry.types();
+        var position = new int[1];
+        var next = new int[1];
+        new AstWalker().preorder(method, node -> {
+            if (next[0] < typedNodes.length && typedNodes[next[0]] == position[0]) {
+                node.putObject("type", copyOf(types[next[0]]));
+                next[0]++;
+            }
+            position[0]++;
+        });
+    }
+
+    /**
+     * Types in the nodes can still be changed with putObject by whoever holds the AST, and some of them are types of
+     * the symbol table of the analysis, so the cache keeps its own copies and each method found gets new copies.
+     *
+     * @param type
+     * @return a copy of the type, if it is one
+     */
+    private static Object copyOf(Object type) {
+        return type instanceof Type typed ? TypeUtils.copy(typed) : type;
+    }
+
+    /**
+     * @param config
+     * @return the hash of what every method of the class depends on, in the class and in the classes it uses
+     */
+    private AnalysisCache.Key classKey(Map<String, String> config) {
+        var hash = new Hash();
+
+        // The same file with other options, or another file with the same class
+        var options = new TreeMap<>(config);
+        options.remove(ConfigOptions.getInputFile());
+        options.forEach((option, value) -> {
+            hash.add(option);
+            hash.add(value);
+        });
+
+        hash.add(table.getClassName());
+        hash.add(String.valueOf(table.getSuper()));
+        table.getImports().forEach(hash::add);
+        table.getFields().forEach(hash::add);
+        // Only the names, the signatures are in the keys of the methods that call them
+        table.getMethods().forEach(hash::add);
+
+        // The other classes of the project and the compiled classes, whose methods the passes check calls against
+        var projectIndex = ProjectIndex.of(table);
+        hash.add(projectIndex != null ? projectIndex.getGeneration() : -1);
+        var classPath = ClassPath.of(table);
+        hash.add(classPath != null ? classPath.getFingerprint() : "");
+
+        return hash.toKey();
+    }
+
+    /**
+     * @param classKey
+     * @param method
+     * @return the hash of the method, with lines relative to its start, and of what it depends on in the class
+     */
+    private AnalysisCache.Key methodKey(AnalysisCache.Key classKey, JmmNode method) {
+        int line = method.getLine();
+        var hash = new Hash(classKey);
+        var called = new TreeSet<String>();
+        called.add(method.get("name"));
+
+        new AstWalker().preorder(method, node -> {
+            // The hierarchy follows from the kind. Attributes are in the order of the map, which only differs for the
+            // same attributes when they were stored in another order, and then the method is just analysed again
+            hash.add(node.getKind());
+            hash.add(node.getNumChildren());
+            for (var attribute : node.getAttributes()) {
+                switch (attribute) {
+                    case "type" -> {
+                        // Stored by the analysis
+                    }
+                    case "lineStart", "lineEnd" -> {
+                        hash.add(attribute);
+                        hash.add(node.getInteger(attribute, -1) - line);
+                    }
+                    default -> {
+                        hash.add(attribute);
+                        hash.add(node.getObject(attribute));
+                    }
+                }
+            }
+
+            if (Kind.CLASS_FUNCTION_EXPR.check(node)) {
+                called.add(node.get("name"));
+            }
+        });
+
+        // Signatures in the symbol table of the method and of the methods of the class it calls
+        var methods = table.getMethods();
+        for (var name : called) {
+            if (!methods.contains(name)) {
+                continue;
+            }
+            addSignature(hash, name);
+            if (name.equals(method.get("name"))) {
+                table.getLocalVariables(name).forEach(hash::add);
+            }
+        }
+
+        return hash.toKey();
+    }
+
+    private void addSignature(Hash hash, String method) {
+        hash.add(method);
+        hash.add(table.getReturnType(method));
+        table.getParameters(method).forEach(hash::add);
+    }
+
+    /**
+     * Hash of 128 bits, in two lanes that mix each value differently. It is not cryptographic, the code analysed is
+     * not expected to look for collisions, but every character of the strings is in it, unlike in their hash codes.
+     */
+    private static final class Hash {
+        private long first;
+        private long second;
+
+        private Hash() {
+        }
+
+        private Hash(AnalysisCache.Key seed) {
+            add(seed.first());
+            add(seed.second());
+        }
+
+        private void add(long value) {
+            first = Long.rotateLeft((first ^ value) * 0x9E3779B97F4A7C15L, 31);
+            second = Long.rotateLeft((second + value) * 0xC2B2AE3D27D4EB4FL, 27) ^ first;
+        }
+
+        private void add(String value) {
+            add(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                add(value.charAt(i));
+            }
+        }
+
+        private void add(Type type) {
+            if (type == null) {
+                add(-1);
+                return;
+            }
+            add(type.getName());
+            add(type.isArray() ? 1 : 0);
+        }
+
+        private void add(Symbol symbol) {
+            add(symbol.getName());
+            add(symbol.getType());
+        }
+
+        // Values of the attributes of the nodes, strings and numbers without converting them
+        private void add(Object value) {
+            switch (value) {
+                case String string -> add(string);
+                case Number number -> add(number.longValue());
+                case Boolean bool -> add(bool ? 1 : 0);
+                case null -> add(-1);
+                default -> add(value.toString());
+            }
+        }
+
+        private AnalysisCache.Key toKey() {
+            return new AnalysisCache.Key(mix(first), mix(second));
+        }
+
+        private static long mix(long value) {
+            value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+            value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+            return value ^ (value >>> 33);
+        }
+    }
+}
@@ -7,20 +7,36 @@ import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp.jmm.ast.JmmNodeImpl;
 import pt.up.fe.comp.jmm.parser.JmmParserResult;
 import pt.up.fe.comp.jmm.report.Report;
-import pt.up.fe.comp.jmm.report.ReportType;
-import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.ConfigOptions;
 import pt.up.fe.comp2025.analysis.passes.*;
 import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.ast.TypeUtils;
+import pt.up.fe.comp2025.parser.InternedParserResult;
+import pt.up.fe.comp2025.symboltable.ClassPath;
 import pt.up.fe.comp2025.symboltable.JmmSymbolTableBuilder;
+import pt.up.fe.comp2025.symboltable.ProjectIndex;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementation of the semantic analysis stage.
  */
 public class JmmAnalysisImpl implements JmmAnalysis {
 
+    private final AnalysisCache cache;
+
+    public JmmAnalysisImpl() {
+        this(null);
+    }
+
+    /**
+     * @param cache results of methods analysed before, kept across analyses, or null to analyse all the methods
+     */
+    public JmmAnalysisImpl(AnalysisCache cache) {
+        this.cache = cache;
+    }
 
     /**
      * Analysis passes that will be applied to the AST.
@@ -28,7 +44,7 @@ public class JmmAnalysisImpl implements JmmAnalysis {
      * @param table
      * @return
      */
-    private List<AnalysisVisitor> buildPasses(SymbolTable table) {
+    List<AnalysisVisitor> buildPasses(SymbolTable table) {
         return List.of(
             new UndeclaredVariable(),
             new ArithmeticOperation(),
@@ -54,58 +70,108 @@ public class JmmAnalysisImpl implements JmmAnalysis {
     public JmmSemanticsResult buildSymbolTable(JmmParserResult parserResult) {
         JmmNode rootNode = parserResult.getRootNode();
 
-        var symbolTableBuilder = new JmmSymbolTableBuilder();
+        // The table the parser interned the names of the AST in
+        var symbolTableBuilder = new JmmSymbolTableBuilder(InternedParserResult.namesOf(parserResult));
         SymbolTable table = symbolTableBuilder.build(rootNode);
 
-        List<Report> reports = symbolTableBuilder.getReports();
+        // Other classes of the project, for calls to them
+        var projectIndex = ProjectIndex.forConfig(parserResult.getConfig());
+        if (projectIndex != null) {
+            table.putObject(ProjectIndex.ATTRIBUTE, projectIndex);
+        }
+
+        // Compiled classes, for calls to imported classes
+        var classPath = ClassPath.forConfig(rootNode, parserResult.getConfig());
+        if (classPath != null) {
+            table.putObject(ClassPath.ATTRIBUTE, classPath);
+        }
+
+        List<Report> reports = new ArrayList<>(symbolTableBuilder.getReports());
+
+        // Files of the project that could not be indexed and class files that could not be read, already as warnings
+        if (projectIndex != null) {
+            reports.addAll(projectIndex.getReports());
+        }
+        if (classPath != null) {
+            reports.addAll(classPath.getReports());
+        }
 
         return new JmmSemanticsResult(parserResult, table, reports);
     }
 
     @Override
     public JmmSemanticsResult semanticAnalysis(JmmSemanticsResult semanticsResult) {
+        long start = System.nanoTime();
 
         var table = semanticsResult.getSymbolTable();
+        var config = semanticsResult.getConfig();
 
-        var analysisVisitors = buildPasses(table);
+        // The same in every mode, before any pass reads the types of the symbol table
+        TypeUtils.storeSuperClass(table);
 
-        var rootNode = semanticsResult.getRootNode();
+        var analysisVisitors = buildPasses(table);
+        var mode = modeOf(semanticsResult.getRootNode(), table, config, analysisVisitors);
 
-        var reports = new ArrayList<Report>();
+        // Types are computed once, the passes and the code generation read them from the nodes
+        if (ConfigOptions.getAnnotateTypes(config)) {
+            mode.annotate(new TypeAnnotator(table));
+        }
 
-        // This is a simple implementation that assumes all passes are implemented as visitors, each one making a full visit of the AST.
-        // There are other implementations that reduce the number of full AST visits, this is not required for the work, but a nice challenge if you want to try.
-        for (var analysisVisitor : analysisVisitors) {
-            try {
-                var passReports = analysisVisitor.analyze(rootNode, table);
+        var outcome = mode.analyze(PassScheduler.schedule(analysisVisitors, mode.kinds()));
 
-                var hasSymbolTableErrors = passReports.stream()
-                        .anyMatch(report -> report.getType() == ReportType.ERROR);
+        if (ConfigOptions.getProfileAnalysis(config)) {
+            storeProfile(table, analysisVisitors, outcome.results(), start);
+        }
 
+        return new JmmSemanticsResult(semanticsResult, outcome.reports());
+    }
 
-                reports.addAll(passReports);
+    /**
+     * @param root
+     * @param table
+     * @param config
+     * @param analysisVisitors the passes, which the sequential mode runs
+     * @return how the passes run, from the configuration
+     */
+    private AnalysisMode modeOf(JmmNode root, SymbolTable table, Map<String, String> config,
+                                List<AnalysisVisitor> analysisVisitors) {
+        var parallel = ConfigOptions.getParallelAnalysis(config);
+        var profile = ConfigOptions.getProfileAnalysis(config);
+        var maxErrors = ConfigOptions.getMaxErrors(config);
+
+        // Errors are collected without the cache
+        if (maxErrors > 0) {
+            return new CollectingAnalysis(root, table, () -> buildPasses(table), parallel, profile, maxErrors);
+        }
 
-                // Return early in case of error report
-                if (hasSymbolTableErrors) {
-                    System.out.println("Found errors: " + reports);
-                    return new JmmSemanticsResult(semanticsResult, reports);
-                }
+        // Methods found in the cache get their types and reports from it
+        if (cache != null) {
+            var incremental = new IncrementalAnalysis(cache, root, table, config, () -> buildPasses(table),
+                    analysisVisitors.size(), parallel, profile);
+            return new FirstErrorAnalysis.Incremental(root, table, analysisVisitors, incremental);
+        }
 
-            } catch (Exception e) {
-                reports.add(Report.newError(Stage.SEMANTIC,
-                        -1,
-                        -1,
-                        "Problem while executing analysis pass '" + analysisVisitor.getClass() + "'",
-                        e)
-                );
-                System.out.println("Exception: " + reports);
-            }
+        return parallel ? new FirstErrorAnalysis.Parallel(root, table, () -> buildPasses(table), profile)
+                : new FirstErrorAnalysis.Sequential(root, table, analysisVisitors, profile);
+    }
 
+    private static void storeProfile(SymbolTable table, List<AnalysisVisitor> passes,
+                                     List<FusedAnalysis.Result> results, long start) {
+        var profiles = new ArrayList<AnalysisProfile.Pass>(passes.size());
+        for (int i = 0; i < passes.size(); i++) {
+            var usage = results.get(i).usage();
+            profiles.add(new AnalysisProfile.Pass(passes.get(i).getClass().getSimpleName(), usage.nanos(),
+                    usage.nodes(), usage.visits(), results.get(i).reports().size(), usage.allocatedBytes()));
         }
 
-
-        return new JmmSemanticsResult(semanticsResult, reports);
+        table.putObject(AnalysisProfile.ATTRIBUTE, new AnalysisProfile(profiles, System.nanoTime() - start));
     }
 
-
+    static List<AnalysisVisitor> select(List<AnalysisVisitor> passes, List<Integer> indexes) {
+        var selected = new ArrayList<AnalysisVisitor>(indexes.size());
+        for (var index : indexes) {
+            selected.add(passes.get(index));
+        }
+        return selected;
+    }
 }
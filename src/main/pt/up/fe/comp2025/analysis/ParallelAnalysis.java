@@ -0,0 +1,122 @@
+package pt.up.fe.comp2025.analysis;
+
+import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp2025.ast.Children;
+import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.ast.KindSummary;
+import pt.up.fe.comp2025.ast.TypeUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Runs analysis passes on each method of the class in parallel, on the common ForkJoinPool.
+ * <p>
+ * Once the symbol table exists, each method is analysed on its own. The methods, and the rest of the AST (imports,
+ * class and fields), are each visited by a {@link FusedAnalysis} with their own instances of the passes, since passes
+ * keep state about what they visit (e.g. the current method of UndeclaredVariable). Methods are the last nodes of the
+ * class, so the reports of a pass are in source order when those of the rest of the AST come first, followed by those
+ * of each method in order. A pass that throws in any part gets the first exception in source order, and no reports.
+ * <p>
+ * Fields and return types are shared by the methods, so the passes do not modify the types of the symbol table, see
+ * {@link TypeUtils#storeType}.
+ */
+class ParallelAnalysis {
+
+    private final Supplier<List<AnalysisVisitor>> passes;
+    private final KindSummary kindSummary;
+    private final boolean profile;
+
+    /**
+     * @param passes      new instances of the passes, each time it is called
+     * @param kindSummary the summary of the AST, or null to visit all the nodes
+     * @param profile     whether to measure the visits of each pass
+     */
+    ParallelAnalysis(Supplier<List<AnalysisVisitor>> passes, KindSummary kindSummary, boolean profile) {
+        this.passes = passes;
+        this.kindSummary = kindSummary;
+        this.profile = profile;
+    }
+
+    /**
+     * @param root
+     * @param table
+     * @return the result of each pass, in the order of the passes
+     */
+    List<FusedAnalysis.Result> analyze(JmmNode root, SymbolTable table) {
+        var methods = methodsOf(root);
+
+        var parts = IntStream.rangeClosed(0, methods.size()).parallel()
+                .mapToObj(part -> analyzePart(new FusedAnalysis(passes.get(), kindSummary, profile), root, methods,
+                        part, table))
+                .toList();
+
+        return merge(parts);
+    }
+
+    /**
+     * Runs the passes on a part of the AST. Part 0 is the AST without the methods, i.e. the imports, the class and
+     * the fields, and part i is method i - 1.
+     *
+     * @param fused   the passes, which are only run on this part
+     * @param root
+     * @param methods the methods of the class, see {@link #methodsOf(JmmNode)}
+     * @param part
+     * @param table
+     * @return the result of each pass, in the order of the passes
+     */
+    static List<FusedAnalysis.Result> analyzePart(FusedAnalysis fused, JmmNode root, List<JmmNode> methods, int part,
+                                                  SymbolTable table) {
+        return part == 0
+                ? fused.analyze(root, table, node -> !Kind.METHOD_DECL.check(node))
+                : fused.analyze(methods.get(part - 1), table);
+    }
+
+    /**
+     * @param root
+     * @return the methods of the class, in order
+     */
+    static List<JmmNode> methodsOf(JmmNode root) {
+        var classDecl = Children.first(root, Kind.CLASS_DECL);
+        var methods = new ArrayList<JmmNode>();
+        if (classDecl != null) {
+            for (var child : Children.view(classDecl)) {
+                if (Kind.METHOD_DECL.check(child)) {
+                    methods.add(child);
+                }
+            }
+        }
+
+        return methods;
+    }
+
+    static List<FusedAnalysis.Result> merge(List<List<FusedAnalysis.Result>> parts) {
+        int numPasses = parts.get(0).size();
+        var results = new ArrayList<FusedAnalysis.Result>(numPasses);
+
+        for (int pass = 0; pass < numPasses; pass++) {
+            var reports = new ArrayList<Report>();
+            Exception exception = null;
+            var usage = FusedAnalysis.Usage.NONE;
+
+            for (var part : parts) {
+                var result = part.get(pass);
+                usage = usage.plus(result.usage());
+                if (result.exception() != null) {
+                    exception = result.exception();
+                    break;
+                }
+                reports.addAll(result.reports());
+            }
+
+            results.add(exception != null ? new FusedAnalysis.Result(List.of(), exception, usage)
+                    : new FusedAnalysis.Result(reports, null, usage));
+        }
+
+        return results;
+    }
+}
@@ -0,0 +1,88 @@
+package pt.up.fe.comp2025.analysis;
+
+import pt.up.fe.comp2025.ast.KindSummary;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plans the traversals of the AST that run the analysis passes, from what each pass declares, see
+ * {@link AnalysisPass}.
+ * <p>
+ * Passes are split into stages: a pass runs in the stage after the last stage of the passes it must follow. The passes
+ * of a stage do not wait for each other, so they share a traversal, in the order of the list of passes, as
+ * {@link FusedAnalysis} does. Passes that visit no kind of node in the AST are left out.
+ * <p>
+ * The passes of a stage run in one traversal, not in several at the same time: most stages have a pass that writes
+ * the types of the nodes, which the other passes of the stage may read. Parallelism comes from the methods instead,
+ * see {@link ParallelAnalysis}.
+ */
+class PassScheduler {
+
+    /**
+     * Passes that share a traversal, as indexes in the list of passes.
+     */
+    record Stage(List<Integer> passes) {
+    }
+
+    private PassScheduler() {
+    }
+
+    /**
+     * @param passes the passes, in the order of their reports
+     * @param kinds  the Kinds of the nodes of the AST, as in {@link KindSummary#get}
+     * @return the stages, in the order they must run
+     */
+    static List<Stage> schedule(List<? extends AnalysisPass> passes, long kinds) {
+        var stageOf = new int[passes.size()];
+        int numStages = 0;
+
+        for (int i = 0; i < passes.size(); i++) {
+            for (var predecessor : passes.get(i).getPredecessors()) {
+                int j = indexOf(passes, predecessor, i);
+                stageOf[i] = Math.max(stageOf[i], stageOf[j] + 1);
+            }
+            numStages = Math.max(numStages, stageOf[i] + 1);
+        }
+
+        var stages = new ArrayList<Stage>();
+        for (int stage = 0; stage < numStages; stage++) {
+            var members = new ArrayList<Integer>();
+
+            for (int i = 0; i < passes.size(); i++) {
+                if (stageOf[i] != stage || !visitsAny(passes.get(i), kinds)) {
+                    continue;
+                }
+
+                members.add(i);
+            }
+
+            if (!members.isEmpty()) {
+                stages.add(new Stage(members));
+            }
+        }
+
+        return stages;
+    }
+
+    private static int indexOf(List<? extends AnalysisPass> passes, Class<? extends AnalysisPass> predecessor,
+                               int pass) {
+        for (int j = 0; j < pass; j++) {
+            if (predecessor.isInstance(passes.get(j))) {
+                return j;
+            }
+        }
+
+        throw new IllegalArgumentException("Pass '" + passes.get(pass).getClass().getSimpleName()
+                + "' must follow '" + predecessor.getSimpleName() + "', which is not before it");
+    }
+
+    private static boolean visitsAny(AnalysisPass pass, long kinds) {
+        var visited = pass.getVisitedKinds();
+        if (visited == null) {
+            return true;
+        }
+
+        return (KindSummary.maskOf(visited) & kinds) != 0;
+    }
+}
@@ -0,0 +1,113 @@
+package pt.up.fe.comp2025.analysis;
+
+import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
+import pt.up.fe.comp.jmm.analysis.table.Type;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp2025.ast.Children;
+import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.ast.TypeUtils;
+
+import java.util.ArrayDeque;
+
+/**
+ * Annotates each expression of the AST with its type, in the "type" attribute that
+ * {@link TypeUtils#getExprType(JmmNode)} and {@link TypeUtils#getExprTypeNotStatic(JmmNode, JmmNode)} check first.
+ * <p>
+ * Nodes are visited bottom-up, so the type of a node is computed once, from the types already stored in its
+ * children. Only types that do not change during the analysis are stored: expressions whose type cannot be computed
+ * yet (e.g. object creations, which are typed by the ObjectCreation pass) or that depend on such an expression, calls
+ * to methods that are not declared in the class, in the project nor in the imported classes, and unknown variables
+ * are left as they are, so they keep being computed (and reported) by the passes as before.
+ */
+public class TypeAnnotator {
+
+    private final TypeUtils types;
+
+    public TypeAnnotator(SymbolTable table) {
+        this.types = new TypeUtils(table);
+    }
+
+    /**
+     * @param root
+     * @return the number of annotated nodes
+     */
+    public int annotate(JmmNode root) {
+        int annotated = 0;
+
+        // Iterative post-order traversal, each entry is a node and the method it belongs to
+        var stack = new ArrayDeque<Entry>();
+        stack.push(new Entry(root, TypeUtils.getParentMethod(root)));
+
+        while (!stack.isEmpty()) {
+            var entry = stack.peek();
+
+            if (!entry.expanded) {
+                entry.expanded = true;
+
+                var method = Kind.METHOD_DECL.check(entry.node) ? entry.node
+                        : Kind.CLASS_DECL.check(entry.node) ? null : entry.method;
+
+                var children = Children.view(entry.node);
+                for (int i = children.size() - 1; i >= 0; i--) {
+                    stack.push(new Entry(children.get(i), method));
+                }
+                continue;
+            }
+
+            stack.pop();
+
+            if (annotate(entry.node, entry.method)) {
+                annotated++;
+            }
+        }
+
+        return annotated;
+    }
+
+    private boolean annotate(JmmNode node, JmmNode method) {
+        if (!Kind.EXPR.check(node) || node.hasAttribute("type") || !isStable(node, method)) {
+            return false;
+        }
+
+        Type type;
+        try {
+            type = types.getExprTypeNotStatic(node, method);
+        } catch (RuntimeException e) {
+            // Left to the passes, which report it
+            return false;
+        }
+
+        if (type == null) {
+            return false;
+        }
+
+        node.putObject("type", type);
+        return true;
+    }
+
+    private boolean isStable(JmmNode node, JmmNode method) {
+        var kind = Kind.of(node);
+
+        return switch (kind) {
+            // Typed by the ObjectCreation and Assignment passes
+            case NEW -> false;
+            // Calls to methods of other classes are typed by the passes, or considered void by the code generation,
+            // unless they are declared in the project or in the imported classes
+            case CLASS_FUNCTION_EXPR -> types.findReturnType(node, method) != null;
+            // Same type as the inner expression, or derived from the type of the array
+            case PRIORITY_EXPR, ARRAY_ACCESS -> Children.get(node, 0).hasAttribute("type");
+            default -> true;
+        };
+    }
+
+    private static class Entry {
+        private final JmmNode node;
+        private final JmmNode method;
+        private boolean expanded;
+
+        private Entry(JmmNode node, JmmNode method) {
+            this.node = node;
+            this.method = method;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.Stage;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
+import pt.up.fe.comp2025.ast.Children;
 import pt.up.fe.comp2025.ast.Kind;
 import pt.up.fe.comp2025.ast.TypeUtils; // Import normal
 
@@ -24,15 +25,14 @@ public class ArithmeticOperation extends AnalysisVisitor {
 
     private Void visitBinaryExpr(JmmNode binaryExpr, SymbolTable table) {
         TypeUtils typeUtils = new TypeUtils(table); // Instanciar
-        JmmNode expr1 = binaryExpr.getChild(0);
-        JmmNode expr2 = binaryExpr.getChild(1);
-        JmmNode method = TypeUtils.getParentMethod(binaryExpr); // Obter contexto
+        JmmNode expr1 = Children.get(binaryExpr, 0);
+        JmmNode expr2 = Children.get(binaryExpr, 1);
 
         var op = binaryExpr.get("op");
 
         // Usar método não estático
-        Type typeExpr1 = typeUtils.getExprTypeNotStatic(expr1, method);
-        Type typeExpr2 = typeUtils.getExprTypeNotStatic(expr2, method);
+        Type typeExpr1 = typeUtils.getExprTypeNotStatic(expr1);
+        Type typeExpr2 = typeUtils.getExprTypeNotStatic(expr2);
 
         Type expectedOperandType;
         Type resultType;
@@ -86,12 +86,11 @@ public class ArithmeticOperation extends AnalysisVisitor {
 
     private Void visitUnaryExpr(JmmNode unaryExpr, SymbolTable table) {
         TypeUtils typeUtils = new TypeUtils(table); // Instanciar
-        JmmNode expr = unaryExpr.getChild(0);
-        JmmNode method = TypeUtils.getParentMethod(unaryExpr); // Obter contexto
+        JmmNode expr = Children.get(unaryExpr, 0);
         String op = unaryExpr.get("op");
 
         // Usar método não estático
-        Type typeExpr = typeUtils.getExprTypeNotStatic(expr, method);
+        Type typeExpr = typeUtils.getExprTypeNotStatic(expr);
 
         Type expectedOperandType;
         Type resultType;
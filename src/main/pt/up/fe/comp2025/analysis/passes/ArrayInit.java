@@ -6,6 +6,7 @@ import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.Stage;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
+import pt.up.fe.comp2025.ast.Children;
 import pt.up.fe.comp2025.ast.Kind;
 import pt.up.fe.comp2025.ast.TypeUtils; // Import normal
 
@@ -24,7 +25,7 @@ public class ArrayInit extends AnalysisVisitor {
     }
 
     private Void visitArrayCreation(JmmNode array, SymbolTable symbolTable) {
-        JmmNode arraySize = array.getChild(1);
+        JmmNode arraySize = Children.get(array, 1);
         TypeUtils typeUtils = new TypeUtils(symbolTable); // Instanciar
         JmmNode method = TypeUtils.getParentMethod(array); // Obter contexto
 
@@ -45,7 +46,7 @@ public class ArrayInit extends AnalysisVisitor {
     }
 
     private Void visitArrayLiteral(JmmNode array, SymbolTable symbolTable) {
-        List<JmmNode> arrayElements = array.getChildren();
+        List<JmmNode> arrayElements = Children.view(array);
         TypeUtils typeUtils = new TypeUtils(symbolTable); // Instanciar
         JmmNode method = TypeUtils.getParentMethod(array); // Obter contexto
 
@@ -69,8 +70,8 @@ public class ArrayInit extends AnalysisVisitor {
     }
 
     private Void visitArrayAccess(JmmNode array, SymbolTable table) {
-        JmmNode expr = array.getChild(0); // Expressão do array
-        JmmNode index = array.getChild(1); // Expressão do índice
+        JmmNode expr = Children.get(array, 0); // Expressão do array
+        JmmNode index = Children.get(array, 1); // Expressão do índice
         TypeUtils typeUtils = new TypeUtils(table); // Instanciar
         JmmNode method = TypeUtils.getParentMethod(array); // Obter contexto
 
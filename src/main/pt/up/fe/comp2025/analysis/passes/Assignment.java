@@ -6,7 +6,9 @@ import pt.up.fe.comp.jmm.analysis.table.Type;
 import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.analysis.AnalysisPass;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
+import pt.up.fe.comp2025.ast.Children;
 import pt.up.fe.comp2025.ast.Kind;
 import pt.up.fe.comp2025.ast.TypeUtils;
 
@@ -14,6 +16,7 @@ import pt.up.fe.comp2025.ast.TypeUtils;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import static pt.up.fe.comp2025.ast.Kind.*;
 import static pt.up.fe.comp2025.ast.TypeUtils.*;
@@ -27,11 +30,19 @@ public class Assignment extends AnalysisVisitor {
 
     }
 
+    /**
+     * Reads the types of the object creations that are assigned.
+     */
+    @Override
+    public Set<Class<? extends AnalysisPass>> getPredecessors() {
+        return Set.of(ObjectCreation.class);
+    }
+
     private Void visitAssign(JmmNode assignStmt, SymbolTable symbolTable) {
         TypeUtils typeUtils = new TypeUtils(symbolTable);
 
-        JmmNode expr1 = assignStmt.getChild(0);
-        JmmNode expr2 = assignStmt.getChild(1);
+        JmmNode expr1 = Children.get(assignStmt, 0);
+        JmmNode expr2 = Children.get(assignStmt, 1);
 
         //JmmNode method = assignStmt.getParent();
         JmmNode method = TypeUtils.getParentMethod(assignStmt);
@@ -74,7 +85,7 @@ public class Assignment extends AnalysisVisitor {
         }
 
         //Assignments lhs may only be of type id[expr] or id
-        if(!(ARRAY_ACCESS.check(expr1) && VAR_REF_EXPR.check(expr1.getChild(0)))&& !VAR_REF_EXPR.check(expr1) && !OBJECT_REFERENCE.check(expr1)){
+        if(!(ARRAY_ACCESS.check(expr1) && VAR_REF_EXPR.check(Children.get(expr1, 0)))&& !VAR_REF_EXPR.check(expr1) && !OBJECT_REFERENCE.check(expr1)){
             // Create error report
             var message = String.format("Assignment left hand operand must be a valid ID.");
             addReport(Report.newError(
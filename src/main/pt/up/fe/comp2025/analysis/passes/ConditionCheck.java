@@ -5,11 +5,14 @@ import pt.up.fe.comp.jmm.analysis.table.Type;
 import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.analysis.AnalysisPass;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
+import pt.up.fe.comp2025.ast.Children;
 import pt.up.fe.comp2025.ast.Kind;
 import pt.up.fe.comp2025.ast.TypeUtils;
 
 import java.util.Objects;
+import java.util.Set;
 
 public class ConditionCheck extends AnalysisVisitor {
 
@@ -19,8 +22,16 @@ public class ConditionCheck extends AnalysisVisitor {
         addVisit(Kind.IF_STMT, this::visitIf);
     }
 
+    /**
+     * Reads the types of the object creations used as conditions.
+     */
+    @Override
+    public Set<Class<? extends AnalysisPass>> getPredecessors() {
+        return Set.of(ObjectCreation.class);
+    }
+
     private Void visitWhile(JmmNode whileStmt, SymbolTable symbolTable) {
-        JmmNode whileCondition = whileStmt.getChild(0);
+        JmmNode whileCondition = Children.get(whileStmt, 0);
         TypeUtils typeUtils = new TypeUtils(symbolTable);
         JmmNode method = TypeUtils.getParentMethod(whileStmt);
 
@@ -38,7 +49,7 @@ public class ConditionCheck extends AnalysisVisitor {
     }
 
     private Void visitIf(JmmNode ifStmt, SymbolTable symbolTable) {
-        JmmNode ifCondition = ifStmt.getChild(0);
+        JmmNode ifCondition = Children.get(ifStmt, 0);
         TypeUtils typeUtils = new TypeUtils(symbolTable);
         JmmNode method = TypeUtils.getParentMethod(ifStmt);
 
@@ -5,6 +5,7 @@ import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
 import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.Stage;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
+import pt.up.fe.comp2025.ast.Children;
 import pt.up.fe.comp2025.ast.Kind;
 
 /**
@@ -22,7 +23,9 @@ public class DeadCodeCheck extends AnalysisVisitor {
         if (!Kind.METHOD_DECL.check(parent))
             return null;
         boolean seen = false;
-        for (JmmNode child : parent.getChildren()) {
+        int count = Children.count(parent);
+        for (int i = 0; i < count; i++) {
+            JmmNode child = Children.get(parent, i);
             if (child == returnNode) {
                 seen = true;
             } else if (seen) {
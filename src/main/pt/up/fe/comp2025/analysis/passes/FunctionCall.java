@@ -6,12 +6,16 @@ import pt.up.fe.comp.jmm.analysis.table.Type;
 import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.analysis.AnalysisPass;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
+import pt.up.fe.comp2025.ast.Children;
 import pt.up.fe.comp2025.ast.Kind;
 import pt.up.fe.comp2025.ast.TypeUtils;
+import pt.up.fe.comp2025.symboltable.ProjectIndex;
 
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Set;
 
 public class FunctionCall extends AnalysisVisitor {
 
@@ -20,17 +24,29 @@ public class FunctionCall extends AnalysisVisitor {
         addVisit(Kind.CLASS_FUNCTION_EXPR, this::visitFunctionCall);
     }
 
+    /**
+     * Reads the types of the object creations that are called or passed as arguments.
+     */
+    @Override
+    public Set<Class<? extends AnalysisPass>> getPredecessors() {
+        return Set.of(ObjectCreation.class);
+    }
+
     private Void visitFunctionCall(JmmNode funcCall, SymbolTable table){
         TypeUtils typeUtils = new TypeUtils(table);
 
-        JmmNode object = funcCall.getChild(0);
+        JmmNode object = Children.get(funcCall, 0);
         String funcName = funcCall.get("name");
         JmmNode methodContext = TypeUtils.getParentMethod(funcCall);
 
         Type callerType = typeUtils.getExprTypeNotStatic(object, methodContext);
+        ProjectIndex index = ProjectIndex.of(table);
 
         if (callerType == null) {
             if (object.getKind().equals("VarRefExpr") && table.getImports().contains(object.get("name"))) {
+                if (index != null && checkProjectCall(funcCall, object.get("name"), index, typeUtils, methodContext)) {
+                    return null;
+                }
                 System.out.println("Assuming call to imported static method '" + funcName + "' is correct.");
                 return null;
             } else {
@@ -42,6 +58,9 @@ public class FunctionCall extends AnalysisVisitor {
         boolean isImportedCall = table.getImports().contains(callerType.getName());
 
         if (isImportedCall) {
+            if (index != null && checkProjectCall(funcCall, callerType.getName(), index, typeUtils, methodContext)) {
+                return null;
+            }
             System.out.println("Assuming call to imported method '" + funcName + "' on type '" + callerType.getName() + "' is correct.");
             return null;
         }
@@ -57,6 +76,10 @@ public class FunctionCall extends AnalysisVisitor {
         }
 
         if (isSuperCall) {
+            // Inherited from a class of the project
+            if (index != null) {
+                checkProjectCall(funcCall, table.getSuper(), index, typeUtils, methodContext);
+            }
             return null;
         }
 
@@ -66,9 +89,41 @@ public class FunctionCall extends AnalysisVisitor {
             return null;
         }
 
+        checkArguments(funcCall, expectedParams, typeUtils, methodContext);
+
+        return null;
+    }
+
+    /**
+     * Checks a call to a method of a class of the project, searching the class and its superclasses.
+     *
+     * @return true if the call was checked, false if the method may be declared in a class outside of the project
+     */
+    private boolean checkProjectCall(JmmNode funcCall, String className, ProjectIndex index, TypeUtils typeUtils,
+                                     JmmNode methodContext) {
+        String funcName = funcCall.get("name");
+
+        var declaringClass = index.findMethod(className, funcName);
+        if (declaringClass != null) {
+            checkArguments(funcCall, declaringClass.getParameters(funcName), typeUtils, methodContext);
+            return true;
+        }
+
+        if (index.isComplete(className)) {
+            addReport(newError(funcCall, "Method '" + funcName + "' not declared in class '" + className + "' or its known superclasses."));
+            return true;
+        }
+
+        return false;
+    }
+
+    private void checkArguments(JmmNode funcCall, List<Symbol> expectedParams, TypeUtils typeUtils,
+                                JmmNode methodContext) {
+        String funcName = funcCall.get("name");
+
         List<JmmNode> passedArgs = new ArrayList<>();
         for (int i = 1; i < funcCall.getNumChildren(); i++) {
-            passedArgs.add(funcCall.getChild(i));
+            passedArgs.add(Children.get(funcCall, i));
         }
 
         boolean isVarArgs = !expectedParams.isEmpty() &&
@@ -78,7 +133,7 @@ public class FunctionCall extends AnalysisVisitor {
             int numFixedParams = expectedParams.size() - 1;
             if (passedArgs.size() < numFixedParams) {
                 addReport(newError(funcCall, "Method '" + funcName + "' expects at least " + numFixedParams + " arguments, but got " + passedArgs.size() + "."));
-                return null;
+                return;
             }
 
             for (int i = 0; i < numFixedParams; i++) {
@@ -111,7 +166,7 @@ public class FunctionCall extends AnalysisVisitor {
         } else {
             if (expectedParams.size() != passedArgs.size()) {
                 addReport(newError(funcCall, "Method '" + funcName + "' expects " + expectedParams.size() + " arguments, but got " + passedArgs.size() + "."));
-                return null;
+                return;
             }
 
             for (int i = 0; i < expectedParams.size(); i++) {
@@ -126,7 +181,5 @@ public class FunctionCall extends AnalysisVisitor {
                 }
             }
         }
-
-        return null;
     }
 }
@@ -3,17 +3,29 @@ package pt.up.fe.comp2025.analysis.passes;
 import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
 import pt.up.fe.comp.jmm.analysis.table.Type;
 import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp2025.analysis.AnalysisPass;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
+import pt.up.fe.comp2025.ast.Children;
 import pt.up.fe.comp2025.ast.Kind;
 import pt.up.fe.comp2025.ast.TypeUtils;
 
+import java.util.Set;
+
 public class LengthProperty extends AnalysisVisitor {
     public void buildVisitor() {
         addVisit(Kind.LENGTH_EXPR, this::visitLength);
     }
 
+    /**
+     * Reads the types of the object creations whose length is taken.
+     */
+    @Override
+    public Set<Class<? extends AnalysisPass>> getPredecessors() {
+        return Set.of(ObjectCreation.class);
+    }
+
     private Void visitLength(JmmNode lengthExpr, SymbolTable symbolTable){
-        JmmNode caller = lengthExpr.getChild(0);
+        JmmNode caller = Children.get(lengthExpr, 0);
         TypeUtils typeUtils = new TypeUtils(symbolTable);
         JmmNode parentMethod = TypeUtils.getParentMethod(caller);
         Type type = typeUtils.getExprTypeNotStatic(caller,parentMethod);
@@ -6,12 +6,15 @@ import pt.up.fe.comp.jmm.analysis.table.Type;
 import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.analysis.AnalysisPass;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
+import pt.up.fe.comp2025.ast.Children;
 import pt.up.fe.comp2025.ast.Kind;
 import pt.up.fe.comp2025.ast.TypeUtils;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class MethodDeclaration extends AnalysisVisitor {
@@ -21,6 +24,14 @@ public class MethodDeclaration extends AnalysisVisitor {
         addVisit(Kind.METHOD_DECL, this::visitMethodDecl);
     }
 
+    /**
+     * Reads the types of the object creations that are returned.
+     */
+    @Override
+    public Set<Class<? extends AnalysisPass>> getPredecessors() {
+        return Set.of(ObjectCreation.class);
+    }
+
     private Void visitMethodDecl(JmmNode methodDecl, SymbolTable table){
         TypeUtils typeUtils = new TypeUtils(table);
         String methodName = methodDecl.get("name");
@@ -65,21 +76,22 @@ public class MethodDeclaration extends AnalysisVisitor {
             return null;
         }
 
-        List<JmmNode> returnStmts = methodDecl.getChildren(Kind.RETURN_STMT);
+        JmmNode firstReturn = Children.first(methodDecl, Kind.RETURN_STMT);
 
-        if (returnStmts.isEmpty() && (expectedReturnType != null && !expectedReturnType.getName().equals("void"))) {
+        if (firstReturn == null && (expectedReturnType != null && !expectedReturnType.getName().equals("void"))) {
             addReport(newError(methodDecl, "Missing return statement in non-void method '" + methodName + "'."));
             return null;
         }
-        if (!returnStmts.isEmpty() && expectedReturnType != null && expectedReturnType.getName().equals("void")) {
-            for (JmmNode returnStmt : returnStmts) {
-                if (returnStmt.getNumChildren() > 0) {
-                    addReport(newError(returnStmts.get(0), "Return statement with value found in void method '" + methodName + "'."));
+        if (firstReturn != null && expectedReturnType != null && expectedReturnType.getName().equals("void")) {
+            for (int i = Children.indexOf(methodDecl, Kind.RETURN_STMT, 0); i >= 0; i = Children.indexOf(methodDecl, Kind.RETURN_STMT, i + 1)) {
+                if (Children.get(methodDecl, i).getNumChildren() > 0) {
+                    addReport(newError(firstReturn, "Return statement with value found in void method '" + methodName + "'."));
                 }
             }
         }
 
-        for (JmmNode returnStmt : returnStmts) {
+        for (int i = Children.indexOf(methodDecl, Kind.RETURN_STMT, 0); i >= 0; i = Children.indexOf(methodDecl, Kind.RETURN_STMT, i + 1)) {
+            JmmNode returnStmt = Children.get(methodDecl, i);
             if (returnStmt.getNumChildren() == 0) {
                 if (expectedReturnType != null && !expectedReturnType.getName().equals("void")) {
                     addReport(newError(returnStmt, "Return statement in method '" + methodName + "' must return a value of type '" + expectedReturnType.print() + "'."));
@@ -87,7 +99,7 @@ public class MethodDeclaration extends AnalysisVisitor {
                 continue;
             }
 
-            JmmNode returnExpr = returnStmt.getChild(0);
+            JmmNode returnExpr = Children.get(returnStmt, 0);
             Type actualReturnType = typeUtils.getExprTypeNotStatic(returnExpr, methodDecl);
 
             if (actualReturnType == null) {
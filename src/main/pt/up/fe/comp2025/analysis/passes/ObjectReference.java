@@ -7,7 +7,9 @@ import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.Stage;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
+import pt.up.fe.comp2025.ast.Children;
 import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.symboltable.JmmSymbolTable;
 
 public class ObjectReference extends AnalysisVisitor {
 
@@ -18,15 +20,14 @@ public class ObjectReference extends AnalysisVisitor {
     }
 
     private Void visitObjectReference(JmmNode object, SymbolTable symbolTable){
-        JmmNode objectRef = object.getChild(1);
+        JmmNode objectRef = Children.get(object, 1);
         JmmNode method = object.getParent();
         String methodName = method.get("name");
 
         if(Kind.VAR_REF_EXPR.check(objectRef)){
-            for( Symbol symbol : symbolTable.getFields()){
-                if(symbol.getName().equals(objectRef.get("name"))){
-                    return null;
-                }
+            // Only fields are visible outside of methods
+            if (JmmSymbolTable.resolve(symbolTable, null, objectRef.get("name")) != null) {
+                return null;
             }
         }
 
@@ -5,10 +5,14 @@ import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp.jmm.analysis.table.Type;
 import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.analysis.AnalysisPass;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
+import pt.up.fe.comp2025.ast.Children;
 import pt.up.fe.comp2025.ast.Kind;
 import pt.up.fe.comp2025.ast.TypeUtils;
 
+import java.util.Set;
+
 public class ReturnTypeCheck extends AnalysisVisitor {
 
     @Override
@@ -16,6 +20,14 @@ public class ReturnTypeCheck extends AnalysisVisitor {
         addVisit(Kind.RETURN_STMT, this::visitReturnStmt);
     }
 
+    /**
+     * Reads the types of the returned expressions, including object creations.
+     */
+    @Override
+    public Set<Class<? extends AnalysisPass>> getPredecessors() {
+        return Set.of(ObjectCreation.class);
+    }
+
     private Void visitReturnStmt(JmmNode returnNode, SymbolTable table) {
         // Find enclosing method
         JmmNode methodDecl = TypeUtils.getParentMethod(returnNode);
@@ -45,7 +57,7 @@ public class ReturnTypeCheck extends AnalysisVisitor {
         }
 
         // Check expression type
-        JmmNode expr = returnNode.getChild(0);
+        JmmNode expr = Children.get(returnNode, 0);
         // Compute expression type using TypeUtils instance
         TypeUtils utils = new TypeUtils(table);
         Type actual = utils.getExprTypeNotStatic(expr, methodDecl);
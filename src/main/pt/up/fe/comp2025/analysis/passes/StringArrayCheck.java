@@ -5,6 +5,7 @@ import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
 import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.Stage;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
+import pt.up.fe.comp2025.ast.Children;
 import pt.up.fe.comp2025.ast.Kind;
 
 /**
@@ -19,9 +20,9 @@ public class StringArrayCheck extends AnalysisVisitor {
 
     private Void visitVarDecl(JmmNode varDecl, SymbolTable table) {
         // First child is TYPE node
-        JmmNode typeNode = varDecl.getChildren().get(0);
+        JmmNode typeNode = Children.get(varDecl, 0);
         if (Kind.TYPE.check(typeNode)) {
-            String baseType = typeNode.getChild(0).getOptional("name").orElse("");
+            String baseType = Children.get(typeNode, 0).getOptional("name").orElse("");
             String op1 = typeNode.getOptional("op1").orElse("");
             String op2 = typeNode.getOptional("op2").orElse("");
             if (baseType.equals("String") && op1.equals("[") && op2.equals("]")) {
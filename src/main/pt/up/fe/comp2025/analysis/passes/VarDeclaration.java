@@ -8,53 +8,63 @@ import pt.up.fe.comp.jmm.report.Stage;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
 import pt.up.fe.comp2025.ast.Kind;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 public class VarDeclaration extends AnalysisVisitor {
+
+    // Duplicated names of each method, and of the fields, counted once instead of on every declaration
+    private final Map<String, List<String>> duplicatedLocals = new HashMap<>();
+    private List<String> duplicatedFields;
+
     @Override
     public void buildVisitor() {
         addVisit(Kind.VAR_DECL, this::visitVarDecl);
     }
 
+    private static List<String> duplicated(List<Symbol> symbols) {
+        Map<String, Long> count = symbols.stream()
+                .collect(Collectors.groupingBy(Symbol::getName, Collectors.counting()));
+
+        return count.entrySet().stream()
+                .filter(entry -> entry.getValue() > 1)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
     private Void visitVarDecl(JmmNode varDecl, SymbolTable table){
         JmmNode parent = varDecl.getParent();
 
         if(Kind.METHOD_DECL.check(parent)){
-            List<Symbol> locals = table.getLocalVariables(parent.get("name"));
-
-            Map<String, Long> localsCount = locals.stream()
-                    .collect(Collectors.groupingBy(Symbol::getName, Collectors.counting()));
-            for(Map.Entry<String,Long> local : localsCount.entrySet()){
-                if(local.getValue() > 1){
-                    var message = String.format("Local variable '%s' is duplicated",local.getKey());
-                    addReport(Report.newError(
-                            Stage.SEMANTIC,
-                            varDecl.getLine(),
-                            varDecl.getColumn(),
-                            message,
-                            null)
-                    );
-                }
+            var locals = duplicatedLocals.computeIfAbsent(parent.get("name"),
+                    method -> duplicated(table.getLocalVariables(method)));
+            for(String local : locals){
+                var message = String.format("Local variable '%s' is duplicated",local);
+                addReport(Report.newError(
+                        Stage.SEMANTIC,
+                        varDecl.getLine(),
+                        varDecl.getColumn(),
+                        message,
+                        null)
+                );
             }
         }
 
         if(Kind.CLASS_DECL.check(parent)){
-            List<Symbol> fields = table.getFields();
-            Map<String, Long> fieldsCount = fields.stream()
-                    .collect(Collectors.groupingBy(Symbol::getName, Collectors.counting()));
-            for(Map.Entry<String,Long> field : fieldsCount.entrySet()){
-                if(field.getValue() > 1){
-                    var message = String.format("Field '%s' is duplicated",field.getKey());
-                    addReport(Report.newError(
-                            Stage.SEMANTIC,
-                            varDecl.getLine(),
-                            varDecl.getColumn(),
-                            message,
-                            null)
-                    );
-                }
+            if (duplicatedFields == null) {
+                duplicatedFields = duplicated(table.getFields());
+            }
+            for(String field : duplicatedFields){
+                var message = String.format("Field '%s' is duplicated",field);
+                addReport(Report.newError(
+                        Stage.SEMANTIC,
+                        varDecl.getLine(),
+                        varDecl.getColumn(),
+                        message,
+                        null)
+                );
             }
         }
         return null;
@@ -5,6 +5,7 @@ import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
 import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.Stage;
 import pt.up.fe.comp2025.analysis.AnalysisVisitor;
+import pt.up.fe.comp2025.ast.Children;
 import pt.up.fe.comp2025.ast.Kind;
 
 /**
@@ -19,7 +20,7 @@ public class VarargsVarDeclCheck extends AnalysisVisitor {
 
     private Void visitVarDecl(JmmNode varDecl, SymbolTable table) {
         // The first child is TYPE node
-        JmmNode typeNode = varDecl.getChildren().get(0);
+        JmmNode typeNode = Children.get(varDecl, 0);
         // In varargs type, the TYPE node child has BASE_TYPE with args attribute
         if (Kind.TYPE.check(typeNode) || Kind.BASE_TYPE.check(typeNode)) {
             String args = typeNode.getOptional("args").orElse("");
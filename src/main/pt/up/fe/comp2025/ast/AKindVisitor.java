@@ -0,0 +1,70 @@
+package pt.up.fe.comp2025.ast;
+
+import pt.up.fe.comp.jmm.ast.AJmmVisitor;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+
+import java.util.function.BiFunction;
+
+/**
+ * {@link AJmmVisitor} that dispatches on the {@link Kind} ordinal of the nodes, see {@link KindDispatch}.
+ */
+public abstract class AKindVisitor<D, R> extends AJmmVisitor<D, R> {
+
+    // Not initialized in the declaration, buildVisitor() runs in the super constructor and already adds visits
+    private KindDispatch<D, R> dispatch;
+    private BiFunction<JmmNode, D, R> defaultVisit;
+    private AstWalker walker;
+
+    private KindDispatch<D, R> dispatch() {
+        if (dispatch == null) {
+            dispatch = new KindDispatch<>();
+        }
+
+        return dispatch;
+    }
+
+    /**
+     * Visits the children in order, as they were when the method was called, without copying the list of children.
+     */
+    @Override
+    protected R visitAllChildren(JmmNode node, D data) {
+        if (walker == null) {
+            walker = new AstWalker();
+        }
+
+        int base = walker.size();
+        walker.pushChildren(node);
+        try {
+            while (walker.size() > base) {
+                visit(walker.pop(), data);
+            }
+        } finally {
+            walker.truncate(base);
+        }
+
+        return null;
+    }
+
+    @Override
+    public void addVisit(String kind, BiFunction<JmmNode, D, R> method) {
+        super.addVisit(kind, method);
+        dispatch().put(kind, method);
+    }
+
+    @Override
+    public void setDefaultVisit(BiFunction<JmmNode, D, R> defaultVisit) {
+        super.setDefaultVisit(defaultVisit);
+        this.defaultVisit = defaultVisit;
+    }
+
+    @Override
+    protected BiFunction<JmmNode, D, R> getVisit(JmmNode node) {
+        var method = dispatch().get(node);
+        if (method != null) {
+            return method;
+        }
+
+        // Without a default visit, the super class reports the error
+        return defaultVisit != null ? defaultVisit : super.getVisit(node);
+    }
+}
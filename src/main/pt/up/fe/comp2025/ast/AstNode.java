@@ -0,0 +1,46 @@
+package pt.up.fe.comp2025.ast;
+
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.ast.JmmNodeImpl;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Node of the ASTs built by the compiler, with constant-time access to its children.
+ * <p>
+ * {@link JmmNodeImpl#getChildren()} returns a copy of the children, and {@link JmmNode#getChild(int)} is built on it,
+ * so every access to a child allocates a list. This node reads the child from its list instead, and gives a read-only
+ * view of the list, see {@link Children}.
+ */
+public class AstNode extends JmmNodeImpl {
+
+    private final List<JmmNode> view;
+
+    public AstNode(List<String> kindHierarchy) {
+        super(kindHierarchy);
+        this.view = Collections.unmodifiableList(children);
+    }
+
+    @Override
+    public JmmNode copy(List<String> kindHierarchy) {
+        var copy = new AstNode(kindHierarchy);
+        for (var attribute : getAttributes()) {
+            copy.put(attribute, get(attribute));
+        }
+
+        return copy;
+    }
+
+    @Override
+    public JmmNode getChild(int index) {
+        return children.get(index);
+    }
+
+    /**
+     * @return the children of the node, which cannot be modified through it and change with the node
+     */
+    public List<JmmNode> getChildrenView() {
+        return view;
+    }
+}
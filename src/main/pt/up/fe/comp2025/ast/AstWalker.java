@@ -0,0 +1,167 @@
+package pt.up.fe.comp2025.ast;
+
+import pt.up.fe.comp.jmm.ast.JmmNode;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Preorder and postorder traversals with an explicit stack, so the depth of the AST is not limited by the call stack
+ * and no memory is allocated per node.
+ * <p>
+ * The children of a node are taken when the node is reached, i.e. after it is visited in preorder, and are not read
+ * again, so the action can replace the node or its children. A walker reuses its stack between traversals, and
+ * traversals can be nested (e.g. an action can walk a subtree with the same walker), but a walker must not be shared
+ * between threads.
+ */
+public class AstWalker {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private JmmNode[] nodes;
+    // In postorder, whether the children of the node were already pushed
+    private boolean[] expanded;
+    private int size;
+
+    public AstWalker() {
+        this.nodes = new JmmNode[INITIAL_CAPACITY];
+        this.expanded = new boolean[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * Applies the action to the node and to its descendants, each node before its children.
+     *
+     * @param root
+     * @param action
+     */
+    public void preorder(JmmNode root, Consumer<JmmNode> action) {
+        preorder(root, node -> true, action);
+    }
+
+    /**
+     * Applies the action to the node and to its descendants, each node before its children, but leaves out the nodes
+     * rejected by the filter, together with their descendants.
+     *
+     * @param root
+     * @param filter whether to visit a node and its descendants
+     * @param action
+     */
+    public void preorder(JmmNode root, Predicate<JmmNode> filter, Consumer<JmmNode> action) {
+        int base = size;
+        push(root);
+
+        try {
+            while (size > base) {
+                var node = pop();
+                if (!filter.test(node)) {
+                    continue;
+                }
+
+                action.accept(node);
+                pushChildren(node);
+            }
+        } finally {
+            truncate(base);
+        }
+    }
+
+    /**
+     * Applies the action to the node and to its descendants, each node after its children.
+     *
+     * @param root
+     * @param action
+     */
+    public void postorder(JmmNode root, Consumer<JmmNode> action) {
+        postorder(root, node -> true, action);
+    }
+
+    /**
+     * Applies the action to the node and to its descendants, each node after its children, but only goes below the
+     * nodes accepted by the filter. The other nodes are passed to the action, without their descendants.
+     *
+     * @param root
+     * @param expand whether to visit the children of a node
+     * @param action
+     */
+    public void postorder(JmmNode root, Predicate<JmmNode> expand, Consumer<JmmNode> action) {
+        int base = size;
+        push(root);
+
+        try {
+            while (size > base) {
+                int top = size - 1;
+                if (!expanded[top]) {
+                    expanded[top] = true;
+                    if (expand.test(nodes[top])) {
+                        pushChildren(nodes[top]);
+                    }
+                    continue;
+                }
+
+                action.accept(pop());
+            }
+        } finally {
+            truncate(base);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Drops the nodes above the given size, left by a traversal that did not finish.
+     */
+    void truncate(int newSize) {
+        while (size > newSize) {
+            pop();
+        }
+    }
+
+    JmmNode pop() {
+        var node = nodes[--size];
+        // Not kept alive by the stack
+        nodes[size] = null;
+        return node;
+    }
+
+    /**
+     * Pushes the children of the node, so they are popped in order.
+     *
+     * @param node
+     */
+    void pushChildren(JmmNode node) {
+        int first = size;
+
+        if (CompactAst.isCompact(node)) {
+            for (var child = CompactAst.firstChild(node); child != null; child = CompactAst.nextSibling(child)) {
+                push(child);
+            }
+        } else {
+            int count = Children.count(node);
+            for (int i = 0; i < count; i++) {
+                push(Children.get(node, i));
+            }
+        }
+
+        // Reverse, so the first child is on top
+        for (int i = first, j = size - 1; i < j; i++, j--) {
+            var child = nodes[i];
+            nodes[i] = nodes[j];
+            nodes[j] = child;
+        }
+    }
+
+    private void push(JmmNode node) {
+        if (size == nodes.length) {
+            nodes = Arrays.copyOf(nodes, size * 2);
+            expanded = Arrays.copyOf(expanded, size * 2);
+        }
+
+        nodes[size] = node;
+        expanded[size] = false;
+        size++;
+    }
+}
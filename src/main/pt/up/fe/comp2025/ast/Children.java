@@ -0,0 +1,108 @@
+package pt.up.fe.comp2025.ast;
+
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.ast.JmmNodeImpl;
+
+import java.util.List;
+
+/**
+ * Access to the children of a node without allocations.
+ * <p>
+ * {@link JmmNodeImpl#getChildren()} returns a copy of the children, and {@link JmmNode#getChild(int)} and
+ * {@link JmmNode#getChildren(String)} are built on it, so every access to a child allocates a list. These methods only
+ * use {@link JmmNode#getChild(int)} and {@link JmmNode#getNumChildren()}, which are constant-time for the nodes the
+ * compiler builds, {@link AstNode} and {@link CompactAst}. Children of a kind are found by index, e.g.:
+ * <pre>
+ * for (int i = Children.indexOf(node, Kind.STMT, 0); i >= 0; i = Children.indexOf(node, Kind.STMT, i + 1)) {
+ *     visit(Children.get(node, i));
+ * }
+ * </pre>
+ */
+public final class Children {
+
+    private Children() {
+    }
+
+    /**
+     * @param node
+     * @return the children of the node, which must not be modified. For an {@link AstNode} it is a read-only view of
+     * the children of the node, so it changes with it
+     */
+    public static List<JmmNode> view(JmmNode node) {
+        if (node instanceof AstNode astNode) {
+            return astNode.getChildrenView();
+        }
+
+        return node.getChildren();
+    }
+
+    public static int count(JmmNode node) {
+        return node.getNumChildren();
+    }
+
+    /**
+     * @param node
+     * @param index
+     * @return the child at the given index
+     */
+    public static JmmNode get(JmmNode node, int index) {
+        return node.getChild(index);
+    }
+
+    /**
+     * @param node
+     * @param child
+     * @return the index of the child in the node, compared by identity, or -1 if it is not a child of the node
+     */
+    public static int indexOf(JmmNode node, JmmNode child) {
+        int count = count(node);
+        for (int i = 0; i < count; i++) {
+            if (get(node, i) == child) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @param node
+     * @param kind
+     * @param from index of the first child to check
+     * @return the index of the first child of the given kind at or after {@code from}, or -1 if there is none
+     */
+    public static int indexOf(JmmNode node, Kind kind, int from) {
+        int count = count(node);
+        for (int i = Math.max(from, 0); i < count; i++) {
+            if (kind.check(get(node, i))) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @param node
+     * @param kind
+     * @return the first child of the given kind, or null if there is none
+     */
+    public static JmmNode first(JmmNode node, Kind kind) {
+        int index = indexOf(node, kind, 0);
+        return index >= 0 ? get(node, index) : null;
+    }
+
+    /**
+     * @param node
+     * @param kind
+     * @return the number of children of the given kind
+     */
+    public static int count(JmmNode node, Kind kind) {
+        int count = 0;
+        for (int i = indexOf(node, kind, 0); i >= 0; i = indexOf(node, kind, i + 1)) {
+            count++;
+        }
+
+        return count;
+    }
+}
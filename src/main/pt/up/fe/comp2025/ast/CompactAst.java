@@ -0,0 +1,691 @@
+package pt.up.fe.comp2025.ast;
+
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.ast.NodePosition;
+import pt.up.fe.comp2025.utils.NameTable;
+import pt.up.fe.specs.util.SpecsCheck;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Compact, struct-of-arrays storage for an AST.
+ * <p>
+ * Nodes are indexes. The tree is kept in int arrays (kind, parent, first child and next sibling) and each attribute
+ * is a column with one slot per node, created when the attribute is first set. The children of a node are also kept
+ * in an array, built when they are first accessed by index and dropped when they change, so indexed access is
+ * constant-time. Kind hierarchies are stored once per
+ * distinct hierarchy and String attribute values are interned.
+ * <p>
+ * {@link #getRoot()} returns a {@link JmmNode} view, so visitors written for {@link pt.up.fe.comp.jmm.ast.JmmNodeImpl}
+ * run unchanged. Views are created on first access and cached, so the same node always returns the same view and
+ * identity comparisons between nodes keep working. Adding a node that belongs to another tree, or that already has a
+ * parent, adds a copy of its subtree.
+ * <p>
+ * Reading the tree and setting the attributes of different nodes can be done from several threads, as the parallel
+ * analysis does with the methods of a class. Changing the tree cannot.
+ */
+public class CompactAst {
+
+    private static final int NONE = -1;
+
+    static {
+        // Kind sets are stored in a long
+        SpecsCheck.checkArgument(Kind.values().length <= Long.SIZE, () -> "Too many kinds for a kind set");
+    }
+    private static final int INITIAL_CAPACITY = 64;
+
+    // Views are created by the threads that read the nodes, only the first one is kept
+    private static final VarHandle VIEWS = MethodHandles.arrayElementVarHandle(View[].class);
+
+    // Child arrays are built by the threads that read the nodes, any of them can be kept as they are equal
+    private static final VarHandle CHILDREN = MethodHandles.arrayElementVarHandle(int[][].class);
+
+    private static final Set<String> POSITION_KEYS = Arrays.stream(NodePosition.values())
+            .map(NodePosition::getKey)
+            .collect(Collectors.toSet());
+
+    private final NameTable names;
+
+    // Distinct kind hierarchies, indexed by the values of 'kinds', with the Kind of the node and the bit set of the
+    // Kinds in the hierarchy cached for each one
+    private final List<List<String>> hierarchies;
+    private final Map<List<String>, Integer> hierarchyIds;
+    private final List<Kind> hierarchyKinds;
+    private long[] hierarchyKindSets;
+
+    // Attribute columns, in the order attributes were first seen. Replaced by a copy when a column is added, so
+    // threads that set attributes of different nodes can add the same column at the same time
+    private volatile Map<String, Object[]> columns;
+
+    private int size;
+    private int[] kinds;
+    private int[] parents;
+    private int[] firstChildren;
+    private int[] nextSiblings;
+    private int[][] children;
+    private View[] views;
+
+    private int root;
+
+    private CompactAst(NameTable names) {
+        this.names = names;
+        this.hierarchies = new ArrayList<>();
+        this.hierarchyIds = new HashMap<>();
+        this.hierarchyKinds = new ArrayList<>();
+        this.hierarchyKindSets = new long[8];
+        this.columns = new LinkedHashMap<>();
+
+        this.size = 0;
+        this.kinds = new int[INITIAL_CAPACITY];
+        this.parents = new int[INITIAL_CAPACITY];
+        this.firstChildren = new int[INITIAL_CAPACITY];
+        this.nextSiblings = new int[INITIAL_CAPACITY];
+        this.children = new int[INITIAL_CAPACITY][];
+        this.views = new View[INITIAL_CAPACITY];
+
+        this.root = NONE;
+    }
+
+    /**
+     * Copies the tree with the given root into a compact AST.
+     *
+     * @param root
+     * @return the compact AST
+     */
+    public static CompactAst of(JmmNode root) {
+        return of(root, new NameTable());
+    }
+
+    /**
+     * Copies the tree with the given root into a compact AST, interning String attributes in the given table.
+     *
+     * @param root
+     * @param names
+     * @return the compact AST
+     */
+    public static CompactAst of(JmmNode root, NameTable names) {
+        var ast = new CompactAst(names);
+        ast.root = ast.importTree(root);
+        ast.trimToSize();
+
+        return ast;
+    }
+
+    /**
+     * @return a view of the root node
+     */
+    public JmmNode getRoot() {
+        return view(root);
+    }
+
+    /**
+     * @return the number of nodes stored, including nodes that were removed from the tree
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of distinct kind hierarchies
+     */
+    public int getNumKinds() {
+        return hierarchies.size();
+    }
+
+    /**
+     * @return the number of attribute columns
+     */
+    public int getNumColumns() {
+        return columns.size();
+    }
+
+    private View view(int node) {
+        var view = (View) VIEWS.getAcquire(views, node);
+        if (view != null) {
+            return view;
+        }
+
+        var created = new View(node);
+        var existing = (View) VIEWS.compareAndExchangeRelease(views, node, null, created);
+        return existing != null ? existing : created;
+    }
+
+    private int newNode(List<String> hierarchy) {
+        if (size == kinds.length) {
+            grow();
+        }
+
+        int node = size++;
+
+        var kindId = hierarchyIds.get(hierarchy);
+        if (kindId == null) {
+            kindId = hierarchies.size();
+            var stored = hierarchy.stream().map(names::intern).toList();
+            hierarchies.add(stored);
+            hierarchyIds.put(stored, kindId);
+            addHierarchyKinds(stored);
+        }
+
+        kinds[node] = kindId;
+        parents[node] = NONE;
+        firstChildren[node] = NONE;
+        nextSiblings[node] = NONE;
+        children[node] = null;
+
+        return node;
+    }
+
+    private void addHierarchyKinds(List<String> hierarchy) {
+        long kindSet = 0;
+        for (var name : hierarchy) {
+            var kind = Kind.lookup(name);
+            if (kind != null) {
+                kindSet |= 1L << kind.ordinal();
+            }
+        }
+
+        int kindId = hierarchyKinds.size();
+        if (kindId == hierarchyKindSets.length) {
+            hierarchyKindSets = Arrays.copyOf(hierarchyKindSets, kindId * 2);
+        }
+
+        hierarchyKinds.add(Kind.lookup(hierarchy.get(0)));
+        hierarchyKindSets[kindId] = kindSet;
+    }
+
+    /**
+     * @param node
+     * @return the cached Kind of a node of a compact AST, or null if the node is not from a compact AST or its name is
+     * not a Kind
+     */
+    static Kind kindOf(JmmNode node) {
+        if (node instanceof CompactAst.View view) {
+            return view.owner().hierarchyKinds.get(view.owner().kinds[view.index]);
+        }
+
+        return null;
+    }
+
+    /**
+     * @param node
+     * @return the bit set of the Kinds in the hierarchy of a node of a compact AST, indexed by ordinal, or 0 if the node
+     * is not from a compact AST or has no Kind in its hierarchy
+     */
+    static long kindsOf(JmmNode node) {
+        if (node instanceof CompactAst.View view) {
+            return view.owner().hierarchyKindSets[view.owner().kinds[view.index]];
+        }
+
+        return 0;
+    }
+
+    /**
+     * @param node
+     * @return true if the node is from a compact AST, so its children can be followed with {@link #firstChild} and
+     * {@link #nextSibling} in constant time
+     */
+    static boolean isCompact(JmmNode node) {
+        return node instanceof CompactAst.View;
+    }
+
+    /**
+     * @param node a node of a compact AST
+     * @return its first child, or null if it has none
+     */
+    static JmmNode firstChild(JmmNode node) {
+        var view = (CompactAst.View) node;
+        int child = view.owner().firstChildren[view.index];
+        return child == NONE ? null : view.owner().view(child);
+    }
+
+    /**
+     * @param node a node of a compact AST
+     * @return the next child of its parent, or null if it is the last one
+     */
+    static JmmNode nextSibling(JmmNode node) {
+        var view = (CompactAst.View) node;
+        int sibling = view.owner().nextSiblings[view.index];
+        return sibling == NONE ? null : view.owner().view(sibling);
+    }
+
+    private void grow() {
+        int capacity = Math.max(INITIAL_CAPACITY, kinds.length * 2);
+
+        kinds = Arrays.copyOf(kinds, capacity);
+        parents = Arrays.copyOf(parents, capacity);
+        firstChildren = Arrays.copyOf(firstChildren, capacity);
+        nextSiblings = Arrays.copyOf(nextSiblings, capacity);
+        children = Arrays.copyOf(children, capacity);
+        views = Arrays.copyOf(views, capacity);
+
+        for (var entry : columns.entrySet()) {
+            entry.setValue(Arrays.copyOf(entry.getValue(), capacity));
+        }
+    }
+
+    private void trimToSize() {
+        kinds = Arrays.copyOf(kinds, size);
+        parents = Arrays.copyOf(parents, size);
+        firstChildren = Arrays.copyOf(firstChildren, size);
+        nextSiblings = Arrays.copyOf(nextSiblings, size);
+        children = Arrays.copyOf(children, size);
+        views = Arrays.copyOf(views, size);
+
+        for (var entry : columns.entrySet()) {
+            entry.setValue(Arrays.copyOf(entry.getValue(), size));
+        }
+    }
+
+    /**
+     * Copies a tree into this AST, iteratively so that deep expressions do not overflow the stack.
+     * <p>
+     * Attributes that refer to nodes of the copied tree (rule labels, e.g. the 'name' of a type) are changed to refer
+     * to the copies, so the original tree is not kept alive.
+     *
+     * @return the index of the copied root, without parent
+     */
+    private int importTree(JmmNode tree) {
+        var copies = new IdentityHashMap<JmmNode, Integer>();
+        int treeRoot = copyNode(tree);
+        copies.put(tree, treeRoot);
+
+        var pending = new ArrayList<JmmNode>();
+        pending.add(tree);
+
+        while (!pending.isEmpty()) {
+            var node = pending.remove(pending.size() - 1);
+            int copy = copies.get(node);
+
+            int previous = NONE;
+            for (var child : node.getChildren()) {
+                int childCopy = copyNode(child);
+                copies.put(child, childCopy);
+
+                parents[childCopy] = copy;
+                if (previous == NONE) {
+                    firstChildren[copy] = childCopy;
+                } else {
+                    nextSiblings[previous] = childCopy;
+                }
+                previous = childCopy;
+
+                pending.add(child);
+            }
+        }
+
+        for (var column : columns.values()) {
+            for (int node = treeRoot; node < size; node++) {
+                if (column[node] instanceof JmmNode value && copies.containsKey(value)) {
+                    column[node] = view(copies.get(value));
+                }
+            }
+        }
+
+        return treeRoot;
+    }
+
+    private int copyNode(JmmNode node) {
+        int copy = newNode(node.getHierarchy());
+        for (var attribute : node.getAttributes()) {
+            setAttribute(copy, attribute, node.getObject(attribute));
+        }
+
+        return copy;
+    }
+
+    private Object setAttribute(int node, String attribute, Object value) {
+        var column = columns.get(attribute);
+        if (column == null) {
+            column = addColumn(attribute);
+        }
+
+        var previous = column[node];
+        column[node] = value instanceof String string ? names.intern(string) : value;
+
+        return previous;
+    }
+
+    private synchronized Object[] addColumn(String attribute) {
+        var column = columns.get(attribute);
+        if (column != null) {
+            return column;
+        }
+
+        column = new Object[kinds.length];
+        var added = new LinkedHashMap<>(columns);
+        added.put(names.intern(attribute), column);
+        columns = added;
+
+        return column;
+    }
+
+    private Object getAttribute(int node, String attribute) {
+        var column = columns.get(attribute);
+        return column != null ? column[node] : null;
+    }
+
+    /**
+     * @return the children of the node, built from the sibling links on first access
+     */
+    private int[] children(int node) {
+        var cached = (int[]) CHILDREN.getAcquire(children, node);
+        if (cached != null) {
+            return cached;
+        }
+
+        int count = 0;
+        for (int child = firstChildren[node]; child != NONE; child = nextSiblings[child]) {
+            count++;
+        }
+
+        var built = new int[count];
+        int index = 0;
+        for (int child = firstChildren[node]; child != NONE; child = nextSiblings[child]) {
+            built[index++] = child;
+        }
+
+        CHILDREN.setRelease(children, node, built);
+        return built;
+    }
+
+    private int getChild(int node, int index) {
+        var nodeChildren = children(node);
+        return index >= 0 && index < nodeChildren.length ? nodeChildren[index] : NONE;
+    }
+
+    private int getNumChildren(int node) {
+        return children(node).length;
+    }
+
+    private int indexOf(int parent, int node) {
+        int index = 0;
+        for (int child = firstChildren[parent]; child != NONE; child = nextSiblings[child]) {
+            if (child == node) {
+                return index;
+            }
+            index++;
+        }
+
+        return NONE;
+    }
+
+    /**
+     * Links a node without parent as the child of the given node, at the given index.
+     */
+    private void link(int parent, int node, int index) {
+        SpecsCheck.checkArgument(parents[node] == NONE, () -> "Node already has a parent");
+
+        if (index == 0) {
+            nextSiblings[node] = firstChildren[parent];
+            firstChildren[parent] = node;
+        } else {
+            int previous = getChild(parent, index - 1);
+            if (previous == NONE) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + getNumChildren(parent));
+            }
+            nextSiblings[node] = nextSiblings[previous];
+            nextSiblings[previous] = node;
+        }
+
+        parents[node] = parent;
+        children[parent] = null;
+    }
+
+    /**
+     * Removes a node from the children of its parent.
+     */
+    private void unlink(int node) {
+        int parent = parents[node];
+        if (parent == NONE) {
+            return;
+        }
+
+        if (firstChildren[parent] == node) {
+            firstChildren[parent] = nextSiblings[node];
+        } else {
+            int previous = firstChildren[parent];
+            while (nextSiblings[previous] != node) {
+                previous = nextSiblings[previous];
+            }
+            nextSiblings[previous] = nextSiblings[node];
+        }
+
+        parents[node] = NONE;
+        nextSiblings[node] = NONE;
+        children[parent] = null;
+    }
+
+    /**
+     * @return the index of the given node in this AST, copying it first if it is from another tree or already has a
+     * parent
+     */
+    private int adopt(JmmNode node) {
+        if (node instanceof View view && view.owner() == this && parents[view.index] == NONE) {
+            return view.index;
+        }
+
+        return importTree(node);
+    }
+
+    private class View implements JmmNode {
+
+        private final int index;
+
+        private View(int index) {
+            this.index = index;
+        }
+
+        private CompactAst owner() {
+            return CompactAst.this;
+        }
+
+        @Override
+        public String getKind() {
+            return hierarchies.get(kinds[index]).get(0);
+        }
+
+        @Override
+        public List<String> getHierarchy() {
+            return hierarchies.get(kinds[index]);
+        }
+
+        @Override
+        public boolean isInstance(String kind) {
+            return hierarchies.get(kinds[index]).contains(kind);
+        }
+
+        @Override
+        public JmmNode copy(List<String> kindHierarchy) {
+            int copy = newNode(kindHierarchy);
+            for (var attribute : getAttributes()) {
+                setAttribute(copy, attribute, get(attribute));
+            }
+
+            return view(copy);
+        }
+
+        @Override
+        public JmmNode getParent() {
+            int parent = parents[index];
+            return parent == NONE ? null : view(parent);
+        }
+
+        @Override
+        public List<JmmNode> getChildren() {
+            var children = new ArrayList<JmmNode>();
+            for (int child = firstChildren[index]; child != NONE; child = nextSiblings[child]) {
+                children.add(view(child));
+            }
+
+            return children;
+        }
+
+        @Override
+        public JmmNode getChild(int childIndex) {
+            int child = CompactAst.this.getChild(index, childIndex);
+            if (child == NONE || childIndex < 0) {
+                throw new IndexOutOfBoundsException("Index: " + childIndex + ", Size: " + getNumChildren());
+            }
+
+            return view(child);
+        }
+
+        @Override
+        public int getNumChildren() {
+            return CompactAst.this.getNumChildren(index);
+        }
+
+        @Override
+        public int getIndexOfSelf() {
+            int parent = parents[index];
+            return parent == NONE ? NONE : indexOf(parent, index);
+        }
+
+        @Override
+        public void add(JmmNode child) {
+            add(child, getNumChildren());
+        }
+
+        @Override
+        public void add(JmmNode child, int childIndex) {
+            link(index, adopt(child), childIndex);
+        }
+
+        @Override
+        public JmmNode removeChild(int childIndex) {
+            int child = CompactAst.this.getChild(index, childIndex);
+            if (child == NONE) {
+                System.out.println("[WARNING] Tried to remove child at index " + childIndex + ", but node only has "
+                        + getNumChildren() + " children");
+                return null;
+            }
+
+            unlink(child);
+            return view(child);
+        }
+
+        @Override
+        public int removeChild(JmmNode node) {
+            if (node instanceof View view && view.owner() == CompactAst.this && parents[view.index] == index) {
+                int childIndex = indexOf(index, view.index);
+                unlink(view.index);
+                return childIndex;
+            }
+
+            System.out.println("[WARNING] Tried to remove child from node, but could not find it.\nChild:" + node
+                    + "\nParent:" + this);
+            return NONE;
+        }
+
+        @Override
+        public void setChild(JmmNode newNode, int childIndex) {
+            int current = CompactAst.this.getChild(index, childIndex);
+            if (current == NONE) {
+                throw new IndexOutOfBoundsException("Index: " + childIndex + ", Size: " + getNumChildren());
+            }
+
+            // A node of this tree that already has a parent swaps places with the current child
+            if (newNode instanceof View view && view.owner() == CompactAst.this && parents[view.index] != NONE) {
+                int otherParent = parents[view.index];
+                int otherIndex = indexOf(otherParent, view.index);
+
+                unlink(view.index);
+                unlink(current);
+                link(index, view.index, childIndex);
+                link(otherParent, current, otherIndex);
+                return;
+            }
+
+            unlink(current);
+            link(index, adopt(newNode), childIndex);
+        }
+
+        @Override
+        public void delete() {
+            if (parents[index] == NONE) {
+                System.out.println("[WARNING] Tried to remove itself from the tree, but node has no parent");
+                return;
+            }
+
+            unlink(index);
+        }
+
+        /**
+         * Removes the node from the children of its parent. Unlike {@link pt.up.fe.comp.jmm.ast.JmmNodeImpl}, which
+         * only clears the pointer to the parent, as the parent of a node and the children of its parent are the same
+         * links here.
+         */
+        @Override
+        public void removeParent() {
+            unlink(index);
+        }
+
+        /**
+         * Called by the parent a node is added to. The node is already linked when it is added to a node of this AST,
+         * and it cannot be a child of a node of another tree, which would add a copy of it instead, see
+         * {@link #add(JmmNode, int)}.
+         */
+        @Override
+        public void setParent(JmmNode parent) {
+            if (parent instanceof View view && view.owner() == CompactAst.this && parents[index] == view.index) {
+                return;
+            }
+
+            throw new UnsupportedOperationException("A node of a compact AST can only be added to a node of the same "
+                    + "AST, add a copy of it instead");
+        }
+
+        @Override
+        public Collection<String> getAttributes() {
+            // In the order the attributes were first set, as the columns
+            var attributes = new ArrayList<String>();
+            for (var entry : columns.entrySet()) {
+                if (entry.getValue()[index] != null) {
+                    attributes.add(entry.getKey());
+                }
+            }
+
+            return attributes;
+        }
+
+        @Override
+        public boolean hasAttribute(String attribute) {
+            return getAttribute(index, attribute) != null;
+        }
+
+        @Override
+        public Object putObject(String attribute, Object value) {
+            return setAttribute(index, attribute, value);
+        }
+
+        @Override
+        public Object getObject(String attribute) {
+            var value = getAttribute(index, attribute);
+
+            SpecsCheck.checkNotNull(value, () -> "Node " + getKind() + " does not contain attribute '" + attribute + "'");
+
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            var attributes = getAttributes().stream()
+                    .filter(attribute -> !POSITION_KEYS.contains(attribute))
+                    .map(attribute -> attribute + ": " + get(attribute))
+                    .collect(Collectors.joining(", ", " (", ")"));
+
+            return attributes.equals(" ()") ? getKind() : getKind() + attributes;
+        }
+    }
+}
@@ -5,7 +5,9 @@ import pt.up.fe.specs.util.SpecsStrings;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -42,7 +44,6 @@ public enum Kind {
     ARRAY_LITERAL,
     LENGTH_EXPR,
     CLASS_FUNCTION_EXPR,
-    LABEL,
     ARRAY_CREATION,
     NEW,
     OBJECT_REFERENCE,
@@ -58,6 +59,15 @@ public enum Kind {
 
 
 
+    // Kinds by node name, for lookups in constant time
+    private static final Map<String, Kind> BY_NODE_NAME = new HashMap<>();
+
+    static {
+        for (Kind kind : values()) {
+            BY_NODE_NAME.put(kind.getNodeName(), kind);
+        }
+    }
+
     private final String name;
 
     private Kind(String name) {
@@ -69,13 +79,49 @@ public enum Kind {
     }
 
     public static Kind fromString(String kind) {
+        var k = BY_NODE_NAME.get(kind);
+        if (k == null) {
+            throw new RuntimeException("Could not convert string '" + kind + "' to a Kind");
+        }
 
-        for (Kind k : Kind.values()) {
-            if (k.getNodeName().equals(kind)) {
-                return k;
-            }
+        return k;
+    }
+
+    /**
+     * @param kind
+     * @return the Kind with the given node name, or null if there is none
+     */
+    static Kind lookup(String kind) {
+        return BY_NODE_NAME.get(kind);
+    }
+
+    /**
+     * Returns the Kind of the given node in constant time. Nodes of a {@link CompactAst} have it cached, for other
+     * nodes it is a hash lookup of the node name.
+     *
+     * @param node
+     * @return the Kind of the node
+     */
+    public static Kind of(JmmNode node) {
+        var kind = find(node);
+        if (kind == null) {
+            throw new RuntimeException("Could not convert string '" + node.getKind() + "' to a Kind");
         }
-        throw new RuntimeException("Could not convert string '" + kind + "' to a Kind");
+
+        return kind;
+    }
+
+    /**
+     * @param node
+     * @return the Kind of the node, or null if the node name is not a Kind
+     */
+    public static Kind find(JmmNode node) {
+        var kind = CompactAst.kindOf(node);
+        if (kind != null) {
+            return kind;
+        }
+
+        return BY_NODE_NAME.get(node.getKind());
     }
 
     public static List<String> toNodeName(Kind firstKind, Kind... otherKinds) {
@@ -105,6 +151,12 @@ public enum Kind {
      * @return
      */
     public boolean check(JmmNode node) {
+        // Nodes of a compact AST have the kinds of their hierarchy cached as a bit set
+        long kinds = CompactAst.kindsOf(node);
+        if (kinds != 0) {
+            return (kinds & (1L << ordinal())) != 0;
+        }
+
         return node.isInstance(this);
     }
 
@@ -0,0 +1,115 @@
+package pt.up.fe.comp2025.ast;
+
+import pt.up.fe.comp.jmm.ast.JmmNode;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Visit table indexed by {@link Kind} ordinal, with the same lookup rules as
+ * {@link pt.up.fe.comp.jmm.ast.AJmmVisitor}: the first kind of the node hierarchy with a visit method wins.
+ * <p>
+ * Node hierarchies are the node kind, optionally followed by the rule it is an alternative of (e.g. BinaryExpr,
+ * Expr). The method found for each kind is cached, together with the second kind of the hierarchy it was resolved
+ * for, so most lookups are an array access and a comparison. Other hierarchies are resolved by name.
+ */
+class KindDispatch<D, R> {
+
+    private final Map<String, BiFunction<JmmNode, D, R>> byName;
+    private final BiFunction<JmmNode, D, R>[] byKind;
+
+    // Cache of resolved methods, per Kind ordinal, for hierarchies of one element and of two elements
+    private final BiFunction<JmmNode, D, R>[] resolvedSingle;
+    private final boolean[] resolvedSingleValid;
+    private final BiFunction<JmmNode, D, R>[] resolvedPair;
+    private final String[] resolvedPairSuper;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    KindDispatch() {
+        int numKinds = Kind.values().length;
+
+        this.byName = new HashMap<>();
+        this.byKind = new BiFunction[numKinds];
+        this.resolvedSingle = new BiFunction[numKinds];
+        this.resolvedSingleValid = new boolean[numKinds];
+        this.resolvedPair = new BiFunction[numKinds];
+        this.resolvedPairSuper = new String[numKinds];
+    }
+
+    void put(String kind, BiFunction<JmmNode, D, R> method) {
+        byName.put(kind, method);
+
+        var k = Kind.lookup(kind);
+        if (k != null) {
+            byKind[k.ordinal()] = method;
+        }
+
+        // Any cached resolution may have changed
+        Arrays.fill(resolvedSingleValid, false);
+        Arrays.fill(resolvedPairSuper, null);
+    }
+
+    /**
+     * @return the kinds with a visit method
+     */
+    Set<String> kinds() {
+        return Collections.unmodifiableSet(byName.keySet());
+    }
+
+    /**
+     * @param node
+     * @return the visit method for the node, or null if there is none
+     */
+    BiFunction<JmmNode, D, R> get(JmmNode node) {
+        var kind = Kind.find(node);
+        if (kind == null) {
+            return resolve(node.getHierarchy());
+        }
+
+        int ordinal = kind.ordinal();
+
+        // Kind has its own method, takes precedence over the rest of the hierarchy
+        var method = byKind[ordinal];
+        if (method != null) {
+            return method;
+        }
+
+        var hierarchy = node.getHierarchy();
+        switch (hierarchy.size()) {
+            case 1 -> {
+                if (!resolvedSingleValid[ordinal]) {
+                    resolvedSingle[ordinal] = resolve(hierarchy);
+                    resolvedSingleValid[ordinal] = true;
+                }
+                return resolvedSingle[ordinal];
+            }
+            case 2 -> {
+                var superKind = hierarchy.get(1);
+                if (!superKind.equals(resolvedPairSuper[ordinal])) {
+                    resolvedPair[ordinal] = resolve(hierarchy);
+                    resolvedPairSuper[ordinal] = superKind;
+                }
+                return resolvedPair[ordinal];
+            }
+            default -> {
+                return resolve(hierarchy);
+            }
+        }
+    }
+
+    private BiFunction<JmmNode, D, R> resolve(List<String> hierarchy) {
+        for (var kind : hierarchy) {
+            var method = byName.get(kind);
+            if (method != null) {
+                return method;
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,214 @@
+package pt.up.fe.comp2025.ast;
+
+import pt.up.fe.comp.jmm.ast.JmmNode;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@link Kind}s present in the subtree of each node of an AST, as a bit set indexed by ordinal, so traversals can
+ * leave out the subtrees without any node they visit.
+ * <p>
+ * The bit set of a node has the Kinds of the hierarchy of the node and of all its descendants. The bit sets are kept
+ * apart from the nodes, which would otherwise have them among their attributes. They stay valid when nodes are
+ * removed, since the bit set of a node may have more Kinds than its subtree, but not when nodes are added to the AST,
+ * which then needs a new summary. Nodes that are not in the summary may have any Kind below them.
+ * <p>
+ * Only the root and the subtrees of at least {@link #MIN_SUBTREE_SIZE} nodes are in the summary: most of the nodes of
+ * an AST are in small subtrees (e.g. the operands of an expression), where skipping the subtree saves less than looking
+ * it up. The bit sets are in an open addressing table by node identity, without a boxed value nor an entry per node.
+ * <p>
+ * A summary is not modified after it is computed, so it can be read from several threads.
+ */
+public class KindSummary {
+
+    /**
+     * Bit set with all the Kinds, for nodes that are not in the summary and for kinds that are not a {@link Kind}.
+     */
+    public static final long ALL = -1L;
+
+    /**
+     * Number of nodes of the smallest subtree in the summary.
+     */
+    public static final int MIN_SUBTREE_SIZE = 8;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    // Capacity is a power of two, at most half full
+    private JmmNode[] nodes;
+    private long[] kinds;
+    private int size;
+
+    // Parsed nodes of the same kind share their hierarchy
+    private final Map<List<String>, Long> hierarchyKinds;
+
+    private KindSummary() {
+        this.nodes = new JmmNode[INITIAL_CAPACITY];
+        this.kinds = new long[INITIAL_CAPACITY];
+        this.size = 0;
+        this.hierarchyKinds = new IdentityHashMap<>();
+    }
+
+    /**
+     * @param root
+     * @return the summary of the AST, computed in one traversal
+     */
+    public static KindSummary of(JmmNode root) {
+        var summary = new KindSummary();
+        summary.compute(root);
+        return summary;
+    }
+
+    /**
+     * @param kinds node names, as in the visits of a visitor
+     * @return the bit set of the kinds, or {@link #ALL} if any of them is not a {@link Kind}
+     */
+    public static long maskOf(Collection<String> kinds) {
+        long mask = 0;
+        for (var name : kinds) {
+            var kind = Kind.lookup(name);
+            if (kind == null) {
+                return ALL;
+            }
+            mask |= 1L << kind.ordinal();
+        }
+
+        return mask;
+    }
+
+    /**
+     * @param node
+     * @return the Kinds in the subtree of the node, or {@link #ALL} if the node is not in the summary, e.g. its subtree
+     * is small
+     */
+    public long get(JmmNode node) {
+        int slot = slotOf(node);
+        return nodes[slot] != null ? kinds[slot] : ALL;
+    }
+
+    /**
+     * @param node
+     * @param mask
+     * @return false if the subtree of the node has none of the Kinds of the mask
+     */
+    public boolean containsAny(JmmNode node, long mask) {
+        return (get(node) & mask) != 0;
+    }
+
+    /**
+     * @param root
+     * @return the Kinds of the subtree of the node
+     */
+    private long compute(JmmNode root) {
+        // Postorder with an explicit stack, where each node adds its Kinds and size to those of its parent, below it
+        var stackNodes = new JmmNode[INITIAL_CAPACITY];
+        var stackNext = new int[INITIAL_CAPACITY];
+        var stackKinds = new long[INITIAL_CAPACITY];
+        var stackSizes = new int[INITIAL_CAPACITY];
+
+        int top = 0;
+        stackNodes[0] = root;
+        stackKinds[0] = hierarchyKinds(root);
+        stackSizes[0] = 1;
+
+        while (true) {
+            var node = stackNodes[top];
+            int next = stackNext[top];
+
+            if (next < Children.count(node)) {
+                stackNext[top] = next + 1;
+
+                if (++top == stackNodes.length) {
+                    stackNodes = Arrays.copyOf(stackNodes, top * 2);
+                    stackNext = Arrays.copyOf(stackNext, top * 2);
+                    stackKinds = Arrays.copyOf(stackKinds, top * 2);
+                    stackSizes = Arrays.copyOf(stackSizes, top * 2);
+                }
+                var child = Children.get(node, next);
+                stackNodes[top] = child;
+                stackNext[top] = 0;
+                stackKinds[top] = hierarchyKinds(child);
+                stackSizes[top] = 1;
+                continue;
+            }
+
+            if (stackSizes[top] >= MIN_SUBTREE_SIZE || top == 0) {
+                put(node, stackKinds[top]);
+            }
+            if (top == 0) {
+                return stackKinds[0];
+            }
+
+            stackNodes[top] = null;
+            top--;
+            stackKinds[top] |= stackKinds[top + 1];
+            stackSizes[top] += stackSizes[top + 1];
+        }
+    }
+
+    private int slotOf(JmmNode node) {
+        int mask = nodes.length - 1;
+        // Identity hashes are random, their low bits are enough
+        int slot = System.identityHashCode(node) & mask;
+        while (nodes[slot] != null && nodes[slot] != node) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    private void put(JmmNode node, long nodeKinds) {
+        int slot = slotOf(node);
+        if (nodes[slot] == null) {
+            if (2 * (size + 1) > nodes.length) {
+                grow();
+                slot = slotOf(node);
+            }
+            nodes[slot] = node;
+            size++;
+        }
+
+        kinds[slot] = nodeKinds;
+    }
+
+    private void grow() {
+        var oldNodes = nodes;
+        var oldKinds = kinds;
+
+        nodes = new JmmNode[oldNodes.length * 2];
+        kinds = new long[oldKinds.length * 2];
+        for (int i = 0; i < oldNodes.length; i++) {
+            if (oldNodes[i] != null) {
+                int slot = slotOf(oldNodes[i]);
+                nodes[slot] = oldNodes[i];
+                kinds[slot] = oldKinds[i];
+            }
+        }
+    }
+
+    private long hierarchyKinds(JmmNode node) {
+        long nodeKinds = CompactAst.kindsOf(node);
+        if (nodeKinds != 0) {
+            return nodeKinds;
+        }
+
+        var hierarchy = node.getHierarchy();
+        var cached = hierarchyKinds.get(hierarchy);
+        if (cached != null) {
+            return cached;
+        }
+
+        for (var name : hierarchy) {
+            var kind = Kind.lookup(name);
+            if (kind != null) {
+                nodeKinds |= 1L << kind.ordinal();
+            }
+        }
+        hierarchyKinds.put(hierarchy, nodeKinds);
+
+        return nodeKinds;
+    }
+}
@@ -0,0 +1,85 @@
+package pt.up.fe.comp2025.ast;
+
+import pt.up.fe.comp.jmm.ast.JmmNode;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * {@link AKindVisitor} for visitors that compute the result of a node from the results of its children, such as the
+ * generators of code for expressions, without recursion on deep expressions.
+ * <p>
+ * A visit added with {@link #addPostorderVisit} must call {@link #visit} on every child of the node, in order, before
+ * anything else that has side effects. When such a node is visited, it and the nodes below it are visited bottom-up by
+ * an {@link AstWalker}, down to the nodes with other visits, which are visited as usual. The result of each node is kept
+ * until its parent visits it, so a chain of such nodes uses a constant amount of the call stack, and the nodes are
+ * visited in the same order as with recursion. The visits must not change the tree.
+ */
+public abstract class PostorderKindVisitor<D, R> extends AKindVisitor<D, R> {
+
+    // Not initialized in the declaration, buildVisitor() runs in the super constructor and already adds visits
+    private Set<BiFunction<JmmNode, D, R>> postorderVisits;
+
+    // Results of the nodes visited before their parents
+    private final Map<JmmNode, R> results;
+    private final AstWalker walker;
+    private int depth;
+
+    protected PostorderKindVisitor() {
+        this.results = new IdentityHashMap<>();
+        this.walker = new AstWalker();
+        this.depth = 0;
+    }
+
+    private Set<BiFunction<JmmNode, D, R>> postorderVisits() {
+        if (postorderVisits == null) {
+            postorderVisits = Collections.newSetFromMap(new IdentityHashMap<>());
+        }
+
+        return postorderVisits;
+    }
+
+    /**
+     * Adds a visit that visits all the children of the node first, in order.
+     *
+     * @param kind
+     * @param method
+     */
+    public void addPostorderVisit(Kind kind, BiFunction<JmmNode, D, R> method) {
+        addVisit(kind, method);
+        postorderVisits().add(method);
+    }
+
+    private boolean isPostorder(JmmNode node) {
+        return postorderVisits != null && postorderVisits.contains(getVisit(node));
+    }
+
+    @Override
+    public R visit(JmmNode node, D data) {
+        // Child of a node that is being visited bottom-up
+        if (results.containsKey(node)) {
+            return results.remove(node);
+        }
+
+        if (!isPostorder(node)) {
+            return super.visit(node, data);
+        }
+
+        depth++;
+        try {
+            walker.postorder(node, this::isPostorder,
+                    descendant -> results.put(descendant, getVisit(descendant).apply(descendant, data)));
+            return results.remove(node);
+        } finally {
+            depth--;
+
+            // Results that were not used, e.g. after an exception
+            if (depth == 0) {
+                results.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package pt.up.fe.comp2025.ast;
+
+import pt.up.fe.comp.jmm.ast.PreorderJmmVisitor;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.specs.util.SpecsCheck;
+
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * {@link PreorderJmmVisitor} that dispatches on the {@link Kind} ordinal of the nodes, see {@link KindDispatch}.
+ * <p>
+ * Without a reduce function, the results of the children are not used, so the nodes are visited in the same order by
+ * an {@link AstWalker}, without recursion nor a list of results per node.
+ */
+public abstract class PreorderKindVisitor<D, R> extends PreorderJmmVisitor<D, R> {
+
+    // Not initialized in the declaration, buildVisitor() runs in the super constructor and already adds visits
+    private KindDispatch<D, R> dispatch;
+    private BiFunction<JmmNode, D, R> defaultVisit;
+    private AstWalker walker;
+
+    private KindDispatch<D, R> dispatch() {
+        if (dispatch == null) {
+            dispatch = new KindDispatch<>();
+        }
+
+        return dispatch;
+    }
+
+    @Override
+    public R visit(JmmNode jmmNode, D data) {
+        if (getReduce() != null) {
+            return super.visit(jmmNode, data);
+        }
+
+        SpecsCheck.checkNotNull(jmmNode, () -> "Node should not be null");
+
+        if (walker == null) {
+            walker = new AstWalker();
+        }
+
+        // Same as walker.preorder(), but the result of the first node is returned
+        var result = getVisit(jmmNode).apply(jmmNode, data);
+
+        int base = walker.size();
+        walker.pushChildren(jmmNode);
+        try {
+            while (walker.size() > base) {
+                var node = walker.pop();
+                getVisit(node).apply(node, data);
+                walker.pushChildren(node);
+            }
+        } finally {
+            walker.truncate(base);
+        }
+
+        return result;
+    }
+
+    @Override
+    public void addVisit(String kind, BiFunction<JmmNode, D, R> method) {
+        super.addVisit(kind, method);
+        dispatch().put(kind, method);
+    }
+
+    @Override
+    public void setDefaultVisit(BiFunction<JmmNode, D, R> defaultVisit) {
+        super.setDefaultVisit(defaultVisit);
+        this.defaultVisit = defaultVisit;
+    }
+
+    /**
+     * @return the kinds of the visits added, without the default visit
+     */
+    protected Set<String> getAddedKinds() {
+        return dispatch().kinds();
+    }
+
+    /**
+     * @param node
+     * @return the visit added for the kind of the node, or null if the node is left to the default visit
+     */
+    protected BiFunction<JmmNode, D, R> getAddedVisit(JmmNode node) {
+        return dispatch().get(node);
+    }
+
+    @Override
+    protected BiFunction<JmmNode, D, R> getVisit(JmmNode node) {
+        var method = dispatch().get(node);
+        if (method != null) {
+            return method;
+        }
+
+        // Without a default visit, the super class reports the error
+        return defaultVisit != null ? defaultVisit : super.getVisit(node);
+    }
+}
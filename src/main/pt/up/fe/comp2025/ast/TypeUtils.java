@@ -4,6 +4,9 @@ import pt.up.fe.comp.jmm.analysis.table.Symbol;
 import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
 import pt.up.fe.comp.jmm.analysis.table.Type;
 import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp2025.symboltable.ClassPath;
+import pt.up.fe.comp2025.symboltable.JmmSymbolTable;
+import pt.up.fe.comp2025.symboltable.ProjectIndex;
 
 import java.util.List;
 import java.util.Objects;
@@ -52,7 +55,7 @@ public class TypeUtils {
         boolean isVarargs = false;
 
         if (Kind.TYPE.check(typeNode)) {
-            JmmNode baseTypeNode = typeNode.getChild(0);
+            JmmNode baseTypeNode = Children.get(typeNode, 0);
             if (Kind.BASE_TYPE.check(baseTypeNode)) {
                 name = baseTypeNode.get("name");
                 if (baseTypeNode.getOptional("args").orElse("").equals("...")) {
@@ -91,7 +94,7 @@ public class TypeUtils {
             return expr.getObject("type", Type.class);
         }
         else {
-            Kind kind = Kind.fromString(expr.getKind());
+            Kind kind = Kind.of(expr);
             return switch (kind) {
                 case BINARY_EXPR -> getBinaryExprType(expr);
                 case UNARY_EXPR -> getUnaryExprType(expr);
@@ -99,7 +102,7 @@ public class TypeUtils {
                 case BOOLEAN_LITERAL -> newBooleanType();
                 case ARRAY_CREATION -> getArrayCreationType(expr);
                 case ARRAY_ACCESS -> getArrayElementType(expr);
-                case PRIORITY_EXPR -> getExprType(expr.getChild(0));
+                case PRIORITY_EXPR -> getExprType(Children.get(expr, 0));
                 case ARRAY_LITERAL -> new Type("int", true);
                 case LENGTH_EXPR -> newIntType();
                 case OBJECT_REFERENCE -> new Type(expr.get("value"), false);
@@ -113,20 +116,35 @@ public class TypeUtils {
         }
     }
 
+    /**
+     * Same as {@link #getExprTypeNotStatic(JmmNode, JmmNode)}, but the enclosing method is only looked up if the
+     * expression is not annotated with its type, since the lookup walks up the whole expression.
+     *
+     * @param expr
+     * @return the type of the expression
+     */
+    public Type getExprTypeNotStatic(JmmNode expr) {
+        if (expr.hasAttribute("type")) {
+            return expr.getObject("type", Type.class);
+        }
+
+        return getExprTypeNotStatic(expr, getParentMethod(expr));
+    }
+
     public Type getExprTypeNotStatic(JmmNode expr, JmmNode method){
         if (expr.hasAttribute("type")) {
             return expr.getObject("type", Type.class);
         }
 
-        Kind kind = Kind.fromString(expr.getKind());
+        Kind kind = Kind.of(expr);
 
         try {
             return switch (kind){
-                case CLASS_FUNCTION_EXPR -> getFunctionCallType(expr, this.table);
+                case CLASS_FUNCTION_EXPR -> getFunctionCallType(expr, method);
                 case VAR_REF_EXPR -> varType(expr, method, this.table);
                 case ARRAY_ACCESS -> getArrayAccessElementTypeNotStatic(expr, method); // Corrigido aqui
                 case OBJECT_REFERENCE -> new Type(this.table.getClassName(), false);
-                case PRIORITY_EXPR -> getExprTypeNotStatic(expr.getChild(0), method);
+                case PRIORITY_EXPR -> getExprTypeNotStatic(Children.get(expr, 0), method);
                 case LENGTH_EXPR -> newIntType();
                 case RETURN_STMT->
                         throw new IllegalArgumentException("Cannot get expression type for statement kind '" + kind + "'");
@@ -141,22 +159,85 @@ public class TypeUtils {
         }
     }
 
+    /**
+     * Marks the type with the super class, if it is the class, and as imported, if it is an imported class.
+     * <p>
+     * Types of the symbol table are shared by the methods, which may be analysed in parallel, so they are not
+     * modified: a type without the marks it needs is copied, and the copy is marked and returned. The types of the
+     * symbol table that are the class are marked before the analysis, see {@link #storeSuperClass(SymbolTable)}.
+     *
+     * @param type
+     * @param table
+     * @return the type, or a marked copy of it
+     */
     public static Type storeType(Type type, SymbolTable table) {
         if (type == null) return null;
 
-        if (type.getName().equals(table.getClassName())) {
-            type.putObject("super", table.getSuper());
+        boolean markSuper = type.getName().equals(table.getClassName()) && !type.hasAttribute("super");
+        boolean markImported = table.getImports().contains(type.getName()) && !type.hasAttribute("imported");
+        if (!markSuper && !markImported) {
+            return type;
         }
 
-        if (table.getImports().contains(type.getName())) {
-            type.putObject("imported", true);
+        var marked = copy(type);
+        if (markSuper) {
+            marked.putObject("super", table.getSuper());
+        }
+        if (markImported) {
+            marked.putObject("imported", true);
         }
 
-        return type;
+        return marked;
+    }
+
+    /**
+     * @param type
+     * @return a new type with the name, the dimension and the attributes of the type
+     */
+    public static Type copy(Type type) {
+        var copy = new Type(type.getName(), type.isArray());
+        for (var attribute : type.getAttributes()) {
+            copy.putObject(attribute, type.getObject(attribute));
+        }
+
+        return copy;
+    }
+
+    /**
+     * Marks the types of the symbol table that are the class with its super class, so they are assignable where the
+     * super class is expected. Runs once before the analysis, in every mode, so the passes only read the types of the
+     * symbol table.
+     *
+     * @param table
+     */
+    public static void storeSuperClass(SymbolTable table) {
+        storeSuperClass(table.getFields(), table);
+
+        for (var method : table.getMethods()) {
+            storeSuperClass(table.getReturnType(method), table);
+            storeSuperClass(table.getParameters(method), table);
+            storeSuperClass(table.getLocalVariables(method), table);
+        }
+    }
+
+    private static void storeSuperClass(List<Symbol> symbols, SymbolTable table) {
+        if (symbols == null) {
+            return;
+        }
+
+        for (var symbol : symbols) {
+            storeSuperClass(symbol.getType(), table);
+        }
+    }
+
+    private static void storeSuperClass(Type type, SymbolTable table) {
+        if (type != null && type.getName().equals(table.getClassName())) {
+            type.putObject("super", table.getSuper());
+        }
     }
 
     private static Type getArrayCreationType(JmmNode arrayCreationNode) {
-        JmmNode typeNode = arrayCreationNode.getChild(0);
+        JmmNode typeNode = Children.get(arrayCreationNode, 0);
         Type elementType = TypeUtils.convertType(typeNode);
         return new Type(elementType.getName(), true);
     }
@@ -168,7 +249,7 @@ public class TypeUtils {
 
     // CORRIGIDO getArrayAccessElementTypeNotStatic
     private Type getArrayAccessElementTypeNotStatic(JmmNode arrayAccess, JmmNode method) {
-        JmmNode arrayExpr = arrayAccess.getChild(0);
+        JmmNode arrayExpr = Children.get(arrayAccess, 0);
         Type arrayType = getExprTypeNotStatic(arrayExpr, method);
 
         if (arrayType == null) {
@@ -190,9 +271,9 @@ public class TypeUtils {
     }
 
 
-    private static Type getFunctionCallType(JmmNode functionCall, SymbolTable table) {
+    private Type getFunctionCallType(JmmNode functionCall, JmmNode method) {
         String methodName = functionCall.get("name");
-        Type returnType = table.getReturnType(methodName);
+        Type returnType = findReturnType(functionCall, method);
         if (returnType == null) {
             if (functionCall.hasAttribute("type")) {
                 return functionCall.getObject("type", Type.class);
@@ -203,6 +284,55 @@ public class TypeUtils {
         return returnType;
     }
 
+    /**
+     * Finds the declared return type of a call, in this class or, when the project index or the library path are
+     * available, in the class of the caller and its superclasses.
+     *
+     * @param functionCall
+     * @param method the method the call is in
+     * @return the return type, or null if the method is not declared in this class, in the project nor in the
+     * imported classes
+     */
+    public Type findReturnType(JmmNode functionCall, JmmNode method) {
+        String methodName = functionCall.get("name");
+        Type returnType = table.getReturnType(methodName);
+        if (returnType != null) {
+            return returnType;
+        }
+
+        var index = ProjectIndex.of(table);
+        var classPath = ClassPath.of(table);
+        if (index == null && classPath == null) {
+            return null;
+        }
+
+        Type callerType;
+        try {
+            callerType = getExprTypeNotStatic(Children.get(functionCall, 0), method);
+        } catch (RuntimeException e) {
+            return null;
+        }
+
+        if (callerType == null || callerType.isArray()) {
+            return null;
+        }
+
+        // Inherited methods of this class, even if this file is not in the project
+        var callerClass = callerType.getName().equals(table.getClassName()) ? table.getSuper() : callerType.getName();
+        if (callerClass == null || callerClass.isEmpty()) {
+            return null;
+        }
+
+        if (index != null) {
+            var declaringClass = index.findMethod(callerClass, methodName);
+            if (declaringClass != null) {
+                return declaringClass.getReturnType(methodName);
+            }
+        }
+
+        return classPath != null ? classPath.findReturnType(callerClass, methodName) : null;
+    }
+
     public static boolean isAssignable(Type sourceType, Type destinationType) {
         if (sourceType == null || destinationType == null) {
             System.err.println("Warning: isAssignable called with null type(s).");
@@ -238,8 +368,8 @@ public class TypeUtils {
     }
 
     private static Type getVarDecl(JmmNode node){
-        JmmNode varType = node.getChild(0);
-        String name = varType.getChild(0).get("name");
+        JmmNode varType = Children.get(node, 0);
+        String name = Children.get(varType, 0).get("name");
         boolean isArray = false;
         String op1 = varType.getOptional("op1").orElse("");
         String op2 = varType.getOptional("op2").orElse("");
@@ -253,35 +383,9 @@ public class TypeUtils {
         String varName = varRefNode.get("name");
         String methodName = (method != null) ? method.get("name") : null;
 
-        if (methodName != null) {
-            List<Symbol> locals = symbolTable.getLocalVariables(methodName);
-            if (locals != null) {
-                for (Symbol symbol : locals) {
-                    if (symbol.getName().equals(varName)) {
-                        return symbol.getType();
-                    }
-                }
-            }
-        }
-
-        if (methodName != null) {
-            List<Symbol> params = symbolTable.getParameters(methodName);
-            if (params != null) {
-                for (Symbol symbol : params) {
-                    if (symbol.getName().equals(varName)) {
-                        return symbol.getType();
-                    }
-                }
-            }
-        }
-
-        List<Symbol> fields = symbolTable.getFields();
-        if (fields != null) {
-            for (Symbol symbol : fields) {
-                if (symbol.getName().equals(varName)) {
-                    return symbol.getType();
-                }
-            }
+        var symbol = JmmSymbolTable.resolve(symbolTable, methodName, varName);
+        if (symbol != null) {
+            return symbol.getType();
         }
 
         if (symbolTable.getImports().contains(varName)) {
@@ -310,25 +414,26 @@ public class TypeUtils {
             return false;
         }
 
-        String varName = node.get("name");
-        JmmNode parentMethod = getParentMethod(node);
+        return isField(node, getParentMethod(node));
+    }
 
-        boolean existsAsField = table.getFields().stream().anyMatch(f -> f.getName().equals(varName));
-        if (!existsAsField) {
+    /**
+     * Same as {@link #isField(JmmNode)}, with the method of the node already known.
+     *
+     * @param node
+     * @param parentMethod the METHOD_DECL of the node, or null if it is not in a method
+     * @return true if the node refers to a field
+     */
+    public boolean isField(JmmNode node, JmmNode parentMethod){
+        if (!Kind.VAR_REF_EXPR.check(node)) {
             return false;
         }
 
-        if (parentMethod == null) {
-            return true;
-        }
-
-        String methodName = parentMethod.get("name");
-        boolean isLocal = table.getLocalVariables(methodName).stream()
-                .anyMatch(l -> l.getName().equals(varName));
-        boolean isParam = table.getParameters(methodName).stream()
-                .anyMatch(p -> p.getName().equals(varName));
+        String methodName = parentMethod != null ? parentMethod.get("name") : null;
 
-        return !isLocal && !isParam;
+        // Locals and parameters shadow fields
+        var symbol = JmmSymbolTable.resolve(table, methodName, node.get("name"));
+        return symbol != null && symbol.isField();
     }
 
     public boolean isInImport(String name, String fullPath){
@@ -8,6 +8,7 @@ import org.specs.comp.ollir.type.BuiltinType;
 import org.specs.comp.ollir.type.ClassType;
 import pt.up.fe.comp.jmm.ollir.OllirResult;
 import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp2025.CompilerConfig;
 import pt.up.fe.specs.util.classmap.FunctionClassMap;
 import pt.up.fe.specs.util.exceptions.NotImplementedException;
 import pt.up.fe.specs.util.utilities.StringLines;
@@ -47,8 +48,12 @@ public class JasminGenerator {
 
     private int maxRegLimit=0;
 
+    // Strength reduction of multiplications, with -o
+    private final boolean optimize;
+
     public JasminGenerator(OllirResult ollirResult) {
         this.ollirResult = ollirResult;
+        this.optimize = CompilerConfig.getOptimize(ollirResult.getConfig());
 
         reports = new ArrayList<>();
         code = null;
@@ -516,6 +521,16 @@ public class JasminGenerator {
     private String generateBinaryOp(BinaryOpInstruction binaryOp) {
         var code = new StringBuilder();
 
+        if(optimize && binaryOp.getOperation().getOpType() == OperationType.MUL){
+            var shift = generateShift(binaryOp.getLeftOperand(), binaryOp.getRightOperand());
+            if(shift == null){
+                shift = generateShift(binaryOp.getRightOperand(), binaryOp.getLeftOperand());
+            }
+            if(shift != null){
+                return shift;
+            }
+        }
+
         // load values on the left and on the right
 
 
@@ -573,6 +588,35 @@ public class JasminGenerator {
         return code.toString();
     }
 
+    // x * 2^k as x << k, which is the same in int arithmetic, where both wrap around
+    private String generateShift(Element operand, Element factor){
+        if(!factor.isLiteral() || operand.isLiteral()){
+            return null;
+        }
+
+        int value;
+        try {
+            value = Integer.parseInt(((LiteralElement) factor).getLiteral());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if(value <= 1 || Integer.bitCount(value) != 1){
+            return null;
+        }
+
+        var code = new StringBuilder();
+        code.append(apply(operand));
+
+        int shift = Integer.numberOfTrailingZeros(value);
+        this.stackLimitIncrement(1);
+        code.append(shift <= 5 ? "iconst_" + shift : "bipush " + shift).append(NL);
+
+        this.stackLimitIncrement(-1);
+        code.append("ishl").append(NL);
+
+        return code.toString();
+    }
+
     private String generateReturn(ReturnInstruction returnInst) {
         var code = new StringBuilder();
         var operand = returnInst.getOperand().orElse(null);
@@ -0,0 +1,35 @@
+package pt.up.fe.comp2025.cache;
+
+/**
+ * Binary format of {@link SemanticsWriter} and {@link SemanticsReader}.
+ * <p>
+ * A file has a header (magic number and version), the AST in preorder, the symbol table and the reports. Each node is
+ * its kind hierarchy, its attributes and its number of children. Strings and kind hierarchies are written once, later
+ * occurrences refer to the first one by index. Integers are written as variable-length unsigned integers (7 bits per
+ * byte), so small counts and indexes take a single byte.
+ * <p>
+ * The version must be incremented whenever the layout changes, files of other versions are rejected.
+ */
+final class SemanticsFormat {
+
+    static final int MAGIC = 0x4A4D4D53;
+    static final int VERSION = 1;
+
+    // Attribute values
+    static final int STRING = 0;
+    static final int TRUE = 1;
+    static final int FALSE = 2;
+    static final int INTEGER = 3;
+    static final int TYPE = 4;
+    static final int LIST = 5;
+    // Another node of the same AST, by its index in preorder, only as the value of a node attribute
+    static final int NODE = 6;
+
+    // References to strings and hierarchies: null, a new one that follows, or index + FIRST_REFERENCE
+    static final int NULL_REFERENCE = 0;
+    static final int NEW_REFERENCE = 1;
+    static final int FIRST_REFERENCE = 2;
+
+    private SemanticsFormat() {
+    }
+}
@@ -0,0 +1,262 @@
+package pt.up.fe.comp2025.cache;
+
+import pt.up.fe.comp.jmm.analysis.JmmSemanticsResult;
+import pt.up.fe.comp.jmm.analysis.table.Symbol;
+import pt.up.fe.comp.jmm.analysis.table.Type;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp.jmm.report.ReportType;
+import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.ast.AstNode;
+import pt.up.fe.comp2025.symboltable.JmmSymbolTable;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static pt.up.fe.comp2025.cache.SemanticsFormat.*;
+
+/**
+ * Reads a result of the semantic analysis written by {@link SemanticsWriter}.
+ */
+public class SemanticsReader {
+
+    private static final ReportType[] REPORT_TYPES = ReportType.values();
+    private static final Stage[] STAGES = Stage.values();
+
+    private final DataInputStream in;
+    private final List<String> strings;
+    private final List<List<String>> hierarchies;
+    private JmmNode[] nodes;
+    // Attributes that refer to nodes, set once all the nodes are read
+    private final List<NodeReference> references;
+
+    private SemanticsReader(InputStream in) {
+        this.in = new DataInputStream(new BufferedInputStream(in));
+        this.strings = new ArrayList<>();
+        this.hierarchies = new ArrayList<>();
+        this.references = new ArrayList<>();
+    }
+
+    /**
+     * @param bytes
+     * @param config configuration of the result
+     * @return the result
+     * @throws IllegalArgumentException if the bytes are not in the format of this version
+     */
+    public static JmmSemanticsResult read(byte[] bytes, Map<String, String> config) {
+        return read(new ByteArrayInputStream(bytes), config);
+    }
+
+    /**
+     * @param in
+     * @param config configuration of the result
+     * @return the result
+     * @throws IllegalArgumentException if the stream is not in the format of this version
+     */
+    public static JmmSemanticsResult read(InputStream in, Map<String, String> config) {
+        var reader = new SemanticsReader(in);
+
+        try {
+            if (reader.in.readInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a semantic analysis result");
+            }
+
+            int version = reader.readVarInt();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Semantic analysis result has version " + version
+                        + ", expected " + VERSION);
+            }
+
+            var root = reader.readAst();
+            var table = reader.readTable();
+            var reports = reader.readReports();
+
+            return new JmmSemanticsResult(root, table, reports, config);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the semantic analysis result", e);
+        }
+    }
+
+    private JmmNode readAst() throws IOException {
+        nodes = new JmmNode[readVarInt()];
+
+        // Parents that still have children to read, and how many
+        var parents = new ArrayDeque<JmmNode>();
+        var remaining = new ArrayDeque<int[]>();
+
+        for (int i = 0; i < nodes.length; i++) {
+            var node = new AstNode(readHierarchy());
+            nodes[i] = node;
+
+            int attributes = readVarInt();
+            for (int j = 0; j < attributes; j++) {
+                var attribute = readString();
+                int tag = in.readByte();
+                if (tag == NODE) {
+                    references.add(new NodeReference(node, attribute, readVarInt()));
+                } else {
+                    node.putObject(attribute, readValue(tag));
+                }
+            }
+
+            if (!parents.isEmpty()) {
+                parents.peek().add(node);
+                if (--remaining.peek()[0] == 0) {
+                    parents.pop();
+                    remaining.pop();
+                }
+            }
+
+            int children = readVarInt();
+            if (children > 0) {
+                parents.push(node);
+                remaining.push(new int[]{children});
+            }
+        }
+
+        for (var reference : references) {
+            reference.node().putObject(reference.attribute(), nodes[reference.index()]);
+        }
+
+        return nodes.length > 0 ? nodes[0] : null;
+    }
+
+    private Object readValue() throws IOException {
+        return readValue(in.readByte());
+    }
+
+    private Object readValue(int tag) throws IOException {
+        return switch (tag) {
+            case STRING -> readString();
+            case TRUE -> Boolean.TRUE;
+            case FALSE -> Boolean.FALSE;
+            case INTEGER -> in.readInt();
+            case TYPE -> readType();
+            case LIST -> {
+                int size = readVarInt();
+                var list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue());
+                }
+                yield list;
+            }
+            default -> throw new IllegalArgumentException("Unknown attribute value tag " + tag);
+        };
+    }
+
+    private record NodeReference(JmmNode node, String attribute, int index) {
+    }
+
+    private Type readType() throws IOException {
+        var type = new Type(readString(), in.readBoolean());
+
+        int attributes = readVarInt();
+        for (int i = 0; i < attributes; i++) {
+            type.putObject(readString(), readValue());
+        }
+
+        return type;
+    }
+
+    private JmmSymbolTable readTable() throws IOException {
+        var className = readString();
+        var superName = readString();
+        var imports = readStrings();
+        var fields = readSymbols();
+
+        int count = readVarInt();
+        var methods = new ArrayList<String>(count);
+        var returnTypes = HashMap.<String, Type>newHashMap(count);
+        var params = HashMap.<String, List<Symbol>>newHashMap(count);
+        var locals = HashMap.<String, List<Symbol>>newHashMap(count);
+        for (int i = 0; i < count; i++) {
+            var method = readString();
+            methods.add(method);
+            returnTypes.put(method, readType());
+            params.put(method, readSymbols());
+            locals.put(method, readSymbols());
+        }
+
+        return new JmmSymbolTable(className, imports, fields, methods, returnTypes, params, locals, superName);
+    }
+
+    private List<Symbol> readSymbols() throws IOException {
+        int count = readVarInt();
+        var symbols = new ArrayList<Symbol>(count);
+        for (int i = 0; i < count; i++) {
+            var name = readString();
+            symbols.add(new Symbol(readType(), name));
+        }
+        return symbols;
+    }
+
+    private List<Report> readReports() throws IOException {
+        int count = readVarInt();
+        var reports = new ArrayList<Report>(count);
+        for (int i = 0; i < count; i++) {
+            var type = REPORT_TYPES[in.readByte()];
+            var stage = STAGES[in.readByte()];
+            int line = in.readInt();
+            int column = in.readInt();
+            reports.add(new Report(type, stage, line, column, readString()));
+        }
+        return reports;
+    }
+
+    private List<String> readHierarchy() throws IOException {
+        int reference = readVarInt();
+        if (reference != NEW_REFERENCE) {
+            return hierarchies.get(reference - FIRST_REFERENCE);
+        }
+
+        var hierarchy = List.copyOf(readStrings());
+        hierarchies.add(hierarchy);
+        return hierarchy;
+    }
+
+    private List<String> readStrings() throws IOException {
+        int count = readVarInt();
+        var values = new ArrayList<String>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString());
+        }
+        return values;
+    }
+
+    private String readString() throws IOException {
+        int reference = readVarInt();
+        if (reference == NULL_REFERENCE) {
+            return null;
+        }
+        if (reference != NEW_REFERENCE) {
+            return strings.get(reference - FIRST_REFERENCE);
+        }
+
+        var bytes = new byte[readVarInt()];
+        in.readFully(bytes);
+        var value = new String(bytes, StandardCharsets.UTF_8);
+        strings.add(value);
+        return value;
+    }
+
+    private int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+}
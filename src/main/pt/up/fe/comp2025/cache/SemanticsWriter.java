@@ -0,0 +1,259 @@
+package pt.up.fe.comp2025.cache;
+
+import pt.up.fe.comp.jmm.analysis.JmmSemanticsResult;
+import pt.up.fe.comp.jmm.analysis.table.Symbol;
+import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
+import pt.up.fe.comp.jmm.analysis.table.Type;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.report.Report;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static pt.up.fe.comp2025.cache.SemanticsFormat.*;
+
+/**
+ * Writes the result of the semantic analysis, i.e. the annotated AST, the symbol table and the reports, in the
+ * format of {@link SemanticsFormat}, so it can be loaded by {@link SemanticsReader} instead of parsing and analysing
+ * the file again.
+ * <p>
+ * Attributes of the symbol table (e.g. the project index) are not written, they belong to the compilation that built
+ * the table. Node attributes can be strings, booleans, integers, types, lists of those, or
+ * other nodes of the AST.
+ */
+public class SemanticsWriter {
+
+    private final DataOutputStream out;
+    private final Map<String, Integer> strings;
+    private final Map<List<String>, Integer> hierarchies;
+    // Index of each node in preorder, for attributes that refer to nodes
+    private final Map<JmmNode, Integer> nodeIndexes;
+
+    private SemanticsWriter(OutputStream out) {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        this.strings = new HashMap<>();
+        this.hierarchies = new HashMap<>();
+        this.nodeIndexes = new IdentityHashMap<>();
+    }
+
+    /**
+     * @param semantics
+     * @return the result in the binary format
+     */
+    public static byte[] write(JmmSemanticsResult semantics) {
+        var bytes = new ByteArrayOutputStream();
+        write(semantics, bytes);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Writes the result to the given stream, which is flushed but not closed.
+     *
+     * @param semantics
+     * @param out
+     */
+    public static void write(JmmSemanticsResult semantics, OutputStream out) {
+        var writer = new SemanticsWriter(out);
+
+        try {
+            writer.out.writeInt(MAGIC);
+            writer.writeVarInt(VERSION);
+            writer.writeAst(semantics.getRootNode());
+            writer.writeTable(semantics.getSymbolTable());
+            writer.writeReports(semantics.getReports());
+            writer.out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the semantic analysis result", e);
+        }
+    }
+
+    private void writeAst(JmmNode root) throws IOException {
+        var preorder = preorder(root);
+        for (int i = 0; i < preorder.size(); i++) {
+            nodeIndexes.put(preorder.get(i), i);
+        }
+
+        writeVarInt(preorder.size());
+        for (var node : preorder) {
+            writeHierarchy(node.getHierarchy());
+
+            var attributes = node.getAttributes();
+            writeVarInt(attributes.size());
+            for (var attribute : attributes) {
+                writeString(attribute);
+                writeAttribute(node.getObject(attribute));
+            }
+
+            writeVarInt(node.getNumChildren());
+        }
+    }
+
+    private static List<JmmNode> preorder(JmmNode root) {
+        var nodes = new ArrayList<JmmNode>();
+        var pending = new ArrayDeque<JmmNode>();
+        pending.push(root);
+
+        while (!pending.isEmpty()) {
+            var node = pending.pop();
+            nodes.add(node);
+
+            var children = node.getChildren();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                pending.push(children.get(i));
+            }
+        }
+
+        return nodes;
+    }
+
+    private void writeAttribute(Object value) throws IOException {
+        if (!(value instanceof JmmNode node)) {
+            writeValue(value);
+            return;
+        }
+
+        var index = nodeIndexes.get(node);
+        if (index == null) {
+            throw new IllegalArgumentException("Attribute refers to a node that is not in the AST: " + node);
+        }
+        out.writeByte(NODE);
+        writeVarInt(index);
+    }
+
+    private void writeValue(Object value) throws IOException {
+        switch (value) {
+            case String string -> {
+                out.writeByte(STRING);
+                writeString(string);
+            }
+            case Boolean bool -> out.writeByte(bool ? TRUE : FALSE);
+            case Integer integer -> {
+                out.writeByte(INTEGER);
+                out.writeInt(integer);
+            }
+            case Type type -> {
+                out.writeByte(TYPE);
+                writeType(type);
+            }
+            case List<?> list -> {
+                out.writeByte(LIST);
+                writeVarInt(list.size());
+                for (var element : list) {
+                    writeValue(element);
+                }
+            }
+            default -> throw new IllegalArgumentException("Cannot write attribute value of class "
+                    + value.getClass().getName() + ": " + value);
+        }
+    }
+
+    private void writeType(Type type) throws IOException {
+        writeString(type.getName());
+        out.writeBoolean(type.isArray());
+
+        var attributes = type.getAttributes();
+        writeVarInt(attributes.size());
+        for (var attribute : attributes) {
+            writeString(attribute);
+            writeValue(type.getObject(attribute));
+        }
+    }
+
+    private void writeTable(SymbolTable table) throws IOException {
+        writeString(table.getClassName());
+        writeString(table.getSuper());
+        writeStrings(table.getImports());
+        writeSymbols(table.getFields());
+
+        var methods = table.getMethods();
+        writeVarInt(methods.size());
+        for (var method : methods) {
+            writeString(method);
+            writeType(table.getReturnType(method));
+            writeSymbols(table.getParameters(method));
+            writeSymbols(table.getLocalVariables(method));
+        }
+    }
+
+    private void writeSymbols(List<Symbol> symbols) throws IOException {
+        if (symbols == null) {
+            writeVarInt(0);
+            return;
+        }
+
+        writeVarInt(symbols.size());
+        for (var symbol : symbols) {
+            writeString(symbol.getName());
+            writeType(symbol.getType());
+        }
+    }
+
+    private void writeReports(List<Report> reports) throws IOException {
+        writeVarInt(reports.size());
+        for (var report : reports) {
+            out.writeByte(report.getType().ordinal());
+            out.writeByte(report.getStage().ordinal());
+            out.writeInt(report.getLine());
+            out.writeInt(report.getColumn());
+            writeString(report.getMessage());
+        }
+    }
+
+    private void writeHierarchy(List<String> hierarchy) throws IOException {
+        var index = hierarchies.get(hierarchy);
+        if (index != null) {
+            writeVarInt(index + FIRST_REFERENCE);
+            return;
+        }
+
+        hierarchies.put(List.copyOf(hierarchy), hierarchies.size());
+        writeVarInt(NEW_REFERENCE);
+        writeStrings(hierarchy);
+    }
+
+    private void writeStrings(List<String> values) throws IOException {
+        writeVarInt(values.size());
+        for (var value : values) {
+            writeString(value);
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            writeVarInt(NULL_REFERENCE);
+            return;
+        }
+
+        var index = strings.get(value);
+        if (index != null) {
+            writeVarInt(index + FIRST_REFERENCE);
+            return;
+        }
+
+        strings.put(value, strings.size());
+        writeVarInt(NEW_REFERENCE);
+
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+}
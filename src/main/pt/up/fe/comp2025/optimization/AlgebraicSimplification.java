@@ -0,0 +1,261 @@
+package pt.up.fe.comp2025.optimization;
+
+import pt.up.fe.comp.jmm.analysis.table.Type;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp2025.ast.Children;
+import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.ast.TypeUtils;
+
+import java.util.ArrayDeque;
+import java.util.Set;
+
+/**
+ * Simplifies binary expressions with a literal operand, with the int arithmetic of the JVM, which wraps around.
+ * <ul>
+ *     <li>x + 0, x - 0, x * 1, x / 1 and true && x become x, and x * 0 and false && x their value</li>
+ *     <li>x - x, x * 0 and x && false are replaced too, if evaluating x has no side effects</li>
+ *     <li>constant operands are moved to the right of + and *, and reassociated, e.g. (x + 1) + 2 becomes
+ *     x + 3, with the arithmetic of {@link ConstantFolding}</li>
+ * </ul>
+ * Operands are only kept without their operator if they have the type of the expression, i.e. not calls of imported
+ * methods, whose type comes from the operator.
+ */
+public class AlgebraicSimplification implements RewriteRule {
+
+    private static final Type INT = TypeUtils.newIntType();
+    private static final Type BOOLEAN = TypeUtils.newBooleanType();
+
+    @Override
+    public Set<Kind> getKinds() {
+        return Set.of(Kind.BINARY_EXPR);
+    }
+
+    @Override
+    public boolean rewrite(JmmNode expr, Worklist worklist) {
+        JmmNode left = Children.get(expr, 0);
+        JmmNode right = Children.get(expr, 1);
+        var op = expr.get("op");
+
+        return switch (op) {
+            case "+", "*" -> commute(expr, left, right, worklist)
+                    || identity(expr, left, right, worklist)
+                    || reassociate(expr, left, right, worklist);
+            case "-" -> identity(expr, left, right, worklist)
+                    || reassociate(expr, left, right, worklist);
+            case "/" -> identity(expr, left, right, worklist);
+            case "&&" -> logical(expr, left, right, worklist);
+            default -> false;
+        };
+    }
+
+    // c op x, to x op c, so the other rules only look for constants on the right. The literal has no side effects,
+    // evaluating it first or last is the same
+    private boolean commute(JmmNode expr, JmmNode left, JmmNode right, Worklist worklist) {
+        if (!Kind.INTEGER_LITERAL.check(left) || Kind.INTEGER_LITERAL.check(right)) {
+            return false;
+        }
+
+        expr.removeChild(0);
+        expr.add(left);
+        worklist.add(expr);
+
+        return true;
+    }
+
+    private boolean identity(JmmNode expr, JmmNode left, JmmNode right, Worklist worklist) {
+        var op = expr.get("op");
+        var constant = intValue(right);
+
+        if (constant != null) {
+            boolean neutral = switch (op) {
+                case "+", "-" -> constant == 0;
+                case "*", "/" -> constant == 1;
+                default -> false;
+            };
+            if (neutral && hasType(left, INT)) {
+                return replaceWithOperand(expr, 0, worklist);
+            }
+
+            if (op.equals("*") && constant == 0 && isPure(left)) {
+                worklist.replace(expr, ConstantEvaluator.toLiteral(0, expr));
+                return true;
+            }
+        }
+
+        if (op.equals("-") && isPure(left) && isSame(left, right)) {
+            worklist.replace(expr, ConstantEvaluator.toLiteral(0, expr));
+            return true;
+        }
+
+        return false;
+    }
+
+    private boolean logical(JmmNode expr, JmmNode left, JmmNode right, Worklist worklist) {
+        var leftValue = ConstantEvaluator.valueOf(left);
+        var rightValue = ConstantEvaluator.valueOf(right);
+
+        // && does not evaluate the right operand when the left one is false
+        if (Boolean.FALSE.equals(leftValue)) {
+            worklist.replace(expr, ConstantEvaluator.toLiteral(false, expr));
+            return true;
+        }
+        if (Boolean.TRUE.equals(leftValue) && hasType(right, BOOLEAN)) {
+            return replaceWithOperand(expr, 1, worklist);
+        }
+        if (Boolean.TRUE.equals(rightValue) && hasType(left, BOOLEAN)) {
+            return replaceWithOperand(expr, 0, worklist);
+        }
+        if (Boolean.FALSE.equals(rightValue) && isPure(left)) {
+            worklist.replace(expr, ConstantEvaluator.toLiteral(false, expr));
+            return true;
+        }
+
+        return false;
+    }
+
+    // (x op1 c1) op2 c2, to x op (c1 op' c2)
+    private boolean reassociate(JmmNode expr, JmmNode left, JmmNode right, Worklist worklist) {
+        if (intValue(right) == null) {
+            return false;
+        }
+
+        // Through the parentheses, which only group the inner expression
+        var inner = left;
+        while (Kind.PRIORITY_EXPR.check(inner)) {
+            inner = Children.get(inner, 0);
+        }
+        if (!Kind.BINARY_EXPR.check(inner) || intValue(Children.get(inner, 1)) == null) {
+            return false;
+        }
+
+        var innerOp = inner.get("op");
+        var outerOp = expr.get("op");
+        String op;
+        String constantOp;
+        switch (innerOp + outerOp) {
+            case "++" -> { op = "+"; constantOp = "+"; }
+            case "+-" -> { op = "+"; constantOp = "-"; }
+            case "-+" -> { op = "-"; constantOp = "-"; }
+            case "--" -> { op = "-"; constantOp = "+"; }
+            case "**" -> { op = "*"; constantOp = "*"; }
+            default -> {
+                return false;
+            }
+        }
+
+        // Computed here, the parent sees the new constant when it is rewritten again. Never a division, so there is
+        // always a value
+        var value = ConstantEvaluator.evaluate(constantOp, intValue(Children.get(inner, 1)), intValue(right));
+
+        // x - c rather than x + -c, except for the smallest int, which has no negation
+        if (!op.equals("*") && value instanceof Integer constant && constant < 0 && constant != Integer.MIN_VALUE) {
+            op = op.equals("+") ? "-" : "+";
+            value = -constant;
+        }
+
+        // The rest of the old expression is dropped from the worklist with it, see Worklist#replace
+        var operand = inner.removeChild(0);
+        var reassociated = newBinaryExpr(op, expr, operand, ConstantEvaluator.toLiteral(value, right));
+
+        worklist.replace(expr, reassociated);
+
+        return true;
+    }
+
+    private static JmmNode newBinaryExpr(String op, JmmNode expr, JmmNode left, JmmNode right) {
+        var binaryExpr = Worklist.copy(expr);
+        binaryExpr.putObject("op", op);
+        binaryExpr.add(left);
+        binaryExpr.add(right);
+
+        return binaryExpr;
+    }
+
+    private static boolean replaceWithOperand(JmmNode expr, int index, Worklist worklist) {
+        var operand = expr.removeChild(index);
+        worklist.replace(expr, operand);
+
+        return true;
+    }
+
+    private static Integer intValue(JmmNode node) {
+        return ConstantEvaluator.valueOf(node) instanceof Integer value ? value : null;
+    }
+
+    private static boolean hasType(JmmNode node, Type type) {
+        if (!node.hasAttribute("type")) {
+            return false;
+        }
+
+        var nodeType = node.getObject("type", Type.class);
+        return nodeType.getName().equals(type.getName()) && nodeType.isArray() == type.isArray();
+    }
+
+    /**
+     * @param node
+     * @return whether evaluating the expression has no side effects and never throws
+     */
+    private static boolean isPure(JmmNode node) {
+        var pending = new ArrayDeque<JmmNode>();
+        pending.push(node);
+
+        while (!pending.isEmpty()) {
+            var current = pending.pop();
+            var kind = Kind.find(current);
+            if (kind == null) {
+                return false;
+            }
+
+            switch (kind) {
+                case VAR_REF_EXPR, INTEGER_LITERAL, BOOLEAN_LITERAL, OBJECT_REFERENCE -> {
+                }
+                case PRIORITY_EXPR, UNARY_EXPR -> pending.push(Children.get(current, 0));
+                case BINARY_EXPR -> {
+                    // A division may divide by zero, and the other operators of the grammar are assignments
+                    if (!Set.of("+", "-", "*", "<", "&&").contains(current.get("op"))) {
+                        return false;
+                    }
+                    pending.push(Children.get(current, 0));
+                    pending.push(Children.get(current, 1));
+                }
+                default -> {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @param first
+     * @param second
+     * @return whether both expressions have the same nodes, with the same names, values and operators
+     */
+    private static boolean isSame(JmmNode first, JmmNode second) {
+        var pending = new ArrayDeque<JmmNode>();
+        pending.push(first);
+        pending.push(second);
+
+        while (!pending.isEmpty()) {
+            var a = pending.pop();
+            var b = pending.pop();
+
+            if (!a.getKind().equals(b.getKind()) || a.getNumChildren() != b.getNumChildren()) {
+                return false;
+            }
+            for (var attribute : new String[]{"name", "value", "op"}) {
+                if (!a.getOptional(attribute).equals(b.getOptional(attribute))) {
+                    return false;
+                }
+            }
+
+            for (int i = 0; i < a.getNumChildren(); i++) {
+                pending.push(Children.get(a, i));
+                pending.push(Children.get(b, i));
+            }
+        }
+
+        return true;
+    }
+}
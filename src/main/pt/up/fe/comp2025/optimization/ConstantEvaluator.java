@@ -0,0 +1,110 @@
+package pt.up.fe.comp2025.optimization;
+
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp2025.ast.AstNode;
+import pt.up.fe.comp2025.ast.Kind;
+
+import java.util.Collections;
+
+/**
+ * Computes the operators of Java-- on constants, with the semantics of the JVM: int arithmetic wraps around on
+ * overflow and division truncates toward zero.
+ * <p>
+ * The values are {@link Integer}s and {@link Boolean}s. Operations that cannot be computed at compile time, such as a
+ * division by zero, or that are not defined for the types of the operands, have no value ({@code null}) and are left
+ * to run.
+ */
+public class ConstantEvaluator {
+
+    private ConstantEvaluator() {
+    }
+
+    /**
+     * @param node
+     * @return the value of an integer or boolean literal, or null if the node is not one, or the integer does not fit
+     * in an int
+     */
+    public static Object valueOf(JmmNode node) {
+        if (Kind.INTEGER_LITERAL.check(node)) {
+            try {
+                return Integer.parseInt(node.get("value"));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        if (Kind.BOOLEAN_LITERAL.check(node)) {
+            return Boolean.parseBoolean(node.get("value"));
+        }
+
+        return null;
+    }
+
+    /**
+     * Computes a binary operator.
+     *
+     * @param op    the operator, as in the attribute "op" of a BinaryExpr
+     * @param left
+     * @param right
+     * @return the value, or null if it cannot be computed
+     */
+    public static Object evaluate(String op, Object left, Object right) {
+        if (left instanceof Integer a && right instanceof Integer b) {
+            return switch (op) {
+                case "+" -> a + b;
+                case "-" -> a - b;
+                case "*" -> a * b;
+                // Integer.MIN_VALUE / -1 is Integer.MIN_VALUE, as with idiv
+                case "/" -> b != 0 ? a / b : null;
+                case "<" -> a < b;
+                case "<=" -> a <= b;
+                case "==" -> a.intValue() == b.intValue();
+                case "!=" -> a.intValue() != b.intValue();
+                default -> null;
+            };
+        }
+
+        if (left instanceof Boolean a && right instanceof Boolean b) {
+            return switch (op) {
+                case "&&" -> a && b;
+                case "==" -> a.booleanValue() == b.booleanValue();
+                case "!=" -> a.booleanValue() != b.booleanValue();
+                default -> null;
+            };
+        }
+
+        return null;
+    }
+
+    /**
+     * Computes a unary operator.
+     *
+     * @param op      the operator, as in the attribute "op" of a UnaryExpr
+     * @param operand
+     * @return the value, or null if it cannot be computed
+     */
+    public static Object evaluate(String op, Object operand) {
+        if (op.equals("!") && operand instanceof Boolean value) {
+            return !value;
+        }
+
+        return null;
+    }
+
+    /**
+     * @param value an integer or a boolean
+     * @param expr  the expression with the value, whose type the literal keeps
+     * @return a new literal with the value
+     */
+    public static JmmNode toLiteral(Object value, JmmNode expr) {
+        var kind = value instanceof Boolean ? Kind.BOOLEAN_LITERAL : Kind.INTEGER_LITERAL;
+
+        JmmNode literal = new AstNode(Collections.singletonList(kind.getNodeName()));
+        literal.putObject("value", String.valueOf(value));
+        if (expr.hasAttribute("type")) {
+            literal.putObject("type", expr.getObject("type"));
+        }
+
+        return literal;
+    }
+}
@@ -1,108 +1,41 @@
 package pt.up.fe.comp2025.optimization;
 
 import pt.up.fe.comp.jmm.ast.JmmNode;
-import pt.up.fe.comp.jmm.ast.JmmNodeImpl;
-import pt.up.fe.comp.jmm.ast.PreorderJmmVisitor;
+import pt.up.fe.comp2025.ast.Children;
 import pt.up.fe.comp2025.ast.Kind;
 
-import java.util.Collections;
+import java.util.Set;
 
-public class ConstantFolding extends PreorderJmmVisitor<Void, Void> {
+/**
+ * Replaces the expressions of literals with their value, as computed by {@link ConstantEvaluator}, and the
+ * parentheses around a literal with the literal. The parent of a folded expression is rewritten again by the
+ * {@link Worklist}, so a chain of operations folds in a single run.
+ */
+public class ConstantFolding implements RewriteRule {
 
-    private boolean hasModified = false;
     @Override
-    protected void buildVisitor() {
-        addVisit(Kind.BINARY_EXPR, this::visitBinaryExpr);
-        setDefaultVisit(this::defaultVisit);
+    public Set<Kind> getKinds() {
+        return Set.of(Kind.BINARY_EXPR, Kind.UNARY_EXPR, Kind.PRIORITY_EXPR);
     }
 
-
-
-    private Void visitBinaryExpr(JmmNode expr, Void unused){
-
-        JmmNode left = expr.getChild(0);
-        JmmNode right = expr.getChild(1);
-        var operator = expr.get("op");
-
-        if(Kind.INTEGER_LITERAL.check(left) && Kind.INTEGER_LITERAL.check(right)){
-            if(operator.equals("<")){
-                boolean value=Boolean.parseBoolean(left.get("value")) && Boolean.parseBoolean(right.get("value"));
-
-                JmmNode newChild = new JmmNodeImpl(Collections.singletonList("IntegerLiteral"));
-                newChild.putObject("value",String.valueOf(value));
-
-                this.setHasModified(true);
-
-                //expr.replace(newChild);
-                JmmNode parent = expr.getParent();
-                int childIndex = expr.getIndexOfSelf();
-                parent.removeChild(childIndex);
-                parent.add(newChild,childIndex);
-
-                return null;
-            }
-            int value=0;
-            switch (operator){
-                case "+" -> value = Integer.parseInt(left.get("value")) + Integer.parseInt(right.get("value"));
-                case "-" -> value = Integer.parseInt(left.get("value")) - Integer.parseInt(right.get("value"));
-                case "*" -> value = Integer.parseInt(left.get("value")) * Integer.parseInt(right.get("value"));
-                case "/" -> value = Integer.parseInt(left.get("value")) / Integer.parseInt(right.get("value"));
-            }
-
-            JmmNode newChild = new JmmNodeImpl(Collections.singletonList("IntegerLiteral"));
-            newChild.putObject("value",String.valueOf(value));
-
-            this.setHasModified(true);
-
-            //expr.replace(newChild);
-            JmmNode parent = expr.getParent();
-            int childIndex = expr.getIndexOfSelf();
-            parent.removeChild(childIndex);
-            parent.add(newChild,childIndex);
-
-            return null;
-
-        }
-
-        if(Kind.BOOLEAN_LITERAL.check(left) && Kind.BOOLEAN_LITERAL.check(right)){
-            boolean value=Boolean.parseBoolean(left.get("value")) && Boolean.parseBoolean(right.get("value"));
-
-            JmmNode newChild = new JmmNodeImpl(Collections.singletonList("BooleanLiteral"));
-            newChild.putObject("value",String.valueOf(value));
-
-            this.setHasModified(true);
-
-            //expr.replace(newChild);
-            JmmNode parent = expr.getParent();
-            int childIndex = expr.getIndexOfSelf();
-            parent.removeChild(childIndex);
-            parent.add(newChild,childIndex);
-
-            return null;
-
+    @Override
+    public boolean rewrite(JmmNode expr, Worklist worklist) {
+        var value = switch (Kind.of(expr)) {
+            case BINARY_EXPR -> ConstantEvaluator.evaluate(expr.get("op"),
+                    ConstantEvaluator.valueOf(Children.get(expr, 0)),
+                    ConstantEvaluator.valueOf(Children.get(expr, 1)));
+            case UNARY_EXPR -> ConstantEvaluator.evaluate(expr.get("op"),
+                    ConstantEvaluator.valueOf(Children.get(expr, 0)));
+            case PRIORITY_EXPR -> ConstantEvaluator.valueOf(Children.get(expr, 0));
+            default -> null;
+        };
+
+        if (value == null) {
+            return false;
         }
 
+        worklist.replace(expr, ConstantEvaluator.toLiteral(value, expr));
 
-
-
-
-        return null;
-    }
-
-    public boolean hasModified(){
-        return this.hasModified;
-    }
-
-    public void setHasModified(boolean mod){
-        this.hasModified = mod;
-    }
-
-    private Void defaultVisit(JmmNode node, Void unused) {
-
-        for (var child : node.getChildren()) {
-            visit(child);
-        }
-
-        return null;
+        return true;
     }
 }
@@ -1,116 +1,131 @@
 package pt.up.fe.comp2025.optimization;
 
 import pt.up.fe.comp.jmm.ast.JmmNode;
-import pt.up.fe.comp.jmm.ast.PreorderJmmVisitor;
+import pt.up.fe.comp2025.ast.AstWalker;
+import pt.up.fe.comp2025.ast.Children;
 import pt.up.fe.comp2025.ast.Kind;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
-public class ConstantPropagation extends PreorderJmmVisitor<Void, Void> {
+/**
+ * Replaces the uses of a variable with the literal last assigned to it, in the order of the method.
+ * <p>
+ * The AST is indexed once: each use of a variable is listed under the last assignment to the variable before it, in
+ * preorder, unless the variable is in the condition of a loop and assigned in its body. When the value of an
+ * assignment is, or becomes, a literal, the {@link Worklist} rewrites the assignment, which replaces its uses, so only
+ * the uses of the changed variable are visited again.
+ */
+public class ConstantPropagation implements RewriteRule {
 
-    private boolean hasModified = false;
+    private final Map<JmmNode, List<JmmNode>> uses = new IdentityHashMap<>();
+    private final Set<JmmNode> propagated = Collections.newSetFromMap(new IdentityHashMap<>());
 
-    private Map<String,JmmNode> constantVars = new HashMap<>();
-    private Map<String,Boolean> partOfWhileCond = new HashMap<>();
     @Override
-    protected void buildVisitor() {
-        addVisit(Kind.METHOD_DECL, this::visitMethodDcl);
-        addVisit(Kind.VAR_REF_EXPR, this::visitVarRef);
-        addVisit(Kind.ASSIGN_STMT, this::visitAssignStmt);
-        addVisit(Kind.WHILE_STMT, this::visitWhileStmt);
-        setDefaultVisit(this::defaultVisit);
+    public Set<Kind> getKinds() {
+        return Set.of(Kind.ASSIGN_STMT);
     }
 
-    private Void visitMethodDcl(JmmNode method, Void unused){
-        constantVars.clear();
-        partOfWhileCond.clear();
-        return null;
-    }
+    @Override
+    public void prepare(JmmNode root) {
+        uses.clear();
+        propagated.clear();
 
-    private Void visitWhileStmt(JmmNode node, Void unused){
-        JmmNode cond = node.getChild(0);
-        JmmNode content = node.getChild(1);
+        Map<String, JmmNode> lastAssignment = new HashMap<>();
+        Map<String, Boolean> partOfWhileCond = new HashMap<>();
+
+        new AstWalker().preorder(root, node -> {
+            var kind = Kind.find(node);
+            if (kind == null) {
+                return;
+            }
+
+            switch (kind) {
+                case METHOD_DECL -> {
+                    lastAssignment.clear();
+                    partOfWhileCond.clear();
+                }
+                case WHILE_STMT -> visitWhileStmt(node, partOfWhileCond);
+                case ASSIGN_STMT -> {
+                    // Assignments to an element of an array do not change the variable
+                    var target = Children.get(node, 0);
+                    if (Kind.VAR_REF_EXPR.check(target)) {
+                        lastAssignment.put(target.get("name"), node);
+                    }
+                }
+                case VAR_REF_EXPR -> visitVarRef(node, lastAssignment, partOfWhileCond);
+                default -> {
+                }
+            }
+        });
+    }
 
-        List<JmmNode> varInCond = cond.getChildren(Kind.VAR_REF_EXPR);
-        List<JmmNode> assigmentInWhile = content.getChildren(Kind.ASSIGN_STMT);
+    private static void visitWhileStmt(JmmNode node, Map<String, Boolean> partOfWhileCond) {
+        JmmNode cond = Children.get(node, 0);
+        JmmNode content = Children.get(node, 1);
 
-        for(JmmNode child : varInCond){
-            partOfWhileCond.put(child.get("name"),false);
+        for(int i = Children.indexOf(cond, Kind.VAR_REF_EXPR, 0); i >= 0; i = Children.indexOf(cond, Kind.VAR_REF_EXPR, i + 1)){
+            partOfWhileCond.put(Children.get(cond, i).get("name"),false);
         }
 
-        for(JmmNode child : assigmentInWhile){
+        for(int i = Children.indexOf(content, Kind.ASSIGN_STMT, 0); i >= 0; i = Children.indexOf(content, Kind.ASSIGN_STMT, i + 1)){
+            JmmNode child = Children.get(content, i);
+            JmmNode target = Children.get(child, 0);
+            if (!Kind.VAR_REF_EXPR.check(target)) {
+                continue;
+            }
             // name of the variable being assigned
-            String varName = child.getChild(0).get("name");
+            String varName = target.get("name");
             if(partOfWhileCond.containsKey(varName)){
                 partOfWhileCond.put(varName,true);
 
             }
         }
-        return null;
     }
 
-    private Void visitVarRef(JmmNode varRef, Void unused){
+    private void visitVarRef(JmmNode varRef, Map<String, JmmNode> lastAssignment,
+                             Map<String, Boolean> partOfWhileCond) {
         JmmNode parent = varRef.getParent();
 
-        if(Kind.ASSIGN_STMT.check(parent) && parent.getChild(0) == varRef){
+        if(Kind.ASSIGN_STMT.check(parent) && Children.get(parent, 0) == varRef){
             // variable is being assigned
-            return null;
+            return;
         }
 
         String varName = varRef.get("name");
 
         if(partOfWhileCond.containsKey(varName) && partOfWhileCond.get(varName)){
             // is part of a while condition
-            return null;
+            return;
         }
 
-       if (constantVars.containsKey(varName)) {
-
-           JmmNode newChild = constantVars.get(varName);
-           int childIndex = varRef.getIndexOfSelf();
-           parent.removeChild(childIndex);
-           parent.add(newChild,childIndex);
-
-            this.hasModified = true;
-       }
-
-
-
-
-        return null;
-    }
-
-    private Void visitAssignStmt(JmmNode node, Void unused){
-        String varName = node.getChild(0).get("name");
-
-        JmmNode value = node.getChild(1);
-
-        if(Kind.INTEGER_LITERAL.check(value) || Kind.BOOLEAN_LITERAL.check(value)){
-            constantVars.put(varName,value);
-
-        } else if (constantVars.containsKey(varName)) {
-            constantVars.remove(varName);
+        var assignment = lastAssignment.get(varName);
+        if (assignment != null) {
+            uses.computeIfAbsent(assignment, key -> new ArrayList<>()).add(varRef);
         }
-        return null;
     }
 
+    @Override
+    public boolean rewrite(JmmNode assignment, Worklist worklist) {
+        JmmNode value = Children.get(assignment, 1);
 
-    public boolean hasModified(){
-        return this.hasModified;
-    }
-
-    public void setHasModified(boolean mod){
-        this.hasModified = mod;
-    }
-
-    private Void defaultVisit(JmmNode node, Void unused) {
+        if (!(Kind.INTEGER_LITERAL.check(value) || Kind.BOOLEAN_LITERAL.check(value))
+                || !propagated.add(assignment)) {
+            return false;
+        }
 
-        for (var child : node.getChildren()) {
-            visit(child);
+        boolean modified = false;
+        for (var use : uses.getOrDefault(assignment, List.of())) {
+            // Each use gets its own copy of the literal, that may be folded with its parent
+            worklist.replace(use, Worklist.copy(value));
+            modified = true;
         }
 
-        return null;
+        return modified;
     }
 }
@@ -1,6 +1,7 @@
 package pt.up.fe.comp2025.optimization;
 
 import java.util.Collections;
+import java.util.List;
 
 import pt.up.fe.comp.jmm.analysis.JmmSemanticsResult;
 import pt.up.fe.comp.jmm.ollir.JmmOptimization;
@@ -29,19 +30,10 @@ public class JmmOptimizationImpl implements JmmOptimization {
         //TODO: Do your AST-based optimizations here
         if(CompilerConfig.getOptimize(semanticsResult.getConfig())){
 
-            // do the optimizations
-            ConstantFolding constantFolding = new ConstantFolding();
-            ConstantPropagation constantPropagation = new ConstantPropagation();
-
-            do {
-                constantFolding.setHasModified(false);
-                constantPropagation.setHasModified(false);
-
-
-                constantFolding.visit(semanticsResult.getRootNode());
-                constantPropagation.visit(semanticsResult.getRootNode());
-
-            } while (constantFolding.hasModified() || constantPropagation.hasModified());
+            // do the optimizations, until none applies
+            var worklist = new Worklist(List.of(new ConstantFolding(), new ConstantPropagation(),
+                    new AlgebraicSimplification()));
+            worklist.run(semanticsResult.getRootNode());
         }
 
         return semanticsResult;
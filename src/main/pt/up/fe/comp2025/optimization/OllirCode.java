@@ -0,0 +1,87 @@
+package pt.up.fe.comp2025.optimization;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * OLLIR code made of text and of the code of other expressions, which is not copied when it is appended.
+ * <p>
+ * The code of an expression contains the code of its operands, so copying it at each level takes quadratic time on
+ * deep expressions. The code is only joined when {@link #toString()} is called, once per statement.
+ */
+public class OllirCode {
+
+    // String or OllirCode
+    private final List<Object> parts;
+    private int length;
+
+    public OllirCode() {
+        this.parts = new ArrayList<>();
+        this.length = 0;
+    }
+
+    public OllirCode append(String text) {
+        if (!text.isEmpty()) {
+            parts.add(text);
+            length += text.length();
+        }
+        return this;
+    }
+
+    public OllirCode append(Object value) {
+        return append(String.valueOf(value));
+    }
+
+    /**
+     * Appends the code without copying it, so it must not change afterward.
+     *
+     * @param code
+     * @return this code
+     */
+    public OllirCode append(OllirCode code) {
+        if (code.length > 0) {
+            parts.add(code);
+            length += code.length;
+        }
+        return this;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    /**
+     * Appends the text of the code, without recursion on nested code.
+     *
+     * @param builder
+     */
+    public void appendTo(StringBuilder builder) {
+        var pending = new ArrayDeque<Object>();
+        pending.push(this);
+
+        while (!pending.isEmpty()) {
+            var part = pending.pop();
+            if (part instanceof String text) {
+                builder.append(text);
+                continue;
+            }
+
+            var code = (OllirCode) part;
+            for (int i = code.parts.size() - 1; i >= 0; i--) {
+                pending.push(code.parts.get(i));
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        var builder = new StringBuilder(length);
+        appendTo(builder);
+        return builder.toString();
+    }
+}
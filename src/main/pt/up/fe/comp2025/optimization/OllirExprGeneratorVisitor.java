@@ -4,8 +4,9 @@ import pt.up.fe.comp.jmm.analysis.table.Symbol;
 import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
 import pt.up.fe.comp.jmm.analysis.table.Type;
 import pt.up.fe.comp.jmm.ast.JmmNode;
-import pt.up.fe.comp.jmm.ast.PreorderJmmVisitor;
+import pt.up.fe.comp2025.ast.Children;
 import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.ast.PostorderKindVisitor;
 import pt.up.fe.comp2025.ast.TypeUtils;
 
 import java.util.ArrayList;
@@ -17,8 +18,11 @@ import static pt.up.fe.comp2025.ast.TypeUtils.getExprType;
 
 /**
  * Generates OLLIR code from JmmNodes that are expressions.
+ * <p>
+ * Operators are visited bottom-up, see {@link PostorderKindVisitor}, and their code is appended without copies, see
+ * {@link OllirCode}, so the time and the call stack needed for an expression do not grow with its depth.
  */
-public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExprResult> {
+public class OllirExprGeneratorVisitor extends PostorderKindVisitor<Void, OllirExprResult> {
 
     private static final String SPACE = " ";
     private static final String ASSIGN = ":=";
@@ -36,6 +40,9 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
     private final TypeUtils types;
     private final OptUtils ollirTypes;
 
+    // Method of the expressions, if known, instead of looking it up from each node
+    private JmmNode method;
+
 
     public OllirExprGeneratorVisitor(SymbolTable table, OptUtils optUtils) {
         this.table = table;
@@ -44,30 +51,43 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
     }
 
 
+    /**
+     * Sets the method of the expressions that are visited next.
+     *
+     * @param method a METHOD_DECL node, or null to look it up from each node
+     */
+    public void setMethod(JmmNode method) {
+        this.method = method;
+    }
+
+    private JmmNode getMethod(JmmNode node) {
+        return method != null ? method : TypeUtils.getParentMethod(node);
+    }
+
     @Override
     protected void buildVisitor() {
         addVisit(VAR_REF_EXPR, this::visitVarRef);
-        addVisit(BINARY_EXPR, this::visitBinExpr);
+        addPostorderVisit(BINARY_EXPR, this::visitBinExpr);
         addVisit(INTEGER_LITERAL, this::visitInteger);
         addVisit(BOOLEAN_LITERAL, this::visitBool);
-        addVisit(UNARY_EXPR, this::visitUnaryExpr);
+        addPostorderVisit(UNARY_EXPR, this::visitUnaryExpr);
         addVisit(NEW,this::visitNewObject);
-        addVisit(PRIORITY_EXPR,this::visitPriorityExpr);
+        addPostorderVisit(PRIORITY_EXPR, this::visitPriorityExpr);
         addVisit(CLASS_FUNCTION_EXPR,this::visitFuncCall);
         addVisit(ARRAY_CREATION, this::visitArrayCreation);
-        addVisit(ARRAY_ACCESS, this::visitArrayAccess);
+        addPostorderVisit(ARRAY_ACCESS, this::visitArrayAccess);
         addVisit(OBJECT_REFERENCE, this::visitThis);
         addVisit(TYPE, this::defaultVisit);
         addVisit(BASE_TYPE, this::defaultVisit);
         addVisit(ARRAY_LITERAL, this::visitArrayLiteral);
-        addVisit(LENGTH_EXPR, this::visitLengthExpr);
+        addPostorderVisit(LENGTH_EXPR, this::visitLengthExpr);
 
         setDefaultVisit(this::defaultVisit);
     }
 
 
     private OllirExprResult visitArrayLiteral(JmmNode node, Void unused) {
-        StringBuilder computation = new StringBuilder();
+        OllirCode computation = new OllirCode();
         Type intArrayType = new Type("int", true);
         String ollirArrayType = ollirTypes.toOllirType(intArrayType);
         String arraySize = String.valueOf(node.getNumChildren());
@@ -87,9 +107,9 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
                 .append(END_STMT);
 
         for (int i = 0; i < node.getNumChildren(); i++) {
-            JmmNode elementNode = node.getChild(i);
+            JmmNode elementNode = Children.get(node, i);
             OllirExprResult elementResult = visit(elementNode);
-            computation.append(elementResult.getComputation());
+            computation.append(elementResult.getCode());
             computation
                     .append(arrayRef)
                     .append("[")
@@ -108,16 +128,16 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
 
 
     public OllirExprResult visitArrayCreation(JmmNode node, Void unused) {
-        var code = new StringBuilder();
-        JmmNode typeNode = node.getChild(0);
-        JmmNode sizeExprNode = node.getChild(1);
+        var code = new OllirCode();
+        JmmNode typeNode = Children.get(node, 0);
+        JmmNode sizeExprNode = Children.get(node, 1);
 
         Type arrayType = TypeUtils.convertType(typeNode);
         arrayType = new Type(arrayType.getName(),true);
         String ollirArrayType = ollirTypes.toOllirType(arrayType);
 
         var lengthExprResult = visit(sizeExprNode);
-        code.append(lengthExprResult.getComputation());
+        code.append(lengthExprResult.getCode());
 
         var tmp = ollirTypes.nextTemp();
         String tempRef = tmp + ollirArrayType;
@@ -137,13 +157,13 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
                 .append(ollirArrayType)
                 .append(END_STMT);
 
-        return new OllirExprResult(tempRef, code.toString());
+        return new OllirExprResult(tempRef, code);
     }
 
     private OllirExprResult visitLengthExpr(JmmNode node, Void unused) {
-        StringBuilder computation = new StringBuilder();
-        OllirExprResult arrayExprResult = visit(node.getChild(0));
-        computation.append(arrayExprResult.getComputation());
+        OllirCode computation = new OllirCode();
+        OllirExprResult arrayExprResult = visit(Children.get(node, 0));
+        computation.append(arrayExprResult.getCode());
 
         String resultTemp = ollirTypes.nextTemp() + ".i32";
 
@@ -164,16 +184,16 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
     }
 
     private OllirExprResult visitArrayAccess(JmmNode node, Void unused) {
-        JmmNode arrayNode = node.getChild(0);
-        JmmNode indexNode = node.getChild(1);
-        JmmNode methodNode = TypeUtils.getParentMethod(node);
+        JmmNode arrayNode = Children.get(node, 0);
+        JmmNode indexNode = Children.get(node, 1);
+        JmmNode methodNode = getMethod(node);
 
         OllirExprResult arrayResult = visit(arrayNode);
         OllirExprResult indexResult = visit(indexNode);
 
-        var computation = new StringBuilder();
-        computation.append(arrayResult.getComputation());
-        computation.append(indexResult.getComputation());
+        var computation = new OllirCode();
+        computation.append(arrayResult.getCode());
+        computation.append(indexResult.getCode());
 
         Type arrayType = types.getExprTypeNotStatic(arrayNode, methodNode);
         if (arrayType == null || !arrayType.isArray()) {
@@ -197,7 +217,7 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
                 .append(ollirElementType)
                 .append(END_STMT);
 
-        return new OllirExprResult(tempVar, computation.toString());
+        return new OllirExprResult(tempVar, computation);
 
 
     }
@@ -219,15 +239,16 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
     private OllirExprResult visitBool(JmmNode node, Void unused) {
         var boolType = TypeUtils.newBooleanType();
         String ollirBoolType = ollirTypes.toOllirType(boolType);
-        String code = node.get("value") + ollirBoolType;
+        // OLLIR has no true and false, which it would read as variables
+        String code = (Boolean.parseBoolean(node.get("value")) ? "1" : "0") + ollirBoolType;
         return new OllirExprResult(code);
     }
 
     private OllirExprResult visitUnaryExpr(JmmNode node, Void unused){
-        var lhs = visit(node.getChild(0));
-        StringBuilder computation = new StringBuilder();
+        var lhs = visit(Children.get(node, 0));
+        OllirCode computation = new OllirCode();
 
-        //computation.append(lhs.getComputation());
+        computation.append(lhs.getCode());
         Type exprType = types.getExprTypeNotStatic(node,null);
         String ollirType = ollirTypes.toOllirType(exprType);
         String ref = ollirTypes.nextTemp() + ollirType;
@@ -245,10 +266,10 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
 
     private OllirExprResult visitBinExpr(JmmNode node, Void unused) {
 
-        var lhs = visit(node.getChild(0));
-        var rhs = visit(node.getChild(1));
+        var lhs = visit(Children.get(node, 0));
+        var rhs = visit(Children.get(node, 1));
 
-        StringBuilder computation = new StringBuilder();
+        OllirCode computation = new OllirCode();
 
         if(node.get("op").equals("&&")){
             // short circuit
@@ -256,19 +277,19 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
             var firstEnd = "endif"+firstIf.substring(4);
             var andTmp = ollirTypes.nextTemp("andTmp");
             // verify if 1st condition is true
-            computation.append(lhs.getComputation());
+            computation.append(lhs.getCode());
             computation.append("if(").append(lhs.getRef()).append(")").append(SPACE)
                     .append("goto").append(SPACE).append(firstIf).append(END_STMT);
 
             // if it is not
             computation.append(andTmp).append(".bool").append(SPACE)
-                    .append(ASSIGN).append(".bool").append(SPACE).append("false.bool")
+                    .append(ASSIGN).append(".bool").append(SPACE).append("0.bool")
                     .append(END_STMT);
             computation.append("goto ").append(firstEnd).append(END_STMT);
 
             // if it is verify the second part
             computation.append(firstIf).append(":\n");
-            computation.append(rhs.getComputation());
+            computation.append(rhs.getCode());
             computation.append(andTmp).append(".bool").append(SPACE)
                     .append(ASSIGN).append(".bool").append(SPACE)
                     .append(rhs.getRef()).append(END_STMT);
@@ -282,19 +303,19 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
 
 
         // code to compute the children
-        computation.append(lhs.getComputation());
-        computation.append(rhs.getComputation());
+        computation.append(lhs.getCode());
+        computation.append(rhs.getCode());
 
         // code to compute self
         Type resType = types.getExprType(node);
         String resOllirType = ollirTypes.toOllirType(resType);
         String code="";
         if(node.getParent().isInstance(ASSIGN_STMT)){
-            if(node.getChild(0).isInstance(VAR_REF_EXPR) && node.getChild(1).isInstance(INTEGER_LITERAL) && !types.isField(node.getChild(0))){
+            if(Children.get(node, 0).isInstance(VAR_REF_EXPR) && Children.get(node, 1).isInstance(INTEGER_LITERAL) && !types.isField(Children.get(node, 0), getMethod(node))){
                 code = lhs.getRef() +" "+ node.get("op")+resOllirType+" "+rhs.getRef();
                 return new OllirExprResult(code);
             }
-            if(node.getChild(1).isInstance(VAR_REF_EXPR) && node.getChild(0).isInstance(INTEGER_LITERAL)&& !types.isField(node.getChild(1))){
+            if(Children.get(node, 1).isInstance(VAR_REF_EXPR) && Children.get(node, 0).isInstance(INTEGER_LITERAL)&& !types.isField(Children.get(node, 1), getMethod(node))){
                 code = lhs.getRef() +" "+ node.get("op")+resOllirType+" "+rhs.getRef();
                 return new OllirExprResult(code);
             }
@@ -320,7 +341,7 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
     private OllirExprResult visitVarRef(JmmNode node, Void unused) {
 
         var id = node.get("name");
-        JmmNode parent = TypeUtils.getParentMethod(node);
+        JmmNode parent = getMethod(node);
 
         //Type type = types.getExprType(node);
         Type type = types.getExprTypeNotStatic(node,parent);
@@ -332,8 +353,8 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
 
         String code = id + ollirType;
 
-        if(types.isField(node)){
-            StringBuilder computation = new StringBuilder();
+        if(types.isField(node, parent)){
+            OllirCode computation = new OllirCode();
 
             var tmp = ollirTypes.nextTemp();
 
@@ -348,7 +369,7 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
     }
 
     private OllirExprResult visitNewObject(JmmNode node, Void unused){
-        StringBuilder computation = new StringBuilder();
+        OllirCode computation = new OllirCode();
 
         String objName = node.get("name");
         String reg = ollirTypes.nextTemp()+"."+objName;
@@ -356,9 +377,9 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
 
         List<String> argRefs = new ArrayList<>();
 
-        for(JmmNode child : node.getChildren()){
-            var res = visit(child);
-            computation.append(res.getComputation());
+        for(int i = 0; i < Children.count(node); i++){
+            var res = visit(Children.get(node, i));
+            computation.append(res.getCode());
             argRefs.add(res.getRef());
         }
         computation.append(reg).append(SPACE).append(ASSIGN).append("."+objName).
@@ -383,20 +404,20 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
 
 
     private OllirExprResult visitPriorityExpr(JmmNode node, Void unused){
-        return visit(node.getChild(0));
+        return visit(Children.get(node, 0));
     }
 
     private OllirExprResult visitFuncCall(JmmNode node, Void unused) {
-        StringBuilder computation = new StringBuilder();
+        OllirCode computation = new OllirCode();
         String funcName = node.get("name");
-        JmmNode callerNode = node.getChild(0);
-        JmmNode methodNode = TypeUtils.getParentMethod(node);
+        JmmNode callerNode = Children.get(node, 0);
+        JmmNode methodNode = getMethod(node);
 
         List<String> argRefs = new ArrayList<>();
         for (int i = 1; i < node.getNumChildren(); i++) {
-            JmmNode argNode = node.getChild(i);
+            JmmNode argNode = Children.get(node, i);
             OllirExprResult argResult = visit(argNode);
-            computation.append(argResult.getComputation());
+            computation.append(argResult.getCode());
             argRefs.add(argResult.getRef());
         }
 
@@ -431,7 +452,7 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
         } else {
             invokeType = VIRTUAL;
             callerResult = visit(callerNode);
-            computation.append(callerResult.getComputation());
+            computation.append(callerResult.getCode());
             callerRef = callerResult.getRef();
         }
 
@@ -456,7 +477,7 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
 
         computation.append(R_PARENTHESIS).append(ollirReturnType).append(END_STMT);
 
-        return new OllirExprResult(resultTemp, computation.toString());
+        return new OllirExprResult(resultTemp, computation);
     }
 
     /**
@@ -468,8 +489,8 @@ public class OllirExprGeneratorVisitor extends PreorderJmmVisitor<Void, OllirExp
      */
     private OllirExprResult defaultVisit(JmmNode node, Void unused) {
 
-        for (var child : node.getChildren()) {
-            visit(child);
+        for (int i = 0; i < Children.count(node); i++) {
+            visit(Children.get(node, i));
         }
 
         return OllirExprResult.EMPTY;
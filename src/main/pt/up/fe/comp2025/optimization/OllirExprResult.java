@@ -4,14 +4,18 @@ public class OllirExprResult {
 
     public static final OllirExprResult EMPTY = new OllirExprResult("", "");
 
-    private final String computation;
+    private final OllirCode computation;
     private final String ref;
 
-    public OllirExprResult(String ref, String computation) {
+    public OllirExprResult(String ref, OllirCode computation) {
         this.ref = ref;
         this.computation = computation;
     }
 
+    public OllirExprResult(String ref, String computation) {
+        this(ref, new OllirCode().append(computation));
+    }
+
     public OllirExprResult(String ref) {
         this(ref, "");
     }
@@ -21,6 +25,13 @@ public class OllirExprResult {
     }
 
     public String getComputation() {
+        return computation.toString();
+    }
+
+    /**
+     * @return the computation, to be appended to the code of another expression without copying it
+     */
+    public OllirCode getCode() {
         return computation;
     }
 
@@ -1,13 +1,13 @@
 package pt.up.fe.comp2025.optimization;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.StringJoiner;
 
 import pt.up.fe.comp.jmm.analysis.table.Symbol;
 import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
 import pt.up.fe.comp.jmm.analysis.table.Type;
-import pt.up.fe.comp.jmm.ast.AJmmVisitor;
 import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp2025.ast.AKindVisitor;
+import pt.up.fe.comp2025.ast.Children;
 import pt.up.fe.comp2025.ast.Kind;
 import pt.up.fe.comp2025.ast.TypeUtils;
 
@@ -17,7 +17,7 @@ import static pt.up.fe.comp2025.ast.TypeUtils.getExprType;
 /**
  * Generates OLLIR code from JmmNodes that are not expressions.
  */
-public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
+public class OllirGeneratorVisitor extends AKindVisitor<Void, String> {
 
     private static final String SPACE = " ";
     private static final String ASSIGN = ":=";
@@ -91,7 +91,7 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
 
     private String visitAssignStmt(JmmNode node, Void unused) {
 
-        var rhs = exprVisitor.visit(node.getChild(1));
+        var rhs = exprVisitor.visit(Children.get(node, 1));
 
         StringBuilder code = new StringBuilder();
 
@@ -100,7 +100,7 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
 
         // code to compute self
         // statement has type of lhs
-        var left = node.getChild(0);
+        var left = Children.get(node, 0);
 
 
 
@@ -116,8 +116,8 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
         if (Kind.check(left, Kind.ARRAY_ACCESS)) {
             isArrayAcess = true;
 
-            var index = left.getChild(1);
-            left = left.getChild(0);
+            var index = Children.get(left, 1);
+            left = Children.get(left, 0);
 
             Type indexType = types.getExprTypeNotStatic(index,method);
             String indexString = ollirTypes.toOllirType(indexType);
@@ -170,17 +170,15 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
 
         var while_ = ollirTypes.nextWhileBranch();
         var if_ = ollirTypes.nextIfBranch();
-        var conditionComputation = exprVisitor.visit(node.getChild(0));
+        var conditionComputation = exprVisitor.visit(Children.get(node, 0));
         var endif = "endif"+if_.substring(4);
 
         code.append(while_).append(COLON).append(conditionComputation.getComputation()).
                 append(IF).append(L_PARENTHESIS).append("!.bool ").append(conditionComputation.getRef())
                 .append(R_PARENTHESIS).append(SPACE).append(GOT_TO).append(SPACE).append(endif).append(END_STMT);
 
-        List<JmmNode> whileContent = node.getChildren(BRACKETS_STMT);
-
-        for(JmmNode child : whileContent){
-            var comp = visit(child);
+        for(int i = Children.indexOf(node, BRACKETS_STMT, 0); i >= 0; i = Children.indexOf(node, BRACKETS_STMT, i + 1)){
+            var comp = visit(Children.get(node, i));
             code.append(comp);
         }
 
@@ -192,7 +190,7 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
     private String visitIfStmt(JmmNode node, Void unused){
         StringBuilder code = new StringBuilder();
 
-        var condition = exprVisitor.visit(node.getChild(0));
+        var condition = exprVisitor.visit(Children.get(node, 0));
 
         code.append(condition.getComputation());
 
@@ -202,19 +200,16 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
                 .append(SPACE).append(GOT_TO).append(SPACE).append(then).append(END_STMT);
 
 
-        List<JmmNode> elseStmt = node.getChildren(ELSE_STMT);
-        List<JmmNode> ifContent = node.getChildren(BRACKETS_STMT);
-
-        for(JmmNode els : elseStmt){
-            code.append(visit(els));
+        for(int i = Children.indexOf(node, ELSE_STMT, 0); i >= 0; i = Children.indexOf(node, ELSE_STMT, i + 1)){
+            code.append(visit(Children.get(node, i)));
         }
         String enfIfNum = "endif"+then.substring(4);
         code.append(GOT_TO).append(SPACE).append(enfIfNum).append(END_STMT);
 
         code.append(then).append(COLON);
 
-        for(JmmNode ifExpr : ifContent){
-            code.append(visit(ifExpr));
+        for(int i = Children.indexOf(node, BRACKETS_STMT, 0); i >= 0; i = Children.indexOf(node, BRACKETS_STMT, i + 1)){
+            code.append(visit(Children.get(node, i)));
         }
 
         code.append(enfIfNum).append(COLON);
@@ -226,8 +221,8 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
     private String visitElseStmt(JmmNode node, Void unused){
         StringBuilder code = new StringBuilder();
 
-        for(JmmNode child : node.getChildren()){
-            code.append(visit(child));
+        for(int i = 0; i < Children.count(node); i++){
+            code.append(visit(Children.get(node, i)));
         }
 
         return code.toString();
@@ -236,15 +231,15 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
     private String visitBracketsStmt(JmmNode node, Void unused){
         StringBuilder code = new StringBuilder();
 
-        for(JmmNode child : node.getChildren()){
-            code.append(visit(child));
+        for(int i = 0; i < Children.count(node); i++){
+            code.append(visit(Children.get(node, i)));
         }
 
         return code.toString();
     }
 
     private String visitSimpleExpr(JmmNode node, Void unused){
-        var code = exprVisitor.visit(node.getChild(0));
+        var code = exprVisitor.visit(Children.get(node, 0));
 
         return code.getComputation();
     }
@@ -252,7 +247,7 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
 
     private String visitReturn(JmmNode node, Void unused) {
 
-        JmmNode retExpr = node.getChild(0);
+        JmmNode retExpr = Children.get(node, 0);
 
         Type retType = types.getExprTypeNotStatic(retExpr,TypeUtils.getParentMethod(node));
 
@@ -264,7 +259,7 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
 
 
 
-        var expr = node.getNumChildren() > 0 ? exprVisitor.visit(node.getChild(0)) : OllirExprResult.EMPTY;
+        var expr = node.getNumChildren() > 0 ? exprVisitor.visit(Children.get(node, 0)) : OllirExprResult.EMPTY;
 
 
 
@@ -285,7 +280,7 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
 
     private String visitParam(JmmNode node, Void unused) {
 
-        var typeCode = ollirTypes.toOllirType(node.getChild(0));
+        var typeCode = ollirTypes.toOllirType(Children.get(node, 0));
         var id = node.get("name");
 
         String code = id + typeCode;
@@ -299,7 +294,7 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
         String methodName = node.getParent().get("name");
 
         for(int i = 0; i < table.getParameters(methodName).size();i++){
-            var param = visit(node.getChild(i));
+            var param = visit(Children.get(node, i));
             code.append(param);
             if(i != table.getParameters(methodName).size()-1){
                 code.append(",");
@@ -316,6 +311,9 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
 
         StringBuilder code = new StringBuilder(".method ");
 
+        // Expressions of the method do not look it up from each node
+        exprVisitor.setMethod(node);
+
         boolean isPublic = node.getBoolean("isPublic", false);
 
         if (isPublic) {
@@ -334,7 +332,7 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
 
         code.append("(");
         if(!table.getParameters(name).isEmpty()){
-            code.append(visit(node.getChild(1)));
+            code.append(visit(Children.get(node, 1)));
         }
         if(name.equals("main")){
             code.append("args.array.String");
@@ -350,9 +348,12 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
 
 
         // rest of its children stmts
-        var stmtsCode = node.getChildren(STMT).stream()
-                .map(this::visit)
-                .collect(Collectors.joining("\n   ", "   ", ""));
+        var stmts = new StringJoiner("\n   ", "   ", "");
+        for (int i = Children.indexOf(node, STMT, 0); i >= 0; i = Children.indexOf(node, STMT, i + 1)) {
+            stmts.add(visit(Children.get(node, i)));
+        }
+        var stmtsCode = stmts.toString();
+        exprVisitor.setMethod(null);
 
         code.append(stmtsCode);
 
@@ -409,16 +410,16 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
         code.append(NL);
         code.append(NL);
 
-        for (var child : node.getChildren(VAR_DECL)) {
-            var result = visit(child);
+        for (int i = Children.indexOf(node, VAR_DECL, 0); i >= 0; i = Children.indexOf(node, VAR_DECL, i + 1)) {
+            var result = visit(Children.get(node, i));
             code.append(result);
         }
 
         code.append(buildConstructor());
         code.append(NL);
 
-        for (var child : node.getChildren(METHOD_DECL)) {
-            var result = visit(child);
+        for (int i = Children.indexOf(node, METHOD_DECL, 0); i >= 0; i = Children.indexOf(node, METHOD_DECL, i + 1)) {
+            var result = visit(Children.get(node, i));
             code.append(result);
         }
 
@@ -441,9 +442,9 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
 
         StringBuilder code = new StringBuilder();
 
-        node.getChildren().stream()
-                .map(this::visit)
-                .forEach(code::append);
+        for (int i = 0; i < Children.count(node); i++) {
+            code.append(visit(Children.get(node, i)));
+        }
 
         return code.toString();
     }
@@ -457,8 +458,8 @@ public class OllirGeneratorVisitor extends AJmmVisitor<Void, String> {
      */
     private String defaultVisit(JmmNode node, Void unused) {
 
-        for (var child : node.getChildren()) {
-            visit(child);
+        for (int i = 0; i < Children.count(node); i++) {
+            visit(Children.get(node, i));
         }
 
         return "";
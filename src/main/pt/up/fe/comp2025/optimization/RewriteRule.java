@@ -0,0 +1,37 @@
+package pt.up.fe.comp2025.optimization;
+
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp2025.ast.Kind;
+
+import java.util.Set;
+
+/**
+ * Represents a rewrite of the AST, applied by a {@link Worklist} to the nodes of its kinds.
+ */
+public interface RewriteRule {
+
+    /**
+     * Kinds of the nodes this rule rewrites.
+     *
+     * @return the kinds
+     */
+    Set<Kind> getKinds();
+
+    /**
+     * Called once with the whole AST before any node is rewritten, e.g. to index it.
+     *
+     * @param root the root of the AST
+     */
+    default void prepare(JmmNode root) {
+    }
+
+    /**
+     * Rewrites the given node, if the rule applies to it. Nodes are replaced with {@link Worklist#replace}, which
+     * adds the nodes that may be rewritten in turn.
+     *
+     * @param node     a node of one of the kinds of the rule
+     * @param worklist the worklist that runs the rule
+     * @return whether the AST changed
+     */
+    boolean rewrite(JmmNode node, Worklist worklist);
+}
@@ -0,0 +1,151 @@
+package pt.up.fe.comp2025.optimization;
+
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp2025.ast.AstWalker;
+import pt.up.fe.comp2025.ast.Children;
+import pt.up.fe.comp2025.ast.Kind;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Applies {@link RewriteRule}s to the AST until none of them applies.
+ * <p>
+ * Every node of the kinds of the rules starts in the worklist, children before their parents, so an expression is
+ * rewritten after its operands. A rewrite only adds the nodes it may affect: the parent of a replaced node, the new
+ * node, and whatever the rule adds (e.g. the uses of a variable that became a constant). The rules run until the
+ * worklist is empty, in time proportional to the AST and the rewrites, instead of traversing the whole AST again until
+ * a traversal changes nothing.
+ */
+public class Worklist {
+
+    private static final RewriteRule[] NO_RULES = new RewriteRule[0];
+
+    // Rules per Kind ordinal
+    private final RewriteRule[][] byKind;
+    private final List<RewriteRule> rules;
+
+    private final ArrayDeque<JmmNode> queue;
+    private final Set<JmmNode> queued;
+    private int rewrites;
+
+    public Worklist(List<RewriteRule> rules) {
+        this.rules = rules;
+        this.byKind = new RewriteRule[Kind.values().length][];
+        for (var kind : Kind.values()) {
+            byKind[kind.ordinal()] = rules.stream()
+                    .filter(rule -> rule.getKinds().contains(kind))
+                    .toArray(RewriteRule[]::new);
+        }
+
+        this.queue = new ArrayDeque<>();
+        this.queued = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.rewrites = 0;
+    }
+
+    /**
+     * Rewrites the AST until no rule applies.
+     *
+     * @param root
+     * @return the number of rewrites
+     */
+    public int run(JmmNode root) {
+        for (var rule : rules) {
+            rule.prepare(root);
+        }
+
+        new AstWalker().postorder(root, this::add);
+
+        while (!queue.isEmpty()) {
+            var node = queue.poll();
+            // Removed from the AST with an ancestor after it was added
+            if (!queued.remove(node)) {
+                continue;
+            }
+
+            for (var rule : rulesOf(node)) {
+                // Replaced by a rule before
+                if (node != root && node.getParent() == null) {
+                    break;
+                }
+
+                if (rule.rewrite(node, this)) {
+                    rewrites++;
+                }
+            }
+        }
+
+        return rewrites;
+    }
+
+    /**
+     * Adds a node to the worklist, if a rule rewrites nodes of its kind and it is not there yet.
+     *
+     * @param node
+     */
+    public void add(JmmNode node) {
+        if (rulesOf(node).length > 0 && queued.add(node)) {
+            queue.add(node);
+        }
+    }
+
+    /**
+     * Replaces a node of the AST and adds the new node and its parent to the worklist. The nodes left in the subtree
+     * of the replaced node are no longer in the AST, and are dropped from the worklist.
+     *
+     * @param node        a node with a parent
+     * @param replacement a node that is not in the AST
+     */
+    public void replace(JmmNode node, JmmNode replacement) {
+        var parent = node.getParent();
+        int index = Children.indexOf(parent, node);
+        parent.removeChild(index);
+        detach(node);
+        parent.add(replacement, index);
+
+        // The node inserted, which is a copy of the replacement when the AST adds copies of nodes of other trees, see
+        // CompactAst
+        add(Children.get(parent, index));
+        add(parent);
+    }
+
+    private void detach(JmmNode root) {
+        var pending = new ArrayDeque<JmmNode>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            var node = pending.pop();
+            queued.remove(node);
+
+            int count = Children.count(node);
+            for (int i = 0; i < count; i++) {
+                var child = Children.get(node, i);
+                // Children taken by the replacement are still in the AST
+                if (child.getParent() == node) {
+                    pending.push(child);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param node
+     * @return a copy of the node in the same tree, with the same attributes, without its children
+     */
+    public static JmmNode copy(JmmNode node) {
+        // JmmNode.copy() stores the attributes as strings, and the types are not, so they are set again
+        var copy = node.copy(node.getHierarchy());
+        for (var attribute : node.getAttributes()) {
+            copy.putObject(attribute, node.getObject(attribute));
+        }
+
+        return copy;
+    }
+
+    private RewriteRule[] rulesOf(JmmNode node) {
+        var kind = Kind.find(node);
+        return kind != null ? byKind[kind.ordinal()] : NO_RULES;
+    }
+}
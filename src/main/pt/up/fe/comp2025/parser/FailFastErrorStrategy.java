@@ -0,0 +1,16 @@
+package pt.up.fe.comp2025.parser;
+
+import org.antlr.v4.runtime.BailErrorStrategy;
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.RecognitionException;
+
+/**
+ * Bail-out strategy that also skips error reporting, since fail-fast parsers have no listeners to report to.
+ */
+class FailFastErrorStrategy extends BailErrorStrategy {
+
+    @Override
+    public void reportError(Parser recognizer, RecognitionException e) {
+        // Nothing to do, the error is reported from the cancellation exception
+    }
+}
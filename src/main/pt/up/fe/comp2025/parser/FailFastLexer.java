@@ -0,0 +1,45 @@
+package pt.up.fe.comp2025.parser;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.LexerNoViableAltException;
+import org.antlr.v4.runtime.misc.Interval;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import pt.up.fe.comp2025.JavammLexer;
+
+/**
+ * Lexer that stops at the first token recognition error, without notifying listeners or recovering.
+ * <p>
+ * The position of the offending token is kept, so that a single report can be built by the caller.
+ */
+class FailFastLexer extends JavammLexer {
+
+    private int errorLine = -1;
+    private int errorColumn = -1;
+    private String errorText = "";
+
+    public FailFastLexer(CharStream input) {
+        super(input);
+        removeErrorListeners();
+    }
+
+    @Override
+    public void notifyListeners(LexerNoViableAltException e) {
+        errorLine = _tokenStartLine;
+        errorColumn = _tokenStartCharPositionInLine;
+        errorText = _input.getText(Interval.of(_tokenStartCharIndex, _input.index()));
+
+        throw new ParseCancellationException(e);
+    }
+
+    public int getErrorLine() {
+        return errorLine;
+    }
+
+    public int getErrorColumn() {
+        return errorColumn;
+    }
+
+    public String getErrorText() {
+        return errorText;
+    }
+}
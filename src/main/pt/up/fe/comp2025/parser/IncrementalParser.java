@@ -0,0 +1,290 @@
+package pt.up.fe.comp2025.parser;
+
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.ast.NodePosition;
+import pt.up.fe.comp.jmm.parser.JmmParserResult;
+import pt.up.fe.comp2025.ast.AstWalker;
+import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.utils.NameTable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parser for successive versions of the same file, that only reparses the methods whose text changed.
+ * <p>
+ * The previous source and the character spans of its methods are kept between calls. A new version is diffed
+ * against the previous one (common prefix and suffix), the changed region is widened to the methods it touches, and
+ * only that region is parsed again with the methodDecl rule. The new method subtrees are spliced into the previous
+ * AST, and the positions of the nodes after the region are shifted.
+ * <p>
+ * Whenever the change is not confined to methods (imports, class header, fields) or the region does not parse, the
+ * whole file is parsed again, so the result is always the same as a full parse.
+ * <p>
+ * One instance per file.
+ */
+public class IncrementalParser {
+
+    private static final String[] POSITION_KEYS = {
+            NodePosition.LINE_START.getKey(), NodePosition.COL_START.getKey(),
+            NodePosition.LINE_END.getKey(), NodePosition.COL_END.getKey()
+    };
+
+    private final JmmParserImpl parser;
+    private final Map<String, String> config;
+    private final NameTable names;
+    private final AstWalker walker;
+
+    private String source;
+    private JmmParserResult lastResult;
+    private List<JmmNode> methods;
+    private int[] methodStarts;
+    private int[] methodStops;
+    private List<JmmNode> changedMethods;
+
+    public IncrementalParser(Map<String, String> config) {
+        this.names = NameTable.forConfig(config);
+        this.parser = new JmmParserImpl(names);
+        this.config = config;
+        this.walker = new AstWalker();
+        this.changedMethods = Collections.emptyList();
+    }
+
+    /**
+     * Parses a new version of the file.
+     *
+     * @param code the complete source of the new version
+     * @return the parser result, with the same AST a full parse would produce
+     */
+    public JmmParserResult parse(String code) {
+        JmmParserResult result = null;
+
+        if (lastResult != null && lastResult.getRootNode() != null) {
+            result = parseIncremental(code);
+        }
+
+        if (result == null) {
+            result = parser.parse(code, config);
+            changedMethods = result.getRootNode() != null ? findMethods(result.getRootNode()) : Collections.emptyList();
+        }
+
+        source = code;
+        lastResult = result;
+        indexMethods();
+
+        return result;
+    }
+
+    /**
+     * @return the METHOD_DECL nodes that were (re)parsed in the last call to parse. After a full parse, these are all
+     * the methods of the class.
+     */
+    public List<JmmNode> getChangedMethods() {
+        return changedMethods;
+    }
+
+    private JmmParserResult parseIncremental(String code) {
+        if (code.equals(source)) {
+            changedMethods = Collections.emptyList();
+            return lastResult;
+        }
+
+        if (methods.isEmpty()) {
+            return null;
+        }
+
+        // Changed region, [changeStart, changeEnd) in the old source
+        int prefix = commonPrefix(source, code);
+        int suffix = commonSuffix(source, code, prefix);
+        int changeStart = prefix;
+        int changeEnd = source.length() - suffix;
+
+        // First method that ends at or after the change, and last method that starts before the end of the change
+        int first = 0;
+        while (first < methods.size() && methodStops[first] < changeStart) {
+            first++;
+        }
+        int last = methods.size() - 1;
+        while (last >= 0 && methodStarts[last] >= changeEnd) {
+            last--;
+        }
+
+        // Widen the region to token boundaries: method starts and ends, or the gaps between methods
+        int regionStart;
+        if (first < methods.size() && changeStart >= methodStarts[first]) {
+            regionStart = methodStarts[first];
+        } else if (first > 0) {
+            regionStart = methodStops[first - 1] + 1;
+        } else {
+            // Change before the first method
+            return null;
+        }
+
+        int regionEnd;
+        if (last >= 0 && changeEnd <= methodStops[last] + 1) {
+            regionEnd = methodStops[last] + 1;
+        } else if (last + 1 < methods.size()) {
+            regionEnd = methodStarts[last + 1];
+        } else {
+            // Change after the last method
+            return null;
+        }
+
+        int delta = code.length() - source.length();
+        var position = LinePosition.of(code, regionStart);
+        var newMethods = JmmParserImpl.parseMethods(code.substring(regionStart, regionEnd + delta),
+                position.line(), position.column(), names);
+        if (newMethods == null) {
+            // Let the full parse report the error
+            return null;
+        }
+
+        var classDecl = methods.get(0).getParent();
+        var removed = methods.subList(first, last + 1);
+
+        // Shift the nodes after the region, before the reparsed methods are added
+        var oldEnd = LinePosition.of(source, regionEnd);
+        var newEnd = LinePosition.of(code, regionEnd + delta);
+        shiftPositions(lastResult.getRootNode(), removed, oldEnd, newEnd);
+
+        // Index in the class of the first replaced method, or of the method after the gap
+        int insertIndex = first < methods.size()
+                ? methods.get(first).getIndexOfSelf()
+                : methods.get(methods.size() - 1).getIndexOfSelf() + 1;
+
+        for (var method : new ArrayList<>(removed)) {
+            classDecl.removeChild(method);
+        }
+        for (int i = 0; i < newMethods.size(); i++) {
+            classDecl.add(newMethods.get(i), insertIndex + i);
+        }
+
+        changedMethods = newMethods;
+        return lastResult;
+    }
+
+    private void shiftPositions(JmmNode root, List<JmmNode> removed, LinePosition oldEnd, LinePosition newEnd) {
+        var skip = Collections.<JmmNode>newSetFromMap(new IdentityHashMap<>());
+        skip.addAll(removed);
+
+        // Children end before their parent, so a node that ends before the region has nothing to shift
+        walker.preorder(root,
+                node -> !skip.contains(node) && !isBefore(node, POSITION_KEYS[2], POSITION_KEYS[3], oldEnd),
+                node -> shiftPosition(node, oldEnd, newEnd));
+    }
+
+    private void shiftPosition(JmmNode node, LinePosition oldEnd, LinePosition newEnd) {
+        for (int i = 0; i < POSITION_KEYS.length; i += 2) {
+            var lineKey = POSITION_KEYS[i];
+            var colKey = POSITION_KEYS[i + 1];
+
+            if (!node.hasAttribute(lineKey) || isBefore(node, lineKey, colKey, oldEnd)) {
+                continue;
+            }
+
+            int line = Integer.parseInt(node.get(lineKey));
+            int column = Integer.parseInt(node.get(colKey));
+
+            if (line == oldEnd.line()) {
+                column = column - oldEnd.column() + newEnd.column();
+            }
+            line = line - oldEnd.line() + newEnd.line();
+
+            node.put(lineKey, intern(Integer.toString(line)));
+            node.put(colKey, intern(Integer.toString(column)));
+        }
+    }
+
+    private String intern(String value) {
+        return names != null ? names.intern(value) : value;
+    }
+
+    private static boolean isBefore(JmmNode node, String lineKey, String colKey, LinePosition position) {
+        if (!node.hasAttribute(lineKey)) {
+            return false;
+        }
+
+        int line = Integer.parseInt(node.get(lineKey));
+        return line < position.line()
+                || (line == position.line() && Integer.parseInt(node.get(colKey)) < position.column());
+    }
+
+    private void indexMethods() {
+        var root = lastResult.getRootNode();
+        methods = root != null ? findMethods(root) : Collections.emptyList();
+
+        var lineStarts = LinePosition.lineStarts(source);
+        methodStarts = new int[methods.size()];
+        methodStops = new int[methods.size()];
+
+        for (int i = 0; i < methods.size(); i++) {
+            var method = methods.get(i);
+            methodStarts[i] = lineStarts[method.getLine() - 1] + method.getColumn();
+            // Methods always end with '}', a single character token
+            methodStops[i] = lineStarts[method.getInteger(NodePosition.LINE_END.getKey(), -1) - 1]
+                    + method.getInteger(NodePosition.COL_END.getKey(), -1);
+        }
+    }
+
+    private static List<JmmNode> findMethods(JmmNode root) {
+        for (var child : root.getChildren()) {
+            if (Kind.CLASS_DECL.check(child)) {
+                return child.getChildren(Kind.METHOD_DECL);
+            }
+        }
+
+        return Collections.emptyList();
+    }
+
+    private static int commonPrefix(String a, String b) {
+        int max = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < max && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int commonSuffix(String a, String b, int prefix) {
+        int max = Math.min(a.length(), b.length()) - prefix;
+        int i = 0;
+        while (i < max && a.charAt(a.length() - 1 - i) == b.charAt(b.length() - 1 - i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Line (1-based) and column (0-based) of a character offset, as used in the node positions.
+     */
+    private record LinePosition(int line, int column) {
+
+        static LinePosition of(String code, int offset) {
+            int line = 1;
+            int lineStart = 0;
+            for (int i = 0; i < offset; i++) {
+                if (code.charAt(i) == '\n') {
+                    line++;
+                    lineStart = i + 1;
+                }
+            }
+
+            return new LinePosition(line, offset - lineStart);
+        }
+
+        static int[] lineStarts(String code) {
+            var starts = new ArrayList<Integer>();
+            starts.add(0);
+            for (int i = 0; i < code.length(); i++) {
+                if (code.charAt(i) == '\n') {
+                    starts.add(i + 1);
+                }
+            }
+
+            return starts.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+}
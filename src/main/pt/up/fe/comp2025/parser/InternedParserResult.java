@@ -0,0 +1,50 @@
+package pt.up.fe.comp2025.parser;
+
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.parser.JmmParserResult;
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp2025.utils.NameTable;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of {@link JmmParserImpl}, with the {@link NameTable} the names of its AST were interned in, so the later
+ * stages of the same compilation intern the names they build in that table too.
+ */
+public class InternedParserResult extends JmmParserResult {
+
+    private final NameTable names;
+
+    /**
+     * @param rootNode
+     * @param reports
+     * @param config
+     * @param names    the table of the AST, or null if the names were not interned
+     */
+    public InternedParserResult(JmmNode rootNode, List<Report> reports, Map<String, String> config,
+                                NameTable names) {
+        super(rootNode, reports, config);
+        this.names = names;
+    }
+
+    /**
+     * @return the table of the AST, or null if the names were not interned
+     */
+    public NameTable getNames() {
+        return names;
+    }
+
+    /**
+     * @param result
+     * @return the table the names of the AST were interned in or, for the results of other parsers, the table of the
+     * config of the result. Null if interning is disabled
+     */
+    public static NameTable namesOf(JmmParserResult result) {
+        if (result instanceof InternedParserResult interned) {
+            return interned.getNames();
+        }
+
+        return NameTable.forConfig(result.getConfig());
+    }
+}
@@ -2,14 +2,34 @@ package pt.up.fe.comp2025.parser;
 
 import org.antlr.v4.runtime.ANTLRInputStream;
 import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.InputMismatchException;
+import org.antlr.v4.runtime.Lexer;
+import org.antlr.v4.runtime.LexerNoViableAltException;
+import org.antlr.v4.runtime.NoViableAltException;
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.antlr.v4.runtime.tree.ParseTree;
+import pt.up.fe.comp.jmm.ast.JmmNode;
 import pt.up.fe.comp.jmm.ast.antlr.AntlrParser;
+import pt.up.fe.comp.jmm.ast.antlr.JmmErrorListener;
+import pt.up.fe.comp.jmm.ast.antlr.JmmNodeCleanup;
 import pt.up.fe.comp.jmm.parser.JmmParser;
 import pt.up.fe.comp.jmm.parser.JmmParserResult;
 import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp.jmm.report.ReportType;
 import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.ConfigOptions;
 import pt.up.fe.comp2025.JavammLexer;
 import pt.up.fe.comp2025.JavammParser;
+import pt.up.fe.comp2025.ast.CompactAst;
+import pt.up.fe.comp2025.utils.NameTable;
 
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -27,6 +47,17 @@ import java.util.Map;
 
 public class JmmParserImpl implements JmmParser {
 
+    // Table shared by every parse of this instance, if null a table is chosen per parse from the config
+    private final NameTable names;
+
+    public JmmParserImpl() {
+        this(null);
+    }
+
+    public JmmParserImpl(NameTable names) {
+        this.names = names;
+    }
+
     @Override
     public String getDefaultRule() {
         return "program";
@@ -36,6 +67,10 @@ public class JmmParserImpl implements JmmParser {
     public JmmParserResult parse(String jmmCode, String startingRule, Map<String, String> config) {
 
         try {
+            if (ConfigOptions.getFailFast(config)) {
+                return postProcess(parseFailFast(jmmCode, startingRule, config), config);
+            }
+
             // Convert code string into a character stream
             var input = new ANTLRInputStream(jmmCode);
             // Transform characters into tokens using the lexer
@@ -47,17 +82,198 @@ public class JmmParserImpl implements JmmParser {
 
 
             // Convert ANTLR CST to JmmNode AST
-            var r = AntlrParser.parse(lex, parser, startingRule, config);
+            var r = parseWithListeners(lex, parser, startingRule, config);
 
             //if (r.getRootNode() != null) {
             //    System.out.println("AST:\n" + r.getRootNode().toTree());
             //}
 
-            return r;
+            return postProcess(r, config);
 
         } catch (Exception e) {
             // There was an uncaught exception during parsing, create an error JmmParserResult without root node
             return JmmParserResult.newError(Report.newError(Stage.SYNTATIC, -1, -1, "Exception during parsing", e), config);
         }
     }
+
+    /**
+     * Same as {@link AntlrParser#parse}, but the parse tree is converted by {@link #toJmmNode}.
+     *
+     * @return a result with the AST, or an error result without root node if there were errors
+     */
+    private static JmmParserResult parseWithListeners(Lexer lex, Parser parser, String startingRule,
+                                                      Map<String, String> config) {
+        lex.removeErrorListeners();
+        var lexerListener = new JmmErrorListener(Stage.LEXICAL);
+        lex.addErrorListener(lexerListener);
+
+        parser.removeErrorListeners();
+        var parserListener = new JmmErrorListener(Stage.SYNTATIC);
+        parser.addErrorListener(parserListener);
+
+        var tree = invokeRule(parser, startingRule);
+
+        var reports = new ArrayList<Report>();
+        reports.addAll(lexerListener.getReports());
+        reports.addAll(parserListener.getReports());
+
+        if (reports.stream().anyMatch(report -> report.getType() == ReportType.ERROR)) {
+            return new JmmParserResult(null, reports, config);
+        }
+
+        return new JmmParserResult(toJmmNode(tree, parser), reports, config);
+    }
+
+    /**
+     * Parses the code and stops at the first lexical or syntactic error.
+     * <p>
+     * Lexer and parser have no error listeners and the parser bails out instead of recovering, so no recovery
+     * trees are built and no messages are formatted, except for the single report of the first error. Parsing starts
+     * with SLL prediction, and full LL prediction is only used to confirm an error found by SLL.
+     *
+     * @param jmmCode
+     * @param startingRule
+     * @param config
+     * @return a result with the AST, or an error result with exactly one report
+     */
+    private JmmParserResult parseFailFast(String jmmCode, String startingRule, Map<String, String> config) {
+        var lex = new FailFastLexer(new StringCharStream(jmmCode));
+        var parser = new JavammParser(new CommonTokenStream(lex));
+        parser.removeErrorListeners();
+        parser.setErrorHandler(new FailFastErrorStrategy());
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+
+        try {
+            ParseTree tree;
+            try {
+                tree = invokeRule(parser, startingRule);
+            } catch (ParseCancellationException e) {
+                // Lexical errors do not depend on the prediction mode
+                if (e.getCause() instanceof LexerNoViableAltException) {
+                    throw e;
+                }
+
+                // SLL can fail on valid input, retry with full LL before reporting the error
+                parser.reset();
+                parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+                tree = invokeRule(parser, startingRule);
+            }
+
+            return new JmmParserResult(toJmmNode(tree, parser), new ArrayList<>(), config);
+
+        } catch (ParseCancellationException e) {
+            return JmmParserResult.newError(buildFailFastReport(e, lex, parser), config);
+        }
+    }
+
+    /**
+     * Interns the names of the AST and, if enabled, moves it to the compact representation.
+     *
+     * @return the result, with the table of its names if it has an AST, see {@link InternedParserResult}
+     */
+    private JmmParserResult postProcess(JmmParserResult result, Map<String, String> config) {
+        var root = result.getRootNode();
+        if (root == null) {
+            return result;
+        }
+
+        var table = names != null ? names : NameTable.forConfig(config);
+
+        if (ConfigOptions.getCompactAst(config)) {
+            var compactNames = table != null ? table : new NameTable();
+            var compact = CompactAst.of(root, compactNames);
+            return new InternedParserResult(compact.getRoot(), result.getReports(), config, compactNames);
+        }
+
+        if (table != null) {
+            table.internAttributes(root);
+        }
+
+        return new InternedParserResult(root, result.getReports(), config, table);
+    }
+
+    /**
+     * Parses a region of a file as a sequence of method declarations, stopping at the first error.
+     *
+     * @param region text of the region, only with whole methods and the whitespace between them
+     * @param line   line of the first character of the region in the file
+     * @param column column of the first character of the region in the file
+     * @param names  table for the attributes of the new nodes, or null
+     * @return the METHOD_DECL nodes, with positions in the file, or null if the region does not parse
+     */
+    static List<JmmNode> parseMethods(String region, int line, int column, NameTable names) {
+        var lex = new FailFastLexer(new StringCharStream(region));
+        lex.setLine(line);
+        lex.setCharPositionInLine(column);
+
+        var parser = new JavammParser(new CommonTokenStream(lex));
+        parser.removeErrorListeners();
+        parser.setErrorHandler(new FailFastErrorStrategy());
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+
+        var methods = new ArrayList<JmmNode>();
+        try {
+            while (parser.getInputStream().LA(1) != Token.EOF) {
+                var method = toJmmNode(parser.methodDecl(), parser);
+                if (names != null) {
+                    names.internAttributes(method);
+                }
+                methods.add(method);
+            }
+        } catch (ParseCancellationException e) {
+            return null;
+        }
+
+        return methods;
+    }
+
+    static ParseTree invokeRule(Parser parser, String ruleName) {
+        try {
+            return (ParseTree) parser.getClass().getMethod(ruleName).invoke(parser);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof ParseCancellationException cancellation) {
+                throw cancellation;
+            }
+            throw new RuntimeException("Error while invoking rule '" + ruleName + "'", e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Could not find rule '" + ruleName + "'", e);
+        }
+    }
+
+    static JmmNode toJmmNode(ParseTree tree, Parser parser) {
+        var ignoreList = AntlrParser.getIgnoreList(parser);
+        var root = ParseTreeConverter.convert(tree, parser, ignoreList);
+
+        if (!ignoreList.isEmpty()) {
+            new JmmNodeCleanup(ignoreList).visit(root);
+        }
+
+        return root;
+    }
+
+    private static Report buildFailFastReport(ParseCancellationException e, FailFastLexer lex, Parser parser) {
+        if (e.getCause() instanceof LexerNoViableAltException) {
+            return Report.newError(Stage.LEXICAL, lex.getErrorLine(), lex.getErrorColumn(),
+                    "token recognition error at: '" + lex.getErrorText() + "'", null);
+        }
+
+        var recognitionError = e.getCause() instanceof RecognitionException re ? re : null;
+
+        Token token = recognitionError != null && recognitionError.getOffendingToken() != null
+                ? recognitionError.getOffendingToken()
+                : parser.getCurrentToken();
+        String tokenText = token.getType() == Token.EOF ? "<EOF>" : token.getText();
+
+        String message;
+        if (recognitionError instanceof InputMismatchException) {
+            message = "mismatched input '" + tokenText + "' expecting "
+                    + recognitionError.getExpectedTokens().toString(parser.getVocabulary());
+        } else if (recognitionError instanceof NoViableAltException) {
+            message = "no viable alternative at input '" + tokenText + "'";
+        } else {
+            message = "syntax error at input '" + tokenText + "'";
+        }
+
+        return Report.newError(Stage.SYNTATIC, token.getLine(), token.getCharPositionInLine(), message, null);
+    }
 }
@@ -0,0 +1,227 @@
+package pt.up.fe.comp2025.parser;
+
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.ast.NodePosition;
+import pt.up.fe.comp.jmm.ast.antlr.AntlrToJmmNodeConverter;
+import pt.up.fe.comp2025.ast.AstNode;
+import pt.up.fe.comp2025.ast.AstWalker;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Converts an ANTLR parse tree into {@link AstNode}s, with the same nodes and attributes as
+ * {@link AntlrToJmmNodeConverter}.
+ * <p>
+ * The library converter recurses once per level of the parse tree, so the long chains of binary expressions that the
+ * grammar parses left-deep overflow the call stack. This one keeps the pending contexts in an explicit stack, and reads
+ * the kinds and public fields of each context class once, instead of by reflection on every node.
+ */
+final class ParseTreeConverter {
+
+    private static final String CONTEXT_SUFFIX = "Context";
+
+    /**
+     * Kind hierarchy and public fields of a context class, with the fields of the class before those of its super
+     * classes, as the library converter adds them.
+     */
+    private record ContextClass(List<String> hierarchy, List<Field> fields) {
+    }
+
+    private static final ClassValue<ContextClass> CONTEXT_CLASSES = new ClassValue<>() {
+        @Override
+        protected ContextClass computeValue(Class<?> type) {
+            var hierarchy = new ArrayList<String>();
+            var fields = new ArrayList<Field>();
+
+            for (Class<?> current = type; !current.equals(ParserRuleContext.class); current = current.getSuperclass()) {
+                var name = current.getSimpleName();
+                if (!name.endsWith(CONTEXT_SUFFIX)) {
+                    throw new RuntimeException("Expected classname to end with 'Context' " + name);
+                }
+                hierarchy.add(name.substring(0, name.length() - CONTEXT_SUFFIX.length()));
+
+                for (var field : current.getDeclaredFields()) {
+                    if (Modifier.isPublic(field.getModifiers())) {
+                        fields.add(field);
+                    }
+                }
+            }
+
+            return new ContextClass(List.copyOf(hierarchy), List.copyOf(fields));
+        }
+    };
+
+    private final Parser parser;
+    private final Set<String> ignoreList;
+    private final Map<ParseTree, JmmNode> antlrToJmm;
+
+    private ParseTreeConverter(Parser parser, List<String> ignoreList) {
+        this.parser = parser;
+        this.ignoreList = new HashSet<>(ignoreList);
+        this.antlrToJmm = new IdentityHashMap<>();
+    }
+
+    /**
+     * @param tree   a parser rule context
+     * @param parser the parser that built the tree
+     * @param ignoreList kinds of the nodes that are removed from the AST, used to resolve attributes that refer to them
+     * @return the root of the AST
+     */
+    static JmmNode convert(ParseTree tree, Parser parser, List<String> ignoreList) {
+        var converter = new ParseTreeConverter(parser, ignoreList);
+        var root = converter.convertTree(tree);
+
+        // Now that all nodes have been converted, replace attributes that are ANTLR nodes with the equivalent JmmNode
+        new AstWalker().preorder(root, converter::replaceContextAttributes);
+
+        return root;
+    }
+
+    private JmmNode convertTree(ParseTree tree) {
+        var root = newNode(tree);
+
+        // Contexts paired with the node of their parent
+        var pending = new ArrayDeque<ParseTree>();
+        var parents = new ArrayDeque<JmmNode>();
+        pushChildren(tree, root, pending, parents);
+
+        while (!pending.isEmpty()) {
+            var context = pending.pop();
+            var parent = parents.pop();
+
+            var node = newNode(context);
+            parent.add(node);
+            pushChildren(context, node, pending, parents);
+        }
+
+        return root;
+    }
+
+    /**
+     * Pushes the children that are not terminal nodes, so they are converted in order.
+     */
+    private static void pushChildren(ParseTree context, JmmNode node, ArrayDeque<ParseTree> pending,
+                                     ArrayDeque<JmmNode> parents) {
+        for (int i = context.getChildCount() - 1; i >= 0; i--) {
+            var child = context.getChild(i);
+
+            // Ignore terminal nodes
+            if (child instanceof TerminalNode) {
+                continue;
+            }
+
+            pending.push(child);
+            parents.push(node);
+        }
+    }
+
+    private JmmNode newNode(ParseTree context) {
+        if (!(context instanceof ParserRuleContext)) {
+            throw new RuntimeException("Expected node to be of class '" + ParserRuleContext.class
+                    + "', but got '" + context.getClass() + "'");
+        }
+
+        var contextClass = CONTEXT_CLASSES.get(context.getClass());
+        var node = new AstNode(contextClass.hierarchy());
+        antlrToJmm.put(context, node);
+
+        var startPosition = parser.getTokenStream().get(context.getSourceInterval().a);
+        var endPosition = parser.getTokenStream().get(context.getSourceInterval().b);
+
+        node.put(NodePosition.LINE_START.getKey(), Integer.toString(startPosition.getLine()));
+        node.put(NodePosition.COL_START.getKey(), Integer.toString(startPosition.getCharPositionInLine()));
+        node.put(NodePosition.LINE_END.getKey(), Integer.toString(endPosition.getLine()));
+        node.put(NodePosition.COL_END.getKey(), Integer.toString(endPosition.getCharPositionInLine()));
+
+        for (var field : contextClass.fields()) {
+            var name = field.getName();
+
+            Object value;
+            try {
+                value = field.get(context);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException("Could not access field '" + name + "' from node " + context);
+            }
+
+            if (!field.getType().isAssignableFrom(Token.class)) {
+                node.putObject(name, processValue(value));
+                continue;
+            }
+
+            // If no token for the given field, skip
+            if (value == null) {
+                continue;
+            }
+
+            var text = ((Token) value).getText();
+            if (text == null) {
+                throw new RuntimeException("Could not extract value from token");
+            }
+            node.put(name, text);
+        }
+
+        return node;
+    }
+
+    private static Object processValue(Object value) {
+        if (value instanceof Token token) {
+            return token.getText();
+        }
+
+        if (value instanceof List<?> list) {
+            var values = new ArrayList<>(list.size());
+            for (var element : list) {
+                values.add(processValue(element));
+            }
+            return values;
+        }
+
+        return value;
+    }
+
+    private void replaceContextAttributes(JmmNode node) {
+        for (var attribute : node.getAttributes()) {
+            if (!(node.getObject(attribute) instanceof ParseTree context)) {
+                continue;
+            }
+
+            var jmmNode = antlrToJmm.get(context);
+            if (jmmNode == null) {
+                System.out.println("Could not find JmmNode for ANTLR node " + context);
+                continue;
+            }
+
+            node.putObject(attribute, skipIgnored(jmmNode));
+        }
+    }
+
+    /**
+     * Nodes in the ignore list are replaced by their only child.
+     */
+    private JmmNode skipIgnored(JmmNode node) {
+        while (ignoreList.contains(node.getKind())) {
+            if (node.getNumChildren() != 1) {
+                System.out.println("Using as attribute, node in ignore list of kind '" + node.getKind()
+                        + "' which has '" + node.getNumChildren() + "' children instead of 1, no changes made.");
+                return node;
+            }
+
+            node = node.getChild(0);
+        }
+
+        return node;
+    }
+}
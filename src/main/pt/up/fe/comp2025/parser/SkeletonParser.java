@@ -0,0 +1,291 @@
+package pt.up.fe.comp2025.parser;
+
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.ListTokenSource;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.parser.JmmParserResult;
+import pt.up.fe.comp2025.JavammParser;
+import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.utils.NameTable;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Parser for consumers that only need the declarations of a file (imports, class, fields and method signatures).
+ * <p>
+ * The file is lexed once, and the statements of each method body are skipped at the token level, by matching
+ * braces, before the parser runs. The local variable declarations at the start of each body are kept, since the
+ * symbol table lists them. Each skeleton method is parsed in full on first access, see {@link #materialize(JmmNode)}.
+ * <p>
+ * If the declarations do not parse, the whole file is parsed normally, so the result carries the same reports as
+ * {@link JmmParserImpl}. Errors inside skipped statements are only found when the method is materialized.
+ * <p>
+ * One instance per file.
+ */
+public class SkeletonParser {
+
+    private final Map<String, String> config;
+    private final NameTable names;
+
+    private String source;
+    private JmmNode root;
+
+    // Skeleton METHOD_DECL nodes that were not materialized yet, mapped to the tokens of the complete method
+    private final Map<JmmNode, MethodTokens> skeletons;
+
+    public SkeletonParser(Map<String, String> config) {
+        this.config = config;
+        this.names = NameTable.forConfig(config);
+        this.skeletons = new IdentityHashMap<>();
+    }
+
+    /**
+     * Parses the declarations of the given code, skipping the statements of the method bodies.
+     *
+     * @param code
+     * @return a result whose AST has METHOD_DECL nodes without statements, or the result of a full parse if the
+     * declarations do not parse
+     */
+    public JmmParserResult parse(String code) {
+        source = code;
+        root = null;
+        skeletons.clear();
+
+        List<? extends Token> tokens;
+        try {
+            var lexTokens = new CommonTokenStream(new FailFastLexer(new StringCharStream(code)));
+            lexTokens.fill();
+            tokens = lexTokens.getTokens();
+        } catch (ParseCancellationException e) {
+            return fullParse();
+        }
+
+        var methods = new ArrayList<MethodTokens>();
+        var kept = skipStatements(tokens, methods);
+
+        var parser = new JavammParser(new CommonTokenStream(new ListTokenSource(kept)));
+        parser.removeErrorListeners();
+        parser.setErrorHandler(new FailFastErrorStrategy());
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+
+        try {
+            root = JmmParserImpl.toJmmNode(parser.program(), parser);
+        } catch (ParseCancellationException e) {
+            return fullParse();
+        }
+
+        if (names != null) {
+            names.internAttributes(root);
+        }
+
+        // Methods appear in the AST in the same order as in the tokens
+        var methodNodes = root.getDescendants(Kind.METHOD_DECL);
+        if (methodNodes.size() != methods.size()) {
+            return fullParse();
+        }
+        for (int i = 0; i < methodNodes.size(); i++) {
+            skeletons.put(methodNodes.get(i), methods.get(i));
+        }
+
+        return new JmmParserResult(root, new ArrayList<>(), config);
+    }
+
+    /**
+     * @param method
+     * @return true if the given METHOD_DECL node was not materialized yet
+     */
+    public boolean isSkeleton(JmmNode method) {
+        return skeletons.containsKey(method);
+    }
+
+    /**
+     * Parses the complete declaration of a skeleton method and replaces it in the AST.
+     *
+     * @param method a METHOD_DECL node of the last parse
+     * @return the complete METHOD_DECL node (the same node if it was already complete), or empty if the method has
+     * syntax errors
+     */
+    public Optional<JmmNode> materialize(JmmNode method) {
+        var tokens = skeletons.get(method);
+        if (tokens == null) {
+            return Optional.of(method);
+        }
+
+        var region = source.substring(tokens.start().getStartIndex(), tokens.stop().getStopIndex() + 1);
+        var parsed = JmmParserImpl.parseMethods(region, tokens.start().getLine(),
+                tokens.start().getCharPositionInLine(), names);
+        if (parsed == null || parsed.size() != 1) {
+            return Optional.empty();
+        }
+
+        var complete = parsed.get(0);
+        var parent = method.getParent();
+        int index = parent.removeChild(method);
+        parent.add(complete, index);
+        skeletons.remove(method);
+
+        return Optional.of(complete);
+    }
+
+    /**
+     * Materializes every skeleton method of the last parse.
+     *
+     * @return the result with the complete AST, the same as the one of {@link JmmParserImpl}, or the result of a full
+     * parse with its reports if any method has syntax errors
+     */
+    public JmmParserResult materializeAll() {
+        if (root == null) {
+            return fullParse();
+        }
+
+        for (var method : new ArrayList<>(skeletons.keySet())) {
+            if (materialize(method).isEmpty()) {
+                return fullParse();
+            }
+        }
+
+        return new JmmParserResult(root, new ArrayList<>(), config);
+    }
+
+    private JmmParserResult fullParse() {
+        var result = new JmmParserImpl(names).parse(source, config);
+
+        root = result.getRootNode();
+        skeletons.clear();
+
+        return result;
+    }
+
+    /**
+     * Returns the tokens that remain after removing the statements of every method body, and collects the first and
+     * last token of each method.
+     * <p>
+     * A method body is a '{' right after a ')' at class level. Tokens that do not fit this shape are kept, so the
+     * parser reports them.
+     */
+    private static List<Token> skipStatements(List<? extends Token> tokens, List<MethodTokens> methods) {
+        var kept = new ArrayList<Token>(tokens.size());
+
+        int depth = 0;
+        int memberStart = -1;
+        int i = 0;
+        while (i < tokens.size()) {
+            var token = tokens.get(i);
+            var text = token.getText();
+
+            if (depth == 1 && text.equals("{") && i > 0 && tokens.get(i - 1).getText().equals(")")) {
+                int close = findClosingBrace(tokens, i);
+                if (close < 0) {
+                    // Unbalanced braces, keep the rest and let the parser fail
+                    kept.addAll(tokens.subList(i, tokens.size()));
+                    break;
+                }
+
+                // Keep '{', the leading local variable declarations and '}'
+                kept.add(token);
+                int stmts = i + 1;
+                int next;
+                while ((next = matchVarDecl(tokens, stmts)) > 0) {
+                    kept.addAll(tokens.subList(stmts, next));
+                    stmts = next;
+                }
+                kept.add(tokens.get(close));
+
+                methods.add(new MethodTokens(tokens.get(memberStart), tokens.get(close)));
+                memberStart = close + 1;
+                i = close + 1;
+                continue;
+            }
+
+            kept.add(token);
+
+            if (text.equals("{")) {
+                depth++;
+                if (depth == 1) {
+                    memberStart = i + 1;
+                }
+            } else if (text.equals("}")) {
+                depth--;
+            } else if (depth == 1 && text.equals(";")) {
+                memberStart = i + 1;
+            }
+
+            i++;
+        }
+
+        return kept;
+    }
+
+    private static int findClosingBrace(List<? extends Token> tokens, int open) {
+        int depth = 0;
+        for (int i = open; i < tokens.size(); i++) {
+            var text = tokens.get(i).getText();
+            if (text.equals("{")) {
+                depth++;
+            } else if (text.equals("}")) {
+                depth--;
+                if (depth == 0) {
+                    return i;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Matches the rule varDecl at the given token: baseType ('[' ']')? ID ('[' ']')? ';'
+     *
+     * @return the index after the ';', or -1 if the tokens are not a local variable declaration
+     */
+    private static int matchVarDecl(List<? extends Token> tokens, int i) {
+        if (i >= tokens.size()) {
+            return -1;
+        }
+
+        // baseType
+        var type = tokens.get(i).getType();
+        if (type == JavammParser.INT) {
+            i++;
+            if (textAt(tokens, i, "...")) {
+                i++;
+            }
+        } else if (type == JavammParser.BOOL || type == JavammParser.ID || textAt(tokens, i, "void")) {
+            i++;
+        } else {
+            return -1;
+        }
+
+        if (textAt(tokens, i, "[") && textAt(tokens, i + 1, "]")) {
+            i += 2;
+        }
+
+        if (i >= tokens.size() || tokens.get(i).getType() != JavammParser.ID) {
+            return -1;
+        }
+        i++;
+
+        if (textAt(tokens, i, "[") && textAt(tokens, i + 1, "]")) {
+            i += 2;
+        }
+
+        return textAt(tokens, i, ";") ? i + 1 : -1;
+    }
+
+    private static boolean textAt(List<? extends Token> tokens, int i, String text) {
+        return i < tokens.size() && tokens.get(i).getType() != Token.EOF && tokens.get(i).getText().equals(text);
+    }
+
+    /**
+     * First and last token of a complete method declaration.
+     */
+    private record MethodTokens(Token start, Token stop) {
+    }
+}
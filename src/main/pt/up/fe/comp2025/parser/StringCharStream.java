@@ -0,0 +1,92 @@
+package pt.up.fe.comp2025.parser;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.IntStream;
+import org.antlr.v4.runtime.misc.Interval;
+
+/**
+ * Character stream that reads directly from a String.
+ * <p>
+ * Unlike ANTLRInputStream, the code is not copied to a new array when the stream is created, so the cost of setting
+ * up a parse does not depend on the size of the input.
+ */
+class StringCharStream implements CharStream {
+
+    private final String code;
+    private int index;
+
+    public StringCharStream(String code) {
+        this.code = code;
+        this.index = 0;
+    }
+
+    @Override
+    public void consume() {
+        if (index >= code.length()) {
+            throw new IllegalStateException("cannot consume EOF");
+        }
+        index++;
+    }
+
+    @Override
+    public int LA(int i) {
+        if (i == 0) {
+            return 0;
+        }
+
+        // LA(-1) is the previous character
+        int position = i < 0 ? index + i : index + i - 1;
+        if (position < 0 || position >= code.length()) {
+            return IntStream.EOF;
+        }
+
+        return code.charAt(position);
+    }
+
+    @Override
+    public int mark() {
+        return -1;
+    }
+
+    @Override
+    public void release(int marker) {
+        // The whole input is always available
+    }
+
+    @Override
+    public int index() {
+        return index;
+    }
+
+    @Override
+    public void seek(int index) {
+        this.index = Math.min(index, code.length());
+    }
+
+    @Override
+    public int size() {
+        return code.length();
+    }
+
+    @Override
+    public String getSourceName() {
+        return IntStream.UNKNOWN_SOURCE_NAME;
+    }
+
+    @Override
+    public String getText(Interval interval) {
+        int start = interval.a;
+        int stop = Math.min(interval.b, code.length() - 1);
+
+        if (start >= code.length() || stop < start) {
+            return "";
+        }
+
+        return code.substring(start, stop + 1);
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
@@ -0,0 +1,208 @@
+package pt.up.fe.comp2025.symboltable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the declarations of a class file, without loading the class.
+ * <p>
+ * Only the header is parsed: the constant pool is indexed by offset without decoding its entries, and only the
+ * strings of the class name, superclass and member names and descriptors are decoded. Attributes, including the code
+ * of the methods, are skipped.
+ */
+public class ClassFileReader {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int ACC_PRIVATE = 0x0002;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    private final byte[] bytes;
+    // Offset of each constant pool entry, after its tag
+    private int[] constants;
+    private int position;
+
+    private ClassFileReader(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * @param bytes contents of a class file
+     * @return the declarations of the class
+     * @throws IllegalArgumentException if the bytes are not a valid class file
+     */
+    public static ClassSignature read(byte[] bytes) {
+        try {
+            return new ClassFileReader(bytes).read();
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated class file", e);
+        }
+    }
+
+    private ClassSignature read() {
+        if (readInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a class file");
+        }
+
+        // Version
+        position += 4;
+
+        readConstantPool();
+
+        // Access flags
+        position += 2;
+        var name = className(readShort());
+        int superIndex = readShort();
+        var superName = superIndex != 0 ? className(superIndex) : null;
+        if ("java/lang/Object".equals(superName)) {
+            superName = null;
+        }
+
+        int interfaces = readShort();
+        position += 2 * interfaces;
+
+        var fields = new HashMap<String, String>();
+        int fieldCount = readShort();
+        for (int i = 0; i < fieldCount; i++) {
+            int access = readShort();
+            int nameIndex = readShort();
+            int descriptorIndex = readShort();
+            skipAttributes();
+
+            if ((access & ACC_PRIVATE) == 0) {
+                fields.put(utf8(nameIndex), utf8(descriptorIndex));
+            }
+        }
+
+        var methods = new HashMap<String, List<String>>();
+        int methodCount = readShort();
+        for (int i = 0; i < methodCount; i++) {
+            int access = readShort();
+            int nameIndex = readShort();
+            int descriptorIndex = readShort();
+            skipAttributes();
+
+            // Constructors and static initializers start with '<'
+            if ((access & ACC_PRIVATE) != 0 || bytes[constants[nameIndex] + 2] == '<') {
+                continue;
+            }
+
+            methods.computeIfAbsent(utf8(nameIndex), key -> new ArrayList<>(1)).add(utf8(descriptorIndex));
+        }
+
+        return new ClassSignature(name, superName, fields, methods);
+    }
+
+    private void readConstantPool() {
+        int count = readShort();
+        constants = new int[count];
+
+        for (int i = 1; i < count; i++) {
+            int tag = bytes[position++];
+            constants[i] = position;
+
+            position += switch (tag) {
+                case CONSTANT_UTF8 -> 2 + readShort(position);
+                case CONSTANT_CLASS, CONSTANT_STRING, CONSTANT_METHOD_TYPE, CONSTANT_MODULE, CONSTANT_PACKAGE -> 2;
+                case CONSTANT_METHOD_HANDLE -> 3;
+                case CONSTANT_INTEGER, CONSTANT_FLOAT, CONSTANT_FIELDREF, CONSTANT_METHODREF,
+                     CONSTANT_INTERFACE_METHODREF, CONSTANT_NAME_AND_TYPE, CONSTANT_DYNAMIC,
+                     CONSTANT_INVOKE_DYNAMIC -> 4;
+                case CONSTANT_LONG, CONSTANT_DOUBLE -> {
+                    // Takes two entries
+                    i++;
+                    yield 8;
+                }
+                default -> throw new IllegalArgumentException("Unknown constant pool tag " + tag + " at " + (position - 1));
+            };
+        }
+    }
+
+    private void skipAttributes() {
+        int count = readShort();
+        for (int i = 0; i < count; i++) {
+            // Name, then the length of the contents
+            position += 2;
+            int length = readInt();
+            position += length;
+        }
+    }
+
+    private String className(int index) {
+        return utf8(readShort(constants[index]));
+    }
+
+    /**
+     * Decodes a UTF8 constant, which is in the modified UTF-8 of class files.
+     */
+    private String utf8(int index) {
+        int offset = constants[index];
+        int length = readShort(offset);
+        int start = offset + 2;
+        int end = start + length;
+
+        // Names are almost always ASCII
+        boolean ascii = true;
+        for (int i = start; i < end && ascii; i++) {
+            ascii = bytes[i] >= 0;
+        }
+        if (ascii) {
+            return new String(bytes, start, length, StandardCharsets.ISO_8859_1);
+        }
+
+        var chars = new char[length];
+        int count = 0;
+        int i = start;
+        while (i < end) {
+            int b = bytes[i] & 0xFF;
+            if (b < 0x80) {
+                chars[count++] = (char) b;
+                i++;
+            } else if ((b & 0xE0) == 0xC0) {
+                chars[count++] = (char) (((b & 0x1F) << 6) | (bytes[i + 1] & 0x3F));
+                i += 2;
+            } else {
+                chars[count++] = (char) (((b & 0x0F) << 12) | ((bytes[i + 1] & 0x3F) << 6) | (bytes[i + 2] & 0x3F));
+                i += 3;
+            }
+        }
+
+        return new String(chars, 0, count);
+    }
+
+    private int readShort() {
+        int value = readShort(position);
+        position += 2;
+        return value;
+    }
+
+    private int readShort(int offset) {
+        return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+    }
+
+    private int readInt() {
+        int value = (readShort(position) << 16) | readShort(position + 2);
+        position += 4;
+        return value;
+    }
+}
@@ -0,0 +1,260 @@
+package pt.up.fe.comp2025.symboltable;
+
+import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
+import pt.up.fe.comp.jmm.analysis.table.Type;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.ConfigOptions;
+import pt.up.fe.comp2025.ast.Kind;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.ZipFile;
+
+/**
+ * Compiled classes imported by a compilation, read from the folders and jars of
+ * {@link ConfigOptions#getLibraryPath()}.
+ * <p>
+ * The imports and their superclasses are resolved once, when the symbol table is built, through the
+ * {@link LibraryIndex} of {@link ConfigOptions#getLibraryIndex()}, so only the class files that changed since the
+ * last compilation are read. Lookups during the analysis only use the resolved classes, see {@link #of(SymbolTable)}.
+ * <p>
+ * Class files and jars that cannot be read leave their imports unresolved, with a warning in {@link #getReports()}.
+ */
+public class ClassPath {
+
+    /**
+     * Attribute of the symbol table with the imported classes.
+     */
+    public static final String ATTRIBUTE = "classPath";
+
+    private static final String CLASS_EXTENSION = ".class";
+    private static final String JAR_EXTENSION = ".jar";
+
+    private final List<Path> entries;
+    private final LibraryIndex index;
+    // Binary names of the imports, by simple name
+    private final Map<String, String> imports;
+    // Imported classes and their superclasses, by binary name
+    private final Map<String, ClassSignature> classes;
+    private final List<Report> reports;
+
+    private ClassPath(List<Path> entries, LibraryIndex index) {
+        this.entries = entries;
+        this.index = index;
+        this.imports = new HashMap<>();
+        this.classes = new HashMap<>();
+        this.reports = new ArrayList<>();
+    }
+
+    /**
+     * Resolves the imports of the given program.
+     *
+     * @param root
+     * @param config
+     * @return the imported classes, or null if the config has no library path
+     */
+    public static ClassPath forConfig(JmmNode root, Map<String, String> config) {
+        var libraryPath = ConfigOptions.getLibraryPath(config);
+        if (libraryPath == null || libraryPath.isBlank()) {
+            return null;
+        }
+
+        var entries = new ArrayList<Path>();
+        for (var entry : libraryPath.split(File.pathSeparator)) {
+            if (!entry.isBlank()) {
+                entries.add(Path.of(entry).toAbsolutePath().normalize());
+            }
+        }
+
+        var classPath = new ClassPath(List.copyOf(entries), LibraryIndex.forFile(ConfigOptions.getLibraryIndex(config)));
+        for (var child : root.getChildren()) {
+            if (Kind.IMPORT_DECL.check(child)) {
+                classPath.resolveImport(child);
+            }
+        }
+        // Only a cache, a failure to save it is ignored
+        classPath.index.save();
+
+        return classPath;
+    }
+
+    /**
+     * @param table
+     * @return the imported classes attached to the given symbol table, or null if there are none
+     */
+    public static ClassPath of(SymbolTable table) {
+        return table.hasAttribute(ATTRIBUTE) ? table.getObject(ATTRIBUTE, ClassPath.class) : null;
+    }
+
+    private void resolveImport(JmmNode importDecl) {
+        var binaryName = new StringBuilder();
+
+        // The path is stored as a list, e.g. "[foo, bar]"
+        var path = importDecl.getOptional("path").orElse("[]");
+        for (var part : path.substring(1, path.length() - 1).split(",")) {
+            if (!part.isBlank()) {
+                binaryName.append(part.trim()).append('/');
+            }
+        }
+        binaryName.append(importDecl.get("name"));
+
+        var name = binaryName.toString();
+        if (load(name, importDecl) != null) {
+            imports.put(importDecl.get("name"), name);
+        }
+    }
+
+    /**
+     * Loads a class and its superclasses.
+     *
+     * @param importDecl the import that needs the class, where problems reading it are reported
+     * @return the class, or null if it is not in the library path or could not be read
+     */
+    private ClassSignature load(String binaryName, JmmNode importDecl) {
+        var first = find(binaryName, importDecl);
+
+        var signature = first;
+        var visited = new HashSet<String>();
+        while (signature != null && visited.add(signature.getName())) {
+            classes.put(signature.getName(), signature);
+            signature = signature.getSuperName() != null ? find(signature.getSuperName(), importDecl) : null;
+        }
+
+        return first;
+    }
+
+    /**
+     * @return the class in the first entry of the library path that has it, or null if none has it or it could not be
+     * read
+     */
+    private ClassSignature find(String binaryName, JmmNode importDecl) {
+        var fileName = binaryName + CLASS_EXTENSION;
+
+        for (var entry : entries) {
+            var isJar = entry.toString().endsWith(JAR_EXTENSION);
+            var location = isJar ? entry + "!/" + fileName : entry.resolve(fileName).toString();
+            // Missing files have time 0, as the locations without a class are stored too
+            var lastModified = (isJar ? entry : entry.resolve(fileName)).toFile().lastModified();
+
+            var cached = index.get(location, lastModified);
+            ClassSignature signature;
+            if (cached != null) {
+                signature = cached.signature();
+            } else {
+                try {
+                    signature = read(entry, fileName, isJar);
+                } catch (IOException | IllegalArgumentException e) {
+                    // Not stored in the index, so it is reported again until the file is fixed
+                    reports.add(Report.newWarn(Stage.SEMANTIC, importDecl.getLine(), importDecl.getColumn(),
+                            "Could not read '" + fileName + "' from '" + entry + "', class '"
+                                    + binaryName.replace('/', '.') + "' is not resolved: " + e.getMessage(), null));
+                    return null;
+                }
+                index.put(location, lastModified, signature);
+            }
+
+            if (signature != null) {
+                return signature;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return the class, or null if the entry does not have it
+     * @throws IOException              if the file or the jar cannot be read
+     * @throws IllegalArgumentException if the class file is not valid
+     */
+    private static ClassSignature read(Path entry, String fileName, boolean isJar) throws IOException {
+        if (!isJar) {
+            var file = entry.resolve(fileName);
+            return Files.isRegularFile(file) ? ClassFileReader.read(Files.readAllBytes(file)) : null;
+        }
+
+        if (!Files.isRegularFile(entry)) {
+            return null;
+        }
+
+        try (var jar = new ZipFile(entry.toFile())) {
+            var jarEntry = jar.getEntry(fileName);
+            if (jarEntry == null) {
+                return null;
+            }
+
+            try (var in = jar.getInputStream(jarEntry)) {
+                return ClassFileReader.read(in.readAllBytes());
+            }
+        }
+    }
+
+    /**
+     * @return problems found while resolving the imports, as warnings
+     */
+    public List<Report> getReports() {
+        return reports;
+    }
+
+    /**
+     * @param className simple name of an imported class
+     * @return the class, or null if it is not imported or not in the library path
+     */
+    public ClassSignature getImport(String className) {
+        var binaryName = imports.get(className);
+        return binaryName != null ? classes.get(binaryName) : null;
+    }
+
+    /**
+     * Finds the return type of a method of an imported class, declared in the class or in its superclasses.
+     *
+     * @param className simple name of an imported class
+     * @param methodName
+     * @return the return type, or null if the method was not found or its type is not known
+     */
+    public Type findReturnType(String className, String methodName) {
+        var signature = getImport(className);
+        var visited = new HashSet<String>();
+
+        while (signature != null && visited.add(signature.getName())) {
+            if (signature.getMethods().containsKey(methodName)) {
+                return signature.getReturnType(methodName);
+            }
+
+            signature = signature.getSuperName() != null ? classes.get(signature.getSuperName()) : null;
+        }
+
+        return null;
+    }
+
+    /**
+     * @return the imports and the declarations of the classes they resolved to, in the same order for the same
+     * classes, so the results that depend on them can tell when a class changed
+     */
+    public String getFingerprint() {
+        var fingerprint = new StringBuilder();
+        fingerprint.append(new TreeMap<>(imports)).append('\n');
+
+        for (var signature : new TreeMap<>(classes).values()) {
+            fingerprint.append(signature.getName()).append(' ').append(signature.getSuperName())
+                    .append(' ').append(new TreeMap<>(signature.getFields()))
+                    .append(' ').append(new TreeMap<>(signature.getMethods())).append('\n');
+        }
+
+        return fingerprint.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "ClassPath" + imports.keySet();
+    }
+}
@@ -0,0 +1,108 @@
+package pt.up.fe.comp2025.symboltable;
+
+import pt.up.fe.comp.jmm.analysis.table.Type;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Declarations of a compiled class, as read by {@link ClassFileReader}: its name, its superclass and the descriptors
+ * of its fields and methods.
+ * <p>
+ * Names are binary names, e.g. "foo/bar/A". Only the members that can be used from other classes are kept, i.e. not
+ * the private ones nor the constructors.
+ */
+public class ClassSignature {
+
+    private final String name;
+    private final String superName;
+    private final Map<String, String> fields;
+    private final Map<String, List<String>> methods;
+
+    public ClassSignature(String name, String superName, Map<String, String> fields,
+                          Map<String, List<String>> methods) {
+        this.name = name;
+        this.superName = superName;
+        this.fields = Map.copyOf(fields);
+
+        var copy = HashMap.<String, List<String>>newHashMap(methods.size());
+        methods.forEach((methodName, descriptors) -> copy.put(methodName, List.copyOf(descriptors)));
+        this.methods = Map.copyOf(copy);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the binary name of the superclass, or null for java/lang/Object
+     */
+    public String getSuperName() {
+        return superName;
+    }
+
+    public Map<String, String> getFields() {
+        return fields;
+    }
+
+    public Map<String, List<String>> getMethods() {
+        return methods;
+    }
+
+    public Set<String> getMethodNames() {
+        return methods.keySet();
+    }
+
+    /**
+     * @param methodName
+     * @return the return type of the method, or null if the class does not declare it, its overloads have different
+     * return types, or the type has no Java-- equivalent
+     */
+    public Type getReturnType(String methodName) {
+        var descriptors = methods.get(methodName);
+        if (descriptors == null) {
+            return null;
+        }
+
+        String returnDescriptor = null;
+        for (var descriptor : descriptors) {
+            var current = descriptor.substring(descriptor.indexOf(')') + 1);
+            if (returnDescriptor != null && !returnDescriptor.equals(current)) {
+                return null;
+            }
+            returnDescriptor = current;
+        }
+
+        return toType(returnDescriptor);
+    }
+
+    /**
+     * @param descriptor field descriptor, or return type of a method descriptor
+     * @return the Java-- type, or null if the type has no equivalent (e.g. long or int[][])
+     */
+    public static Type toType(String descriptor) {
+        boolean isArray = descriptor.startsWith("[");
+        var element = isArray ? descriptor.substring(1) : descriptor;
+
+        var name = switch (element.charAt(0)) {
+            case 'I' -> "int";
+            case 'Z' -> "boolean";
+            case 'V' -> isArray ? null : "void";
+            case 'L' -> {
+                var binaryName = element.substring(1, element.length() - 1);
+                yield binaryName.substring(binaryName.lastIndexOf('/') + 1);
+            }
+            default -> null;
+        };
+
+        return name != null ? new Type(name, isArray) : null;
+    }
+
+    @Override
+    public String toString() {
+        return "ClassSignature[" + name + " extends " + superName + ", fields=" + fields.keySet()
+                + ", methods=" + methods.keySet() + "]";
+    }
+}
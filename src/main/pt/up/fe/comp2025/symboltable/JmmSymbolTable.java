@@ -1,6 +1,7 @@
 package pt.up.fe.comp2025.symboltable;
 
 import pt.up.fe.comp.jmm.analysis.table.Symbol;
+import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
 import pt.up.fe.comp.jmm.analysis.table.Type;
 import pt.up.fe.comp2025.ast.TypeUtils;
 import pt.up.fe.specs.util.SpecsCheck;
@@ -20,7 +21,14 @@ public class JmmSymbolTable extends AJmmSymbolTable {
     private final Map<String, List<Symbol>> locals;
     private final String parent;
 
+    // Symbols visible in each method, and in code outside of methods
+    private final Map<String, Map<String, ScopedSymbol>> methodScopes;
+    private final Map<String, ScopedSymbol> classScope;
 
+
+    /**
+     * The table keeps immutable copies of the given collections.
+     */
     public JmmSymbolTable(String className,
                           List<String> imports,
                           List<Symbol> fields,
@@ -30,13 +38,105 @@ public class JmmSymbolTable extends AJmmSymbolTable {
                           Map<String, List<Symbol>> locals, String parent) {
 
         this.className = className;
-        this.imports = imports;
-        this.fields = fields;
-        this.methods = methods;
-        this.returnTypes = returnTypes;
-        this.params = params;
-        this.locals = locals;
+        this.imports = List.copyOf(imports);
+        this.fields = List.copyOf(fields);
+        this.methods = List.copyOf(methods);
+        this.returnTypes = Map.copyOf(returnTypes);
+        this.params = copyOf(params);
+        this.locals = copyOf(locals);
         this.parent = parent;
+
+        this.classScope = buildClassScope(this.fields);
+        var scopes = HashMap.<String, Map<String, ScopedSymbol>>newHashMap(this.methods.size());
+        for (var method : this.methods) {
+            scopes.put(method, buildMethodScope(this.params.get(method), this.locals.get(method)));
+        }
+        this.methodScopes = Map.copyOf(scopes);
+    }
+
+    private static Map<String, List<Symbol>> copyOf(Map<String, List<Symbol>> symbols) {
+        var copy = HashMap.<String, List<Symbol>>newHashMap(symbols.size());
+        symbols.forEach((method, methodSymbols) -> copy.put(method, List.copyOf(methodSymbols)));
+        return Map.copyOf(copy);
+    }
+
+    private static Map<String, ScopedSymbol> buildClassScope(List<Symbol> fields) {
+        var scope = HashMap.<String, ScopedSymbol>newHashMap(fields.size());
+        addAll(scope, fields, ScopedSymbol.Scope.FIELD);
+        return Map.copyOf(scope);
+    }
+
+    /**
+     * Fields are not copied to the scope of each method, they are looked up in the class scope afterwards.
+     */
+    private static Map<String, ScopedSymbol> buildMethodScope(List<Symbol> params, List<Symbol> locals) {
+        // Locals shadow parameters
+        var scope = new HashMap<String, ScopedSymbol>();
+        addAll(scope, locals, ScopedSymbol.Scope.LOCAL);
+        addAll(scope, params, ScopedSymbol.Scope.PARAMETER);
+        return Map.copyOf(scope);
+    }
+
+    private static void addAll(Map<String, ScopedSymbol> scope, List<Symbol> symbols, ScopedSymbol.Scope kind) {
+        if (symbols == null) {
+            return;
+        }
+
+        // With duplicated names, the first declaration is the one found
+        for (int i = 0; i < symbols.size(); i++) {
+            var symbol = symbols.get(i);
+            scope.putIfAbsent(symbol.getName(), new ScopedSymbol(symbol, kind, i));
+        }
+    }
+
+    /**
+     * Finds the local, parameter or field a name refers to inside a method, in constant time.
+     *
+     * @param methodSignature the method, or null for code outside of methods
+     * @param name
+     * @return the symbol, or null if there is no variable with that name
+     */
+    public ScopedSymbol resolve(String methodSignature, String name) {
+        // Locals and parameters shadow fields
+        var scope = methodSignature != null ? methodScopes.get(methodSignature) : null;
+        var symbol = scope != null ? scope.get(name) : null;
+        return symbol != null ? symbol : classScope.get(name);
+    }
+
+    /**
+     * Same as {@link #resolve(String, String)}, for any symbol table. Other tables have no scope maps, the lists of
+     * symbols are searched instead.
+     * <p>
+     * Names that are not declared in the class are also searched in the fields of its superclasses, when they are in
+     * the {@link ProjectIndex} attached to the table.
+     */
+    public static ScopedSymbol resolve(SymbolTable table, String methodSignature, String name) {
+        var symbol = table instanceof JmmSymbolTable jmmTable
+                ? jmmTable.resolve(methodSignature, name)
+                : resolveInLists(table, methodSignature, name);
+        if (symbol != null) {
+            return symbol;
+        }
+
+        var index = ProjectIndex.of(table);
+        var superName = table.getSuper();
+        if (index == null || superName == null || superName.isEmpty()) {
+            return null;
+        }
+
+        return index.findField(superName, name);
+    }
+
+    private static ScopedSymbol resolveInLists(SymbolTable table, String methodSignature, String name) {
+        if (methodSignature != null && table.getMethods().contains(methodSignature)) {
+            var symbol = buildMethodScope(table.getParameters(methodSignature),
+                    table.getLocalVariables(methodSignature)).get(name);
+            if (symbol != null) {
+                return symbol;
+            }
+        }
+
+        return buildClassScope(table.getFields()).get(name);
     }
 
     @Override
@@ -7,6 +7,7 @@ import pt.up.fe.comp.jmm.report.Report;
 import pt.up.fe.comp.jmm.report.Stage;
 import pt.up.fe.comp2025.ast.Kind;
 import pt.up.fe.comp2025.ast.TypeUtils;
+import pt.up.fe.comp2025.utils.NameTable;
 import pt.up.fe.specs.util.SpecsCheck;
 
 import java.util.ArrayList;
@@ -21,6 +22,21 @@ public class JmmSymbolTableBuilder {
     // In case we want to already check for some semantic errors during symbol table building.
     private List<Report> reports;
 
+    // Names read from the AST are already interned by the parser, only the names built here need the table
+    private final NameTable names;
+
+    public JmmSymbolTableBuilder() {
+        this(null);
+    }
+
+    public JmmSymbolTableBuilder(NameTable names) {
+        this.names = names;
+    }
+
+    private String intern(String name) {
+        return names != null ? names.intern(name) : name;
+    }
+
     public List<Report> getReports() {
         return reports;
     }
@@ -34,87 +50,113 @@ public class JmmSymbolTableBuilder {
                 null);
     }
 
+    /**
+     * Builds the table in a single traversal of the imports and of the members of the class.
+     */
     public JmmSymbolTable build(JmmNode root) {
         reports = new ArrayList<>();
 
-        // Extract imports
-        List<String> imports = extractImports(root);
-
-        // Find class declaration
+        // Extract imports and find class declaration
+        var rootChildren = root.getChildren();
+        List<String> imports = new ArrayList<>(rootChildren.size());
         JmmNode classDecl = null;
-        for (JmmNode child : root.getChildren()) {
-            if (Kind.CLASS_DECL.check(child)) {
+        for (JmmNode child : rootChildren) {
+            if (Kind.IMPORT_DECL.check(child)) {
+                imports.add(intern(child.get("name")));
+            } else if (classDecl == null && Kind.CLASS_DECL.check(child)) {
                 classDecl = child;
-                break;
             }
         }
 
         SpecsCheck.checkArgument(classDecl != null, () -> "Expected a class declaration");
         String className = classDecl.get("name");
 
-        // Extract fields
-        List<Symbol> fields = extractFields(classDecl);
+        // Fields and methods, sized for the worst case, the table keeps exact copies
+        var members = classDecl.getChildren();
+        int numMembers = members.size();
+        List<Symbol> fields = new ArrayList<>(numMembers);
+        List<String> methods = new ArrayList<>(numMembers);
+        Map<String, Type> returnTypes = HashMap.newHashMap(numMembers);
+        Map<String, List<Symbol>> params = HashMap.newHashMap(numMembers);
+        Map<String, List<Symbol>> locals = HashMap.newHashMap(numMembers);
+
+        for (JmmNode member : members) {
+            if (Kind.VAR_DECL.check(member)) {
+                Type type = processType(member.getChild(0)); // First child should be type
+                fields.add(new Symbol(type, member.get("name")));
+            } else if (Kind.METHOD_DECL.check(member)) {
+                if (!member.hasAttribute("name")) {
+                    // Report or log an error if a METHOD_DECL does not have a "name"
+                    reports.add(newError(member, "METHOD_DECL node missing 'name' attribute."));
+                    continue; // Skip this method
+                }
 
-        // Build methods and related data
-        List<String> methods = buildMethods(classDecl);
-        Map<String, Type> returnTypes = buildReturnTypes(classDecl);
-        Map<String, List<Symbol>> params = buildParams(classDecl);
-        Map<String, List<Symbol>> locals = buildLocals(classDecl);
+                String name = member.get("name");
+                methods.add(name);
+                buildMethod(member, name, returnTypes, params, locals);
+            }
+        }
 
         // Handle super class
         String superClass = "";
         if (classDecl.getObject("isSub", Boolean.class)) {
-            superClass = classDecl.get("parent");
+            superClass = intern(classDecl.get("parent"));
         }
 
         return new JmmSymbolTable(className, imports, fields, methods, returnTypes,
                 params, locals, superClass);
     }
 
-    private List<String> extractImports(JmmNode root) {
-        List<String> imports = new ArrayList<>();
+    private void buildMethod(JmmNode method, String name, Map<String, Type> returnTypes,
+                             Map<String, List<Symbol>> params, Map<String, List<Symbol>> locals) {
+        Type returnType = null;
+        List<Symbol> methodParams = new ArrayList<>();
+        List<Symbol> methodLocals = new ArrayList<>();
+
+        for (JmmNode child : method.getChildren()) {
+            if (Kind.TYPE.check(child)) {
+                // The first type is the return type
+                if (returnType == null) {
+                    returnType = processType(child);
+                }
+            } else if (Kind.PARAM_LIST.check(child)) {
+                for (JmmNode param : child.getChildren()) {
+                    if (Kind.PARAM.check(param)) {
+                        methodParams.add(new Symbol(paramType(param), param.get("name")));
+                    }
+                }
+            } else if (Kind.VAR_DECL.check(child)) {
+                Type localType = TypeUtils.newIntType(); // Default
+
+                // Get the type from the first child
+                if (child.getNumChildren() > 0) {
+                    JmmNode typeNode = child.getChild(0);
+                    if (Kind.TYPE.check(typeNode)) {
+                        localType = processType(typeNode);
+                    }
+                }
 
-        for (JmmNode child : root.getChildren()) {
-            if (Kind.IMPORT_DECL.check(child)) {
-                StringBuilder importPath = new StringBuilder();
-
-                // Get path attributes - using getAttribute instead of getListObject
-//                if (child.getAttributes().contains("path")) {
-//                    // The path might be stored differently in your AST
-//                    // This is a guess based on common patterns
-//                    String pathStr = child.get("path");
-//                    String[] pathParts = pathStr.split("\\.");
-//
-//                    for (String part : pathParts) {
-//                        importPath.append(part).append(".");
-//                    }
-//                }
-
-                // Add the final name
-                importPath.append(child.get("name"));
-                imports.add(importPath.toString());
+                methodLocals.add(new Symbol(localType, child.get("name")));
             }
         }
 
-        return imports;
+        if (returnType == null) {
+            returnType = name.equals("main") ? new Type("void", false) : TypeUtils.newIntType(); // Default
+        }
+
+        returnTypes.put(name, returnType);
+        params.put(name, methodParams);
+        locals.put(name, methodLocals);
     }
 
-    private List<Symbol> extractFields(JmmNode classDecl) {
-        List<Symbol> fields = new ArrayList<>();
-
-        for (JmmNode child : classDecl.getChildren()) {
-            if (Kind.VAR_DECL.check(child)) {
-                // Check if this var decl is directly under class (not inside a method)
-                JmmNode parent = child.getParent();
-                if (Kind.CLASS_DECL.check(parent)) {
-                    Type type = processType(child.getChildren().get(0)); // First child should be type
-                    String name = child.get("name");
-                    fields.add(new Symbol(type, name));
-                }
+    private Type paramType(JmmNode param) {
+        for (JmmNode paramChild : param.getChildren()) {
+            if (Kind.TYPE.check(paramChild)) {
+                return processType(paramChild);
             }
         }
 
-        return fields;
+        return TypeUtils.newIntType(); // Default
     }
 
     private Type processType(JmmNode typeNode) {
@@ -150,7 +192,7 @@ public class JmmSymbolTableBuilder {
             String varargs = typeNode.getChild(0).getOptional("args").orElse(null);
 
             if(varargs!=null){
-                typeName = typeName + "...";
+                typeName = intern(typeName + "...");
                 isArray = true;
             }
             return new Type(typeName, isArray);
@@ -161,135 +203,4 @@ public class JmmSymbolTableBuilder {
 
         return TypeUtils.newIntType();
     }
-
-    private List<String> buildMethods(JmmNode classDecl) {
-        List<String> methods = new ArrayList<>();
-
-        for (JmmNode child : classDecl.getChildren()) {
-            if (Kind.METHOD_DECL.check(child)) {
-                if (child.hasAttribute("name")) {
-                    methods.add(child.get("name"));
-                } else {
-                    // Report or log an error if a METHOD_DECL does not have a "name"
-                    reports.add(newError(child, "METHOD_DECL node missing 'name' attribute."));
-                }
-            }
-        }
-
-        return methods;
-    }
-
-    private Map<String, Type> buildReturnTypes(JmmNode classDecl) {
-        Map<String, Type> map = new HashMap<>();
-
-        for (JmmNode method : classDecl.getChildren()) {
-            if (Kind.METHOD_DECL.check(method)) {
-                // Check if the method has a name attribute
-                if (!method.hasAttribute("name")) {
-                    reports.add(newError(method, "METHOD_DECL node missing 'name' attribute."));
-                    continue; // Skip this method
-                }
-
-                String name = method.get("name");
-
-                // Find the return type node
-                Type returnType = TypeUtils.newIntType(); // Default
-                if(name.equals("main")){
-                    returnType = new Type("void",false);
-                }
-                for (JmmNode child : method.getChildren()) {
-                    if (Kind.TYPE.check(child)) {
-                        // This might be the return type
-                        returnType = processType(child);
-                        break;
-                    }
-                }
-
-                map.put(name, returnType);
-            }
-        }
-
-        return map;
-    }
-
-    private Map<String, List<Symbol>> buildParams(JmmNode classDecl) {
-        Map<String, List<Symbol>> map = new HashMap<>();
-
-        for (JmmNode method : classDecl.getChildren()) {
-            if (Kind.METHOD_DECL.check(method)) {
-                // Check if the method has a name attribute
-                if (!method.hasAttribute("name")) {
-                    reports.add(newError(method, "METHOD_DECL node missing 'name' attribute."));
-                    continue; // Skip this method
-                }
-
-                String name = method.get("name");
-                List<Symbol> methodParams = new ArrayList<>();
-
-                // Find parameter list
-                for (JmmNode child : method.getChildren()) {
-                    if (Kind.PARAM_LIST.check(child)) {
-                        // Process each parameter
-                        for (JmmNode param : child.getChildren()) {
-                            if (Kind.PARAM.check(param)) {
-                                // Find type and name
-                                Type paramType = TypeUtils.newIntType(); // Default
-                                for (JmmNode paramChild : param.getChildren()) {
-                                    if (Kind.TYPE.check(paramChild)) {
-                                        paramType = processType(paramChild);
-                                        break;
-                                    }
-                                }
-                                String paramName = param.get("name");
-                                methodParams.add(new Symbol(paramType, paramName));
-                            }
-                        }
-                    }
-                }
-
-                map.put(name, methodParams);
-            }
-        }
-
-        return map;
-    }
-
-    private Map<String, List<Symbol>> buildLocals(JmmNode classDecl) {
-        Map<String, List<Symbol>> map = new HashMap<>();
-
-        for (JmmNode method : classDecl.getChildren()) {
-            if (Kind.METHOD_DECL.check(method)) {
-                // Check if the method has a name attribute
-                if (!method.hasAttribute("name")) {
-                    reports.add(newError(method, "METHOD_DECL node missing 'name' attribute."));
-                    continue; // Skip this method
-                }
-
-                String name = method.get("name");
-                List<Symbol> methodLocals = new ArrayList<>();
-
-                // Find all VAR_DECL within this method
-                for (JmmNode child : method.getChildren()) {
-                    if (Kind.VAR_DECL.check(child)) {
-                        Type localType = TypeUtils.newIntType(); // Default
-
-                        // Get the type from the first child
-                        if (child.getNumChildren() > 0) {
-                            JmmNode typeNode = child.getChildren().get(0);
-                            if (Kind.TYPE.check(typeNode)) {
-                                localType = processType(typeNode);
-                            }
-                        }
-
-                        String localName = child.get("name");
-                        methodLocals.add(new Symbol(localType, localName));
-                    }
-                }
-
-                map.put(name, methodLocals);
-            }
-        }
-
-        return map;
-    }
-}
\ No newline at end of file
+}
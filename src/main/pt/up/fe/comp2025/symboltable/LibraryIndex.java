@@ -0,0 +1,220 @@
+package pt.up.fe.comp2025.symboltable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Signatures of compiled classes, kept in a file so they are not read again while the class files do not change.
+ * <p>
+ * Each entry is keyed by the location of a class file, i.e. its path or "jar path!/entry", and stores the last
+ * modification time of the file or jar it was read from. An entry whose time no longer matches is stale. Locations
+ * that had no class are stored too, so an unchanged jar is not opened again to find out that a class is not there.
+ */
+public class LibraryIndex {
+
+    private static final int MAGIC = 0x4A4D4D49;
+    private static final int VERSION = 1;
+
+    // Indexes of this process, by file
+    private static final Map<Path, LibraryIndex> INDEXES = new ConcurrentHashMap<>();
+
+    private final Path file;
+    private final Map<String, Entry> entries;
+    private volatile boolean dirty;
+
+    private LibraryIndex(Path file, Map<String, Entry> entries) {
+        this.file = file;
+        this.entries = new ConcurrentHashMap<>(entries);
+        this.dirty = false;
+    }
+
+    /**
+     * @param signature the signature of the class, or null if there is no class at the location
+     */
+    record Entry(long lastModified, ClassSignature signature) {
+    }
+
+    /**
+     * @param file
+     * @return the index stored in the given file, loaded once per process. If the file does not exist or cannot be
+     * read, the index starts empty
+     */
+    public static LibraryIndex forFile(Path file) {
+        return INDEXES.computeIfAbsent(file.toAbsolutePath().normalize(), LibraryIndex::load);
+    }
+
+    /**
+     * @param location
+     * @param lastModified modification time of the file the class is read from
+     * @return the stored entry, or null if there is none or it is stale
+     */
+    Entry get(String location, long lastModified) {
+        var entry = entries.get(location);
+        return entry != null && entry.lastModified() == lastModified ? entry : null;
+    }
+
+    void put(String location, long lastModified, ClassSignature signature) {
+        entries.put(location, new Entry(lastModified, signature));
+        dirty = true;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Writes the index to its file, if it changed since it was loaded or last saved. The file is replaced atomically,
+     * so concurrent compilers never read a partial index.
+     * <p>
+     * The index is only a cache: if it cannot be written, the compilation goes on and the classes are read again by
+     * the next one.
+     *
+     * @return true if the file is up to date
+     */
+    public synchronized boolean save() {
+        if (!dirty) {
+            return true;
+        }
+
+        Path temp = null;
+        try {
+            var parent = file.getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+
+            temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                write(out, Map.copyOf(entries));
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(temp);
+            return false;
+        }
+
+        dirty = false;
+        return true;
+    }
+
+    private static void deleteQuietly(Path temp) {
+        if (temp == null) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            // Left behind, the next save creates another one
+        }
+    }
+
+    static LibraryIndex load(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return new LibraryIndex(file, Map.of());
+        }
+
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            return new LibraryIndex(file, read(in));
+        } catch (IOException | RuntimeException e) {
+            // Outdated or corrupted, the classes are read again
+            return new LibraryIndex(file, Map.of());
+        }
+    }
+
+    private static void write(DataOutputStream out, Map<String, Entry> entries) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(entries.size());
+
+        for (var location : entries.entrySet()) {
+            var entry = location.getValue();
+            out.writeUTF(location.getKey());
+            out.writeLong(entry.lastModified());
+
+            var signature = entry.signature();
+            out.writeBoolean(signature != null);
+            if (signature == null) {
+                continue;
+            }
+
+            out.writeUTF(signature.getName());
+            out.writeUTF(signature.getSuperName() != null ? signature.getSuperName() : "");
+
+            out.writeInt(signature.getFields().size());
+            for (var field : signature.getFields().entrySet()) {
+                out.writeUTF(field.getKey());
+                out.writeUTF(field.getValue());
+            }
+
+            out.writeInt(signature.getMethods().size());
+            for (var method : signature.getMethods().entrySet()) {
+                out.writeUTF(method.getKey());
+                out.writeInt(method.getValue().size());
+                for (var descriptor : method.getValue()) {
+                    out.writeUTF(descriptor);
+                }
+            }
+        }
+    }
+
+    private static Map<String, Entry> read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            return Map.of();
+        }
+
+        int count = in.readInt();
+        var entries = HashMap.<String, Entry>newHashMap(count);
+
+        for (int i = 0; i < count; i++) {
+            var location = in.readUTF();
+            long lastModified = in.readLong();
+
+            if (!in.readBoolean()) {
+                entries.put(location, new Entry(lastModified, null));
+                continue;
+            }
+
+            var name = in.readUTF();
+            var superName = in.readUTF();
+
+            int fieldCount = in.readInt();
+            var fields = HashMap.<String, String>newHashMap(fieldCount);
+            for (int j = 0; j < fieldCount; j++) {
+                fields.put(in.readUTF(), in.readUTF());
+            }
+
+            int methodCount = in.readInt();
+            var methods = HashMap.<String, List<String>>newHashMap(methodCount);
+            for (int j = 0; j < methodCount; j++) {
+                var methodName = in.readUTF();
+                int descriptorCount = in.readInt();
+                var descriptors = new ArrayList<String>(descriptorCount);
+                for (int k = 0; k < descriptorCount; k++) {
+                    descriptors.add(in.readUTF());
+                }
+                methods.put(methodName, descriptors);
+            }
+
+            var signature = new ClassSignature(name, superName.isEmpty() ? null : superName, fields, methods);
+            entries.put(location, new Entry(lastModified, signature));
+        }
+
+        return entries;
+    }
+}
@@ -0,0 +1,346 @@
+package pt.up.fe.comp2025.symboltable;
+
+import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.ConfigOptions;
+import pt.up.fe.comp2025.parser.SkeletonParser;
+import pt.up.fe.specs.util.SpecsIo;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Symbol tables of all the classes of a project, so calls to other classes of the project can be checked and typed,
+ * and the fields inherited from them resolved.
+ * <p>
+ * The files are parsed in parallel, with {@link SkeletonParser} since only the declarations are needed. Once built,
+ * the index is immutable and can be read by any number of threads without locking.
+ * <p>
+ * The index of a compilation is set by {@link ConfigOptions#getSourcePath()} and attached to its symbol table, see
+ * {@link #of(SymbolTable)}. Indexes are kept for the whole process and rebuilt when a file of the project changes,
+ * parsing again only the files that changed, so the dependencies are not parsed again for every file.
+ * <p>
+ * Entries of the source path that cannot be listed and files that cannot be read are left out, with a warning in
+ * {@link #getReports()}, so they never fail the compilation.
+ */
+public class ProjectIndex {
+
+    /**
+     * Attribute of the symbol table with the index of the project.
+     */
+    public static final String ATTRIBUTE = "projectIndex";
+
+    private static final String EXTENSION = ".jmm";
+
+    // Indexes of this process, by source path
+    private static final Map<String, ProjectIndex> INDEXES = new ConcurrentHashMap<>();
+
+    private static final AtomicLong GENERATIONS = new AtomicLong();
+
+    private final long generation;
+    private final Map<String, JmmSymbolTable> classes;
+    private final Map<Path, Long> lastModified;
+    private final Map<Path, FileResult> results;
+    private final List<Report> reports;
+
+    private ProjectIndex(Map<String, JmmSymbolTable> classes, Map<Path, Long> lastModified,
+                         Map<Path, FileResult> results, List<Report> reports) {
+        this.classes = Map.copyOf(classes);
+        this.lastModified = Map.copyOf(lastModified);
+        this.results = Map.copyOf(results);
+        this.reports = List.copyOf(reports);
+        this.generation = GENERATIONS.incrementAndGet();
+    }
+
+    /**
+     * Builds the index of the given files.
+     * <p>
+     * Files that cannot be read or do not parse are left out, with their errors in {@link #getReports()}. If more
+     * than one file declares the same class, the first file in the given order is used.
+     *
+     * @param files  the files, with their modification time as read before parsing them, so a file changed while the
+     *               index is built makes it stale
+     * @param config configuration of the parser
+     * @return the index
+     */
+    public static ProjectIndex build(Map<Path, Long> files, Map<String, String> config) {
+        return build(new SourceFiles(files, List.of()), config, null);
+    }
+
+    /**
+     * @param previous index of an earlier version of the files, whose results are reused for the files that did not
+     *                 change since, or null to parse all the files
+     */
+    private static ProjectIndex build(SourceFiles source, Map<String, String> config, ProjectIndex previous) {
+        var files = source.files();
+        var paths = List.copyOf(files.keySet());
+
+        // Each changed file is parsed and its table built in parallel, then merged in order so the result is
+        // deterministic
+        var results = new FileResult[paths.size()];
+        IntStream.range(0, paths.size()).parallel()
+                .forEach(i -> results[i] = previous != null && previous.isUnchanged(paths.get(i), files)
+                        ? previous.results.get(paths.get(i))
+                        : buildTable(paths.get(i), config));
+
+        var classes = HashMap.<String, JmmSymbolTable>newHashMap(paths.size());
+        var byPath = HashMap.<Path, FileResult>newHashMap(paths.size());
+        var reports = new ArrayList<>(source.reports());
+        for (int i = 0; i < paths.size(); i++) {
+            byPath.put(paths.get(i), results[i]);
+            reports.addAll(results[i].reports());
+
+            var table = results[i].table();
+            if (table == null) {
+                continue;
+            }
+
+            if (classes.putIfAbsent(table.getClassName(), table) != null) {
+                reports.add(Report.newWarn(Stage.SEMANTIC, -1, -1,
+                        paths.get(i) + ": class '" + table.getClassName() + "' is already declared in the project, "
+                                + "ignoring this file", null));
+            }
+        }
+
+        return new ProjectIndex(classes, files, byPath, reports);
+    }
+
+    private static FileResult buildTable(Path file, Map<String, String> config) {
+        var code = SpecsIo.read(file.toFile());
+        if (code == null) {
+            return new FileResult(null, List.of(Report.newWarn(Stage.SEMANTIC, -1, -1,
+                    file + ": could not be read, ignoring this file", null)));
+        }
+
+        var result = new SkeletonParser(config).parse(code);
+
+        if (result.getRootNode() == null) {
+            return new FileResult(null, asWarnings(file, result.getReports()));
+        }
+
+        var builder = new JmmSymbolTableBuilder();
+        var table = builder.build(result.getRootNode());
+
+        return new FileResult(table, asWarnings(file, builder.getReports()));
+    }
+
+    private static List<Report> asWarnings(Path file, List<Report> reports) {
+        return reports.stream()
+                .map(report -> Report.newWarn(report.getStage(), report.getLine(), report.getColumn(),
+                        file + ": " + report.getMessage(), null))
+                .toList();
+    }
+
+    private record FileResult(JmmSymbolTable table, List<Report> reports) {
+    }
+
+    /**
+     * Files of a source path, with the entries that could not be listed as warnings.
+     */
+    record SourceFiles(Map<Path, Long> files, List<Report> reports) {
+    }
+
+    /**
+     * @param config
+     * @return the index of the source path of the given config, or null if it has no source path
+     */
+    public static ProjectIndex forConfig(Map<String, String> config) {
+        var sourcePath = ConfigOptions.getSourcePath(config);
+        if (sourcePath == null || sourcePath.isBlank()) {
+            return null;
+        }
+
+        var source = listFiles(sourcePath);
+        return INDEXES.compute(sourcePath, (key, index) ->
+                index != null && !index.isStale(source) ? index : build(source, config, index));
+    }
+
+    /**
+     * @param table
+     * @return the index attached to the given symbol table, or null if there is none
+     */
+    public static ProjectIndex of(SymbolTable table) {
+        return table.hasAttribute(ATTRIBUTE) ? table.getObject(ATTRIBUTE, ProjectIndex.class) : null;
+    }
+
+    /**
+     * @param sourcePath files and folders separated by the platform path separator, folders are searched for
+     *                   Java-- files
+     * @return the files of the source path, sorted, with their modification time, and warnings for the entries that
+     * are not files or folders and the folders that could not be listed
+     */
+    static SourceFiles listFiles(String sourcePath) {
+        var files = new LinkedHashMap<Path, Long>();
+        var reports = new ArrayList<Report>();
+
+        for (var entry : sourcePath.split(File.pathSeparator)) {
+            if (entry.isBlank()) {
+                continue;
+            }
+
+            var path = Path.of(entry).toAbsolutePath().normalize();
+            if (Files.isRegularFile(path)) {
+                files.putIfAbsent(path, path.toFile().lastModified());
+                continue;
+            }
+
+            if (!Files.isDirectory(path)) {
+                reports.add(Report.newWarn(Stage.SEMANTIC, -1, -1,
+                        path + ": not a file or folder, ignoring this entry of the source path", null));
+                continue;
+            }
+
+            try (Stream<Path> paths = Files.walk(path)) {
+                paths.filter(file -> file.toString().endsWith(EXTENSION) && Files.isRegularFile(file))
+                        .sorted()
+                        .forEach(file -> files.putIfAbsent(file, file.toFile().lastModified()));
+            } catch (IOException | UncheckedIOException e) {
+                reports.add(Report.newWarn(Stage.SEMANTIC, -1, -1,
+                        path + ": could not list the files of this folder, some classes of the project may be "
+                                + "missing: " + e.getMessage(), null));
+            }
+        }
+
+        return new SourceFiles(files, reports);
+    }
+
+    private boolean isStale(SourceFiles source) {
+        // The warnings of the listing are compared too, so a folder that can be listed again is indexed again
+        return !lastModified.equals(source.files()) || !messages(reports).containsAll(messages(source.reports()));
+    }
+
+    private boolean isUnchanged(Path file, Map<Path, Long> files) {
+        return results.containsKey(file) && files.get(file).equals(lastModified.get(file));
+    }
+
+    private static Set<String> messages(List<Report> reports) {
+        var messages = new HashSet<String>();
+        for (var report : reports) {
+            messages.add(report.getMessage());
+        }
+        return messages;
+    }
+
+    /**
+     * @return a number that is different for each index built in this process, so the results that depend on the
+     * classes of an index can tell when it was built again
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    public Set<String> getClassNames() {
+        return classes.keySet();
+    }
+
+    /**
+     * @param className
+     * @return the symbol table of the class, or null if the class is not in the project
+     */
+    public JmmSymbolTable getTable(String className) {
+        return classes.get(className);
+    }
+
+    public boolean contains(String className) {
+        return classes.containsKey(className);
+    }
+
+    /**
+     * @return problems found while building the index, as warnings
+     */
+    public List<Report> getReports() {
+        return reports;
+    }
+
+    /**
+     * Finds the class that declares a method, searching the given class and then its superclasses.
+     *
+     * @param className
+     * @param methodName
+     * @return the symbol table of the class that declares the method, or null if it was not found in the project
+     */
+    public JmmSymbolTable findMethod(String className, String methodName) {
+        for (var table : hierarchy(className)) {
+            if (table.getReturnType(methodName) != null) {
+                return table;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Finds a field in the given class or in its superclasses.
+     *
+     * @param className
+     * @param fieldName
+     * @return the field, with its slot in the class that declares it, or null if it was not found in the project
+     */
+    public ScopedSymbol findField(String className, String fieldName) {
+        for (var table : hierarchy(className)) {
+            var field = table.resolve(null, fieldName);
+            if (field != null) {
+                return field;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @param className
+     * @return true if the class and all its superclasses are in the project, so a method or field that is not found
+     * does not exist
+     */
+    public boolean isComplete(String className) {
+        var hierarchy = hierarchy(className);
+        if (hierarchy.isEmpty()) {
+            return false;
+        }
+
+        var superName = hierarchy.get(hierarchy.size() - 1).getSuper();
+        return superName == null || superName.isEmpty();
+    }
+
+    /**
+     * @return the tables of the class and of its superclasses that are in the project, stopping at the first one that
+     * is not
+     */
+    private List<JmmSymbolTable> hierarchy(String className) {
+        var hierarchy = new ArrayList<JmmSymbolTable>();
+        var visited = new HashSet<String>();
+
+        var table = classes.get(className);
+        while (table != null && visited.add(table.getClassName())) {
+            hierarchy.add(table);
+
+            var superName = table.getSuper();
+            table = superName != null && !superName.isEmpty() ? classes.get(superName) : null;
+        }
+
+        return hierarchy;
+    }
+
+    @Override
+    public String toString() {
+        var names = classes.keySet().toArray(String[]::new);
+        Arrays.sort(names);
+        return "ProjectIndex" + Arrays.toString(names);
+    }
+}
@@ -0,0 +1,58 @@
+package pt.up.fe.comp2025.symboltable;
+
+import pt.up.fe.comp.jmm.analysis.table.Symbol;
+import pt.up.fe.comp.jmm.analysis.table.Type;
+
+/**
+ * A symbol visible in a method, as resolved by {@link JmmSymbolTable#resolve(String, String)}.
+ */
+public class ScopedSymbol {
+
+    public enum Scope {
+        LOCAL,
+        PARAMETER,
+        FIELD
+    }
+
+    private final Symbol symbol;
+    private final Scope scope;
+    private final int slot;
+
+    public ScopedSymbol(Symbol symbol, Scope scope, int slot) {
+        this.symbol = symbol;
+        this.scope = scope;
+        this.slot = slot;
+    }
+
+    public Symbol getSymbol() {
+        return symbol;
+    }
+
+    public String getName() {
+        return symbol.getName();
+    }
+
+    public Type getType() {
+        return symbol.getType();
+    }
+
+    public Scope getScope() {
+        return scope;
+    }
+
+    /**
+     * @return the index of the symbol in the list of locals, parameters or fields it was declared in
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+    public boolean isField() {
+        return scope == Scope.FIELD;
+    }
+
+    @Override
+    public String toString() {
+        return scope + " " + symbol + " #" + slot;
+    }
+}
@@ -0,0 +1,93 @@
+package pt.up.fe.comp2025.utils;
+
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp2025.ConfigOptions;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Intern table for identifiers, type names and operators.
+ * <p>
+ * Every distinct name is stored once, so the AST attributes, symbols and types that refer to the same name share the
+ * same String instance, and equals() between them returns on the identity check. A table is either used for a single
+ * compilation or shared by every compilation in the process, see {@link ConfigOptions#getInternScope()}.
+ */
+public class NameTable {
+
+    public static final String SCOPE_COMPILATION = "compilation";
+    public static final String SCOPE_PROCESS = "process";
+    public static final String SCOPE_NONE = "none";
+
+    private static final NameTable PROCESS_TABLE = new NameTable();
+
+    private final Map<String, String> names;
+
+    public NameTable() {
+        this.names = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * @return the table shared by all compilations of this process
+     */
+    public static NameTable processTable() {
+        return PROCESS_TABLE;
+    }
+
+    /**
+     * @param config
+     * @return the table for a compilation with the given config, or null if interning is disabled
+     */
+    public static NameTable forConfig(Map<String, String> config) {
+        return switch (ConfigOptions.getInternScope(config)) {
+            case SCOPE_PROCESS -> PROCESS_TABLE;
+            case SCOPE_NONE -> null;
+            default -> new NameTable();
+        };
+    }
+
+    /**
+     * @param name
+     * @return the instance stored in the table for the given name, adding it if it is not there yet
+     */
+    public String intern(String name) {
+        if (name == null) {
+            return null;
+        }
+
+        var stored = names.putIfAbsent(name, name);
+        return stored != null ? stored : name;
+    }
+
+    /**
+     * Replaces every String attribute of the given node and of its descendants by its interned instance.
+     *
+     * @param root
+     */
+    public void internAttributes(JmmNode root) {
+        var pending = new ArrayDeque<JmmNode>();
+        pending.push(root);
+
+        while (!pending.isEmpty()) {
+            var node = pending.pop();
+
+            for (var attribute : node.getAttributes()) {
+                if (node.getObject(attribute) instanceof String value) {
+                    node.putObject(attribute, intern(value));
+                }
+            }
+
+            for (var child : node.getChildren()) {
+                pending.push(child);
+            }
+        }
+    }
+
+    /**
+     * @return the number of distinct names in the table
+     */
+    public int size() {
+        return names.size();
+    }
+}
@@ -0,0 +1,168 @@
+package pt.up.fe.comp2025;
+
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.analysis.JmmSemanticsResult;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp.jmm.report.ReportType;
+import pt.up.fe.comp2025.analysis.AnalysisCache;
+import pt.up.fe.comp2025.analysis.JmmAnalysisImpl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The Java-- files of the tests, for the tests that compile all of them in two ways and compare the results, the
+ * compilation of each file and descriptions of the results that can be compared.
+ */
+public class CorpusUtils {
+
+    private static final Path CORPUS = Path.of("test/pt/up/fe/comp");
+
+    /**
+     * Fewer comparisons mean that most files were skipped, e.g. because they no longer parse.
+     */
+    public static final int MIN_COMPARED = 100;
+
+    private CorpusUtils() {
+    }
+
+    /**
+     * @return the Java-- files of the tests, sorted
+     */
+    public static List<Path> files() {
+        List<Path> files;
+        try (var paths = Files.walk(CORPUS)) {
+            files = paths.filter(path -> path.toString().endsWith(".jmm")).sorted().toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list the files of '" + CORPUS + "'", e);
+        }
+
+        assertFalse("No Java-- files in '" + CORPUS + "'", files.isEmpty());
+        return files;
+    }
+
+    /**
+     * @param compared number of files, or of results, that were compared
+     */
+    public static void assertCompared(int compared) {
+        assertTrue("Only " + compared + " results compared", compared > MIN_COMPARED);
+    }
+
+    /**
+     * @param reports
+     * @return the type, stage, position and message of each report
+     */
+    public static String describe(List<Report> reports) {
+        return reports.stream()
+                .map(report -> report.getType() + " " + report.getStage() + "@" + report.getLine() + ":"
+                        + report.getColumn() + " " + report.getMessage())
+                .toList().toString();
+    }
+
+    /**
+     * @param root
+     * @return the kind and the type of each node below the root, in preorder
+     */
+    public static String types(JmmNode root) {
+        var types = new StringBuilder();
+        for (var node : root.getDescendants()) {
+            types.append(node.getKind()).append(" ").append(node.getOptionalObject("type").orElse("")).append("\n");
+        }
+        return types.toString();
+    }
+
+    /**
+     * Tree with the kinds and the attributes of every node, indented by depth. Positions are not attributes and are
+     * left out.
+     */
+    public static String dump(JmmNode root) {
+        var tree = new StringBuilder();
+        dump(root, "", tree);
+        return tree.toString();
+    }
+
+    private static void dump(JmmNode node, String prefix, StringBuilder tree) {
+        tree.append(prefix).append(node.getKind());
+        for (var attribute : node.getAttributes().stream().sorted().toList()) {
+            tree.append(" ").append(attribute).append("=").append(node.get(attribute));
+        }
+        tree.append("\n");
+
+        for (var child : node.getChildren()) {
+            dump(child, prefix + "  ", tree);
+        }
+    }
+
+    /**
+     * @param option
+     * @param value
+     * @return a config with the given option, that can take more options
+     */
+    public static Map<String, String> config(String option, boolean value) {
+        var config = new HashMap<String, String>();
+        config.put(option, Boolean.toString(value));
+        return config;
+    }
+
+    /**
+     * @param code
+     * @param config
+     * @return the result of the analysis, or null if the code does not parse
+     */
+    public static JmmSemanticsResult analyse(String code, Map<String, String> config) {
+        return analyse(code, config, null);
+    }
+
+    /**
+     * @param code
+     * @param config
+     * @param cache results of methods analysed before, or null to analyse all the methods
+     * @return the result of the analysis, or null if the code does not parse
+     */
+    public static JmmSemanticsResult analyse(String code, Map<String, String> config, AnalysisCache cache) {
+        var parserResult = TestUtils.parse(code, config);
+        if (parserResult.getRootNode() == null) {
+            return null;
+        }
+
+        return new JmmAnalysisImpl(cache).semanticAnalysis(parserResult);
+    }
+
+    /**
+     * Runs the frontend and the middle end with the optimizations, returning the reports of the first stage that
+     * failed or the OLLIR code.
+     * <p>
+     * Messages are left out of the reports of the analysis, some of them print the nodes, which depend on the options.
+     */
+    public static String compile(String code, Map<String, String> config) {
+        var optimized = new HashMap<>(config);
+        optimized.put(ConfigOptions.getOptimize(), "true");
+
+        var parserResult = TestUtils.parse(code, optimized);
+        if (parserResult.getRootNode() == null) {
+            return parserResult.getReports().stream().map(Report::getMessage).toList().toString();
+        }
+
+        var semantics = TestUtils.analyse(parserResult);
+        if (semantics.getReports().stream().anyMatch(report -> report.getType() == ReportType.ERROR)) {
+            return semantics.getReports().stream()
+                    .map(report -> report.getType() + "@" + report.getLine() + ":" + report.getColumn())
+                    .toList().toString();
+        }
+
+        try {
+            return TestUtils.optimize(semantics).getOllirCode();
+        } catch (RuntimeException e) {
+            return "Exception: " + e.getClass().getName();
+        }
+    }
+}
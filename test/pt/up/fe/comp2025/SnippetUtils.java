@@ -0,0 +1,99 @@
+package pt.up.fe.comp2025;
+
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.analysis.JmmSemanticsResult;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.jasmin.JasminResult;
+import pt.up.fe.comp2025.ast.Children;
+import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.optimization.JmmOptimizationImpl;
+import pt.up.fe.specs.util.SpecsStrings;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compiles Java-- snippets without errors, for the tests of the optimizations.
+ */
+public class SnippetUtils {
+
+    private SnippetUtils() {
+    }
+
+    /**
+     * @param code
+     * @param optimize whether the optimizations are enabled, as with -o
+     * @return the result of the analysis, which has no errors
+     */
+    public static JmmSemanticsResult analyse(String code, boolean optimize) {
+        var config = new HashMap<String, String>();
+        config.put(ConfigOptions.getOptimize(), String.valueOf(optimize));
+
+        var semantics = TestUtils.analyse(TestUtils.parse(code, config));
+        TestUtils.noErrors(semantics);
+        return semantics;
+    }
+
+    /**
+     * @param code
+     * @return the result of the analysis, after the optimizations of the AST
+     */
+    public static JmmSemanticsResult optimize(String code) {
+        return new JmmOptimizationImpl().optimize(analyse(code, true));
+    }
+
+    /**
+     * @param result
+     * @return the expression returned by the first method of the class
+     */
+    public static JmmNode returnedExpr(JmmSemanticsResult result) {
+        var method = Children.first(Children.first(result.getRootNode(), Kind.CLASS_DECL), Kind.METHOD_DECL);
+        return Children.get(Children.first(method, Kind.RETURN_STMT), 0);
+    }
+
+    /**
+     * @param code
+     * @param optimize whether the optimizations are enabled, as with -o
+     * @return the Jasmin code, which has no errors
+     */
+    public static JasminResult backend(String code, boolean optimize) {
+        var optimization = new JmmOptimizationImpl();
+        var semantics = analyse(code, optimize);
+        var jasmin = TestUtils.backend(optimization.toOllir(optimize ? optimization.optimize(semantics) : semantics));
+        TestUtils.noErrors(jasmin);
+        return jasmin;
+    }
+
+    /**
+     * @param code
+     * @return what the program prints when compiled with -o, with normalized line endings
+     */
+    public static String run(String code) {
+        return SpecsStrings.normalizeFileContents(backend(code, true).run(), true);
+    }
+
+    /**
+     * Checks the result of each case, with the case in the message.
+     *
+     * @param cases  the expected result of each snippet
+     * @param actual computes the result of a snippet
+     */
+    public static void assertEachCase(Map<String, ?> cases, Function<String, ?> actual) {
+        for (var entry : cases.entrySet()) {
+            assertEquals(entry.getKey(), entry.getValue(), actual.apply(entry.getKey()));
+        }
+    }
+
+    /**
+     * @param values
+     * @return what ioPlus.printResult prints for each of the values
+     */
+    public static String printedResults(IntStream values) {
+        return values.mapToObj(value -> "Result: " + value).collect(Collectors.joining("\n"));
+    }
+}
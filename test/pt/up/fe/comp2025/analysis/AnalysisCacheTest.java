@@ -0,0 +1,173 @@
+package pt.up.fe.comp2025.analysis;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pt.up.fe.comp.jmm.analysis.table.Type;
+import pt.up.fe.comp2025.ConfigOptions;
+import pt.up.fe.comp2025.CorpusUtils;
+import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.specs.util.SpecsIo;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class AnalysisCacheTest {
+
+    private static final String CODE = """
+            class A {
+                int f;
+                public int foo(int a) {
+                    int b;
+                    b = a + f;
+                    return this.bar(b);
+                }
+                public int bar(int a) {
+                    return c;
+                }
+                public boolean baz() {
+                    return true;
+                }
+            }
+            """;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void sameResultsAsWithoutCache() {
+        var cache = new AnalysisCache();
+        int compared = 0;
+        for (var file : CorpusUtils.files()) {
+            var code = SpecsIo.read(file.toFile());
+
+            var expected = CorpusUtils.analyse(code, Map.of());
+            if (expected == null) {
+                continue;
+            }
+            boolean hasErrors = expected.getReports().stream()
+                    .anyMatch(report -> report.getType().name().equals("ERROR"));
+
+            // Analysed the first time, found in the cache the second
+            for (int run = 0; run < 2; run++) {
+                var cached = CorpusUtils.analyse(code, Map.of(), cache);
+                assertEquals(file.toString(),
+                        CorpusUtils.describe(expected.getReports()), CorpusUtils.describe(cached.getReports()));
+                if (!hasErrors) {
+                    assertEquals(file.toString(),
+                            CorpusUtils.types(expected.getRootNode()), CorpusUtils.types(cached.getRootNode()));
+                }
+            }
+            compared++;
+        }
+
+        CorpusUtils.assertCompared(compared);
+        assertTrue(cache.getHits() > 0);
+    }
+
+    @Test
+    public void onlyEditedMethodIsAnalysed() {
+        var cache = new AnalysisCache();
+        CorpusUtils.analyse(CODE, Map.of(), cache);
+        assertEquals(3, cache.getMisses());
+        assertEquals(0, cache.getHits());
+
+        // Lines added above every method, and an edit of baz
+        var edited = CODE.replace("int f;", "int f;\n\n")
+                .replace("return true;", "return false;");
+        var result = CorpusUtils.analyse(edited, Map.of(), cache);
+
+        assertEquals(4, cache.getMisses());
+        assertEquals(2, cache.getHits());
+        // The report of bar, from the cache, is at its new line
+        assertEquals(CorpusUtils.describe(CorpusUtils.analyse(edited, Map.of()).getReports()),
+                CorpusUtils.describe(result.getReports()));
+        assertEquals(11, result.getReports().get(0).getLine());
+    }
+
+    @Test
+    public void callersOfChangedSignatureAreAnalysed() {
+        var cache = new AnalysisCache();
+        CorpusUtils.analyse(CODE, Map.of(), cache);
+
+        // foo calls bar, baz does not
+        var edited = CODE.replace("public int bar(int a)", "public boolean bar(int a)");
+        var result = CorpusUtils.analyse(edited, Map.of(), cache);
+
+        assertEquals(3 + 2, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertEquals(CorpusUtils.describe(CorpusUtils.analyse(edited, Map.of()).getReports()),
+                CorpusUtils.describe(result.getReports()));
+    }
+
+    @Test
+    public void callersOfChangedDependencyAreAnalysed() throws IOException {
+        var base = folder.newFile("Base.jmm");
+        SpecsIo.write(base, """
+                class Base {
+                    public int get(int a) {
+                        return a;
+                    }
+                }
+                """);
+        var config = new HashMap<String, String>();
+        config.put(ConfigOptions.getSourcePath(), folder.getRoot().getAbsolutePath());
+
+        var user = """
+                import Base;
+                class User {
+                    public int run(Base d) {
+                        return d.get(1);
+                    }
+                }
+                """;
+
+        var cache = new AnalysisCache();
+        assertEquals("[]", CorpusUtils.describe(CorpusUtils.analyse(user, config, cache).getReports()));
+
+        SpecsIo.write(base, """
+                class Base {
+                    public int get(boolean a) {
+                        return 1;
+                    }
+                }
+                """);
+        // Saved later than the first version, even on file systems that keep seconds
+        assertTrue(base.setLastModified(base.lastModified() + 10_000));
+
+        var expected = CorpusUtils.describe(CorpusUtils.analyse(user, config).getReports());
+        assertTrue(expected, expected.contains("ERROR"));
+        assertEquals(expected, CorpusUtils.describe(CorpusUtils.analyse(user, config, cache).getReports()));
+    }
+
+    @Test
+    public void leastRecentlyUsedAreDropped() {
+        var cache = new AnalysisCache(2);
+        CorpusUtils.analyse(CODE, Map.of(), cache);
+        assertEquals(2, cache.size());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void typesAreCopiedFromTheCache() {
+        var cache = new AnalysisCache();
+        CorpusUtils.analyse(CODE, Map.of(), cache);
+
+        // foo is found in the cache both times
+        var first = CorpusUtils.analyse(CODE, Map.of(), cache).getRootNode().getDescendants(Kind.BINARY_EXPR).get(0);
+        var firstType = first.getObject("type", Type.class);
+        firstType.putObject("changed", true);
+
+        var second = CorpusUtils.analyse(CODE, Map.of(), cache).getRootNode().getDescendants(Kind.BINARY_EXPR).get(0);
+        var secondType = second.getObject("type", Type.class);
+        assertEquals(6, cache.getHits());
+        assertNotSame(firstType, secondType);
+        assertEquals(firstType, secondType);
+        assertFalse(secondType.hasAttribute("changed"));
+    }
+}
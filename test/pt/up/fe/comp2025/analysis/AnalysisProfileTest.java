@@ -0,0 +1,91 @@
+package pt.up.fe.comp2025.analysis;
+
+import org.junit.Test;
+import pt.up.fe.comp.jmm.analysis.JmmSemanticsResult;
+import pt.up.fe.comp2025.ConfigOptions;
+import pt.up.fe.comp2025.CorpusUtils;
+import pt.up.fe.comp2025.analysis.passes.UndeclaredVariable;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class AnalysisProfileTest {
+
+    private static final String CODE = """
+            class A {
+                int f;
+                public int foo(int a) {
+                    int b;
+                    b = a + f;
+                    while (b < 10) {
+                        b = b + 1;
+                    }
+                    return c;
+                }
+                public int bar() {
+                    return this.foo(1);
+                }
+            }
+            """;
+
+    private static JmmSemanticsResult analyse(boolean profile, boolean parallel) {
+        var config = CorpusUtils.config(ConfigOptions.getProfileAnalysis(), profile);
+        config.put(ConfigOptions.getParallelAnalysis(), Boolean.toString(parallel));
+
+        return CorpusUtils.analyse(CODE, config);
+    }
+
+    @Test
+    public void profileHasEveryPass() {
+        var semantics = analyse(true, false);
+        var profile = AnalysisProfile.of(semantics.getSymbolTable());
+        assertNotNull(profile);
+
+        var names = new JmmAnalysisImpl().buildPasses(null).stream()
+                .map(pass -> pass.getClass().getSimpleName())
+                .toList();
+        assertEquals(names, profile.getPasses().stream().map(AnalysisProfile.Pass::pass).toList());
+
+        var undeclared = profile.getPasses().get(names.indexOf(UndeclaredVariable.class.getSimpleName()));
+        assertEquals(1, undeclared.reports());
+        assertTrue(undeclared.visits() > 0);
+        assertTrue(undeclared.nodesVisited() >= undeclared.visits());
+
+        long passNanos = profile.getPasses().stream().mapToLong(AnalysisProfile.Pass::wallNanos).sum();
+        assertTrue(profile.getWallNanos() >= passNanos);
+    }
+
+    @Test
+    public void tableIsSortedByTime() {
+        var profile = AnalysisProfile.of(analyse(true, false).getSymbolTable());
+        var lines = profile.toTable().lines().toList();
+
+        // Header, a line per pass and the total
+        assertEquals(profile.getPasses().size() + 2, lines.size());
+        assertTrue(lines.get(lines.size() - 1).startsWith("Total"));
+
+        var slowest = profile.getPasses().stream().mapToLong(AnalysisProfile.Pass::wallNanos).max().orElseThrow();
+        var first = profile.getPasses().stream().filter(pass -> pass.wallNanos() == slowest).findFirst().orElseThrow();
+        assertTrue(lines.get(1), lines.get(1).startsWith(first.pass()));
+    }
+
+    @Test
+    public void sameCountsInParallel() {
+        var sequential = AnalysisProfile.of(analyse(true, false).getSymbolTable()).getPasses();
+        var parallel = AnalysisProfile.of(analyse(true, true).getSymbolTable()).getPasses();
+
+        assertEquals(counts(sequential), counts(parallel));
+    }
+
+    private static List<String> counts(List<AnalysisProfile.Pass> passes) {
+        return passes.stream()
+                .map(pass -> pass.pass() + " " + pass.nodesVisited() + " " + pass.visits() + " " + pass.reports())
+                .toList();
+    }
+
+    @Test
+    public void notProfiledByDefault() {
+        assertNull(AnalysisProfile.of(analyse(false, false).getSymbolTable()));
+    }
+}
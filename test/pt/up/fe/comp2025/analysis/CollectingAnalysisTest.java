@@ -0,0 +1,155 @@
+package pt.up.fe.comp2025.analysis;
+
+import org.junit.Test;
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.analysis.JmmSemanticsResult;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp.jmm.report.ReportType;
+import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.ConfigOptions;
+import pt.up.fe.comp2025.CorpusUtils;
+import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.specs.util.SpecsIo;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class CollectingAnalysisTest {
+
+    private static final String CODE = """
+            class A {
+                public int foo(int a) {
+                    c = c + 1;
+                    return c;
+                }
+                public int bar(int a) {
+                    a = true;
+                    return a;
+                }
+                public int baz(boolean a) {
+                    return a;
+                }
+            }
+            """;
+
+    private static List<Report> errors(JmmSemanticsResult result) {
+        return result.getReports().stream()
+                .filter(report -> report.getType() == ReportType.ERROR)
+                .toList();
+    }
+
+    private static List<Integer> lines(List<Report> reports) {
+        return reports.stream().map(Report::getLine).toList();
+    }
+
+    @Test
+    public void collectsErrorsOfEveryMethod() {
+        // Only the undeclared variable, the first pass with errors
+        assertEquals(List.of(3, 3, 4), lines(errors(CorpusUtils.analyse(CODE, Map.of()))));
+
+        // The uses of c after the first follow from it, the assignment of bar and the returns of bar and baz do not
+        var errors = errors(CorpusUtils.analyse(CODE, Map.of(ConfigOptions.getMaxErrors(), "true")));
+        assertEquals(errors.toString(), List.of(3, 7, 11), lines(errors));
+        assertTrue(errors.get(0).getMessage().contains("'c'"));
+    }
+
+    @Test
+    public void stopsAtCap() {
+        var config = Map.of(ConfigOptions.getMaxErrors(), "2");
+        var reports = CorpusUtils.analyse(CODE, config).getReports();
+
+        assertEquals(List.of(3, 7), lines(errors(CorpusUtils.analyse(CODE, config))));
+        var last = reports.get(reports.size() - 1);
+        assertEquals(ReportType.LOG, last.getType());
+        assertTrue(last.getMessage(), last.getMessage().contains("2 errors"));
+    }
+
+    @Test
+    public void rejectsCapBelowOne() {
+        for (var maxErrors : List.of("0", "-1")) {
+            try {
+                ConfigOptions.getMaxErrors(Map.of(ConfigOptions.getMaxErrors(), maxErrors));
+                fail("Accepted " + maxErrors + " errors");
+            } catch (IllegalArgumentException e) {
+                // Expected, as for values that are not numbers
+            }
+        }
+
+        assertEquals(0, ConfigOptions.getMaxErrors(Map.of()));
+    }
+
+    @Test
+    public void sameResultsWithoutErrors() {
+        int compared = 0;
+        for (var file : CorpusUtils.files()) {
+            var code = SpecsIo.read(file.toFile());
+
+            var firstError = CorpusUtils.analyse(code, Map.of());
+            if (firstError == null) {
+                continue;
+            }
+            var collected = CorpusUtils.analyse(code, Map.of(ConfigOptions.getMaxErrors(), "true"));
+
+            var expected = errors(firstError);
+            var errors = errors(collected);
+            assertEquals(file.toString(), expected.isEmpty(), errors.isEmpty());
+            if (expected.isEmpty()) {
+                assertEquals(file.toString(), firstError.getReports().toString(), collected.getReports().toString());
+            } else {
+                // The first error is found in both modes
+                assertTrue(file + ": " + errors, errors.stream()
+                        .anyMatch(error -> error.toString().equals(expected.get(0).toString())));
+            }
+            compared++;
+        }
+
+        CorpusUtils.assertCompared(compared);
+    }
+
+    @Test
+    public void parallelCollectsTheSameErrors() {
+        for (var maxErrors : List.of("true", "2")) {
+            var sequential = CorpusUtils.analyse(CODE, Map.of(ConfigOptions.getMaxErrors(), maxErrors));
+            var parallel = CorpusUtils.analyse(CODE, Map.of(ConfigOptions.getMaxErrors(), maxErrors,
+                    ConfigOptions.getParallelAnalysis(), "true"));
+
+            assertEquals(maxErrors, CorpusUtils.describe(sequential.getReports()),
+                    CorpusUtils.describe(parallel.getReports()));
+        }
+    }
+
+    @Test
+    public void poisonsTheSymbolNotTheName() {
+        var code = """
+                class A {
+                    public int foo(int a) {
+                        boolean a;
+                        a = 1;
+                        return 0;
+                    }
+                }
+                """;
+        var semantics = new JmmAnalysisImpl().buildSymbolTable(TestUtils.parse(code));
+        var root = semantics.getRootNode();
+        var method = root.getDescendants(Kind.METHOD_DECL).get(0);
+        var param = root.getDescendants(Kind.PARAM).get(0);
+        var local = root.getDescendants(Kind.VAR_DECL).get(0);
+        var assign = root.getDescendants(Kind.ASSIGN_STMT).get(0);
+
+        // The assignment is to the local, which shadows the parameter
+        var paramFilter = new CascadeFilter(method, semantics.getSymbolTable());
+        assertTrue(paramFilter.accept(errorAt(param, "Parameter")));
+        assertTrue(paramFilter.accept(errorAt(assign, "Assignment")));
+
+        var localFilter = new CascadeFilter(method, semantics.getSymbolTable());
+        assertTrue(localFilter.accept(errorAt(local, "Local")));
+        assertFalse(localFilter.accept(errorAt(assign, "Assignment")));
+    }
+
+    private static Report errorAt(JmmNode node, String message) {
+        return Report.newError(Stage.SEMANTIC, node.getLine(), node.getColumn(), message, null);
+    }
+}
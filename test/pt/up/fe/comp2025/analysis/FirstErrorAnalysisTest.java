@@ -0,0 +1,91 @@
+package pt.up.fe.comp2025.analysis;
+
+import org.junit.Test;
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.analysis.JmmSemanticsResult;
+import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.report.ReportType;
+import pt.up.fe.comp2025.ConfigOptions;
+import pt.up.fe.comp2025.CorpusUtils;
+import pt.up.fe.comp2025.ast.Kind;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class FirstErrorAnalysisTest {
+
+    private static final String CODE = """
+            class A {
+                public int foo(int a) {
+                    a = a;
+                    return a;
+                }
+            }
+            """;
+
+    /**
+     * Reports an error at each assignment, or throws there.
+     */
+    private static class ErrorAtAssign extends AnalysisVisitor {
+
+        private final boolean fail;
+
+        private ErrorAtAssign(boolean fail) {
+            this.fail = fail;
+        }
+
+        @Override
+        protected void buildVisitor() {
+            addVisit(Kind.ASSIGN_STMT, this::visitAssign);
+        }
+
+        private Void visitAssign(JmmNode assign, SymbolTable table) {
+            if (fail) {
+                throw new IllegalStateException("assign");
+            }
+            addReport(newError(assign, getClass().getSimpleName()));
+            return null;
+        }
+    }
+
+    private static JmmSemanticsResult buildSymbolTable() {
+        return new JmmAnalysisImpl().buildSymbolTable(TestUtils.parse(CODE));
+    }
+
+    @Test
+    public void stopsAtFirstPassWithErrors() {
+        var semantics = buildSymbolTable();
+        var passes = List.<AnalysisVisitor>of(new ErrorAtAssign(true), new ErrorAtAssign(false),
+                new ErrorAtAssign(false));
+        var mode = new FirstErrorAnalysis.Sequential(semantics.getRootNode(), semantics.getSymbolTable(), passes,
+                false);
+
+        var outcome = mode.analyze(PassScheduler.schedule(passes, mode.kinds()));
+
+        // The pass that throws gets an error, the next one has errors, and the last one is not reported
+        assertEquals(2, outcome.reports().size());
+        assertTrue(outcome.reports().get(0).getMessage().contains("Problem while executing analysis pass"));
+        assertTrue(outcome.reports().get(0).getException().orElse(null) instanceof IllegalStateException);
+        assertEquals(ReportType.ERROR, outcome.reports().get(1).getType());
+        assertEquals(3, outcome.results().size());
+    }
+
+    @Test
+    public void sameReportsInEveryMode() {
+        var code = CODE.replace("a = a;", "a = true;");
+        var expected = CorpusUtils.describe(CorpusUtils.analyse(code, Map.of()).getReports());
+        assertTrue(expected, expected.contains("ERROR"));
+
+        var parallel = CorpusUtils.analyse(code, Map.of(ConfigOptions.getParallelAnalysis(), "true"));
+        assertEquals(expected, CorpusUtils.describe(parallel.getReports()));
+
+        var cache = new AnalysisCache();
+        for (int run = 0; run < 2; run++) {
+            var cached = CorpusUtils.analyse(code, Map.of(), cache);
+            assertEquals(expected, CorpusUtils.describe(cached.getReports()));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package pt.up.fe.comp2025.analysis;
+
+import org.junit.Test;
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.analysis.JmmSemanticsResult;
+import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp.jmm.report.ReportType;
+import pt.up.fe.comp2025.ConfigOptions;
+import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.CorpusUtils;
+import pt.up.fe.specs.util.SpecsIo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FusedAnalysisTest {
+
+    private static JmmSemanticsResult buildSymbolTable(String code, boolean annotate) {
+        var config = new HashMap<String, String>();
+        config.put(ConfigOptions.getAnnotateTypes(), Boolean.toString(annotate));
+
+        var parserResult = TestUtils.parse(code, config);
+        if (parserResult.getRootNode() == null) {
+            return null;
+        }
+
+        return new JmmAnalysisImpl().buildSymbolTable(parserResult);
+    }
+
+    /**
+     * Reports of the passes, each one with its own traversal of the AST, as the analysis did before the passes were
+     * fused.
+     */
+    private static List<Report> analyzeSeparately(JmmSemanticsResult semantics) {
+        var table = semantics.getSymbolTable();
+        var reports = new ArrayList<Report>();
+
+        if (ConfigOptions.getAnnotateTypes(semantics.getConfig())) {
+            new TypeAnnotator(table).annotate(semantics.getRootNode());
+        }
+
+        for (var pass : new JmmAnalysisImpl().buildPasses(table)) {
+            try {
+                var passReports = pass.analyze(semantics.getRootNode(), table);
+                reports.addAll(passReports);
+                if (passReports.stream().anyMatch(report -> report.getType() == ReportType.ERROR)) {
+                    break;
+                }
+            } catch (Exception e) {
+                reports.add(Report.newError(null, -1, -1,
+                        "Problem while executing analysis pass '" + pass.getClass() + "'", e));
+            }
+        }
+
+        return reports;
+    }
+
+    @Test
+    public void sameResultsAsSeparatePasses() {
+        int compared = 0;
+        for (var file : CorpusUtils.files()) {
+            var code = SpecsIo.read(file.toFile());
+
+            for (var annotate : List.of(false, true)) {
+                var separate = buildSymbolTable(code, annotate);
+                if (separate == null) {
+                    continue;
+                }
+                var fused = buildSymbolTable(code, annotate);
+
+                var separateReports = analyzeSeparately(separate);
+                var fusedReports = new JmmAnalysisImpl().semanticAnalysis(fused).getReports();
+                assertEquals(file + ", annotate=" + annotate,
+                        CorpusUtils.describe(separateReports), CorpusUtils.describe(fusedReports));
+
+                // Later passes of the traversal that found an error still ran, and may have typed more nodes
+                if (separateReports.stream().noneMatch(report -> report.getType() == ReportType.ERROR)) {
+                    assertEquals(file + ", annotate=" + annotate,
+                            CorpusUtils.types(separate.getRootNode()), CorpusUtils.types(fused.getRootNode()));
+                }
+                compared++;
+            }
+        }
+
+        CorpusUtils.assertCompared(compared);
+    }
+
+    private static class Recorder extends AnalysisVisitor {
+        private final List<String> visits;
+        private final String name;
+        private final boolean throwOnAssign;
+
+        private Recorder(List<String> visits, String name, boolean throwOnAssign) {
+            this.visits = visits;
+            this.name = name;
+            this.throwOnAssign = throwOnAssign;
+        }
+
+        @Override
+        protected void buildVisitor() {
+            addVisit(Kind.ASSIGN_STMT, this::visitNode);
+            addVisit(Kind.VAR_REF_EXPR, this::visitNode);
+        }
+
+        private Void visitNode(JmmNode node, SymbolTable table) {
+            // Fields are not set yet while buildVisitor() runs, but they are when the nodes are visited
+            visits.add(name + ":" + node.getKind());
+            if (throwOnAssign && Kind.ASSIGN_STMT.check(node)) {
+                throw new IllegalStateException(name);
+            }
+            return null;
+        }
+    }
+
+    @Test
+    public void visitsEachNodeOnceInPassOrder() {
+        var semantics = buildSymbolTable("""
+                class A {
+                    public int foo(int a) {
+                        a = a;
+                        return a;
+                    }
+                }
+                """, false);
+        var visits = new ArrayList<String>();
+        var passes = List.<AnalysisVisitor>of(new Recorder(visits, "first", true), new Recorder(visits, "second", false));
+
+        var results = new FusedAnalysis(passes).analyze(semantics.getRootNode(), semantics.getSymbolTable());
+
+        // The first pass stops at the assignment, the second one goes on
+        assertEquals(List.of("first:AssignStmt", "second:AssignStmt", "second:VarRefExpr", "second:VarRefExpr",
+                "second:VarRefExpr"), visits);
+        assertTrue(results.get(0).exception() instanceof IllegalStateException);
+        assertNull(results.get(1).exception());
+    }
+}
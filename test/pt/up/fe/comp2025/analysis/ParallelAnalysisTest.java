@@ -0,0 +1,93 @@
+package pt.up.fe.comp2025.analysis;
+
+import org.junit.Test;
+import pt.up.fe.comp2025.ConfigOptions;
+import pt.up.fe.comp2025.CorpusUtils;
+import pt.up.fe.specs.util.SpecsIo;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ParallelAnalysisTest {
+
+    private static final Map<String, String> SEQUENTIAL = Map.of(ConfigOptions.getParallelAnalysis(), "false");
+
+    private static final Map<String, String> PARALLEL = Map.of(ConfigOptions.getParallelAnalysis(), "true");
+
+    @Test
+    public void sameResultsAsOneThread() {
+        int compared = 0;
+        for (var file : CorpusUtils.files()) {
+            var code = SpecsIo.read(file.toFile());
+
+            var sequential = CorpusUtils.analyse(code, SEQUENTIAL);
+            if (sequential == null) {
+                continue;
+            }
+            var parallel = CorpusUtils.analyse(code, PARALLEL);
+
+            assertEquals(file.toString(),
+                    CorpusUtils.describe(sequential.getReports()), CorpusUtils.describe(parallel.getReports()));
+            if (sequential.getReports().stream().noneMatch(report -> report.getType().name().equals("ERROR"))) {
+                assertEquals(file.toString(),
+                        CorpusUtils.types(sequential.getRootNode()), CorpusUtils.types(parallel.getRootNode()));
+            }
+            compared++;
+        }
+
+        CorpusUtils.assertCompared(compared);
+    }
+
+    @Test
+    public void reportsInSourceOrder() {
+        var code = new StringBuilder("class A {\n");
+        for (int i = 0; i < 200; i++) {
+            code.append("    public int m").append(i).append("() {\n")
+                    .append("        return undeclared").append(i).append(";\n")
+                    .append("    }\n");
+        }
+        code.append("}\n");
+
+        var reports = CorpusUtils.analyse(code.toString(), PARALLEL).getReports();
+
+        assertEquals(200, reports.size());
+        for (int i = 0; i < reports.size(); i++) {
+            assertEquals(3 + 3 * i, reports.get(i).getLine());
+            assertTrue(reports.get(i).getMessage(), reports.get(i).getMessage().contains("'undeclared" + i + "'"));
+        }
+    }
+
+    @Test
+    public void classIsAssignableToSuperClassInEveryMode() {
+        // No statement stores the type of the parameter before it is used as the super class
+        var code = """
+                import B;
+                import C;
+                class A extends B {
+                    public B foo(A a) {
+                        B b;
+                        b = a;
+                        return a;
+                    }
+                    public int bar(C c) {
+                        C d;
+                        d = c;
+                        return 0;
+                    }
+                }
+                """;
+
+        for (var config : List.of(SEQUENTIAL, PARALLEL)) {
+            var result = CorpusUtils.analyse(code, config);
+            assertTrue(CorpusUtils.describe(result.getReports()), result.getReports().stream()
+                    .noneMatch(report -> report.getType().name().equals("ERROR")));
+
+            var table = result.getSymbolTable();
+            assertEquals("B", table.getParameters("foo").get(0).getType().getObject("super"));
+            // The analysis marks copies, the types of the symbol table are shared by the methods
+            assertFalse(table.getLocalVariables("bar").get(0).getType().hasAttribute("imported"));
+        }
+    }
+}
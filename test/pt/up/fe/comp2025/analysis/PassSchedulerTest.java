@@ -0,0 +1,132 @@
+package pt.up.fe.comp2025.analysis;
+
+import org.junit.Test;
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp2025.analysis.passes.*;
+import pt.up.fe.comp2025.ast.KindSummary;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class PassSchedulerTest {
+
+    /**
+     * Pass that only declares what the scheduler reads.
+     */
+    private static class Declared implements AnalysisPass {
+        private final Set<String> visitedKinds;
+        private final Set<Class<? extends AnalysisPass>> predecessors;
+
+        private Declared(Set<String> visitedKinds, Set<Class<? extends AnalysisPass>> predecessors) {
+            this.visitedKinds = visitedKinds;
+            this.predecessors = predecessors;
+        }
+
+        @Override
+        public List<Report> analyze(JmmNode root, SymbolTable table) {
+            return List.of();
+        }
+
+        @Override
+        public Set<String> getVisitedKinds() {
+            return visitedKinds;
+        }
+
+        @Override
+        public Set<Class<? extends AnalysisPass>> getPredecessors() {
+            return predecessors;
+        }
+    }
+
+    private static class Writer implements AnalysisPass {
+        @Override
+        public List<Report> analyze(JmmNode root, SymbolTable table) {
+            return List.of();
+        }
+    }
+
+    private static long kindsOf(String code) {
+        var root = TestUtils.parse(code).getRootNode();
+        return KindSummary.of(root).get(root);
+    }
+
+    @Test
+    public void passesWaitForObjectCreation() {
+        var passes = new JmmAnalysisImpl().buildPasses(null);
+        var stages = PassScheduler.schedule(passes, kindsOf("""
+                class A {
+                    int f;
+                    public A foo(int a) {
+                        A b;
+                        b = new A();
+                        if (a < f) {
+                            a = this.foo(a).bar();
+                        } else {
+                        }
+                        return b;
+                    }
+                }
+                """));
+
+        assertEquals(2, stages.size());
+
+        var second = stages.get(1).passes().stream()
+                .map(i -> passes.get(i).getClass())
+                .toList();
+        assertEquals(List.of(ConditionCheck.class, Assignment.class, MethodDeclaration.class, FunctionCall.class,
+                ReturnTypeCheck.class), second);
+
+        // There are no arrays nor imports
+        var first = stages.get(0).passes().stream()
+                .map(i -> passes.get(i).getClass())
+                .toList();
+        assertTrue(first.contains(ObjectCreation.class));
+        assertTrue(first.contains(DeadCodeCheck.class));
+        assertFalse(first.contains(ImportCheck.class));
+        assertFalse(first.contains(ArrayInit.class));
+    }
+
+    @Test
+    public void skipsPassesWithoutTheirKinds() {
+        var passes = List.of(
+                new Declared(Set.of("ImportDecl"), Set.of()),
+                new Declared(Set.of("ClassDecl"), Set.of()),
+                new Declared(null, Set.of()));
+
+        var stages = PassScheduler.schedule(passes, kindsOf("class A {}"));
+
+        assertEquals(1, stages.size());
+        assertEquals(List.of(1, 2), stages.get(0).passes());
+    }
+
+    @Test
+    public void stagesFollowPredecessors() {
+        var passes = List.<AnalysisPass>of(
+                new Declared(null, Set.of()),
+                new Declared(null, Set.of()),
+                new Declared(null, Set.of()),
+                new Writer(),
+                new Declared(null, Set.of(Writer.class)),
+                new Declared(null, Set.of(Writer.class)));
+
+        var stages = PassScheduler.schedule(passes, KindSummary.ALL);
+
+        assertEquals(2, stages.size());
+        assertEquals(List.of(0, 1, 2, 3), stages.get(0).passes());
+        assertEquals(List.of(4, 5), stages.get(1).passes());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void predecessorMustComeFirst() {
+        var passes = List.<AnalysisPass>of(
+                new Declared(null, Set.of(Writer.class)),
+                new Writer());
+
+        PassScheduler.schedule(passes, KindSummary.ALL);
+    }
+}
@@ -0,0 +1,114 @@
+package pt.up.fe.comp2025.analysis;
+
+import org.junit.Test;
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.analysis.table.Type;
+import pt.up.fe.comp2025.ConfigOptions;
+import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.CorpusUtils;
+import pt.up.fe.specs.util.SpecsIo;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class TypeAnnotatorTest {
+
+    private static final String CODE = """
+            import io;
+            class A {
+                int[] f;
+                public int foo(int a, boolean b) {
+                    int[] x;
+                    io c;
+                    x = new int[a];
+                    a = (x[0] + a) * f.length;
+                    b = !b && a < 2;
+                    a = this.foo(a, b);
+                    c = new io();
+                    c.bar(a);
+                    return a;
+                }
+                public static void main(String[] args) {
+                }
+            }
+            """;
+
+    @Test
+    public void annotatesExpressions() {
+        var semantics = new JmmAnalysisImpl().buildSymbolTable(TestUtils.parse(CODE, CorpusUtils.config(ConfigOptions.getAnnotateTypes(), false)));
+        TestUtils.noErrors(semantics);
+
+        var root = semantics.getRootNode();
+        new TypeAnnotator(semantics.getSymbolTable()).annotate(root);
+
+        var returnExpr = root.getDescendants(Kind.RETURN_STMT).get(0).getChild(0);
+        assertEquals(new Type("int", false), returnExpr.getObject("type", Type.class));
+
+        for (var binaryExpr : root.getDescendants(Kind.BINARY_EXPR)) {
+            assertTrue(binaryExpr.toString(), binaryExpr.hasAttribute("type"));
+        }
+
+        var arrayRef = root.getDescendants(Kind.ARRAY_ACCESS).get(0).getChild(0);
+        assertEquals(new Type("int", true), arrayRef.getObject("type", Type.class));
+
+        var classCall = root.getDescendants(Kind.CLASS_FUNCTION_EXPR).stream()
+                .filter(call -> call.get("name").equals("foo"))
+                .findFirst().orElseThrow();
+        assertEquals(new Type("int", false), classCall.getObject("type", Type.class));
+    }
+
+    @Test
+    public void leavesTypesOfThePasses() {
+        var parserResult = TestUtils.parse(CODE, CorpusUtils.config(ConfigOptions.getAnnotateTypes(), false));
+        var semantics = new JmmAnalysisImpl().buildSymbolTable(parserResult);
+
+        var root = semantics.getRootNode();
+        new TypeAnnotator(semantics.getSymbolTable()).annotate(root);
+
+        // Typed by ObjectCreation
+        var newObject = root.getDescendants(Kind.NEW).get(0);
+        assertFalse(newObject.hasAttribute("type"));
+
+        // Method of another class
+        var importedCall = root.getDescendants(Kind.CLASS_FUNCTION_EXPR).stream()
+                .filter(call -> call.get("name").equals("bar"))
+                .findFirst().orElseThrow();
+        assertFalse(importedCall.hasAttribute("type"));
+    }
+
+    @Test
+    public void sameResultsOnTestFiles() {
+        for (var file : CorpusUtils.files()) {
+            var code = SpecsIo.read(file.toFile());
+            assertEquals(file.toString(), CorpusUtils.compile(code, CorpusUtils.config(ConfigOptions.getAnnotateTypes(), false)),
+                    CorpusUtils.compile(code, CorpusUtils.config(ConfigOptions.getAnnotateTypes(), true)));
+        }
+    }
+
+    @Test
+    public void reportsOmitTypesByDefault() {
+        var code = """
+                class A {
+                    public int foo() {
+                        int a;
+                        boolean b;
+                        b = true;
+                        a = b;
+                        return a;
+                    }
+                    public static void main(String[] args) {
+                    }
+                }
+                """;
+
+        var reports = CorpusUtils.analyse(code, Map.of()).getReports();
+        assertFalse(reports.isEmpty());
+        for (var report : reports) {
+            assertFalse(report.getMessage(), report.getMessage().contains("type: "));
+        }
+
+        var annotated = CorpusUtils.analyse(code, CorpusUtils.config(ConfigOptions.getAnnotateTypes(), true));
+        assertTrue(annotated.getReports().stream().anyMatch(report -> report.getMessage().contains("type: ")));
+    }
+}
@@ -0,0 +1,246 @@
+package pt.up.fe.comp2025.ast;
+
+import org.junit.Test;
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.ast.JmmNodeImpl;
+import pt.up.fe.comp.jmm.ast.PreorderJmmVisitor;
+import pt.up.fe.comp2025.bench.SyntheticJmm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class AstWalkerTest {
+
+    private static JmmNode parse() {
+        return TestUtils.parse(SyntheticJmm.generateClass("Walk", 3, 4, 3)).getRootNode();
+    }
+
+    private static void preorder(JmmNode node, List<JmmNode> nodes) {
+        nodes.add(node);
+        for (var child : node.getChildren()) {
+            preorder(child, nodes);
+        }
+    }
+
+    private static void postorder(JmmNode node, List<JmmNode> nodes) {
+        for (var child : node.getChildren()) {
+            postorder(child, nodes);
+        }
+        nodes.add(node);
+    }
+
+    private static void assertSameNodes(List<JmmNode> expected, List<JmmNode> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame("node #" + i, expected.get(i), actual.get(i));
+        }
+    }
+
+    private static void assertSameOrder(JmmNode root) {
+        var walker = new AstWalker();
+
+        var expected = new ArrayList<JmmNode>();
+        preorder(root, expected);
+        var actual = new ArrayList<JmmNode>();
+        walker.preorder(root, actual::add);
+        assertSameNodes(expected, actual);
+
+        expected.clear();
+        postorder(root, expected);
+        actual.clear();
+        walker.postorder(root, actual::add);
+        assertSameNodes(expected, actual);
+
+        assertEquals(0, walker.size());
+    }
+
+    @Test
+    public void sameOrderAsRecursion() {
+        assertSameOrder(parse());
+    }
+
+    @Test
+    public void sameOrderOnCompactAst() {
+        assertSameOrder(CompactAst.of(parse()).getRoot());
+    }
+
+    @Test
+    public void nestedTraversals() {
+        var root = parse();
+        var walker = new AstWalker();
+
+        var counts = new ArrayList<Integer>();
+        walker.preorder(root, node -> {
+            if (Kind.METHOD_DECL.check(node)) {
+                int[] count = {0};
+                walker.postorder(node, descendant -> count[0]++);
+                counts.add(count[0]);
+            }
+        });
+
+        var expected = root.getDescendants(Kind.METHOD_DECL.getNodeName()).stream()
+                .map(method -> method.getDescendants().size() + 1)
+                .toList();
+        assertEquals(expected, counts);
+        assertEquals(0, walker.size());
+    }
+
+    @Test
+    public void abortedTraversal() {
+        var root = parse();
+        var walker = new AstWalker();
+
+        try {
+            walker.preorder(root, node -> {
+                if (Kind.RETURN_STMT.check(node)) {
+                    throw new IllegalStateException();
+                }
+            });
+            fail("Expected the traversal to stop");
+        } catch (IllegalStateException e) {
+            // The stack is empty again
+            assertEquals(0, walker.size());
+        }
+
+        assertSameOrder(root);
+    }
+
+    @Test
+    public void filteredPostorder() {
+        var root = TestUtils.parse("a + b * (c - d)", "expr").getRootNode();
+
+        // Below the product only the product itself
+        var kinds = new ArrayList<String>();
+        new AstWalker().postorder(root, node -> !node.getOptional("op").orElse("").equals("*"),
+                node -> kinds.add(node.getKind()));
+
+        assertEquals(List.of("VarRefExpr", "BinaryExpr", "BinaryExpr"), kinds);
+    }
+
+    @Test
+    public void postorderVisitsInRecursiveOrder() {
+        var root = TestUtils.parse("a + b * (c - d) - e", "expr").getRootNode();
+
+        var order = new ArrayList<String>();
+        var visitor = new PostorderKindVisitor<Void, String>() {
+            @Override
+            protected void buildVisitor() {
+                addPostorderVisit(Kind.BINARY_EXPR, (node, unused) -> {
+                    var left = visit(node.getChild(0));
+                    var right = visit(node.getChild(1));
+                    order.add(node.get("op"));
+                    return "(" + left + node.get("op") + right + ")";
+                });
+                // Not bottom-up, visits its child itself
+                addVisit(Kind.PRIORITY_EXPR, (node, unused) -> {
+                    order.add("(");
+                    return visit(node.getChild(0));
+                });
+                addVisit(Kind.VAR_REF_EXPR, (node, unused) -> {
+                    order.add(node.get("name"));
+                    return node.get("name");
+                });
+            }
+        };
+
+        assertEquals("((a+(b*(c-d)))-e)", visitor.visit(root));
+        assertEquals(List.of("a", "b", "(", "c", "d", "-", "*", "+", "e", "-"), order);
+    }
+
+    @Test
+    public void replaceDuringPreorder() {
+        var root = TestUtils.parse("a + b * c", "expr").getRootNode();
+
+        // Replacing a node before its children are taken visits the new children
+        var kinds = new ArrayList<String>();
+        new AstWalker().preorder(root, node -> {
+            kinds.add(node.getKind());
+            if (Kind.BINARY_EXPR.check(node) && node.get("op").equals("*")) {
+                var literal = new JmmNodeImpl(List.of(Kind.INTEGER_LITERAL.getNodeName(), "Expr"));
+                literal.put("value", "6");
+                node.removeChild(1);
+                node.add(literal, 1);
+            }
+        });
+
+        assertEquals(List.of("BinaryExpr", "VarRefExpr", "BinaryExpr", "VarRefExpr", "IntegerLiteral"), kinds);
+    }
+
+    @Test
+    public void children() {
+        var root = TestUtils.parse("a + b * c", "expr").getRootNode();
+        var product = root.getChild(1);
+
+        assertEquals(2, Children.count(root));
+        assertSame(root.getChild(0), Children.get(root, 0));
+        assertSame(product, Children.get(root, 1));
+        assertEquals(1, Children.indexOf(root, product));
+        assertEquals(-1, Children.indexOf(root, product.getChild(0)));
+
+        assertEquals(1, Children.indexOf(root, Kind.BINARY_EXPR, 0));
+        assertEquals(0, Children.indexOf(root, Kind.VAR_REF_EXPR, 0));
+        assertEquals(-1, Children.indexOf(root, Kind.VAR_REF_EXPR, 1));
+        assertSame(product, Children.first(root, Kind.BINARY_EXPR));
+        assertNull(Children.first(root, Kind.INTEGER_LITERAL));
+        assertEquals(2, Children.count(product, Kind.VAR_REF_EXPR));
+        assertEquals(2, Children.count(root, Kind.EXPR));
+
+        // The view follows the node, and cannot change it
+        var view = Children.view(root);
+        root.removeChild(0);
+        assertEquals(1, view.size());
+        assertSame(product, view.get(0));
+        try {
+            view.clear();
+            fail("The view of the children can be modified");
+        } catch (UnsupportedOperationException e) {
+            assertEquals(1, root.getNumChildren());
+        }
+    }
+
+    @Test
+    public void childrenOfCompactAst() {
+        var root = CompactAst.of(TestUtils.parse("a + b * c", "expr").getRootNode()).getRoot();
+        var product = Children.get(root, 1);
+
+        assertEquals(2, Children.count(root));
+        assertSame(product, root.getChild(1));
+        assertEquals(1, Children.indexOf(root, product));
+        assertSame(product, Children.first(root, Kind.BINARY_EXPR));
+        assertEquals(2, Children.count(product, Kind.VAR_REF_EXPR));
+    }
+
+    @Test
+    public void visitorKeepsLibraryOrder() {
+        var root = parse();
+
+        var expected = new ArrayList<JmmNode>();
+        var library = new PreorderJmmVisitor<Void, Void>() {
+            @Override
+            protected void buildVisitor() {
+                setDefaultVisit((node, unused) -> {
+                    expected.add(node);
+                    return null;
+                });
+            }
+        };
+        library.visit(root);
+
+        var actual = new ArrayList<JmmNode>();
+        var visitor = new PreorderKindVisitor<Void, Void>() {
+            @Override
+            protected void buildVisitor() {
+                setDefaultVisit((node, unused) -> {
+                    actual.add(node);
+                    return null;
+                });
+            }
+        };
+        visitor.visit(root);
+
+        assertSameNodes(expected, actual);
+    }
+}
@@ -0,0 +1,132 @@
+package pt.up.fe.comp2025.ast;
+
+import org.junit.Test;
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.ast.JmmNodeImpl;
+import pt.up.fe.comp2025.ConfigOptions;
+import pt.up.fe.comp2025.bench.SyntheticJmm;
+import pt.up.fe.comp2025.CorpusUtils;
+import pt.up.fe.specs.util.SpecsIo;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class CompactAstTest {
+
+    @Test
+    public void sameTreeAsNodes() {
+        var root = TestUtils.parse(SyntheticJmm.generateClass("Compact", 3, 5, 2)).getRootNode();
+        var compact = CompactAst.of(root);
+
+        assertEquals(root.toTree(), compact.getRoot().toTree());
+        assertEquals(root.getDescendants().size() + 1, compact.size());
+
+        // Labels of rules refer to the compact nodes, not to the original tree
+        var type = compact.getRoot().getDescendants(Kind.TYPE).get(0);
+        assertSame(type.getChild(0), type.getObject("name"));
+    }
+
+    @Test
+    public void viewsAreStable() {
+        var root = CompactAst.of(TestUtils.parse(SyntheticJmm.generateClass("Compact", 1, 1, 1)).getRootNode())
+                .getRoot();
+
+        var classDecl = next(root.getChild(0));
+        assertSame(classDecl, root.getChildren().get(1));
+        assertSame(classDecl, classDecl.getChild(0).getParent());
+        assertEquals(1, classDecl.getIndexOfSelf());
+    }
+
+    @Test
+    public void concurrentReadsAndAttributes() {
+        var parsed = TestUtils.parse(SyntheticJmm.generateClass("Compact", 2, 64, 8)).getRootNode();
+
+        for (int run = 0; run < 20; run++) {
+            var root = CompactAst.of(parsed).getRoot();
+            var methods = root.getDescendants(Kind.METHOD_DECL);
+
+            // Each thread sets a new attribute in the nodes of its method, and creates the views of the next method
+            // while another thread does the same
+            var next = IntStream.range(0, methods.size()).parallel()
+                    .mapToObj(i -> {
+                        for (var node : methods.get(i).getDescendants()) {
+                            node.putObject("part", i);
+                        }
+                        return methods.get((i + 1) % methods.size()).getDescendants();
+                    })
+                    .toList();
+
+            for (int i = 0; i < methods.size(); i++) {
+                var nodes = methods.get((i + 1) % methods.size()).getDescendants();
+                for (int j = 0; j < nodes.size(); j++) {
+                    assertSame(nodes.get(j), next.get(i).get(j));
+                }
+            }
+            for (int i = 0; i < methods.size(); i++) {
+                for (var node : methods.get(i).getDescendants()) {
+                    assertEquals(i, node.getObject("part"));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void structuralChanges() {
+        var root = CompactAst.of(TestUtils.parse("a + b * c", "expr").getRootNode()).getRoot();
+
+        // Replace 'b * c' with a node from another tree
+        var literal = new JmmNodeImpl(List.of(Kind.INTEGER_LITERAL.getNodeName(), "Expr"));
+        literal.put("value", "6");
+        root.removeChild(1);
+        root.add(literal, 1);
+
+        assertEquals(2, root.getNumChildren());
+        assertTrue(Kind.INTEGER_LITERAL.check(root.getChild(1)));
+        assertEquals("6", root.getChild(1).get("value"));
+        assertSame(root, root.getChild(1).getParent());
+
+        // Swap both operands
+        var left = root.getChild(0);
+        root.setChild(root.getChild(1), 0);
+        assertTrue(Kind.INTEGER_LITERAL.check(root.getChild(0)));
+        assertSame(left, root.getChild(1));
+
+        // Delete and add at the end
+        left.delete();
+        assertEquals(1, root.getNumChildren());
+        root.add(left);
+        assertSame(left, root.getChild(1));
+    }
+
+    @Test
+    public void indexedAccessFollowsSiblings() {
+        var root = CompactAst.of(TestUtils.parse(SyntheticJmm.generateClass("Compact", 2, 8, 4)).getRootNode())
+                .getRoot();
+
+        for (var node : root.getDescendants()) {
+            int index = 0;
+            for (var child = CompactAst.firstChild(node); child != null; child = CompactAst.nextSibling(child)) {
+                assertSame(child, Children.get(node, index));
+                assertEquals(index, Children.indexOf(node, child));
+                index++;
+            }
+            assertEquals(index, Children.count(node));
+        }
+    }
+
+    @Test
+    public void sameResultsOnTestFiles() {
+        for (var file : CorpusUtils.files()) {
+            var code = SpecsIo.read(file.toFile());
+            assertEquals(file.toString(), CorpusUtils.compile(code, CorpusUtils.config(ConfigOptions.getCompactAst(), false)),
+                    CorpusUtils.compile(code, CorpusUtils.config(ConfigOptions.getCompactAst(), true)));
+        }
+    }
+
+    private static JmmNode next(JmmNode node) {
+        return node.getParent().getChild(node.getIndexOfSelf() + 1);
+    }
+}
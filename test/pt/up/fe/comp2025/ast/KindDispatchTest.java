@@ -0,0 +1,87 @@
+package pt.up.fe.comp2025.ast;
+
+import org.junit.Test;
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.ast.JmmNodeImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class KindDispatchTest {
+
+    /**
+     * Records the visit method used for each node.
+     */
+    private static class RecordingVisitor extends PreorderKindVisitor<Void, Void> {
+
+        private final List<String> visits = new ArrayList<>();
+
+        @Override
+        protected void buildVisitor() {
+            addVisit(Kind.BINARY_EXPR, (node, unused) -> record("binary"));
+            addVisit(Kind.EXPR, (node, unused) -> record("expr"));
+            setDefaultVisit((node, unused) -> record("default"));
+        }
+
+        private Void record(String visit) {
+            visits.add(visit);
+            return null;
+        }
+    }
+
+    private static JmmNode parseExpr(String code) {
+        var result = TestUtils.parse(code, "expr");
+        TestUtils.noErrors(result.getReports());
+        return result.getRootNode();
+    }
+
+    @Test
+    public void kindOf() {
+        var root = parseExpr("a + 1");
+
+        assertEquals(Kind.BINARY_EXPR, Kind.of(root));
+        assertEquals(Kind.INTEGER_LITERAL, Kind.of(root.getChild(1)));
+
+        var compact = CompactAst.of(root).getRoot();
+        assertEquals(Kind.BINARY_EXPR, Kind.of(compact));
+        assertEquals(Kind.VAR_REF_EXPR, Kind.of(compact.getChild(0)));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void kindOfUnknownNode() {
+        Kind.of(new JmmNodeImpl(List.of("NotAKind")));
+    }
+
+    @Test
+    public void checkOnCompactNodes() {
+        var compact = CompactAst.of(parseExpr("a + 1")).getRoot();
+
+        assertTrue(Kind.BINARY_EXPR.check(compact));
+        assertTrue(Kind.EXPR.check(compact));
+        assertFalse(Kind.INTEGER_LITERAL.check(compact));
+        assertTrue(Kind.check(compact.getChild(1), Kind.VAR_REF_EXPR, Kind.INTEGER_LITERAL));
+    }
+
+    @Test
+    public void firstKindOfHierarchyWins() {
+        var root = parseExpr("a + 1");
+
+        // Nodes built by hand have no super kind
+        var literal = new JmmNodeImpl(List.of(Kind.INTEGER_LITERAL.getNodeName()));
+        literal.put("value", "2");
+        root.add(literal);
+
+        var visitor = new RecordingVisitor();
+        visitor.visit(root);
+
+        assertEquals(List.of("binary", "expr", "expr", "default"), visitor.visits);
+
+        // Same result the second time, from the cached resolutions, and on compact nodes
+        visitor.visits.clear();
+        visitor.visit(CompactAst.of(root).getRoot());
+        assertEquals(List.of("binary", "expr", "expr", "default"), visitor.visits);
+    }
+}
@@ -0,0 +1,76 @@
+package pt.up.fe.comp2025.ast;
+
+import org.junit.Test;
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.ast.JmmNodeImpl;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class KindSummaryTest {
+
+    private static final String CODE = """
+            class A {
+                int f;
+                public int foo(int a) {
+                    int b;
+                    b = a + 1;
+                    return b;
+                }
+                public boolean bar(int a, int c) {
+                    a = a * c + a * c;
+                    return true;
+                }
+            }
+            """;
+
+    private static JmmNode parse() {
+        var result = TestUtils.parse(CODE);
+        TestUtils.noErrors(result.getReports());
+        return result.getRootNode();
+    }
+
+    private static List<JmmNode> methods(JmmNode root) {
+        return Children.view(Children.first(root, Kind.CLASS_DECL)).stream()
+                .filter(Kind.METHOD_DECL::check)
+                .toList();
+    }
+
+    private static long bit(Kind kind) {
+        return 1L << kind.ordinal();
+    }
+
+    @Test
+    public void subtreeHasKindsOfDescendants() {
+        var root = parse();
+        var summary = KindSummary.of(root);
+
+        var classDecl = Children.first(root, Kind.CLASS_DECL);
+        var field = Children.first(classDecl, Kind.VAR_DECL);
+        var foo = methods(root).get(0);
+        var bar = methods(root).get(1);
+        var assign = Children.first(bar, Kind.ASSIGN_STMT);
+
+        assertTrue(summary.containsAny(root, bit(Kind.RETURN_STMT)));
+        assertTrue(summary.containsAny(foo, bit(Kind.BINARY_EXPR)));
+        // Kinds of the hierarchy count too
+        assertTrue(summary.containsAny(assign, bit(Kind.EXPR)));
+        assertFalse(summary.containsAny(assign, bit(Kind.RETURN_STMT) | bit(Kind.BOOLEAN_LITERAL)));
+        assertFalse(summary.containsAny(root, bit(Kind.WHILE_STMT)));
+
+        // Too small to be in the summary
+        assertEquals(KindSummary.ALL, summary.get(field));
+        // Not from the summarised AST
+        assertEquals(KindSummary.ALL, summary.get(new JmmNodeImpl(List.of("WhileStmt"))));
+    }
+
+    @Test
+    public void maskOfKinds() {
+        assertEquals(bit(Kind.RETURN_STMT) | bit(Kind.EXPR), KindSummary.maskOf(Set.of("ReturnStmt", "Expr")));
+        assertEquals(0, KindSummary.maskOf(Set.of()));
+        assertEquals(KindSummary.ALL, KindSummary.maskOf(Set.of("ReturnStmt", "NotAKind")));
+    }
+}
@@ -0,0 +1,79 @@
+package pt.up.fe.comp2025.bench;
+
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp2025.ConfigOptions;
+import pt.up.fe.comp2025.ast.CompactAst;
+import pt.up.fe.comp2025.utils.NameTable;
+
+import java.lang.ref.Reference;
+import java.util.HashMap;
+import java.util.function.Supplier;
+
+/**
+ * Measures the heap retained by the AST of a large synthetic class, with the default nodes and with
+ * {@link CompactAst}.
+ * <p>
+ * Not a JUnit test, run it from the test classpath, preferably with a single-threaded collector so the measurements
+ * are stable, e.g.:
+ * <pre>
+ * java -XX:+UseSerialGC -cp &lt;test classpath&gt; pt.up.fe.comp2025.bench.AstMemoryBenchmark [numMethods]
+ * </pre>
+ */
+public class AstMemoryBenchmark {
+
+    public static void main(String[] args) {
+        int numMethods = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+
+        var code = SyntheticJmm.generateClass("Bench", 20, numMethods, 8);
+
+        // Without interning, as the nodes were before the name table
+        var config = new HashMap<String, String>();
+        config.put(ConfigOptions.getInternScope(), NameTable.SCOPE_NONE);
+        Supplier<JmmNode> parse = () -> TestUtils.parse(code, config).getRootNode();
+
+        var numNodes = parse.get().getDescendants().size() + 1;
+        System.out.printf("Corpus: %d chars, %d methods, %d nodes%n", code.length(), numMethods, numNodes);
+
+        report("Nodes", numNodes, retained(parse::get));
+
+        config.remove(ConfigOptions.getInternScope());
+        report("Nodes, interned", numNodes, retained(parse::get));
+
+        report("Compact", numNodes, retained(() -> CompactAst.of(parse.get())));
+
+        // Every node visited once, so every view is created
+        report("Compact, all views", numNodes, retained(() -> {
+            var ast = CompactAst.of(parse.get());
+            ast.getRoot().getDescendants();
+            return ast;
+        }));
+    }
+
+    private static void report(String name, int numNodes, long bytes) {
+        System.out.printf("%-20s %8.1f MB %6.0f bytes/node%n", name, bytes / 1e6, (double) bytes / numNodes);
+    }
+
+    /**
+     * @return the heap retained by the object built by the given supplier, in bytes
+     */
+    private static long retained(Supplier<Object> supplier) {
+        long before = usedAfterGc();
+        var object = supplier.get();
+        long after = usedAfterGc();
+
+        // Keep the object alive until the second measurement
+        Reference.reachabilityFence(object);
+
+        return after - before;
+    }
+
+    private static long usedAfterGc() {
+        var runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,51 @@
+package pt.up.fe.comp2025.bench;
+
+import pt.up.fe.comp.TestUtils;
+
+/**
+ * Measures the time to compile a class with a very long chain of operators to OLLIR, for two lengths, so the growth
+ * of the time with the depth of the expression can be compared: eight times the terms should take about eight times
+ * as long, quadratic stages would take 64 times as long.
+ * <p>
+ * Not a JUnit test, run it from the test classpath, e.g.:
+ * <pre>
+ * java -cp &lt;test classpath&gt; pt.up.fe.comp2025.bench.DeepExpressionBenchmark [numTerms] [iterations]
+ * </pre>
+ */
+public class DeepExpressionBenchmark {
+
+    public static void main(String[] args) {
+        int numTerms = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        var small = SyntheticJmm.generateLongExprClass(numTerms);
+        var large = SyntheticJmm.generateLongExprClass(numTerms * 8);
+
+        // Sanity check and warm-up
+        for (int i = 0; i < iterations; i++) {
+            toOllir(small);
+        }
+
+        double smallMillis = millisToOllir(small, iterations);
+        double largeMillis = millisToOllir(large, iterations);
+
+        System.out.printf("%d terms: %.2f ms%n", numTerms, smallMillis);
+        System.out.printf("%d terms: %.2f ms, %.1f times as long%n", numTerms * 8, largeMillis,
+                largeMillis / smallMillis);
+    }
+
+    private static void toOllir(String code) {
+        var semantics = TestUtils.analyse(code);
+        TestUtils.noErrors(semantics);
+        TestUtils.optimize(semantics);
+    }
+
+    private static double millisToOllir(String code, int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            toOllir(code);
+        }
+
+        return (System.nanoTime() - start) / 1e6 / iterations;
+    }
+}
@@ -0,0 +1,59 @@
+package pt.up.fe.comp2025.bench;
+
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp2025.parser.JmmParserImpl;
+import pt.up.fe.comp2025.parser.SkeletonParser;
+
+import java.util.HashMap;
+
+/**
+ * Measures parse throughput of {@link JmmParserImpl} over a large synthetic corpus, and of {@link SkeletonParser} for
+ * consumers that only need the declarations.
+ * <p>
+ * Not a JUnit test, run it from the test classpath, e.g.:
+ * <pre>
+ * java -cp &lt;test classpath&gt; pt.up.fe.comp2025.bench.ParserBenchmark [numMethods] [iterations]
+ * </pre>
+ */
+public class ParserBenchmark {
+
+    public static void main(String[] args) {
+        int numMethods = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        var code = SyntheticJmm.generateClass("Bench", 20, numMethods, 8);
+        var parser = new JmmParserImpl();
+
+        // Sanity check, the corpus must parse without errors
+        TestUtils.noErrors(parser.parse(code, new HashMap<>()).getReports());
+
+        // Warm-up
+        for (int i = 0; i < iterations; i++) {
+            parser.parse(code, new HashMap<>());
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            parser.parse(code, new HashMap<>());
+        }
+        long elapsed = System.nanoTime() - start;
+
+        double msPerParse = elapsed / 1e6 / iterations;
+        double kbPerSec = code.length() / 1024.0 / (msPerParse / 1000.0);
+
+        // Declarations only, as used by the symbol table
+        for (int i = 0; i < iterations; i++) {
+            new SkeletonParser(new HashMap<>()).parse(code);
+        }
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            new SkeletonParser(new HashMap<>()).parse(code);
+        }
+        double msPerSkeleton = (System.nanoTime() - start) / 1e6 / iterations;
+
+        System.out.printf("Corpus: %d chars, %d methods%n", code.length(), numMethods);
+        System.out.printf("Parse: %.2f ms/file, %.0f KB/s%n", msPerParse, kbPerSec);
+        System.out.printf("Skeleton parse: %.2f ms/file%n", msPerSkeleton);
+    }
+}
@@ -0,0 +1,60 @@
+package pt.up.fe.comp2025.bench;
+
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp2025.cache.SemanticsReader;
+import pt.up.fe.comp2025.cache.SemanticsWriter;
+
+import java.util.HashMap;
+
+/**
+ * Compares loading a semantic analysis result written by {@link SemanticsWriter} with parsing and analysing the file
+ * again.
+ * <p>
+ * Not a JUnit test, run it from the test classpath, e.g.:
+ * <pre>
+ * java -cp &lt;test classpath&gt; pt.up.fe.comp2025.bench.SerializationBenchmark [numMethods] [iterations]
+ * </pre>
+ */
+public class SerializationBenchmark {
+
+    public static void main(String[] args) {
+        int numMethods = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        var code = SyntheticJmm.generateClass("Bench", 20, numMethods, 8);
+
+        var semantics = TestUtils.analyse(code);
+        TestUtils.noErrors(semantics);
+        var bytes = SemanticsWriter.write(semantics);
+
+        // Warm-up
+        for (int i = 0; i < iterations; i++) {
+            TestUtils.analyse(code);
+            SemanticsReader.read(bytes, new HashMap<>());
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            TestUtils.analyse(code);
+        }
+        double msPerAnalysis = (System.nanoTime() - start) / 1e6 / iterations;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            SemanticsWriter.write(semantics);
+        }
+        double msPerWrite = (System.nanoTime() - start) / 1e6 / iterations;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            SemanticsReader.read(bytes, new HashMap<>());
+        }
+        double msPerRead = (System.nanoTime() - start) / 1e6 / iterations;
+
+        System.out.printf("Corpus: %d chars, %d methods, %d bytes serialized%n", code.length(), numMethods,
+                bytes.length);
+        System.out.printf("Parse and analyse: %.2f ms/file%n", msPerAnalysis);
+        System.out.printf("Write: %.2f ms/file%n", msPerWrite);
+        System.out.printf("Read: %.2f ms/file (%.1fx faster)%n", msPerRead, msPerAnalysis / msPerRead);
+    }
+}
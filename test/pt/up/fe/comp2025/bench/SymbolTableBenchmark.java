@@ -0,0 +1,43 @@
+package pt.up.fe.comp2025.bench;
+
+import pt.up.fe.comp2025.parser.SkeletonParser;
+import pt.up.fe.comp2025.symboltable.JmmSymbolTableBuilder;
+
+import java.util.HashMap;
+
+/**
+ * Measures symbol table construction on classes with an increasing number of fields and methods. With a linear
+ * construction, the time per member stays the same as the class grows.
+ * <p>
+ * Not a JUnit test, run it from the test classpath, e.g.:
+ * <pre>
+ * java -cp &lt;test classpath&gt; pt.up.fe.comp2025.bench.SymbolTableBenchmark [maxMembers] [iterations]
+ * </pre>
+ */
+public class SymbolTableBenchmark {
+
+    public static void main(String[] args) {
+        int maxMembers = args.length > 0 ? Integer.parseInt(args[0]) : 8000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        for (int numMembers = 1000; numMembers <= maxMembers; numMembers *= 2) {
+            // Same number of fields and methods, the bodies are not needed for the table
+            var code = SyntheticJmm.generateClass("Bench", numMembers, numMembers, 2);
+            var root = new SkeletonParser(new HashMap<>()).parse(code).getRootNode();
+
+            // Warm-up
+            for (int i = 0; i < iterations; i++) {
+                new JmmSymbolTableBuilder().build(root);
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                new JmmSymbolTableBuilder().build(root);
+            }
+            double msPerBuild = (System.nanoTime() - start) / 1e6 / iterations;
+
+            System.out.printf("%5d fields, %5d methods: %8.2f ms/table %6.2f us/member%n",
+                    numMembers, numMembers, msPerBuild, msPerBuild * 1000 / (2 * numMembers));
+        }
+    }
+}
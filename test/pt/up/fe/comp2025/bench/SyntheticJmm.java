@@ -0,0 +1,133 @@
+package pt.up.fe.comp2025.bench;
+
+/**
+ * Generates large, syntactically and semantically valid Java-- classes used by the benchmarks in this package.
+ * <p>
+ * The generated code only uses constructs the compiler supports end-to-end (fields, locals, arithmetic, boolean
+ * logic, arrays, while/if and calls to methods of the same class), so it can be fed to every stage.
+ */
+public class SyntheticJmm {
+
+    private SyntheticJmm() {
+    }
+
+    /**
+     * Generates a class with the given number of fields and methods.
+     *
+     * @param className      name of the generated class
+     * @param numFields      number of int fields
+     * @param numMethods     number of instance methods, besides main
+     * @param stmtsPerMethod number of statement groups in each method body
+     * @return the Java-- source code
+     */
+    public static String generateClass(String className, int numFields, int numMethods, int stmtsPerMethod) {
+        var code = new StringBuilder(numMethods * stmtsPerMethod * 200);
+
+        code.append("import io;\n\n");
+        code.append("class ").append(className).append(" {\n");
+
+        for (int i = 0; i < numFields; i++) {
+            code.append("    int f").append(i).append(";\n");
+        }
+        code.append("\n");
+
+        for (int i = 0; i < numMethods; i++) {
+            appendMethod(code, i, numMethods, numFields, stmtsPerMethod);
+        }
+
+        code.append("    public static void main(String[] args) {\n");
+        code.append("    }\n");
+        code.append("}\n");
+
+        return code.toString();
+    }
+
+    /**
+     * Generates an expression with the given number of terms, chained with alternating '+' and '-'.
+     *
+     * @param numTerms number of terms of the expression, at least 1
+     * @return the expression, without a trailing ';'
+     */
+    public static String generateLongExpr(int numTerms) {
+        var expr = new StringBuilder(numTerms * 4);
+        expr.append("a");
+        for (int i = 1; i < numTerms; i++) {
+            expr.append(i % 2 == 0 ? " + " : " - ").append(i % 3 == 0 ? "b" : "a");
+        }
+
+        return expr.toString();
+    }
+
+    /**
+     * Generates a class with a single method that returns an expression with the given number of terms.
+     *
+     * @param numTerms number of terms of the returned expression
+     * @return the Java-- source code
+     */
+    public static String generateLongExprClass(int numTerms) {
+        return "class LongExpr {\n" +
+                "    public int foo(int a, int b) {\n" +
+                "        return " + generateLongExpr(numTerms) + ";\n" +
+                "    }\n" +
+                "    public static void main(String[] args) {\n" +
+                "    }\n" +
+                "}\n";
+    }
+
+    /**
+     * Generates a class with a single method that assigns a chain of locals, each one the previous one plus 1, and
+     * returns the last one: {@code a0 = 1; a1 = a0 + 1; ...}.
+     *
+     * @param numVariables number of locals, at least 1
+     * @return the Java-- source code
+     */
+    public static String generateAssignChainClass(int numVariables) {
+        var code = new StringBuilder(numVariables * 40);
+        code.append("class Chain {\n");
+        code.append("    public int foo() {\n");
+        for (int i = 0; i < numVariables; i++) {
+            code.append("        int a").append(i).append(";\n");
+        }
+        code.append("        a0 = 1;\n");
+        for (int i = 1; i < numVariables; i++) {
+            code.append("        a").append(i).append(" = a").append(i - 1).append(" + 1;\n");
+        }
+        code.append("        return a").append(numVariables - 1).append(";\n");
+        code.append("    }\n");
+        code.append("}\n");
+
+        return code.toString();
+    }
+
+    private static void appendMethod(StringBuilder code, int index, int numMethods, int numFields, int stmts) {
+        var callee = "m" + ((index + 1) % numMethods);
+
+        code.append("    public int m").append(index).append("(int a, int[] arr) {\n");
+        code.append("        int x;\n");
+        code.append("        int y;\n");
+        code.append("        boolean b;\n");
+        code.append("        x = a + 1;\n");
+        code.append("        y = 0;\n");
+
+        for (int i = 0; i < stmts; i++) {
+            var field = numFields > 0 ? "f" + ((index + i) % numFields) : "x";
+
+            code.append("        y = x * 2 - arr[").append(i % 4).append("] / 3 + ").append(field).append(";\n");
+            code.append("        b = x < y && !(y < a);\n");
+            code.append("        while (x < ").append(10 + i).append(") {\n");
+            code.append("            x = x + 1;\n");
+            code.append("        }\n");
+            code.append("        if (b) {\n");
+            code.append("            y = this.").append(callee).append("(x, arr);\n");
+            code.append("        } else {\n");
+            code.append("            y = arr.length;\n");
+            code.append("        }\n");
+            if (numFields > 0) {
+                code.append("        ").append(field).append(" = y + ").append(i).append(";\n");
+            }
+        }
+
+        code.append("        return x + y;\n");
+        code.append("    }\n\n");
+    }
+}
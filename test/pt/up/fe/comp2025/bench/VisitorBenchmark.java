@@ -0,0 +1,141 @@
+package pt.up.fe.comp2025.bench;
+
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.ast.JmmVisitor;
+import pt.up.fe.comp.jmm.ast.PreorderJmmVisitor;
+import pt.up.fe.comp2025.ast.AstWalker;
+import pt.up.fe.comp2025.ast.CompactAst;
+import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.ast.PreorderKindVisitor;
+
+import java.util.function.Supplier;
+
+/**
+ * Measures visitor throughput with the name-based dispatch of {@link PreorderJmmVisitor} and with the ordinal-based
+ * dispatch of {@link PreorderKindVisitor}, the cost of a bare traversal with {@link JmmNode#getChildren()} and with
+ * {@link AstWalker}, and the cost of looking up the {@link Kind} of a node.
+ * <p>
+ * Not a JUnit test, run it from the test classpath, e.g.:
+ * <pre>
+ * java -cp &lt;test classpath&gt; pt.up.fe.comp2025.bench.VisitorBenchmark [numMethods] [iterations]
+ * </pre>
+ */
+public class VisitorBenchmark {
+
+    private static int count;
+
+    /**
+     * Same visits as a typical analysis pass: a few kinds, and a default visit for the rest.
+     */
+    private static class NameVisitor extends PreorderJmmVisitor<Void, Void> {
+        @Override
+        protected void buildVisitor() {
+            addVisit(Kind.BINARY_EXPR, (node, unused) -> visitCounted());
+            addVisit(Kind.VAR_REF_EXPR, (node, unused) -> visitCounted());
+            addVisit(Kind.ASSIGN_STMT, (node, unused) -> visitCounted());
+            setDefaultVisit((node, unused) -> null);
+        }
+    }
+
+    private static class OrdinalVisitor extends PreorderKindVisitor<Void, Void> {
+        @Override
+        protected void buildVisitor() {
+            addVisit(Kind.BINARY_EXPR, (node, unused) -> visitCounted());
+            addVisit(Kind.VAR_REF_EXPR, (node, unused) -> visitCounted());
+            addVisit(Kind.ASSIGN_STMT, (node, unused) -> visitCounted());
+            setDefaultVisit((node, unused) -> null);
+        }
+    }
+
+    private static Void visitCounted() {
+        count++;
+        return null;
+    }
+
+    public static void main(String[] args) {
+        int numMethods = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        var root = TestUtils.parse(SyntheticJmm.generateClass("Bench", 20, numMethods, 8)).getRootNode();
+        var compactRoot = CompactAst.of(root).getRoot();
+        var nodes = root.getDescendants();
+        var compactNodes = compactRoot.getDescendants();
+
+        System.out.printf("AST: %d nodes%n", nodes.size() + 1);
+
+        report("Visit, by name", nodes.size(), iterations, () -> visitAll(new NameVisitor(), root));
+        report("Visit, by ordinal", nodes.size(), iterations, () -> visitAll(new OrdinalVisitor(), root));
+        report("Visit, by ordinal, compact", nodes.size(), iterations,
+                () -> visitAll(new OrdinalVisitor(), compactRoot));
+
+        report("Walk, getChildren()", nodes.size(), iterations, () -> walkRecursively(root));
+        var walker = new AstWalker();
+        report("Walk, AstWalker", nodes.size(), iterations, () -> {
+            walker.preorder(root, node -> count++);
+            return null;
+        });
+
+        report("Kind, linear scan", nodes.size(), iterations, () -> {
+            for (var node : nodes) {
+                count += linearFromString(node.getKind()).ordinal();
+            }
+            return null;
+        });
+        report("Kind.of", nodes.size(), iterations, () -> {
+            for (var node : nodes) {
+                count += Kind.of(node).ordinal();
+            }
+            return null;
+        });
+        report("Kind.of, compact", nodes.size(), iterations, () -> {
+            for (var node : compactNodes) {
+                count += Kind.of(node).ordinal();
+            }
+            return null;
+        });
+
+        // Keeps the results alive
+        System.out.println("(" + count + ")");
+    }
+
+    private static Void visitAll(JmmVisitor<Void, Void> visitor, JmmNode root) {
+        visitor.visit(root);
+        return null;
+    }
+
+    private static Void walkRecursively(JmmNode node) {
+        count++;
+        for (var child : node.getChildren()) {
+            walkRecursively(child);
+        }
+        return null;
+    }
+
+    /**
+     * The lookup Kind.fromString used to do.
+     */
+    private static Kind linearFromString(String kind) {
+        for (Kind k : Kind.values()) {
+            if (k.getNodeName().equals(kind)) {
+                return k;
+            }
+        }
+        throw new RuntimeException("Could not convert string '" + kind + "' to a Kind");
+    }
+
+    private static void report(String name, int numNodes, int iterations, Supplier<Void> run) {
+        // Warm-up
+        for (int i = 0; i < iterations; i++) {
+            run.get();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            run.get();
+        }
+        double nsPerNode = (double) (System.nanoTime() - start) / iterations / numNodes;
+
+        System.out.printf("%-28s %7.1f ns/node %8.1f M nodes/s%n", name, nsPerNode, 1000 / nsPerNode);
+    }
+}
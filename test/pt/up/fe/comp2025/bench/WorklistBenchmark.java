@@ -0,0 +1,45 @@
+package pt.up.fe.comp2025.bench;
+
+import pt.up.fe.comp2025.SnippetUtils;
+
+/**
+ * Measures the time to optimize a class with a long chain of assignments, for two lengths, so the growth of the time
+ * of the worklist with the number of statements can be compared: eight times the statements should take about eight
+ * times as long, a quadratic worklist would take 64 times as long.
+ * <p>
+ * Not a JUnit test, run it from the test classpath, e.g.:
+ * <pre>
+ * java -cp &lt;test classpath&gt; pt.up.fe.comp2025.bench.WorklistBenchmark [numVariables] [iterations]
+ * </pre>
+ */
+public class WorklistBenchmark {
+
+    public static void main(String[] args) {
+        int numVariables = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        var small = SyntheticJmm.generateAssignChainClass(numVariables);
+        var large = SyntheticJmm.generateAssignChainClass(numVariables * 8);
+
+        // Warm-up
+        for (int i = 0; i < iterations; i++) {
+            SnippetUtils.optimize(small);
+        }
+
+        double smallMillis = millisToOptimize(small, iterations);
+        double largeMillis = millisToOptimize(large, iterations);
+
+        System.out.printf("%d variables: %.2f ms%n", numVariables, smallMillis);
+        System.out.printf("%d variables: %.2f ms, %.1f times as long%n", numVariables * 8, largeMillis,
+                largeMillis / smallMillis);
+    }
+
+    private static double millisToOptimize(String code, int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            SnippetUtils.optimize(code);
+        }
+
+        return (System.nanoTime() - start) / 1e6 / iterations;
+    }
+}
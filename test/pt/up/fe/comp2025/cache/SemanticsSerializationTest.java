@@ -0,0 +1,155 @@
+package pt.up.fe.comp2025.cache;
+
+import org.junit.Test;
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.analysis.table.SymbolTable;
+import pt.up.fe.comp.jmm.analysis.table.Type;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.report.ReportType;
+import pt.up.fe.comp2025.CorpusUtils;
+import pt.up.fe.specs.util.SpecsIo;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class SemanticsSerializationTest {
+
+    private static List<JmmNode> preorder(JmmNode root) {
+        var nodes = new ArrayList<JmmNode>();
+        var pending = new ArrayDeque<JmmNode>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            var node = pending.pop();
+            nodes.add(node);
+            var children = node.getChildren();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                pending.push(children.get(i));
+            }
+        }
+        return nodes;
+    }
+
+    private static String describe(Object value, Map<JmmNode, Integer> indexes) {
+        return switch (value) {
+            case Type type -> type.toString() + type.getAttributes().stream().sorted()
+                    .map(attribute -> attribute + "=" + type.getObject(attribute)).toList();
+            case JmmNode node -> "node#" + indexes.get(node);
+            case List<?> list -> list.stream().map(element -> describe(element, indexes)).toList().toString();
+            default -> value.getClass().getSimpleName() + ":" + value;
+        };
+    }
+
+    private static void assertSameAst(String file, JmmNode expected, JmmNode actual) {
+        var expectedNodes = preorder(expected);
+        var actualNodes = preorder(actual);
+        assertEquals(file, expectedNodes.size(), actualNodes.size());
+
+        Map<JmmNode, Integer> expectedIndexes = new IdentityHashMap<>();
+        Map<JmmNode, Integer> actualIndexes = new IdentityHashMap<>();
+        for (int i = 0; i < expectedNodes.size(); i++) {
+            expectedIndexes.put(expectedNodes.get(i), i);
+            actualIndexes.put(actualNodes.get(i), i);
+        }
+
+        for (int i = 0; i < expectedNodes.size(); i++) {
+            var expectedNode = expectedNodes.get(i);
+            var actualNode = actualNodes.get(i);
+            var location = file + " node #" + i;
+
+            assertEquals(location, expectedNode.getHierarchy(), actualNode.getHierarchy());
+            assertEquals(location, expectedNode.getNumChildren(), actualNode.getNumChildren());
+            assertEquals(location, expectedNode.getAttributes().stream().sorted().toList(),
+                    actualNode.getAttributes().stream().sorted().toList());
+
+            for (var attribute : expectedNode.getAttributes()) {
+                assertEquals(location + " " + attribute,
+                        describe(expectedNode.getObject(attribute), expectedIndexes),
+                        describe(actualNode.getObject(attribute), actualIndexes));
+            }
+
+            if (i > 0) {
+                assertEquals(location, expectedIndexes.get(expectedNode.getParent()),
+                        actualIndexes.get(actualNode.getParent()));
+            }
+        }
+    }
+
+    private static void assertSameTable(String file, SymbolTable expected, SymbolTable actual) {
+        assertEquals(file, expected.print(), actual.print());
+        assertEquals(file, expected.getSuper(), actual.getSuper());
+        assertEquals(file, expected.getMethods(), actual.getMethods());
+        for (var method : expected.getMethods()) {
+            assertEquals(file, expected.getReturnType(method), actual.getReturnType(method));
+            assertEquals(file, expected.getParameters(method), actual.getParameters(method));
+            assertEquals(file, expected.getLocalVariables(method), actual.getLocalVariables(method));
+        }
+    }
+
+    @Test
+    public void roundTripOnTestFiles() {
+        int checked = 0;
+
+        for (var file : CorpusUtils.files()) {
+            var semantics = TestUtils.analyse(SpecsIo.read(file.toFile()));
+            if (semantics.getRootNode() == null) {
+                continue;
+            }
+
+            var bytes = SemanticsWriter.write(semantics);
+            var loaded = SemanticsReader.read(bytes, semantics.getConfig());
+
+            assertSameAst(file.toString(), semantics.getRootNode(), loaded.getRootNode());
+            assertSameTable(file.toString(), semantics.getSymbolTable(), loaded.getSymbolTable());
+            assertEquals(file.toString(),
+                    CorpusUtils.describe(semantics.getReports()), CorpusUtils.describe(loaded.getReports()));
+
+            // Writing the loaded result gives the same bytes
+            assertArrayEquals(file.toString(), bytes, SemanticsWriter.write(loaded));
+            checked++;
+        }
+
+        CorpusUtils.assertCompared(checked);
+    }
+
+    @Test
+    public void sameOllirFromLoadedResults() {
+        for (var file : CorpusUtils.files()) {
+            var semantics = TestUtils.analyse(SpecsIo.read(file.toFile()));
+            if (semantics.getRootNode() == null
+                    || semantics.getReports().stream().anyMatch(report -> report.getType() == ReportType.ERROR)) {
+                continue;
+            }
+
+            var loaded = SemanticsReader.read(SemanticsWriter.write(semantics), semantics.getConfig());
+
+            String expected;
+            try {
+                expected = TestUtils.optimize(semantics).getOllirCode();
+            } catch (RuntimeException e) {
+                continue;
+            }
+            assertEquals(file.toString(), expected, TestUtils.optimize(loaded).getOllirCode());
+        }
+    }
+
+    @Test
+    public void rejectsOtherVersions() {
+        var semantics = TestUtils.analyse("class A { public static void main(String[] args) { } }");
+        var bytes = SemanticsWriter.write(semantics);
+
+        // Version follows the magic number
+        bytes[4]++;
+        try {
+            SemanticsReader.read(bytes, new HashMap<>());
+            fail("Expected the version to be rejected");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("version"));
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package pt.up.fe.comp2025.optimization;
+
+import org.junit.Test;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp2025.SnippetUtils;
+import pt.up.fe.comp2025.ast.Children;
+import pt.up.fe.comp2025.ast.Kind;
+
+import java.util.LinkedHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class AlgebraicSimplificationTest {
+
+    // The expression returned by foo(), after the optimizations, as in the source
+    private static String simplify(String type, String expr) {
+        var code = """
+                class A {
+                    int f;
+                    public %s foo(int x, int y, boolean b, int[] arr) {
+                        return %s;
+                    }
+                }
+                """.formatted(type, expr);
+        return toSource(SnippetUtils.returnedExpr(SnippetUtils.optimize(code)));
+    }
+
+    private static String toSource(JmmNode expr) {
+        return switch (Kind.of(expr)) {
+            case BINARY_EXPR -> "(" + toSource(Children.get(expr, 0)) + " " + expr.get("op") + " "
+                    + toSource(Children.get(expr, 1)) + ")";
+            case UNARY_EXPR -> expr.get("op") + toSource(Children.get(expr, 0));
+            case PRIORITY_EXPR -> toSource(Children.get(expr, 0));
+            case VAR_REF_EXPR -> expr.get("name");
+            case INTEGER_LITERAL, BOOLEAN_LITERAL -> expr.get("value");
+            case ARRAY_ACCESS -> toSource(Children.get(expr, 0)) + "[" + toSource(Children.get(expr, 1)) + "]";
+            case CLASS_FUNCTION_EXPR -> toSource(Children.get(expr, 0)) + "." + expr.get("name") + "()";
+            default -> expr.getKind();
+        };
+    }
+
+    @Test
+    public void integerIdentities() {
+        var cases = new LinkedHashMap<String, String>();
+        cases.put("x + 0", "x");
+        cases.put("0 + x", "x");
+        cases.put("x - 0", "x");
+        cases.put("x * 1", "x");
+        cases.put("1 * x", "x");
+        cases.put("x / 1", "x");
+        cases.put("x * 0", "0");
+        cases.put("0 * (x + y)", "0");
+        cases.put("x - x", "0");
+        cases.put("(x + y) - (x + y)", "0");
+        cases.put("x * y + 0 * x", "(x * y)");
+        cases.put("x * (y - y + 1)", "x");
+
+        // Side effects, or exceptions, of the other operand
+        cases.put("arr[x] * 0", "(arr[x] * 0)");
+        cases.put("x / y * 0", "((x / y) * 0)");
+        cases.put("arr[0] - arr[0]", "(arr[0] - arr[0])");
+        cases.put("x - y", "(x - y)");
+        cases.put("0 - x", "(0 - x)");
+        cases.put("1 / x", "(1 / x)");
+
+        SnippetUtils.assertEachCase(cases, expr -> simplify("int", expr));
+    }
+
+    @Test
+    public void booleanIdentities() {
+        var cases = new LinkedHashMap<String, String>();
+        cases.put("b && true", "b");
+        cases.put("true && b", "b");
+        cases.put("false && b", "false");
+        cases.put("b && false", "false");
+        cases.put("false && arr[0] < 1", "false");
+        cases.put("arr[0] < 1 && false", "((arr[0] < 1) && false)");
+        cases.put("x < 1 && false", "false");
+
+        SnippetUtils.assertEachCase(cases, expr -> simplify("boolean", expr));
+    }
+
+    @Test
+    public void reassociatesConstants() {
+        var cases = new LinkedHashMap<String, String>();
+        cases.put("(x + 1) + 2", "(x + 3)");
+        cases.put("x + 1 + 2 + 3", "(x + 6)");
+        cases.put("1 + x + 2", "(x + 3)");
+        cases.put("(x + 1) - 3", "(x - 2)");
+        cases.put("(x - 1) + 3", "(x + 2)");
+        cases.put("(x - 1) - 3", "(x - 4)");
+        cases.put("x - 1 - 1", "(x - 2)");
+        cases.put("2 * (x * 3)", "(x * 6)");
+        // 65536 * 65536 wraps around to 0
+        cases.put("x * 65536 * 65536", "0");
+        cases.put("(x + 1) * 2", "((x + 1) * 2)");
+        cases.put("x + 1 + y + 2", "(((x + 1) + y) + 2)");
+        // The smallest int has no negation, it stays added
+        cases.put("(x + 2147483647) + 1", "(x + -2147483648)");
+
+        SnippetUtils.assertEachCase(cases, expr -> simplify("int", expr));
+    }
+
+    @Test
+    public void multiplicationsByPowersOfTwoAreShifts() {
+        var code = """
+                class A {
+                    public int foo(int x) {
+                        return x * 8 + 4 * x + x * 6;
+                    }
+                }
+                """;
+
+        var jasminCode = SnippetUtils.backend(code, true).getJasminCode();
+
+        assertEquals(jasminCode, 2, jasminCode.split("ishl").length - 1);
+        assertEquals(jasminCode, 1, jasminCode.split("imul").length - 1);
+
+        // Only with -o
+        assertFalse(SnippetUtils.backend(code, false).getJasminCode().contains("ishl"));
+    }
+
+    @Test
+    public void runsWithJavaSemantics() {
+        var code = """
+                import ioPlus;
+                class A {
+                    public int compute(int x) {
+                        int a;
+                        a = (x + 2147483647) + 1;
+                        ioPlus.printResult(a);
+                        ioPlus.printResult(x * 1073741824);
+                        ioPlus.printResult((x - 5) + 3);
+                        ioPlus.printResult(x * 16 * 2);
+                        ioPlus.printResult(x - x + 0 * x);
+                        return 0;
+                    }
+                    public static void main(String[] args) {
+                        A a;
+                        a = new A();
+                        a.compute(3);
+                        a.compute(0 - 7);
+                    }
+                }
+                """;
+
+        var expected = SnippetUtils.printedResults(IntStream.of(3, -7)
+                .flatMap(x -> IntStream.of((x + 2147483647) + 1, x * 1073741824, (x - 5) + 3, x * 16 * 2, 0)));
+
+        assertEquals(expected, SnippetUtils.run(code));
+    }
+}
@@ -0,0 +1,125 @@
+package pt.up.fe.comp2025.optimization;
+
+import org.junit.Test;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp2025.SnippetUtils;
+import pt.up.fe.comp2025.ast.Children;
+import pt.up.fe.comp2025.ast.Kind;
+
+import java.util.LinkedHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class ConstantFoldingTest {
+
+    // The expression returned by foo(), after the optimizations
+    private static JmmNode fold(String type, String expr) {
+        var code = "class A { public " + type + " foo() { return " + expr + "; } }";
+        return SnippetUtils.returnedExpr(SnippetUtils.optimize(code));
+    }
+
+    @Test
+    public void integerOperators() {
+        var cases = new LinkedHashMap<String, Object>();
+        cases.put("7 + 3", 7 + 3);
+        cases.put("7 - 10", 7 - 10);
+        cases.put("7 * 3", 7 * 3);
+        cases.put("7 / 2", 7 / 2);
+        cases.put("0 - 7 / 2", -7 / 2);
+        cases.put("(0 - 7) / 2", (0 - 7) / 2);
+        cases.put("2147483647 + 1", Integer.MAX_VALUE + 1);
+        cases.put("0 - 2147483647 - 1 - 1", -Integer.MAX_VALUE - 1 - 1);
+        cases.put("65536 * 65536", 65536 * 65536);
+        cases.put("(0 - 2147483647 - 1) / (0 - 1)", Integer.MIN_VALUE / -1);
+        cases.put("1 + 2 * 3 - 4 / 2", 1 + 2 * 3 - 4 / 2);
+        cases.put("(1 + 2) * 3", (1 + 2) * 3);
+        cases.put("((5))", 5);
+
+        // The value of the literal the expression folded to, or null if it did not fold to one
+        SnippetUtils.assertEachCase(cases, expr -> ConstantEvaluator.valueOf(fold("int", expr)));
+    }
+
+    @Test
+    public void booleanOperators() {
+        var cases = new LinkedHashMap<String, Object>();
+        cases.put("1 < 2", true);
+        cases.put("2 < 1", false);
+        cases.put("2 < 2", false);
+        cases.put("true && false", false);
+        cases.put("true && true", true);
+        cases.put("!true", false);
+        cases.put("!false", true);
+        cases.put("!(1 < 2)", false);
+        cases.put("(1 < 2) && !(3 < 2)", true);
+        cases.put("0 - 1 < 0", true);
+
+        SnippetUtils.assertEachCase(cases, expr -> ConstantEvaluator.valueOf(fold("boolean", expr)));
+    }
+
+    @Test
+    public void operatorsOutsideTheAnalysis() {
+        // Parsed, but rejected by the semantic analysis
+        assertEquals(true, ConstantEvaluator.evaluate("<=", 2, 2));
+        assertEquals(false, ConstantEvaluator.evaluate("<=", 3, 2));
+        assertEquals(true, ConstantEvaluator.evaluate("==", 2, 2));
+        assertEquals(false, ConstantEvaluator.evaluate("==", 2, 3));
+        assertEquals(true, ConstantEvaluator.evaluate("!=", 2, 3));
+        assertEquals(false, ConstantEvaluator.evaluate("!=", 2, 2));
+        assertEquals(true, ConstantEvaluator.evaluate("==", 1000, 1000));
+        assertEquals(false, ConstantEvaluator.evaluate("==", true, false));
+        assertEquals(true, ConstantEvaluator.evaluate("!=", false, true));
+    }
+
+    @Test
+    public void divisionByZeroIsNotFolded() {
+        var folded = fold("int", "1 + 7 / (2 - 2)");
+
+        // 1 + 7 / 0, which throws when it runs
+        assertTrue(folded.toTree(), Kind.BINARY_EXPR.check(folded));
+        var division = Kind.BINARY_EXPR.check(Children.get(folded, 0)) ? Children.get(folded, 0) : Children.get(folded, 1);
+        assertEquals("/", division.get("op"));
+        assertEquals("0", Children.get(division, 1).get("value"));
+    }
+
+    @Test
+    public void undefinedOperationsHaveNoValue() {
+        assertNull(ConstantEvaluator.evaluate("+", true, false));
+        assertNull(ConstantEvaluator.evaluate("&&", 1, 2));
+        assertNull(ConstantEvaluator.evaluate("<", true, false));
+        assertNull(ConstantEvaluator.evaluate("==", 1, true));
+        assertNull(ConstantEvaluator.evaluate("+=", 1, 2));
+        assertNull(ConstantEvaluator.evaluate("!", 1));
+        assertNull(ConstantEvaluator.evaluate("+", 1, null));
+    }
+
+    @Test
+    public void runsWithJavaSemantics() {
+        var code = """
+                import ioPlus;
+                class A {
+                    public static void main(String[] args) {
+                        ioPlus.printResult(2147483647 + 1);
+                        ioPlus.printResult(0 - 7 / 2);
+                        ioPlus.printResult(65536 * 65535);
+                        ioPlus.printResult((0 - 2147483647 - 1) / (0 - 1));
+                        if (3 < 2 && true) {
+                            ioPlus.printResult(1);
+                        } else {
+                            ioPlus.printResult(0);
+                        }
+                        if (!(2 < 2)) {
+                            ioPlus.printResult(1);
+                        } else {
+                            ioPlus.printResult(0);
+                        }
+                    }
+                }
+                """;
+
+        var expected = SnippetUtils.printedResults(
+                IntStream.of(Integer.MAX_VALUE + 1, 0 - 7 / 2, 65536 * 65535, Integer.MIN_VALUE / -1, 0, 1));
+
+        assertEquals(expected, SnippetUtils.run(code));
+    }
+}
@@ -0,0 +1,90 @@
+package pt.up.fe.comp2025.optimization;
+
+import org.junit.Test;
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.jasmin.JasminResult;
+import pt.up.fe.comp.jmm.ollir.OllirResult;
+
+import java.util.concurrent.Callable;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compiles expressions with a very long chain of operators, which the grammar parses left-deep, on a small stack.
+ */
+public class DeepExpressionTest {
+
+    // Far less than the default stack, no stage may recurse once per level of an expression
+    private static final long STACK_SIZE = 512 * 1024;
+
+    private static String chain(int terms) {
+        var code = new StringBuilder("class Chain {\n")
+                .append("    public int sum(int a) {\n")
+                .append("        int b;\n")
+                .append("        b = a");
+        for (int i = 1; i < terms; i++) {
+            code.append(" + a");
+        }
+        return code.append(";\n")
+                .append("        return b;\n")
+                .append("    }\n")
+                .append("    public static void main(String[] args) {\n")
+                .append("    }\n")
+                .append("}\n")
+                .toString();
+    }
+
+    private static <T> T onSmallStack(Callable<T> task) throws Exception {
+        var result = new Object[1];
+        var error = new Throwable[1];
+
+        var thread = new Thread(null, () -> {
+            try {
+                result[0] = task.call();
+            } catch (Throwable e) {
+                error[0] = e;
+            }
+        }, "deep-expression", STACK_SIZE);
+        thread.start();
+        thread.join();
+
+        if (error[0] instanceof Exception exception) {
+            throw exception;
+        }
+        if (error[0] != null) {
+            throw new AssertionError(error[0]);
+        }
+
+        @SuppressWarnings("unchecked")
+        var value = (T) result[0];
+        return value;
+    }
+
+    private static OllirResult toOllir(String code) {
+        var semantics = TestUtils.analyse(code);
+        TestUtils.noErrors(semantics);
+        return TestUtils.optimize(semantics);
+    }
+
+    private static int count(String text, String pattern) {
+        int count = 0;
+        for (int i = text.indexOf(pattern); i >= 0; i = text.indexOf(pattern, i + pattern.length())) {
+            count++;
+        }
+        return count;
+    }
+
+    @Test
+    public void hundredThousandTerms() throws Exception {
+        int terms = 100_000;
+
+        JasminResult jasmin = onSmallStack(() -> {
+            var ollir = toOllir(chain(terms));
+            assertEquals(terms - 1, count(ollir.getOllirCode(), " +.i32 "));
+            return TestUtils.backend(ollir);
+        });
+
+        TestUtils.noErrors(jasmin);
+        assertEquals(terms - 1, count(jasmin.getJasminCode(), "iadd"));
+    }
+}
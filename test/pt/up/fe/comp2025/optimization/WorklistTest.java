@@ -0,0 +1,129 @@
+package pt.up.fe.comp2025.optimization;
+
+import org.junit.Test;
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.analysis.JmmSemanticsResult;
+import pt.up.fe.comp2025.ConfigOptions;
+import pt.up.fe.comp2025.CorpusUtils;
+import pt.up.fe.comp2025.SnippetUtils;
+import pt.up.fe.comp2025.ast.AstWalker;
+import pt.up.fe.comp2025.ast.Children;
+import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.bench.SyntheticJmm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class WorklistTest {
+
+    private static List<String> literals(JmmSemanticsResult result) {
+        var values = new ArrayList<String>();
+        new AstWalker().preorder(result.getRootNode(), node -> {
+            if (Kind.INTEGER_LITERAL.check(node) || Kind.BOOLEAN_LITERAL.check(node)) {
+                values.add(node.get("value"));
+            }
+        });
+        return values;
+    }
+
+    private static int count(JmmSemanticsResult result, Kind kind) {
+        var count = new int[1];
+        new AstWalker().preorder(result.getRootNode(), node -> {
+            if (kind.check(node)) {
+                count[0]++;
+            }
+        });
+        return count[0];
+    }
+
+    @Test
+    public void foldsNestedExpressionsInOneRun() {
+        var result = SnippetUtils.optimize("""
+                class A {
+                    public int foo() {
+                        return 1 + 2 * 3 - 4 / 2;
+                    }
+                }
+                """);
+
+        assertEquals(0, count(result, Kind.BINARY_EXPR));
+        assertEquals(List.of("5"), literals(result));
+    }
+
+    @Test
+    public void propagatesAlongAssignments() {
+        var result = SnippetUtils.optimize(SyntheticJmm.generateAssignChainClass(20));
+
+        assertEquals(0, count(result, Kind.BINARY_EXPR));
+        // Only the assigned variables are left
+        assertEquals(20, count(result, Kind.VAR_REF_EXPR));
+        assertEquals("20", literals(result).get(literals(result).size() - 1));
+    }
+
+    @Test
+    public void keepsVariablesOfLoopConditions() {
+        var result = SnippetUtils.optimize("""
+                class A {
+                    public int foo(int n) {
+                        int i;
+                        i = 0;
+                        while (i < n) {
+                            i = i + 1;
+                        }
+                        return i;
+                    }
+                }
+                """);
+
+        // Every use of i stays
+        assertEquals(6, count(result, Kind.VAR_REF_EXPR));
+    }
+
+    @Test
+    public void assignsArrayElements() {
+        var result = SnippetUtils.optimize("""
+                class A {
+                    public int foo(int[] arr) {
+                        int b;
+                        b = 2;
+                        arr[0] = b;
+                        return arr[0] + b;
+                    }
+                }
+                """);
+
+        // b is the only variable replaced
+        assertEquals(List.of("2", "0", "2", "0", "2"), literals(result));
+    }
+
+    @Test
+    public void rewritesCompactAst() {
+        var code = """
+                class A {
+                    public int foo(int a, int b) {
+                        int c;
+                        c = 3;
+                        return ((a + 1) + 2) * 1 + (b - c) - 4 + c * 0;
+                    }
+                }
+                """;
+
+        var config = CorpusUtils.config(ConfigOptions.getCompactAst(), true);
+        config.put(ConfigOptions.getOptimize(), "true");
+        var semantics = TestUtils.analyse(TestUtils.parse(code, config));
+        TestUtils.noErrors(semantics);
+        var compact = new JmmOptimizationImpl().optimize(semantics);
+
+        assertEquals(CorpusUtils.dump(SnippetUtils.optimize(code).getRootNode()),
+                CorpusUtils.dump(compact.getRootNode()));
+
+        // Every node left is linked to its parent, none is a detached copy
+        new AstWalker().preorder(compact.getRootNode(), node -> {
+            for (int i = 0; i < Children.count(node); i++) {
+                assertSame(node, Children.get(node, i).getParent());
+            }
+        });
+    }
+}
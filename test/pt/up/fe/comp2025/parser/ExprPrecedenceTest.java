@@ -0,0 +1,67 @@
+package pt.up.fe.comp2025.parser;
+
+import org.junit.Test;
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp2025.ast.Kind;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ExprPrecedenceTest {
+
+    private static final String EXPRESSION = "expr";
+
+    private static JmmNode parseExpr(String code) {
+        var result = TestUtils.parse(code, EXPRESSION);
+        TestUtils.noErrors(result.getReports());
+        return result.getRootNode();
+    }
+
+    @Test
+    public void postfixBindsTighterThanNot() {
+        var root = parseExpr("!a.foo()");
+
+        assertTrue(Kind.UNARY_EXPR.check(root));
+        assertTrue(Kind.CLASS_FUNCTION_EXPR.check(root.getChild(0)));
+    }
+
+    @Test
+    public void arrayAccessBindsTighterThanNot() {
+        var root = parseExpr("!a[0]");
+
+        assertTrue(Kind.UNARY_EXPR.check(root));
+        assertTrue(Kind.ARRAY_ACCESS.check(root.getChild(0)));
+    }
+
+    @Test
+    public void binaryLevels() {
+        var root = parseExpr("a + b * c < d && e");
+
+        assertEquals("&&", root.get("op"));
+        assertEquals("<", root.getChild(0).get("op"));
+        assertEquals("+", root.getChild(0).getChild(0).get("op"));
+        assertEquals("*", root.getChild(0).getChild(0).getChild(1).get("op"));
+    }
+
+    @Test
+    public void binaryIsLeftAssociative() {
+        var root = parseExpr("a - b - c");
+
+        assertEquals("-", root.get("op"));
+        assertTrue(Kind.BINARY_EXPR.check(root.getChild(0)));
+        assertTrue(Kind.VAR_REF_EXPR.check(root.getChild(1)));
+    }
+
+    @Test
+    public void lengthAndCallShareReceiver() {
+        var length = parseExpr("a.b.length");
+        assertTrue(Kind.LENGTH_EXPR.check(length));
+        assertTrue(Kind.LENGTH_EXPR.check(length.getChild(0)));
+
+        var call = parseExpr("a.foo(b.length)[0]");
+        assertTrue(Kind.ARRAY_ACCESS.check(call));
+        assertTrue(Kind.CLASS_FUNCTION_EXPR.check(call.getChild(0)));
+        assertTrue(Kind.LENGTH_EXPR.check(call.getChild(0).getChild(1)));
+    }
+}
@@ -0,0 +1,79 @@
+package pt.up.fe.comp2025.parser;
+
+import org.junit.Test;
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.report.Stage;
+import pt.up.fe.comp2025.ConfigOptions;
+import pt.up.fe.comp2025.bench.SyntheticJmm;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class FailFastParserTest {
+
+    private static Map<String, String> failFastConfig() {
+        var config = new HashMap<String, String>();
+        config.put(ConfigOptions.getFailFast(), "true");
+        return config;
+    }
+
+    @Test
+    public void validCodeBuildsSameAst() {
+        var code = SyntheticJmm.generateClass("Valid", 2, 3, 2);
+
+        var normal = TestUtils.parse(code);
+        var failFast = TestUtils.parse(code, failFastConfig());
+
+        TestUtils.noErrors(failFast.getReports());
+        assertEquals(normal.getRootNode().toTree(), failFast.getRootNode().toTree());
+    }
+
+    @Test
+    public void syntaxErrorReportsOnlyFirstError() {
+        var code = "class A {\n" +
+                "    public int foo() {\n" +
+                "        int a;\n" +
+                "        a = 1 +;\n" +
+                "        return a a;\n" +
+                "    }\n" +
+                "}";
+
+        var result = TestUtils.parse(code, failFastConfig());
+
+        assertNull(result.getRootNode());
+        assertEquals(1, result.getReports().size());
+
+        var report = result.getReports().get(0);
+        assertEquals(Stage.SYNTATIC, report.getStage());
+        assertEquals(4, report.getLine());
+        assertEquals(15, report.getColumn());
+    }
+
+    @Test
+    public void lexicalErrorReportsOnlyFirstError() {
+        var code = "class A {\n" +
+                "    int # a;\n" +
+                "    int ~ b;\n" +
+                "}";
+
+        var result = TestUtils.parse(code, failFastConfig());
+
+        assertNull(result.getRootNode());
+        assertEquals(1, result.getReports().size());
+
+        var report = result.getReports().get(0);
+        assertEquals(Stage.LEXICAL, report.getStage());
+        assertEquals(2, report.getLine());
+        assertEquals(8, report.getColumn());
+    }
+
+    @Test
+    public void errorAtEndOfFile() {
+        var result = TestUtils.parse("class A {", failFastConfig());
+
+        assertEquals(1, result.getReports().size());
+        assertTrue(result.getReports().get(0).getMessage().contains("<EOF>"));
+    }
+}
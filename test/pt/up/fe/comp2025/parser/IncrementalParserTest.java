@@ -0,0 +1,154 @@
+package pt.up.fe.comp2025.parser;
+
+import org.junit.Test;
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.parser.JmmParserResult;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.ast.NodePosition;
+import pt.up.fe.comp2025.CorpusUtils;
+import pt.up.fe.comp2025.ast.AstWalker;
+import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.bench.SyntheticJmm;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class IncrementalParserTest {
+
+    private static final String CODE = SyntheticJmm.generateClass("Inc", 2, 4, 1);
+
+    private static JmmParserResult checkSameAsFullParse(IncrementalParser parser, String code) {
+        var incremental = parser.parse(code);
+        var full = TestUtils.parse(code);
+
+        TestUtils.noErrors(incremental.getReports());
+        assertEquals(CorpusUtils.dump(full.getRootNode()), CorpusUtils.dump(incremental.getRootNode()));
+
+        return incremental;
+    }
+
+    private static IncrementalParser newParser() {
+        var parser = new IncrementalParser(new HashMap<>());
+        checkSameAsFullParse(parser, CODE);
+        return parser;
+    }
+
+    @Test
+    public void editInsideMethod() {
+        var parser = newParser();
+
+        var code = CODE.replace("public int m2(int a, int[] arr) {\n        int x;",
+                "public int m2(int a, int[] arr) {\n        int x;\n        int z;");
+        checkSameAsFullParse(parser, code);
+
+        assertEquals(1, parser.getChangedMethods().size());
+        assertEquals("m2", parser.getChangedMethods().get(0).get("name"));
+
+        // Edit on the same line, positions after it only shift columns
+        code = code.replace("y = this.m2(x, arr);", "y = this.m2(x * x + 1, arr);");
+        checkSameAsFullParse(parser, code);
+        assertEquals(1, parser.getChangedMethods().size());
+        assertEquals("m1", parser.getChangedMethods().get(0).get("name"));
+    }
+
+    @Test
+    public void insertNewLines() {
+        var parser = newParser();
+
+        var code = CODE.replace("    public int m1(", "\n\n\n    public int m1(");
+        checkSameAsFullParse(parser, code);
+
+        assertTrue(parser.getChangedMethods().isEmpty());
+    }
+
+    @Test
+    public void addAndDeleteMethod() {
+        var parser = newParser();
+
+        var added = CODE.replace("    public int m3(",
+                "    public boolean extra(boolean b) {\n        return !b;\n    }\n\n    public int m3(");
+        checkSameAsFullParse(parser, added);
+
+        // The inserted text shares its last characters with the start of m3, so m3 is reparsed too
+        var changed = parser.getChangedMethods().stream().map(method -> method.get("name")).toList();
+        assertEquals(List.of("extra", "m3"), changed);
+
+        var result = checkSameAsFullParse(parser, CODE);
+        changed = parser.getChangedMethods().stream().map(method -> method.get("name")).toList();
+        assertEquals(List.of("m3"), changed);
+        assertEquals(5, result.getRootNode().getChild(1).getChildren(Kind.METHOD_DECL).size());
+    }
+
+    @Test
+    public void fieldEditFallsBackToFullParse() {
+        var parser = newParser();
+
+        checkSameAsFullParse(parser, CODE.replace("int f1;", "int f1;\n    boolean g;"));
+
+        // A full parse reports every method as changed
+        assertEquals(5, parser.getChangedMethods().size());
+    }
+
+    @Test
+    public void syntaxErrorFallsBackToFullParse() {
+        var parser = newParser();
+
+        var code = CODE.replace("x = a + 1;", "x = a + ;");
+        var result = parser.parse(code);
+        assertEquals(TestUtils.parse(code).getReports().size(), result.getReports().size());
+        assertFalse(result.getReports().isEmpty());
+
+        // Fixing the error goes back to a valid tree
+        checkSameAsFullParse(parser, CODE);
+    }
+
+    private static List<String> positions(JmmNode root) {
+        var positions = new ArrayList<String>();
+        new AstWalker().preorder(root, node -> {
+            var position = new StringBuilder(node.getKind());
+            for (var key : NodePosition.values()) {
+                position.append(' ').append(node.getOptional(key.getKey()).orElse("-"));
+            }
+            positions.add(position.toString());
+        });
+        return positions;
+    }
+
+    @Test
+    public void shiftsDeepMethodAfterEdit() throws InterruptedException {
+        var code = new StringBuilder("class Deep {\n")
+                .append("    public int first(int a) {\n        return a;\n    }\n")
+                .append("    public int sum(int a) {\n        int b;\n        b = a");
+        for (int i = 1; i < 100_000; i++) {
+            code.append(" + a");
+        }
+        code.append(";\n        return b;\n    }\n")
+                .append("    public static void main(String[] args) {\n    }\n}\n");
+
+        var error = new Throwable[1];
+        // Much less than the default stack, the positions of the chain must not be shifted recursively
+        var thread = new Thread(null, () -> {
+            try {
+                var parser = new IncrementalParser(new HashMap<>());
+                parser.parse(code.toString());
+
+                var edited = code.toString().replace("        return a;\n", "        int c;\n        return a;\n");
+                var incremental = parser.parse(edited);
+                assertEquals(List.of("first"),
+                        parser.getChangedMethods().stream().map(method -> method.get("name")).toList());
+                assertEquals(positions(TestUtils.parse(edited).getRootNode()), positions(incremental.getRootNode()));
+            } catch (Throwable e) {
+                error[0] = e;
+            }
+        }, "deep-incremental", 512 * 1024);
+        thread.start();
+        thread.join();
+
+        if (error[0] != null) {
+            throw new AssertionError(error[0]);
+        }
+    }
+}
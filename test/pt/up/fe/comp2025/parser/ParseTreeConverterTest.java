@@ -0,0 +1,179 @@
+package pt.up.fe.comp2025.parser;
+
+import org.antlr.v4.runtime.ANTLRInputStream;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.junit.Test;
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp.jmm.ast.NodePosition;
+import pt.up.fe.comp.jmm.ast.antlr.AntlrToJmmNodeConverter;
+import pt.up.fe.comp2025.JavammLexer;
+import pt.up.fe.comp2025.JavammParser;
+import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.CorpusUtils;
+import pt.up.fe.specs.util.SpecsIo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ParseTreeConverterTest {
+
+    /**
+     * Tree with the kinds and attributes of every node, and the index of the nodes used as attributes.
+     */
+    private static String dump(JmmNode root) {
+        var nodes = new ArrayList<JmmNode>();
+        nodes.add(root);
+        nodes.addAll(root.getDescendants());
+
+        var tree = new StringBuilder();
+        for (var node : nodes) {
+            tree.append(node.getHierarchy()).append(" parent=").append(indexOf(nodes, node.getParent()));
+            for (var attribute : node.getAttributes().stream().sorted().toList()) {
+                var value = node.getObject(attribute);
+                tree.append(" ").append(attribute).append("=")
+                        .append(value instanceof JmmNode reference ? "#" + indexOf(nodes, reference) : value);
+            }
+            tree.append("\n");
+        }
+
+        return tree.toString();
+    }
+
+    private static int indexOf(List<JmmNode> nodes, JmmNode node) {
+        for (int i = 0; i < nodes.size(); i++) {
+            if (nodes.get(i) == node) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static JmmNode convert(String code) {
+        var parser = new JavammParser(new CommonTokenStream(new JavammLexer(new ANTLRInputStream(code))));
+        var tree = parser.program();
+        assertEquals(0, parser.getNumberOfSyntaxErrors());
+
+        return ParseTreeConverter.convert(tree, parser, List.of());
+    }
+
+    @Test
+    public void sameAstAsLibrary() {
+        int converted = 0;
+        for (var file : CorpusUtils.files()) {
+            var parser = new JavammParser(new CommonTokenStream(new JavammLexer(
+                    new ANTLRInputStream(SpecsIo.read(file.toFile())))));
+            parser.removeErrorListeners();
+            var tree = parser.program();
+            if (parser.getNumberOfSyntaxErrors() > 0) {
+                continue;
+            }
+
+            var expected = AntlrToJmmNodeConverter.convert(tree, parser);
+            var actual = ParseTreeConverter.convert(tree, parser, List.of());
+            assertEquals(file.toString(), dump(expected), dump(actual));
+            converted++;
+        }
+
+        CorpusUtils.assertCompared(converted);
+    }
+
+    @Test
+    public void longChainDoesNotOverflow() throws InterruptedException {
+        int terms = 100_000;
+        var code = new StringBuilder("a");
+        for (int i = 1; i < terms; i++) {
+            code.append(" + a");
+        }
+
+        var root = new JmmNode[1];
+        // Small stack, the conversion must not recurse per level of the expression
+        var thread = new Thread(null, () -> root[0] = TestUtils.parse(code.toString(), "expr").getRootNode(),
+                "parse", 256 * 1024);
+        thread.start();
+        thread.join();
+
+        assertNotNull(root[0]);
+        int depth = 0;
+        for (var node = root[0]; Kind.BINARY_EXPR.check(node); node = node.getChild(0)) {
+            depth++;
+        }
+        assertEquals(terms - 1, depth);
+    }
+
+    @Test
+    public void labelsAndLocals() {
+        var root = convert("""
+                import a.b.C;
+                class A extends B {
+                    public int foo(int[] x) {
+                        return x[0];
+                    }
+                }
+                """);
+
+        // Lists of tokens become lists of their texts
+        var importDecl = root.getChildren(Kind.IMPORT_DECL).get(0);
+        assertEquals(List.of("a", "b"), importDecl.getObject("path"));
+        assertEquals("C", importDecl.get("name"));
+
+        // Locals of the rules become attributes with their values
+        var classDecl = root.getChildren(Kind.CLASS_DECL).get(0);
+        assertEquals("A", classDecl.get("name"));
+        assertEquals("B", classDecl.get("parent"));
+        assertEquals(Boolean.TRUE, classDecl.getObject("isSub"));
+        var method = classDecl.getChildren(Kind.METHOD_DECL).get(0);
+        assertEquals(Boolean.TRUE, method.getObject("isPublic"));
+
+        // Labels of rules refer to the converted child
+        var type = method.getDescendants(Kind.TYPE).get(1);
+        assertSame(type.getChild(0), type.getObject("name"));
+        assertEquals("[", type.get("op1"));
+    }
+
+    @Test
+    public void missingTokensHaveNoAttribute() {
+        var root = convert("""
+                class A {
+                    int foo() {
+                        return 1;
+                    }
+                }
+                """);
+
+        var classDecl = root.getChildren(Kind.CLASS_DECL).get(0);
+        assertFalse(classDecl.hasAttribute("parent"));
+        assertEquals(Boolean.FALSE, classDecl.getObject("isSub"));
+
+        var method = classDecl.getChildren(Kind.METHOD_DECL).get(0);
+        assertEquals(Boolean.FALSE, method.getObject("isPublic"));
+        var type = method.getChildren(Kind.TYPE).get(0);
+        assertFalse(type.hasAttribute("op1"));
+    }
+
+    @Test
+    public void positionsSpanTheTokensOfTheRule() {
+        var root = convert("""
+                class A {
+                    int foo() {
+                        return 1 +
+                            2;
+                    }
+                }
+                """);
+
+        var classDecl = root.getChildren(Kind.CLASS_DECL).get(0);
+        assertEquals(List.of("1", "0", "6", "0"), positionOf(classDecl));
+
+        // The expression starts at its first token and ends at its last one, on another line
+        var sum = root.getDescendants(Kind.BINARY_EXPR).get(0);
+        assertEquals(List.of("3", "15", "4", "12"), positionOf(sum));
+    }
+
+    private static List<String> positionOf(JmmNode node) {
+        return List.of(node.get(NodePosition.LINE_START.getKey()), node.get(NodePosition.COL_START.getKey()),
+                node.get(NodePosition.LINE_END.getKey()), node.get(NodePosition.COL_END.getKey()));
+    }
+}
@@ -0,0 +1,107 @@
+package pt.up.fe.comp2025.parser;
+
+import org.junit.Test;
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp2025.CorpusUtils;
+import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.bench.SyntheticJmm;
+import pt.up.fe.comp2025.symboltable.JmmSymbolTableBuilder;
+
+import java.util.HashMap;
+
+import static org.junit.Assert.*;
+
+public class SkeletonParserTest {
+
+    private static final String CODE = SyntheticJmm.generateClass("Skel", 2, 3, 2);
+
+    private static final String WITH_BODY_ERROR = "import io;\n" +
+            "class A {\n" +
+            "    int f;\n" +
+            "    public int ok(int a, int[] b) {\n" +
+            "        int x;\n" +
+            "        x = a;\n" +
+            "        return x;\n" +
+            "    }\n" +
+            "    public int broken(int a) {\n" +
+            "        int y;\n" +
+            "        y = a + ;\n" +
+            "        return y;\n" +
+            "    }\n" +
+            "}";
+
+    @Test
+    public void skeletonHasNoStatements() {
+        var result = new SkeletonParser(new HashMap<>()).parse(CODE);
+        TestUtils.noErrors(result.getReports());
+
+        var root = result.getRootNode();
+        assertEquals(4, root.getDescendants(Kind.METHOD_DECL).size());
+        assertTrue(root.getDescendants(Kind.WHILE_STMT).isEmpty());
+        assertTrue(root.getDescendants(Kind.RETURN_STMT).isEmpty());
+        assertFalse(root.getDescendants(Kind.VAR_DECL).isEmpty());
+    }
+
+    @Test
+    public void skeletonBuildsSameSymbolTable() {
+        var skeleton = new SkeletonParser(new HashMap<>()).parse(CODE).getRootNode();
+        var full = TestUtils.parse(CODE).getRootNode();
+
+        var skeletonTable = new JmmSymbolTableBuilder().build(skeleton);
+        var fullTable = new JmmSymbolTableBuilder().build(full);
+
+        assertEquals(fullTable.print(), skeletonTable.print());
+    }
+
+    @Test
+    public void materializeParsesMethodOnDemand() {
+        var parser = new SkeletonParser(new HashMap<>());
+        var root = parser.parse(CODE).getRootNode();
+        var full = TestUtils.parse(CODE).getRootNode();
+
+        var method = root.getDescendants(Kind.METHOD_DECL).get(1);
+        assertTrue(parser.isSkeleton(method));
+
+        var complete = parser.materialize(method).orElseThrow();
+        assertFalse(parser.isSkeleton(complete));
+        assertSame(complete, root.getDescendants(Kind.METHOD_DECL).get(1));
+        assertEquals(CorpusUtils.dump(full.getDescendants(Kind.METHOD_DECL).get(1)), CorpusUtils.dump(complete));
+
+        // Already complete, nothing to parse
+        assertSame(complete, parser.materialize(complete).orElseThrow());
+    }
+
+    @Test
+    public void materializeAllBuildsFullAst() {
+        var parser = new SkeletonParser(new HashMap<>());
+        parser.parse(CODE);
+
+        var result = parser.materializeAll();
+        TestUtils.noErrors(result.getReports());
+        assertEquals(CorpusUtils.dump(TestUtils.parse(CODE).getRootNode()), CorpusUtils.dump(result.getRootNode()));
+    }
+
+    @Test
+    public void bodyErrorsOnlyFoundOnMaterialize() {
+        var parser = new SkeletonParser(new HashMap<>());
+        var skeleton = parser.parse(WITH_BODY_ERROR);
+        TestUtils.noErrors(skeleton.getReports());
+
+        var methods = skeleton.getRootNode().getDescendants(Kind.METHOD_DECL);
+        assertTrue(parser.materialize(methods.get(0)).isPresent());
+        assertTrue(parser.materialize(methods.get(1)).isEmpty());
+
+        var result = parser.materializeAll();
+        assertNull(result.getRootNode());
+        assertEquals(TestUtils.parse(WITH_BODY_ERROR).getReports().size(), result.getReports().size());
+    }
+
+    @Test
+    public void declarationErrorFallsBackToFullParse() {
+        var code = "class A {\n    int f\n    public int foo() {\n        return 1;\n    }\n}";
+
+        var result = new SkeletonParser(new HashMap<>()).parse(code);
+        assertEquals(TestUtils.parse(code).getReports().size(), result.getReports().size());
+        assertFalse(result.getReports().isEmpty());
+    }
+}
@@ -0,0 +1,209 @@
+package pt.up.fe.comp2025.symboltable;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.analysis.JmmSemanticsResult;
+import pt.up.fe.comp.jmm.analysis.table.Type;
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp.jmm.report.ReportType;
+import pt.up.fe.comp2025.ConfigOptions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.*;
+
+public class ClassPathTest {
+
+    private static final Path COMPILED = Path.of("libs-jmm/compiled");
+
+    private static final String CODE = """
+            import io;
+            import BoardBase;
+            import inheritanceAB.B;
+            class A {
+                public int foo() {
+                    int a;
+                    int[] turn;
+                    B b;
+                    b = new B();
+                    a = io.read();
+                    turn = BoardBase.playerTurn(a);
+                    io.println(turn[0]);
+                    a = b.a();
+                    %s
+                    return a;
+                }
+                public static void main(String[] args) {
+                }
+            }
+            """;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Map<String, String> config(Path libraryPath) throws IOException {
+        var config = new HashMap<String, String>();
+        config.put(ConfigOptions.getLibraryPath(), libraryPath.toString());
+        config.put(ConfigOptions.getLibraryIndex(), folder.newFolder().toPath().resolve("library.idx").toString());
+        return config;
+    }
+
+    private static List<String> errors(JmmSemanticsResult semantics) {
+        return semantics.getReports().stream()
+                .filter(report -> report.getType() == ReportType.ERROR)
+                .map(Report::getMessage)
+                .toList();
+    }
+
+    @Test
+    public void readsClassFiles() throws IOException {
+        var io = ClassFileReader.read(Files.readAllBytes(COMPILED.resolve("io.class")));
+        assertEquals("io", io.getName());
+        assertNull(io.getSuperName());
+        assertEquals(new Type("int", false), io.getReturnType("read"));
+        assertEquals(5, io.getMethods().get("println").size());
+        assertEquals(new Type("void", false), io.getReturnType("println"));
+        assertFalse(io.getMethodNames().contains("<init>"));
+
+        var board = ClassFileReader.read(Files.readAllBytes(COMPILED.resolve("BoardBase.class")));
+        assertEquals(new Type("int", true), board.getReturnType("playerTurn"));
+
+        var b = ClassFileReader.read(Files.readAllBytes(COMPILED.resolve("inheritanceAB/B.class")));
+        assertEquals("inheritanceAB/B", b.getName());
+        assertEquals("inheritanceAB/A", b.getSuperName());
+    }
+
+    @Test
+    public void readsJdkClassFiles() throws IOException {
+        // Modern class files, with every kind of constant
+        try (var in = Object.class.getResourceAsStream("/java/lang/String.class")) {
+            var string = ClassFileReader.read(in.readAllBytes());
+            assertEquals("java/lang/String", string.getName());
+            assertEquals(new Type("int", false), string.getReturnType("length"));
+            assertEquals(new Type("boolean", false), string.getReturnType("isEmpty"));
+            // Overloads with different return types, or types with no equivalent
+            assertNull(string.getReturnType("charAt"));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsInvalidClassFiles() {
+        ClassFileReader.read(new byte[]{(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 0});
+    }
+
+    @Test
+    public void typesCallsToImportedClasses() throws IOException {
+        var config = config(COMPILED);
+
+        var semantics = TestUtils.analyse(CODE.formatted(""), config);
+        assertEquals(List.of(), errors(semantics));
+
+        var calls = semantics.getRootNode().getDescendants("ClassFunctionExpr");
+        assertEquals(new Type("int", false), calls.get(0).getObject("type", Type.class));
+        assertEquals(new Type("int", true), calls.get(1).getObject("type", Type.class));
+        assertEquals(new Type("void", false), calls.get(2).getObject("type", Type.class));
+        // Inherited from inheritanceAB.A
+        assertEquals(new Type("int", false), calls.get(3).getObject("type", Type.class));
+
+        // Return types are checked like the ones of the class
+        var mismatch = "a = BoardBase.sameArray(turn);";
+        assertEquals(1, errors(TestUtils.analyse(CODE.formatted(mismatch), config)).size());
+
+        // Without the library path, the return types are unknown
+        assertFalse(errors(TestUtils.analyse(CODE.formatted(""))).isEmpty());
+    }
+
+    @Test
+    public void indexIsPersisted() throws IOException {
+        var config = config(COMPILED);
+        TestUtils.analyse(CODE.formatted(""), config);
+
+        var file = ConfigOptions.getLibraryIndex(config);
+        assertTrue(Files.isRegularFile(file));
+
+        // A new process reads the stored signatures instead of the class files
+        var stored = LibraryIndex.load(file);
+        var io = COMPILED.toAbsolutePath().normalize().resolve("io.class");
+        var entry = stored.get(io.toString(), io.toFile().lastModified());
+        assertNotNull(entry);
+        assertEquals(new Type("int", false), entry.signature().getReturnType("read"));
+
+        // Stale after the class file changes
+        assertNull(stored.get(io.toString(), io.toFile().lastModified() + 1));
+    }
+
+    @Test
+    public void unreadableClassesAreReported() throws IOException {
+        var classes = folder.newFolder().toPath();
+        Files.copy(COMPILED.resolve("io.class"), classes.resolve("io.class"));
+        Files.write(classes.resolve("BoardBase.class"), new byte[]{(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE});
+        var jar = folder.getRoot().toPath().resolve("broken.jar");
+        Files.writeString(jar, "not a jar");
+
+        var code = """
+                import io;
+                import BoardBase;
+                import inheritanceAB.B;
+                class A {
+                    public static void main(String[] args) {
+                    }
+                }
+                """;
+        var semantics = TestUtils.analyse(code, config(Path.of(classes + File.pathSeparator + jar)));
+
+        var warnings = semantics.getReports().stream()
+                .filter(report -> report.getType() == ReportType.WARNING)
+                .map(Report::getMessage)
+                .toList();
+        assertEquals(warnings.toString(), 2, warnings.size());
+        assertTrue(warnings.get(0), warnings.get(0).contains("BoardBase.class"));
+        assertTrue(warnings.get(1), warnings.get(1).contains("broken.jar"));
+
+        var classPath = ClassPath.of(semantics.getSymbolTable());
+        assertNotNull(classPath.getImport("io"));
+        assertNull(classPath.getImport("BoardBase"));
+        assertNull(classPath.getImport("B"));
+    }
+
+    @Test
+    public void indexThatCannotBeSavedIsIgnored() throws IOException {
+        var config = new HashMap<String, String>();
+        config.put(ConfigOptions.getLibraryPath(), COMPILED.toString());
+        // The parent of the index is a file, so the index cannot be written
+        config.put(ConfigOptions.getLibraryIndex(), folder.newFile().toPath().resolve("library.idx").toString());
+
+        var semantics = TestUtils.analyse(CODE.formatted(""), config);
+        assertEquals(List.of(), errors(semantics));
+        assertFalse(Files.exists(ConfigOptions.getLibraryIndex(config)));
+    }
+
+    @Test
+    public void readsJars() throws IOException {
+        var jar = folder.getRoot().toPath().resolve("libs.jar");
+        try (var out = new ZipOutputStream(Files.newOutputStream(jar))) {
+            for (var name : List.of("io.class", "BoardBase.class", "inheritanceAB/A.class", "inheritanceAB/B.class")) {
+                out.putNextEntry(new ZipEntry(name));
+                out.write(Files.readAllBytes(COMPILED.resolve(name)));
+                out.closeEntry();
+            }
+        }
+
+        var semantics = TestUtils.analyse(CODE.formatted(""), config(jar));
+        assertEquals(List.of(), errors(semantics));
+
+        var classPath = ClassPath.of(semantics.getSymbolTable());
+        assertEquals("inheritanceAB/B", classPath.getImport("B").getName());
+        assertEquals(new Type("int", false), classPath.findReturnType("B", "a"));
+        assertNull(classPath.findReturnType("B", "missing"));
+    }
+}
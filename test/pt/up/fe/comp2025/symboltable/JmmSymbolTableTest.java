@@ -0,0 +1,96 @@
+package pt.up.fe.comp2025.symboltable;
+
+import org.junit.Test;
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.analysis.table.Symbol;
+import pt.up.fe.comp.jmm.analysis.table.Type;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class JmmSymbolTableTest {
+
+    private static final String CODE = """
+            import io;
+            class A {
+                int x;
+                boolean y;
+                int[] z;
+                public int foo(boolean x, int a) {
+                    int[] y;
+                    int b;
+                    return a;
+                }
+                public int bar() {
+                    return x;
+                }
+                public static void main(String[] args) {
+                }
+            }
+            """;
+
+    private static JmmSymbolTable table() {
+        var semantics = TestUtils.analyse(CODE);
+        TestUtils.noErrors(semantics);
+        return (JmmSymbolTable) semantics.getSymbolTable();
+    }
+
+    @Test
+    public void resolveShadowing() {
+        var table = table();
+
+        // Parameter shadows field
+        var x = table.resolve("foo", "x");
+        assertEquals(ScopedSymbol.Scope.PARAMETER, x.getScope());
+        assertEquals(new Type("boolean", false), x.getType());
+        assertEquals(0, x.getSlot());
+
+        // Local shadows field
+        var y = table.resolve("foo", "y");
+        assertEquals(ScopedSymbol.Scope.LOCAL, y.getScope());
+        assertEquals(new Type("int", true), y.getType());
+
+        var b = table.resolve("foo", "b");
+        assertEquals(ScopedSymbol.Scope.LOCAL, b.getScope());
+        assertEquals(1, b.getSlot());
+
+        // Fields are visible in every method
+        var z = table.resolve("foo", "z");
+        assertTrue(z.isField());
+        assertEquals(2, z.getSlot());
+        assertTrue(table.resolve("bar", "x").isField());
+    }
+
+    @Test
+    public void resolveOutsideMethods() {
+        var table = table();
+
+        assertTrue(table.resolve(null, "x").isField());
+        assertTrue(table.resolve("unknown", "y").isField());
+        assertNull(table.resolve(null, "a"));
+        assertNull(table.resolve("foo", "io"));
+        assertNull(table.resolve("bar", "a"));
+    }
+
+    @Test
+    public void buildsWholeTable() {
+        var table = table();
+
+        assertEquals("A", table.getClassName());
+        assertEquals(List.of("io"), table.getImports());
+        assertEquals(List.of("x", "y", "z"), table.getFields().stream().map(Symbol::getName).toList());
+        assertEquals(List.of("foo", "bar", "main"), table.getMethods());
+
+        assertEquals(new Type("int", false), table.getReturnType("foo"));
+        assertEquals(new Type("void", false), table.getReturnType("main"));
+        assertEquals(List.of("x", "a"), table.getParameters("foo").stream().map(Symbol::getName).toList());
+        assertEquals(List.of("y", "b"), table.getLocalVariables("foo").stream().map(Symbol::getName).toList());
+        assertTrue(table.getLocalVariables("bar").isEmpty());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void tableIsImmutable() {
+        table().getFields().add(new Symbol(new Type("int", false), "w"));
+    }
+}
@@ -0,0 +1,234 @@
+package pt.up.fe.comp2025.symboltable;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.analysis.JmmSemanticsResult;
+import pt.up.fe.comp.jmm.analysis.table.Type;
+import pt.up.fe.comp.jmm.report.Report;
+import pt.up.fe.comp.jmm.report.ReportType;
+import pt.up.fe.comp2025.ConfigOptions;
+import pt.up.fe.specs.util.SpecsIo;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ProjectIndexTest {
+
+    private static final String BASE = """
+            class Base {
+                int value;
+                public int get(int a) {
+                    return a;
+                }
+                public static void main(String[] args) {
+                }
+            }
+            """;
+
+    private static final String DERIVED = """
+            import Base;
+            class Derived extends Base {
+                public boolean flag() {
+                    return true;
+                }
+                public static void main(String[] args) {
+                }
+            }
+            """;
+
+    private static final String BROKEN = """
+            class Broken {
+                public int foo( {
+                }
+            }
+            """;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File write(String name, String code) throws IOException {
+        var file = folder.newFile(name);
+        SpecsIo.write(file, code);
+        return file;
+    }
+
+    private Map<String, String> projectConfig() throws IOException {
+        write("Base.jmm", BASE);
+        write("Derived.jmm", DERIVED);
+        write("Broken.jmm", BROKEN);
+
+        var config = new HashMap<String, String>();
+        config.put(ConfigOptions.getSourcePath(), folder.getRoot().getAbsolutePath());
+        return config;
+    }
+
+    private static String user(String statements) {
+        return """
+                import Derived;
+                class User {
+                    public int run() {
+                        Derived d;
+                        int x;
+                        d = new Derived();
+                        %s
+                        return x;
+                    }
+                    public static void main(String[] args) {
+                    }
+                }
+                """.formatted(statements);
+    }
+
+    private static List<String> errors(JmmSemanticsResult semantics) {
+        return semantics.getReports().stream()
+                .filter(report -> report.getType() == ReportType.ERROR)
+                .map(Report::getMessage)
+                .toList();
+    }
+
+    @Test
+    public void indexesProjectClasses() throws IOException {
+        var index = ProjectIndex.forConfig(projectConfig());
+
+        assertEquals(java.util.Set.of("Base", "Derived"), index.getClassNames());
+        assertEquals("Base", index.getTable("Derived").getSuper());
+
+        // Inherited method and field
+        assertEquals("Base", index.findMethod("Derived", "get").getClassName());
+        assertEquals(new Type("int", false), index.findField("Derived", "value").getType());
+        assertNull(index.findMethod("Derived", "missing"));
+        assertTrue(index.isComplete("Derived"));
+        assertFalse(index.isComplete("Unknown"));
+
+        // The file that does not parse is reported, not indexed
+        assertTrue(index.getReports().stream().anyMatch(report -> report.getMessage().contains("Broken.jmm")));
+    }
+
+    @Test
+    public void indexIsReused() throws IOException {
+        var config = projectConfig();
+        var index = ProjectIndex.forConfig(config);
+
+        assertSame(index, ProjectIndex.forConfig(config));
+
+        // A new file makes it stale
+        write("Other.jmm", "class Other { public static void main(String[] args) { } }");
+        var updated = ProjectIndex.forConfig(config);
+        assertNotSame(index, updated);
+        assertTrue(updated.contains("Other"));
+    }
+
+    @Test
+    public void reparsesOnlyChangedFiles() throws IOException {
+        var config = projectConfig();
+        var index = ProjectIndex.forConfig(config);
+
+        var derived = new File(folder.getRoot(), "Derived.jmm");
+        SpecsIo.write(derived, DERIVED.replace("flag", "other"));
+        assertTrue(derived.setLastModified(derived.lastModified() + 2000));
+
+        var updated = ProjectIndex.forConfig(config);
+        assertNotSame(index, updated);
+        assertSame(index.getTable("Base"), updated.getTable("Base"));
+        assertNotNull(updated.getTable("Derived").getReturnType("other"));
+    }
+
+    @Test
+    public void reportsEntriesThatCannotBeRead() throws IOException {
+        var config = projectConfig();
+        var unreadable = write("Unreadable.jmm", "class Unreadable { }");
+        var missing = new File(folder.getRoot(), "Missing.jmm");
+        config.put(ConfigOptions.getSourcePath(), String.join(File.pathSeparator,
+                folder.getRoot().getAbsolutePath(), missing.getAbsolutePath()));
+
+        // A file that disappears after the source path is listed cannot be read when it is parsed
+        var files = ProjectIndex.listFiles(config.get(ConfigOptions.getSourcePath())).files();
+        assertTrue(unreadable.delete());
+        var index = ProjectIndex.build(files, config);
+        assertTrue(index.contains("Derived"));
+        assertTrue(index.getReports().stream().anyMatch(report -> report.getMessage().contains("Unreadable.jmm")));
+
+        // The missing entry is reported, not indexed, and does not fail the analysis
+        write("Unreadable.jmm", "class Unreadable { }");
+        assertTrue(new File(folder.getRoot(), "Unreadable.jmm").setReadable(false));
+        var semantics = TestUtils.analyse(user("x = d.get(1);"), config);
+        assertEquals(List.of(), errors(semantics));
+        assertTrue(semantics.getReports().stream().anyMatch(report -> report.getType() == ReportType.WARNING
+                && report.getMessage().contains("Missing.jmm")));
+        assertTrue(ProjectIndex.forConfig(config).contains("Derived"));
+    }
+
+    @Test
+    public void checksCallsToProjectClasses() throws IOException {
+        var config = projectConfig();
+
+        var valid = TestUtils.analyse(user("x = d.get(1);"), config);
+        assertEquals(List.of(), errors(valid));
+
+        var call = valid.getRootNode().getDescendants("ClassFunctionExpr").get(0);
+        assertEquals(new Type("int", false), call.getObject("type", Type.class));
+
+        assertEquals(1, errors(TestUtils.analyse(user("x = d.get(true);"), config)).size());
+        assertEquals(1, errors(TestUtils.analyse(user("d.missing();"), config)).size());
+
+        // Without the index, calls to other classes are assumed correct
+        assertEquals(List.of(), errors(TestUtils.analyse(user("d.missing();"))));
+    }
+
+    @Test
+    public void resolvesInheritedFields() throws IOException {
+        var code = """
+                import Derived;
+                class User extends Derived {
+                    public int run() {
+                        value = value + 1;
+                        return value;
+                    }
+                    public static void main(String[] args) {
+                    }
+                }
+                """;
+        var config = projectConfig();
+
+        var semantics = TestUtils.analyse(code, config);
+        assertEquals(List.of(), errors(semantics));
+        for (var varRef : semantics.getRootNode().getDescendants("VarRefExpr")) {
+            assertEquals(new Type("int", false), varRef.getObject("type", Type.class));
+        }
+
+        // Without the index, the superclass is unknown
+        assertFalse(errors(TestUtils.analyse(code)).isEmpty());
+    }
+
+    @Test
+    public void reportsFilesThatAreNotIndexed() throws IOException {
+        var semantics = TestUtils.analyse(user("x = d.get(1);"), projectConfig());
+
+        assertTrue(semantics.getReports().stream().anyMatch(report -> report.getType() == ReportType.WARNING
+                && report.getMessage().contains("Broken.jmm")));
+    }
+
+    @Test
+    public void buildIsDeterministic() {
+        var files = ProjectIndex.listFiles(Path.of("test/pt/up/fe/comp").toString()).files();
+        assertFalse(files.isEmpty());
+
+        var first = ProjectIndex.build(files, new HashMap<>());
+        var second = ProjectIndex.build(files, new HashMap<>());
+
+        assertEquals(first.getClassNames(), second.getClassNames());
+        for (var className : first.getClassNames()) {
+            assertEquals(first.getTable(className).print(), second.getTable(className).print());
+        }
+        assertEquals(first.getReports().stream().map(Report::getMessage).toList(),
+                second.getReports().stream().map(Report::getMessage).toList());
+    }
+}
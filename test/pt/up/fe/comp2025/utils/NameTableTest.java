@@ -0,0 +1,119 @@
+package pt.up.fe.comp2025.utils;
+
+import org.junit.Test;
+import pt.up.fe.comp.TestUtils;
+import pt.up.fe.comp.jmm.ast.JmmNode;
+import pt.up.fe.comp2025.ConfigOptions;
+import pt.up.fe.comp2025.ast.Kind;
+import pt.up.fe.comp2025.parser.InternedParserResult;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class NameTableTest {
+
+    private static final String CODE = "import io;\n" +
+            "class A {\n" +
+            "    int x;\n" +
+            "    public int foo(int y) {\n" +
+            "        x = y + 1;\n" +
+            "        return x + y;\n" +
+            "    }\n" +
+            "    public static void main(String[] args) {\n" +
+            "    }\n" +
+            "}";
+
+    private static Map<String, String> config(String scope) {
+        var config = new HashMap<String, String>();
+        config.put(ConfigOptions.getInternScope(), scope);
+        return config;
+    }
+
+    private static List<JmmNode> varRefs(JmmNode root, String name) {
+        return root.getDescendants(Kind.VAR_REF_EXPR).stream()
+                .filter(node -> node.get("name").equals(name))
+                .toList();
+    }
+
+    @Test
+    public void internReturnsFirstInstance() {
+        var table = new NameTable();
+        var first = new String("foo");
+        var second = new String("foo");
+
+        assertSame(first, table.intern(first));
+        assertSame(first, table.intern(second));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    public void sameNamesShareInstance() {
+        var root = TestUtils.parse(CODE).getRootNode();
+
+        var refs = varRefs(root, "x");
+        assertEquals(2, refs.size());
+        assertSame(refs.get(0).get("name"), refs.get(1).get("name"));
+
+        var ops = root.getDescendants(Kind.BINARY_EXPR);
+        assertSame(ops.get(0).get("op"), ops.get(1).get("op"));
+    }
+
+    @Test
+    public void symbolTableReusesAstNames() {
+        var result = TestUtils.analyse(CODE);
+        TestUtils.noErrors(result.getReports());
+
+        var field = result.getSymbolTable().getFields().get(0);
+        var ref = varRefs(result.getRootNode(), "x").get(0);
+        assertSame(ref.get("name"), field.getName());
+    }
+
+    @Test
+    public void analysisUsesTableOfParser() {
+        var code = """
+                class A {
+                    public int sum(int... values) {
+                        return values[0];
+                    }
+                    public static void main(String[] args) {
+                    }
+                }
+                """;
+        var parserResult = TestUtils.parse(code, config(NameTable.SCOPE_COMPILATION));
+        var names = InternedParserResult.namesOf(parserResult);
+        assertNotNull(names);
+
+        // The name of the varargs type is built by the symbol table, in the table of the parser
+        var table = TestUtils.analyse(parserResult).getSymbolTable();
+        var type = table.getParameters("sum").get(0).getType();
+        assertSame(type.getName(), names.intern(new String(type.getName())));
+    }
+
+    @Test
+    public void processScopeIsSharedBetweenCompilations() {
+        var first = TestUtils.parse(CODE, config(NameTable.SCOPE_PROCESS)).getRootNode();
+        var second = TestUtils.parse(CODE, config(NameTable.SCOPE_PROCESS)).getRootNode();
+
+        assertSame(varRefs(first, "y").get(0).get("name"), varRefs(second, "y").get(0).get("name"));
+        assertSame(NameTable.processTable().intern("y"), varRefs(first, "y").get(0).get("name"));
+    }
+
+    @Test
+    public void compilationScopeIsNotShared() {
+        var first = TestUtils.parse(CODE, config(NameTable.SCOPE_COMPILATION)).getRootNode();
+        var second = TestUtils.parse(CODE, config(NameTable.SCOPE_COMPILATION)).getRootNode();
+
+        assertNotSame(varRefs(first, "y").get(0).get("name"), varRefs(second, "y").get(0).get("name"));
+    }
+
+    @Test
+    public void noneScopeDisablesInterning() {
+        var root = TestUtils.parse(CODE, config(NameTable.SCOPE_NONE)).getRootNode();
+
+        var refs = varRefs(root, "x");
+        assertNotSame(refs.get(0).get("name"), refs.get(1).get("name"));
+    }
+}